@@ -0,0 +1,86 @@
+package benchmarks;
+
+import information.CodeRepetition;
+import information.InformationAnalogique;
+import information.InformationBinaire;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai du code à répétition ({@link CodeRepetition}) : codage,
+ * décodage dur et décodage souple. Le codec travaille sur les bits, avant
+ * l'émetteur : seule la longueur du message est paramétrée.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CodeurBenchmark {
+
+    /** nombre de bits du message */
+    @Param({"10000", "1000000"})
+    public int nbBits;
+
+    /** message à coder */
+    private InformationBinaire message;
+
+    /** message codé, à décoder */
+    private InformationBinaire code;
+
+    /** valeurs souples du message codé, à décoder */
+    private InformationAnalogique souples;
+
+    /**
+     * prépare le message, sa version codée et des valeurs souples bruitées
+     */
+    @Setup
+    public void preparer() {
+        message = Signaux.message(nbBits);
+        code = CodeRepetition.coder(message);
+        SplittableRandom aleatoire = new SplittableRandom(Signaux.GRAINE);
+        souples = new InformationAnalogique(code.nbElements());
+        for (int i = 0; i < code.nbElements(); i++) {
+            souples.add((code.iemeBit(i) ? 1.0f : -1.0f) + (float) (aleatoire.nextDouble() - 0.5));
+        }
+    }
+
+    /**
+     * code le message
+     * @return le message codé
+     */
+    @Benchmark
+    public InformationBinaire coder() {
+        return CodeRepetition.coder(message);
+    }
+
+    /**
+     * décode le message codé (décision dure)
+     * @return le message décodé
+     */
+    @Benchmark
+    public InformationBinaire decoder() {
+        return CodeRepetition.decoder(code);
+    }
+
+    /**
+     * décode les valeurs souples
+     * @return le message décodé
+     */
+    @Benchmark
+    public InformationBinaire decoderSouple() {
+        return CodeRepetition.decoderSouple(souples);
+    }
+}
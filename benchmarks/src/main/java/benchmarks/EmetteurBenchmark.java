@@ -0,0 +1,71 @@
+package benchmarks;
+
+import emmetteurs.Emetteur;
+import information.Information;
+import information.InformationBinaire;
+import information.InformationNonConformeException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de la conversion binaire → analogique de l'émetteur
+ * ({@link Emetteur#convertir_signal()}) pour chaque forme d'onde.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmetteurBenchmark {
+
+    /** forme d'onde */
+    @Param({"NRZ", "RZ", "NRZT"})
+    public String form;
+
+    /** nombre de bits du message */
+    @Param({"10000", "1000000"})
+    public int nbBits;
+
+    /** nombre d'échantillons par symbole */
+    @Param({"10", "30"})
+    public int nbEch;
+
+    /** émetteur mesuré */
+    private Emetteur<Boolean> emetteur;
+
+    /** message émis */
+    private InformationBinaire message;
+
+    /**
+     * prépare le message et l'émetteur
+     */
+    @Setup
+    public void preparer() {
+        message = Signaux.message(nbBits);
+        emetteur = new Emetteur<>(form, nbEch);
+    }
+
+    /**
+     * convertit le message en signal
+     * @return le signal émis
+     * @throws InformationNonConformeException si la forme d'onde est inconnue
+     */
+    @Benchmark
+    public Information<Float> convertirSignal() throws InformationNonConformeException {
+        emetteur.reinitialiser();
+        emetteur.recevoir(message);
+        emetteur.convertir_signal();
+        return emetteur.getInformationEmise();
+    }
+}
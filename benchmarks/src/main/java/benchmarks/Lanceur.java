@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée des bancs d'essai : accepte les options habituelles de JMH
+ * (filtre des bancs, -p, -f, -wi, -i, ...) et enregistre par défaut les
+ * résultats au format JSON dans {@value #FICHIER_RESULTATS}, pour suivre
+ * les régressions d'une version à l'autre ({@code -rf} et {@code -rff}
+ * changent le format et le fichier).
+ */
+public final class Lanceur {
+
+    /** fichier de résultats par défaut */
+    public static final String FICHIER_RESULTATS = "jmh-result.json";
+
+    /**
+     * classe utilitaire, non instanciable
+     */
+    private Lanceur() {}
+
+    /**
+     * lance les bancs d'essai
+     * @param args les options JMH
+     * @throws Exception si les options sont invalides ou qu'un banc échoue
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions ligne;
+        try {
+            ligne = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Options invalides : " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (ligne.shouldHelp()) {
+            ligne.showHelp();
+            return;
+        }
+        Runner runner = new Runner(ligne);
+        if (ligne.shouldList()) {
+            runner.list();
+            return;
+        }
+        if (ligne.shouldListWithParams()) {
+            runner.listWithParams(ligne);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(ligne);
+        if (!ligne.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!ligne.getResult().hasValue()) {
+            options.result(FICHIER_RESULTATS);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package benchmarks;
+
+import information.Information;
+import information.InformationAnalogique;
+import information.InformationNonConformeException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import transmetteurs.Recepteur;
+
+/**
+ * Banc d'essai de la décision du récepteur ({@link Recepteur#emettre()}) :
+ * moyennage par symbole et seuillage d'un signal NRZ bruité.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RecepteurBenchmark {
+
+    /** nombre de bits du message */
+    @Param({"10000", "1000000"})
+    public int nbBits;
+
+    /** nombre d'échantillons par symbole */
+    @Param({"10", "30"})
+    public int nbEch;
+
+    /** récepteur mesuré */
+    private Recepteur recepteur;
+
+    /** signal reçu */
+    private InformationAnalogique signal;
+
+    /**
+     * prépare le signal bruité et le récepteur
+     * @throws InformationNonConformeException si le signal ne peut être construit
+     */
+    @Setup
+    public void preparer() throws InformationNonConformeException {
+        recepteur = new Recepteur(nbEch, 0f, "NRZ");
+        signal = Signaux.signalBruite(nbBits, nbEch, 5.0f);
+    }
+
+    /**
+     * décide les bits du signal
+     * @return les bits décidés
+     * @throws InformationNonConformeException si le signal est invalide
+     */
+    @Benchmark
+    public Information<Boolean> decider() throws InformationNonConformeException {
+        recepteur.recevoir(signal);
+        return recepteur.getInformationEmise();
+    }
+}
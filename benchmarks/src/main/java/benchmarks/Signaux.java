@@ -0,0 +1,67 @@
+package benchmarks;
+
+import emmetteurs.Emetteur;
+import information.InformationAnalogique;
+import information.InformationBinaire;
+import information.InformationNonConformeException;
+import java.util.SplittableRandom;
+import transmetteurs.TransmetteurImparfait;
+
+/**
+ * Données d'entrée des bancs d'essai : messages et signaux reproductibles
+ * (graine fixe), construits une fois par banc, hors mesure.
+ */
+final class Signaux {
+
+    /** graine des messages et du bruit des bancs d'essai */
+    static final int GRAINE = 42;
+
+    /**
+     * classe utilitaire, non instanciable
+     */
+    private Signaux() {}
+
+    /**
+     * construit un message aléatoire
+     * @param nbBits le nombre de bits du message
+     * @return le message
+     */
+    static InformationBinaire message(int nbBits) {
+        SplittableRandom aleatoire = new SplittableRandom(GRAINE);
+        InformationBinaire bits = new InformationBinaire(nbBits);
+        for (int restants = nbBits; restants > 0; restants -= 64) {
+            bits.addMot(aleatoire.nextLong(), Math.min(restants, 64));
+        }
+        return bits;
+    }
+
+    /**
+     * construit le signal émis pour un message aléatoire
+     * @param nbBits le nombre de bits du message
+     * @param form la forme d'onde (NRZ, RZ ou NRZT)
+     * @param nbEch le nombre d'échantillons par symbole
+     * @return le signal émis
+     * @throws InformationNonConformeException si la forme d'onde est inconnue
+     */
+    static InformationAnalogique signal(int nbBits, String form, int nbEch) throws InformationNonConformeException {
+        Emetteur<Boolean> emetteur = new Emetteur<>(form, nbEch);
+        emetteur.recevoir(message(nbBits));
+        emetteur.convertir_signal();
+        return InformationAnalogique.de(emetteur.getInformationEmise());
+    }
+
+    /**
+     * construit le signal NRZ reçu après un canal bruité
+     * @param nbBits le nombre de bits du message
+     * @param nbEch le nombre d'échantillons par symbole
+     * @param SNRdB le rapport signal sur bruit par bit, en dB
+     * @return le signal bruité
+     * @throws InformationNonConformeException si le signal ne peut être construit
+     */
+    static InformationAnalogique signalBruite(int nbBits, int nbEch, float SNRdB) throws InformationNonConformeException {
+        TransmetteurImparfait<Float> canal = new TransmetteurImparfait<>(nbEch, SNRdB, GRAINE);
+        canal.recevoir(signal(nbBits, "NRZ", nbEch));
+        canal.genererBBAG();
+        return InformationAnalogique.de(canal.getInformationEmise());
+    }
+}
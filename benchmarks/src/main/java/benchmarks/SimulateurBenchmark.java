@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulateur.SimulationConfig;
+import simulateur.Simulateur;
+
+/**
+ * Banc d'essai de bout en bout ({@link Simulateur#execute()}) : source
+ * aléatoire, émetteur NRZ, canal bruité, récepteur et comptage des erreurs,
+ * avec la chaîne complète ou la chaîne fusionnée (-fusion).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SimulateurBenchmark {
+
+    /** nombre de bits du message */
+    @Param({"10000", "1000000"})
+    public int nbBits;
+
+    /** nombre d'échantillons par symbole */
+    @Param({"10", "30"})
+    public int nbEch;
+
+    /** true pour la chaîne fusionnée */
+    @Param({"false", "true"})
+    public boolean fusion;
+
+    /** simulateur mesuré */
+    private Simulateur simulateur;
+
+    /**
+     * construit la chaîne de transmission
+     * @throws Exception si la configuration est invalide
+     */
+    @Setup
+    public void preparer() throws Exception {
+        SimulationConfig config = new SimulationConfig.Builder()
+                .messageAleatoire(nbBits)
+                .form("NRZ")
+                .nbEch(nbEch)
+                .snrpb(5.0f)
+                .seed(Signaux.GRAINE)
+                .fusion(fusion)
+                .build();
+        simulateur = new Simulateur(config);
+    }
+
+    /**
+     * transmet un message et compte les erreurs
+     * @return le nombre de bits erronés
+     * @throws Exception si la transmission échoue
+     */
+    @Benchmark
+    public long executer() throws Exception {
+        simulateur.execute();
+        return simulateur.calculNbErreurs();
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import information.Information;
+import information.InformationNonConformeException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import transmetteurs.TransmetteurImparfait;
+
+/**
+ * Banc d'essai du canal à bruit blanc additif gaussien
+ * ({@link TransmetteurImparfait#genererBBAG()}) : mesure de puissance,
+ * tirage du bruit et ajout au signal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransmetteurImparfaitBenchmark {
+
+    /** nombre de bits du message */
+    @Param({"10000", "1000000"})
+    public int nbBits;
+
+    /** nombre d'échantillons par symbole */
+    @Param({"10", "30"})
+    public int nbEch;
+
+    /** canal mesuré */
+    private TransmetteurImparfait<Float> canal;
+
+    /**
+     * prépare le signal émis et le canal
+     * @throws InformationNonConformeException si le signal ne peut être construit
+     */
+    @Setup
+    public void preparer() throws InformationNonConformeException {
+        canal = new TransmetteurImparfait<>(nbEch, 5.0f, Signaux.GRAINE);
+        canal.recevoir(Signaux.signal(nbBits, "NRZ", nbEch));
+    }
+
+    /**
+     * bruite le signal
+     * @return le signal bruité
+     */
+    @Benchmark
+    public Information<Float> genererBBAG() {
+        canal.genererBBAG();
+        return canal.getInformationEmise();
+    }
+}
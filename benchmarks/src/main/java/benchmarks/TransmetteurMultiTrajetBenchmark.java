@@ -0,0 +1,81 @@
+package benchmarks;
+
+import information.Information;
+import information.InformationNonConformeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import transmetteurs.Trajet;
+import transmetteurs.TransmetteurMultiTrajet;
+
+/**
+ * Banc d'essai du canal à trajets multiples bruité
+ * ({@link TransmetteurMultiTrajet}) : calcul des échos (convolution directe
+ * ou FFT selon le choix automatique) et ajout du bruit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransmetteurMultiTrajetBenchmark {
+
+    /** nombre de trajets réfléchis */
+    @Param({"1", "5", "50"})
+    public int nbTrajets;
+
+    /** nombre de bits du message */
+    @Param({"10000", "1000000"})
+    public int nbBits;
+
+    /** nombre d'échantillons par symbole */
+    @Param({"10", "30"})
+    public int nbEch;
+
+    /** canal mesuré */
+    private TransmetteurMultiTrajet<Float> canal;
+
+    /** signal émis */
+    private Information<Float> signal;
+
+    /**
+     * prépare le signal émis et le canal ; les trajets sont espacés d'un
+     * demi-symbole, d'atténuation décroissante
+     * @throws InformationNonConformeException si le signal ne peut être construit
+     */
+    @Setup
+    public void preparer() throws InformationNonConformeException {
+        List<Trajet> trajets = new ArrayList<>();
+        for (int i = 1; i <= nbTrajets; i++) {
+            trajets.add(new Trajet(i * Math.max(nbEch / 2, 1), 0.5f / i));
+        }
+        canal = new TransmetteurMultiTrajet<>(trajets, 5.0f, nbEch, Signaux.GRAINE);
+        signal = Signaux.signal(nbBits, "NRZ", nbEch);
+    }
+
+    /**
+     * transmet le signal comme un message complet
+     * @return le signal reçu
+     * @throws InformationNonConformeException si le signal est invalide
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Information<Float> transmettre() throws InformationNonConformeException {
+        canal.reinitialiser();
+        canal.recevoir(signal);
+        canal.emettre();
+        return canal.getInformationEmise();
+    }
+}
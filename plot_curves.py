@@ -4,7 +4,9 @@ Script pour afficher toutes les courbes de sondes et de TEB
 avec des graduations et des légendes améliorées.
 
 Ce script lit tous les fichiers CSV générés par le simulateur Java
-et affiche les courbes correspondantes avec matplotlib.
+et affiche les courbes correspondantes avec matplotlib. Les fichiers
+binaires en colonnes (.bin, option -export) sont lus par projection
+en mémoire avec numpy.
 """
 
 import os
@@ -13,12 +15,71 @@ import pandas as pd
 import matplotlib.pyplot as plt
 import numpy as np
 
+# Types des colonnes des fichiers binaires (voir visualisations.FichierColonnes)
+TYPES_COLONNES = {1: ('<f4', 4), 2: ('<f8', 8), 3: ('<i8', 8), 4: ('<u8', None)}
+
+
+def lire_binaire(file):
+    """
+    Lit un fichier binaire en colonnes (en-tête puis colonnes alignées sur 8 octets)
+    et retourne un DataFrame, avec la colonne 'index' pour les sondes
+    """
+    brut = np.memmap(file, dtype=np.uint8, mode='r')
+    if bytes(brut[:4]) != b'TSCB':
+        raise ValueError(f"{file} n'est pas un fichier en colonnes")
+    entete = bytes(brut[:min(len(brut), 1 << 20)])
+    pos = 6
+    nb_colonnes = int.from_bytes(entete[pos:pos + 2], 'little'); pos += 2
+    nb_lignes = int.from_bytes(entete[pos:pos + 8], 'little'); pos += 8 + 4
+
+    def texte(pos):
+        n = int.from_bytes(entete[pos:pos + 2], 'little')
+        return entete[pos + 2:pos + 2 + n].decode('utf-8'), pos + 2 + n
+
+    _, pos = texte(pos)  # nom de la sonde
+    _, pos = texte(pos)  # forme d'onde
+    colonnes = []
+    for _ in range(nb_colonnes):
+        code = entete[pos]
+        nom, pos = texte(pos + 1)
+        colonnes.append((nom, code))
+    pos = (pos + 7) & ~7
+
+    donnees = {}
+    for nom, code in colonnes:
+        dtype, taille = TYPES_COLONNES[code]
+        if taille is None:
+            nb_mots = (nb_lignes + 63) // 64
+            mots = np.frombuffer(brut, dtype='<u8', count=nb_mots, offset=pos)
+            donnees[nom] = np.unpackbits(mots.view(np.uint8), bitorder='little')[:nb_lignes]
+            pos += nb_mots * 8
+        else:
+            donnees[nom] = np.frombuffer(brut, dtype=dtype, count=nb_lignes, offset=pos)
+            pos += (nb_lignes * taille + 7) & ~7
+    if 'valeur' in donnees and 'index' not in donnees:
+        donnees = {'index': np.arange(nb_lignes), **donnees}
+    return pd.DataFrame(donnees)
+
+
+def lire_fichier(file):
+    """
+    Lit un fichier de sonde ou de TEB, au format CSV ou binaire
+    """
+    return lire_binaire(file) if file.endswith(".bin") else pd.read_csv(file)
+
+
+def nom_analyse(file, prefixe):
+    """
+    Extrait le nom d'une sonde ou d'une analyse du nom de fichier
+    """
+    return os.path.splitext(file)[0].replace(prefixe, "")
+
 
 def plot_sonde_files():
     """
     Affiche toutes les courbes des sondes (fichiers sonde_*.csv)
     """
-    sonde_files = glob.glob("sonde_*.csv")
+    sonde_files = glob.glob("sonde_*.csv") + glob.glob("sonde_*.bin")
 
     if not sonde_files:
         print("Aucun fichier de sonde trouvé")
@@ -29,10 +90,10 @@ def plot_sonde_files():
     for file in sorted(sonde_files):
         try:
             # Lire le fichier CSV
-            data = pd.read_csv(file)
+            data = lire_fichier(file)
 
             # Extraire le nom de la sonde du nom de fichier
-            sonde_name = file.replace("sonde_", "").replace(".csv", "").replace("_", " ")
+            sonde_name = nom_analyse(file, "sonde_").replace("_", " ")
 
             # Créer une nouvelle figure pour chaque sonde
             fig, ax = plt.subplots(figsize=(12, 4))
@@ -58,7 +119,7 @@ def plot_teb_files():
     """
     Affiche toutes les courbes de TEB (fichiers TEB_*.csv)
     """
-    teb_files = glob.glob("TEB_*.csv")
+    teb_files = glob.glob("TEB_*.csv") + glob.glob("TEB_*.bin")
 
     if not teb_files:
         print("\nAucun fichier de TEB trouvé")
@@ -70,7 +131,7 @@ def plot_teb_files():
     analyses = {}
     for file in teb_files:
         # Extraire le type d'analyse du nom de fichier
-        analysis_type = file.replace("TEB_", "").replace(".csv", "")
+        analysis_type = nom_analyse(file, "TEB_")
 
         # Grouper les analyses de codeur ensemble
         if "Codeur" in analysis_type:
@@ -89,7 +150,7 @@ def plot_teb_files():
         for file in sorted(files):
             try:
                 # Lire le fichier CSV
-                data = pd.read_csv(file)
+                data = lire_fichier(file)
 
                 # Obtenir les noms des colonnes
                 x_col = data.columns[0]
@@ -138,7 +199,7 @@ def main():
     print("="*60)
 
     # Vérifier si des fichiers CSV existent
-    csv_files = glob.glob("*.csv")
+    csv_files = glob.glob("*.csv") + glob.glob("sonde_*.bin") + glob.glob("TEB_*.bin")
 
     if not csv_files:
         print("\nAucun fichier CSV trouvé dans le répertoire courant.")
@@ -0,0 +1,83 @@
+package application;
+
+import transmetteurs.GenerateurGaussien;
+import transmetteurs.TransmetteurImparfait;
+
+/**
+ * Compare le débit et la qualité des générateurs de bruit gaussien :
+ * la formule de Box-Muller historique de {@link TransmetteurImparfait}
+ * (échantillon par échantillon) et les générateurs en masse
+ * ({@link GenerateurGaussien}) Box-Muller, polaire et Ziggurat.
+ * <p>
+ * Pour chaque méthode, affiche le nombre d'échantillons produits par seconde
+ * ainsi que la moyenne, la variance et le kurtosis empiriques (attendus :
+ * 0, 1 et 3).
+ * </p>
+ */
+public class ComparaisonBruit {
+
+    /**
+     * Constructeur par défaut (toutes les méthodes sont statiques).
+     */
+    public ComparaisonBruit() {
+        // pas d'initialisation nécessaire
+    }
+
+    /**
+     * Point d'entrée de la comparaison.
+     * @param args nombre d'échantillons par mesure (défaut : 10 000 000)
+     */
+    public static void main(String[] args) {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 10000000;
+        float[] tampon = new float[n];
+
+        System.out.println("=== Comparaison des générateurs gaussiens sur " + n + " échantillons ===");
+        for (int essai = 0; essai < 2; essai++) { // le premier passage sert de préchauffage
+            boolean afficher = essai == 1;
+
+            TransmetteurImparfait<Float> transmetteur = new TransmetteurImparfait<>(30, 10.0f, 42);
+            long t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                tampon[i] = (float) transmetteur.genererBruitGaussienFormule();
+            }
+            afficher(afficher, "formule actuelle", tampon, System.nanoTime() - t0);
+
+            for (String methode : new String[] {"boxmuller", "polaire", "ziggurat"}) {
+                GenerateurGaussien generateur = GenerateurGaussien.creer(methode, 42);
+                t0 = System.nanoTime();
+                generateur.remplir(tampon, 0, n, 1.0);
+                afficher(afficher, methode, tampon, System.nanoTime() - t0);
+            }
+        }
+    }
+
+    /**
+     * Affiche le débit et les moments empiriques d'une série d'échantillons
+     * @param afficher false pendant le préchauffage
+     * @param nom le nom de la méthode
+     * @param echantillons les échantillons produits
+     * @param nanos la durée de production en nanosecondes
+     */
+    private static void afficher(boolean afficher, String nom, float[] echantillons, long nanos) {
+        if (!afficher) {
+            return;
+        }
+        int n = echantillons.length;
+        double somme = 0;
+        for (float x : echantillons) {
+            somme += x;
+        }
+        double moyenne = somme / n;
+        double m2 = 0;
+        double m4 = 0;
+        for (float x : echantillons) {
+            double d = (x - moyenne) * (x - moyenne);
+            m2 += d;
+            m4 += d * d;
+        }
+        m2 /= n;
+        m4 /= n;
+        System.out.printf("%-18s %8.1f M éch/s   moyenne=% .5f  variance=%.5f  kurtosis=%.4f%n",
+                nom, n / (nanos / 1e3), moyenne, m2, m4 / (m2 * m2));
+    }
+}
@@ -1,14 +1,17 @@
 package emmetteurs;
 
 import destinations.DestinationInterface;
+import information.CodeRepetition;
 import information.Information;
+import information.InformationBinaire;
 import information.InformationNonConformeException;
 import sources.Source;
 import transmetteurs.Transmetteur;
 import visualisations.Sonde;
 
 /**
- * Classe représentant l'ajout de redondance au message pour réduire les erreurs
+ * Classe représentant l'ajout de redondance au message pour réduire les erreurs.
+ * Le codage lui-même est fait par {@link CodeRepetition}, mot par mot.
  */
 public class CodageEmission extends Source<Boolean> implements DestinationInterface<Boolean> {
 
@@ -44,22 +47,8 @@ public class CodageEmission extends Source<Boolean> implements DestinationInterf
 
         this.informationRecue = information;
 
-        // On génère la nouvelle information redondante
-        informationGeneree = new Information<>();
-
-        for (Boolean bit : information) {
-            if (bit) {
-                // 1 -> 101 (true, false, true)
-                informationGeneree.add(true);
-                informationGeneree.add(false);
-                informationGeneree.add(true);
-            } else {
-                // 0 -> 010 (false, true, false)
-                informationGeneree.add(false);
-                informationGeneree.add(true);
-                informationGeneree.add(false);
-            }
-        }
+        // On génère la nouvelle information redondante : 1 -> 101, 0 -> 010
+        informationGeneree = CodeRepetition.coder(InformationBinaire.de(information));
 
         // Une fois générée, on émet vers les destinations connectées
         emettre();
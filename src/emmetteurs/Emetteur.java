@@ -2,7 +2,11 @@ package emmetteurs;
 
 import destinations.DestinationInterface;
 
+import java.util.Arrays;
+
 import information.Information;
+import information.InformationAnalogique;
+import information.InformationBinaire;
 import information.InformationNonConformeException;
 import sources.Source;
 import transmetteurs.Transmetteur;
@@ -29,6 +33,24 @@ public class Emetteur<T> extends Source<Float> implements DestinationInterface <
      * nombre d'échantillon utilisé par l'émetteur pour le codage
      */
     private int nbEch;
+    /**
+     * niveau du dernier symbole NRZT émis, conservé d'un bloc à l'autre
+     * pour que la transition du premier bit d'un bloc soit correcte
+     */
+    private float niveauPrecedent = 0.0f;
+    /**
+     * true si l'émetteur code lui-même les bits reçus par répétition
+     * (1 → 101, 0 → 010), comme {@link CodageEmission} suivi de l'émetteur
+     */
+    private final boolean codage;
+    /**
+     * gabarits des symboles (des mots de code de trois symboles avec le codage),
+     * indexés par {@link #indiceGabarit(float, boolean)} : en NRZ et RZ seuls
+     * les gabarits 0 (bit 0) et 1 (bit 1) sont utilisés ; en NRZT, le gabarit
+     * dépend aussi du niveau précédent (0, -1 ou +1). Calculés à la première
+     * conversion pour le nombre d'échantillons courant.
+     */
+    private float[][] gabarits = null;
 
     /**
      * constrycteur de la casse emetteur
@@ -36,9 +58,22 @@ public class Emetteur<T> extends Source<Float> implements DestinationInterface <
      * @param nbEch donne le nombre d'échantillons utilisés par l'émetteur
      */
     public Emetteur(String typeCodage, int nbEch) {
+        this(typeCodage, nbEch, false);
+    }
+
+    /**
+     * construit un émetteur qui peut coder lui-même les bits reçus : chaque
+     * bit d'information est alors émis d'un bloc, par le gabarit de ses trois
+     * symboles codés
+     * @param typeCodage donne le codage utilisé par l'émetteur
+     * @param nbEch donne le nombre d'échantillons utilisés par l'émetteur
+     * @param codage true pour coder les bits reçus (1 → 101, 0 → 010)
+     */
+    public Emetteur(String typeCodage, int nbEch, boolean codage) {
         super();
         this.typeCodage = (typeCodage == null) ? "RZ" : typeCodage;
         this.nbEch=nbEch;
+        this.codage = codage;
     }
 
     //Iterator<DestinationInterface<E>> it = destinationsConnectees.iterator();
@@ -47,79 +82,171 @@ public class Emetteur<T> extends Source<Float> implements DestinationInterface <
      * Fonction permettant de convertir l'information booléenne reçue
      * en information analogique selon trois types de codages :
      * NRZ, RZ et NRZT. Le type de codage est déterminé selon la valeur
-     * de la fonction typeCodage
+     * de la fonction typeCodage. Les informations reçues successivement sont
+     * traitées comme les blocs consécutifs d'un même message (voir {@link #reinitialiser()}).
+     * <p>
+     * Le signal est assemblé par copie des gabarits précalculés, un par bit
+     * reçu (voir {@link #gabarits}).
+     * </p>
      * @throws InformationNonConformeException si le type de codage est inconnu
      */
     public void convertir_signal() throws InformationNonConformeException {
 
-            informationGeneree = new Information<>();
-            // codage en ligne
-
-            if ("NRZ".equalsIgnoreCase(typeCodage)) {
-                 for (Boolean bit : informationRecue) {
-                     for (int i = 0; i < nbEch; i++) {
-                         informationGeneree.add(bit ? 1.0f : -1.0f);
-                     }
-                }
-
-
-            } else if ("RZ".equalsIgnoreCase(typeCodage)) {
-                for (Boolean bit : informationRecue) {
-                    int third = nbEch / 3;
+            InformationBinaire bits = InformationBinaire.de(informationRecue);
+            if (gabarits == null) {
+                gabarits = calculerGabarits();
+            }
+            int nbBits = bits.nbElements();
+            int longueur = gabarits[0].length;
+            InformationAnalogique signal = new InformationAnalogique(nbBits * longueur);
+            signal.etendre(nbBits * longueur);
+            float[] echantillons = signal.valeurs();
 
-                    // Premier tiers: toujours 0
-                    for (int i = 0; i < third; i++) {
-                        informationGeneree.add(0.0f);
-                    }
+            // le dernier symbole d'un mot de code est le bit lui-même :
+            // le niveau qui suit un bit est le même avec ou sans codage
+            float prevLevel = niveauPrecedent;
+            for (int b = 0, k = 0; b < nbBits; b++, k += longueur) {
+                boolean bit = bits.iemeBit(b);
+                System.arraycopy(gabarits[indiceGabarit(prevLevel, bit)], 0, echantillons, k, longueur);
+                prevLevel = bit ? 1.0f : -1.0f;
+            }
+            if (isNRZT()) {
+                niveauPrecedent = prevLevel;
+            }
+            informationGeneree = signal;
+        }
 
-                    // Deuxième tiers: 1 si bit=true, 0 si bit=false
-                    for (int i = third; i < 2 * third; i++) {
-                        informationGeneree.add(bit ? 1.0f : 0.0f);
-                    }
+    /**
+     * @return true pour la forme NRZT, dont le symbole dépend du niveau précédent
+     */
+    private boolean isNRZT() {
+        return "NRZT".equalsIgnoreCase(typeCodage);
+    }
 
-                    // Dernier tiers: toujours 0
-                    for (int i = 2 * third; i < nbEch; i++) {
-                        informationGeneree.add(0.0f);
-                    }
-                }
-            } else if ("NRZT".equalsIgnoreCase(typeCodage)) {
-                float prevLevel = 0.0f; // Niveau précédent (commence à 0)
+    /**
+     * donne l'indice du gabarit d'un bit
+     * @param prevLevel le niveau du symbole précédent (utilisé en NRZT seulement)
+     * @param bit le bit à émettre
+     * @return l'indice dans {@link #gabarits}
+     */
+    private int indiceGabarit(float prevLevel, boolean bit) {
+        return indiceGabarit(isNRZT(), prevLevel, bit);
+    }
 
-                for (int b = 0; b < informationRecue.nbElements(); b++) {
-                    float level = informationRecue.iemeElement(b) ? 1.0f : -1.0f;
-                    int third = nbEch / 3;
+    /**
+     * donne l'indice du gabarit d'un bit dans les gabarits de {@link #gabarits(String, int)}
+     * @param nrzt true pour la forme NRZT
+     * @param prevLevel le niveau du symbole précédent (utilisé en NRZT seulement)
+     * @param bit le bit à émettre
+     * @return l'indice du gabarit : 0 ou 1 selon le bit, plus 2 (niveau précédent -1)
+     *         ou 4 (niveau précédent +1) en NRZT
+     */
+    public static int indiceGabarit(boolean nrzt, float prevLevel, boolean bit) {
+        int indice = bit ? 1 : 0;
+        if (nrzt) {
+            indice += (prevLevel == 0.0f) ? 0 : (prevLevel < 0 ? 2 : 4);
+        }
+        return indice;
+    }
 
+    /**
+     * construit les gabarits des symboles d'une forme d'onde : c'est la
+     * définition des formes d'onde, partagée par l'émetteur et par les
+     * chaînes qui le reproduisent sans construire le signal
+     * @param form la forme d'onde (NRZ, RZ ou NRZT)
+     * @param nbEch le nombre d'échantillons par symbole
+     * @return six gabarits indexés par {@link #indiceGabarit(boolean, float, boolean)} ;
+     *         en NRZ et RZ seuls les gabarits 0 (bit 0) et 1 (bit 1) existent, en NRZT
+     *         le gabarit dépend aussi du niveau précédent (0, -1 ou +1)
+     * @throws IllegalArgumentException si la forme d'onde est inconnue
+     */
+    public static float[][] gabarits(String form, int nbEch) {
+        float[][] gabarits = new float[6][];
+        int third = nbEch / 3;
+        if ("NRZ".equalsIgnoreCase(form)) {
+            gabarits[0] = new float[nbEch];
+            gabarits[1] = new float[nbEch];
+            Arrays.fill(gabarits[0], -1.0f);
+            Arrays.fill(gabarits[1], 1.0f);
+        } else if ("RZ".equalsIgnoreCase(form)) {
+            // Premier et dernier tiers: toujours 0
+            // Deuxième tiers: 1 si bit=true, 0 si bit=false
+            gabarits[0] = new float[nbEch];
+            gabarits[1] = new float[nbEch];
+            Arrays.fill(gabarits[1], third, 2 * third, 1.0f);
+        } else if ("NRZT".equalsIgnoreCase(form)) {
+            for (float prevLevel : new float[] {0.0f, -1.0f, 1.0f}) {
+                for (boolean bit : new boolean[] {false, true}) {
+                    float level = bit ? 1.0f : -1.0f;
+                    float[] gabarit = new float[nbEch];
                     for (int i = 0; i < nbEch; i++) {
-                        float value;
-
-                        if (prevLevel == level) {
-                            // Pas de transition : niveau constant
-                            value = level;
-                        } else {
+                        if (prevLevel != level && i < third) {
                             // Transition progressive du niveau précédent vers le niveau actuel
-                            if (i < third) {
-                                // Transition progressive de prevLevel vers level
-                                float alpha = (float) i / third;
-                                value = prevLevel + alpha * (level - prevLevel);
-                            } else if (i < 2 * third) {
-                                // Niveau stable
-                                value = level;
-                            } else {
-                                // Niveau stable (on ne redescend pas)
-                                value = level;
-                            }
+                            float alpha = (float) i / third;
+                            gabarit[i] = prevLevel + alpha * (level - prevLevel);
+                        } else {
+                            // Niveau stable (on ne redescend pas)
+                            gabarit[i] = level;
                         }
-
-                        informationGeneree.add(value);
                     }
-
-                    // Mettre à jour le niveau précédent pour le prochain bit
-                    prevLevel = level;
+                    gabarits[indiceGabarit(true, prevLevel, bit)] = gabarit;
                 }
+            }
         } else {
-                throw new InformationNonConformeException("Type de codage inconnu");
+            throw new IllegalArgumentException("Type de codage inconnu : " + form);
+        }
+        return gabarits;
+    }
+
+    /**
+     * calcule les gabarits de l'émetteur pour le nombre d'échantillons
+     * courant : ceux de {@link #gabarits(String, int)}, ou avec le codage la
+     * concaténation des trois symboles de chaque mot de code
+     * @return les gabarits, indexés par {@link #indiceGabarit(float, boolean)}
+     * @throws InformationNonConformeException si le type de codage est inconnu
+     */
+    private float[][] calculerGabarits() throws InformationNonConformeException {
+        float[][] symboles;
+        try {
+            symboles = gabarits(typeCodage, nbEch);
+        } catch (IllegalArgumentException e) {
+            throw new InformationNonConformeException("Type de codage inconnu");
+        }
+        if (!codage) {
+            return symboles;
+        }
+        float[][] mots = new float[symboles.length][];
+        for (float prevLevel : isNRZT() ? new float[] {0.0f, -1.0f, 1.0f} : new float[] {0.0f}) {
+            for (boolean bit : new boolean[] {false, true}) {
+                // mot de code bit, !bit, bit : chaque symbole suit le niveau du précédent
+                float niveau = bit ? 1.0f : -1.0f;
+                float[] mot = new float[3 * nbEch];
+                System.arraycopy(symboles[indiceGabarit(prevLevel, bit)], 0, mot, 0, nbEch);
+                System.arraycopy(symboles[indiceGabarit(niveau, !bit)], 0, mot, nbEch, nbEch);
+                System.arraycopy(symboles[indiceGabarit(-niveau, bit)], 0, mot, 2 * nbEch, nbEch);
+                mots[indiceGabarit(prevLevel, bit)] = mot;
             }
         }
+        return mots;
+    }
+
+    /**
+     * modifie le nombre d'échantillons par symbole des prochaines conversions
+     * @param nbEch le nouveau nombre d'échantillons par symbole
+     */
+    public void setNbEch(int nbEch) {
+        this.nbEch = nbEch;
+        this.gabarits = null;
+    }
+
+    /**
+     * Remet l'émetteur dans son état de début de message : les informations
+     * reçues ensuite sont considérées comme le début d'un nouveau message et
+     * non comme la suite du bloc précédent.
+     */
+    public void reinitialiser() {
+        niveauPrecedent = 0.0f;
+    }
 
     /**
      * Fonction permettant à l'émetteur de récupérer l'information envoyée par la source.
@@ -0,0 +1,173 @@
+package information;
+
+/**
+ * Code à répétition utilisé par l'option -codeur : chaque bit est codé par
+ * un triplet, 1 → 101 et 0 → 010 (premier bit du triplet en tête), et le
+ * décodage prend la majorité du triplet après inversion de son bit central.
+ * <p>
+ * Le codage et le décodage travaillent directement sur les mots de 64 bits
+ * d'une {@link InformationBinaire}, à l'aide de tables précalculées :
+ * un octet d'entrée donne 24 bits codés, et 12 bits codés (4 triplets)
+ * donnent 4 bits décodés. Un mot de 64 bits est ainsi codé en 8 lectures
+ * de table et 64 bits décodés demandent 16 lectures.
+ * </p>
+ * <p>
+ * {@link #decoderSouple} décode à partir des valeurs souples du récepteur
+ * plutôt que des bits décidés : la somme des trois valeurs d'un triplet
+ * conserve leur fiabilité, ce qui gagne environ 2 dB sur le décodage dur.
+ * </p>
+ */
+public final class CodeRepetition {
+
+    /** masque de 24 bits (8 triplets) */
+    private static final long MASQUE_24 = 0xFFFFFFL;
+
+    /** décision de chaque triplet, indexée par ses 3 bits (premier bit en bit 0) */
+    private static final boolean[] MAJORITE = new boolean[8];
+
+    /** codage d'un octet : les 8 triplets (24 bits) de ses 8 bits */
+    private static final int[] CODAGE_OCTET = new int[256];
+
+    /** décodage de 4 triplets (12 bits) : les 4 bits décidés */
+    private static final byte[] DECODAGE_12 = new byte[1 << 12];
+
+    static {
+        for (int triplet = 0; triplet < 8; triplet++) {
+            // majorité de (b1, non b2, b3), b1 étant le premier bit du triplet (bit 0)
+            int votes = (triplet & 1) + ((~triplet >>> 1) & 1) + ((triplet >>> 2) & 1);
+            MAJORITE[triplet] = votes >= 2;
+        }
+        for (int octet = 0; octet < 256; octet++) {
+            int code = 0;
+            for (int j = 0; j < 8; j++) {
+                code |= (((octet >>> j) & 1) != 0 ? 0b101 : 0b010) << (3 * j);
+            }
+            CODAGE_OCTET[octet] = code;
+        }
+        for (int bloc = 0; bloc < DECODAGE_12.length; bloc++) {
+            int decide = 0;
+            for (int j = 0; j < 4; j++) {
+                if (MAJORITE[(bloc >>> (3 * j)) & 7]) {
+                    decide |= 1 << j;
+                }
+            }
+            DECODAGE_12[bloc] = (byte) decide;
+        }
+    }
+
+    /**
+     * classe utilitaire, non instanciable
+     */
+    private CodeRepetition() {}
+
+    /**
+     * code une information binaire : chaque bit devient un triplet
+     * @param bits les bits à coder
+     * @return les {@code 3 * bits.nbElements()} bits codés
+     */
+    public static InformationBinaire coder(InformationBinaire bits) {
+        int nbBits = bits.nbElements();
+        InformationBinaire code = new InformationBinaire(3 * nbBits);
+        long[] mots = bits.mots();
+        long[] codes = new long[3];
+        for (int m = 0, restants = nbBits; restants > 0; m++, restants -= 64) {
+            coderMot(mots[m], codes);
+            int nbCodes = 3 * Math.min(restants, 64);
+            code.addMot(codes[0], Math.min(nbCodes, 64));
+            code.addMot(codes[1], Math.min(Math.max(nbCodes - 64, 0), 64));
+            code.addMot(codes[2], Math.max(nbCodes - 128, 0));
+        }
+        return code;
+    }
+
+    /**
+     * décode une information binaire codée par {@link #coder} ; un triplet
+     * incomplet en fin d'information est ignoré
+     * @param code les bits codés
+     * @return les {@code code.nbElements() / 3} bits décidés
+     */
+    public static InformationBinaire decoder(InformationBinaire code) {
+        int nbTriplets = code.nbElements() / 3;
+        InformationBinaire decode = new InformationBinaire(nbTriplets);
+        for (int debut = 0, restants = nbTriplets; restants > 0; debut += 192, restants -= 64) {
+            long mot = decoderMots(code.lireMot(debut), code.lireMot(debut + 64), code.lireMot(debut + 128));
+            decode.addMot(mot, Math.min(restants, 64));
+        }
+        return decode;
+    }
+
+    /**
+     * décode des valeurs souples (une par bit codé, positive quand le bit 1 est
+     * le plus probable) : chaque triplet est décidé sur la somme {@code s1 - s2 + s3},
+     * corrélation avec le mot de code 101 ; un triplet incomplet est ignoré
+     * @param souples les valeurs souples des bits codés
+     * @return les {@code souples.nbElements() / 3} bits décidés
+     */
+    public static InformationBinaire decoderSouple(InformationAnalogique souples) {
+        int nbTriplets = souples.nbElements() / 3;
+        float[] s = souples.valeurs();
+        InformationBinaire decode = new InformationBinaire(nbTriplets);
+        long mot = 0;
+        int nbDansMot = 0;
+        for (int t = 0, k = 0; t < nbTriplets; t++, k += 3) {
+            if (s[k] - s[k + 1] + s[k + 2] >= 0) {
+                mot |= 1L << nbDansMot;
+            }
+            if (++nbDansMot == 64) {
+                decode.addMot(mot, 64);
+                mot = 0;
+                nbDansMot = 0;
+            }
+        }
+        decode.addMot(mot, nbDansMot);
+        return decode;
+    }
+
+    /**
+     * code 64 bits en 192 bits
+     * @param mot les bits à coder (premier bit en bit 0)
+     * @param codes reçoit les 3 mots codés, dans l'ordre
+     */
+    static void coderMot(long mot, long[] codes) {
+        long c0 = CODAGE_OCTET[(int) mot & 0xFF];
+        long c1 = CODAGE_OCTET[(int) (mot >>> 8) & 0xFF];
+        long c2 = CODAGE_OCTET[(int) (mot >>> 16) & 0xFF];
+        long c3 = CODAGE_OCTET[(int) (mot >>> 24) & 0xFF];
+        long c4 = CODAGE_OCTET[(int) (mot >>> 32) & 0xFF];
+        long c5 = CODAGE_OCTET[(int) (mot >>> 40) & 0xFF];
+        long c6 = CODAGE_OCTET[(int) (mot >>> 48) & 0xFF];
+        long c7 = CODAGE_OCTET[(int) (mot >>> 56) & 0xFF];
+        // les 8 blocs de 24 bits sont mis bout à bout sur 192 bits
+        codes[0] = c0 | (c1 << 24) | (c2 << 48);
+        codes[1] = (c2 >>> 16) | (c3 << 8) | (c4 << 32) | (c5 << 56);
+        codes[2] = (c5 >>> 8) | (c6 << 16) | (c7 << 40);
+    }
+
+    /**
+     * décode 192 bits (64 triplets) en 64 bits
+     * @param a les bits codés 0 à 63
+     * @param b les bits codés 64 à 127
+     * @param c les bits codés 128 à 191
+     * @return les 64 bits décidés (premier bit en bit 0)
+     */
+    static long decoderMots(long a, long b, long c) {
+        return decoder24(a)
+                | decoder24(a >>> 24) << 8
+                | decoder24((a >>> 48) | (b << 16)) << 16
+                | decoder24(b >>> 8) << 24
+                | decoder24(b >>> 32) << 32
+                | decoder24((b >>> 56) | (c << 8)) << 40
+                | decoder24(c >>> 16) << 48
+                | decoder24(c >>> 40) << 56;
+    }
+
+    /**
+     * décode 8 triplets
+     * @param bloc les 24 bits codés (bits de poids fort ignorés)
+     * @return les 8 bits décidés
+     */
+    private static long decoder24(long bloc) {
+        int b = (int) (bloc & MASQUE_24);
+        return (DECODAGE_12[b & 0xFFF] & 0xF) | ((DECODAGE_12[b >>> 12] & 0xF) << 4);
+    }
+}
@@ -0,0 +1,229 @@
+package information;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Information analogique dont les échantillons sont stockés dans un
+ * tableau de {@code float} primitifs (pas de {@code Float} alloué par
+ * échantillon).
+ * <p>
+ * Conserve l'API de {@link Information} ({@code nbElements},
+ * {@code iemeElement}, {@code add}, parcours "for each") et offre en plus
+ * des accès en masse sur le tableau primitif.
+ * </p>
+ */
+public class InformationAnalogique extends Information<Float> {
+
+    /** capacité utilisée quand aucune taille n'est donnée */
+    private static final int CAPACITE_DEFAUT = 16;
+
+    /** les échantillons, seuls les {@code nb} premiers sont significatifs */
+    private float[] valeurs;
+
+    /** le nombre d'échantillons de l'information */
+    private int nb;
+
+    /**
+     * pour construire une information analogique vide
+     */
+    public InformationAnalogique() {
+        this(CAPACITE_DEFAUT);
+    }
+
+    /**
+     * pour construire une information analogique vide en réservant la place
+     * de {@code capacite} échantillons
+     * @param capacite le nombre d'échantillons à réserver
+     */
+    public InformationAnalogique(int capacite) {
+        super();
+        this.valeurs = new float[Math.max(capacite, 1)];
+        this.nb = 0;
+    }
+
+    /**
+     * pour construire une information analogique à partir d'un tableau
+     * (le tableau est recopié)
+     * @param valeurs les échantillons de l'information construite
+     */
+    public InformationAnalogique(float[] valeurs) {
+        this(valeurs.length);
+        System.arraycopy(valeurs, 0, this.valeurs, 0, valeurs.length);
+        this.nb = valeurs.length;
+    }
+
+    /**
+     * pour obtenir une information analogique à partir d'une information
+     * quelconque de {@code Float} : renvoie l'information elle-même si elle est
+     * déjà analogique, une copie primitive sinon
+     * @param information l'information à convertir
+     * @return l'information sous forme analogique
+     */
+    public static InformationAnalogique de(Information<Float> information) {
+        if (information instanceof InformationAnalogique) {
+            return (InformationAnalogique) information;
+        }
+        InformationAnalogique resultat = new InformationAnalogique(information.nbElements());
+        for (Float f : information) {
+            resultat.add(f.floatValue());
+        }
+        return resultat;
+    }
+
+    @Override
+    public int nbElements() {
+        return nb;
+    }
+
+    @Override
+    public Float iemeElement(int i) {
+        return iemeValeur(i);
+    }
+
+    /**
+     * pour renvoyer un échantillon sans passer par un {@code Float}
+     * @param i le rang de l'échantillon (à partir de 0)
+     * @return le ième échantillon
+     */
+    public float iemeValeur(int i) {
+        if (i < 0 || i >= nb) {
+            throw new IndexOutOfBoundsException("Index " + i + " hors de [0, " + nb + "[");
+        }
+        return valeurs[i];
+    }
+
+    @Override
+    public void setIemeElement(int i, Float v) {
+        setIemeValeur(i, v);
+    }
+
+    /**
+     * pour modifier un échantillon sans passer par un {@code Float}
+     * @param i le rang de l'échantillon à modifier (à partir de 0)
+     * @param v la nouvelle valeur
+     */
+    public void setIemeValeur(int i, float v) {
+        if (i < 0 || i >= nb) {
+            throw new IndexOutOfBoundsException("Index " + i + " hors de [0, " + nb + "[");
+        }
+        valeurs[i] = v;
+    }
+
+    @Override
+    public void add(Float valeur) {
+        add(valeur.floatValue());
+    }
+
+    /**
+     * pour ajouter un échantillon à la fin de l'information
+     * @param valeur l'échantillon à rajouter
+     */
+    public void add(float valeur) {
+        reserver(nb + 1);
+        valeurs[nb++] = valeur;
+    }
+
+    /**
+     * pour ajouter en une fois une portion de tableau à la fin de l'information
+     * @param source le tableau à recopier
+     * @param debut l'indice du premier échantillon à recopier
+     * @param longueur le nombre d'échantillons à recopier
+     */
+    public void addAll(float[] source, int debut, int longueur) {
+        reserver(nb + longueur);
+        System.arraycopy(source, debut, valeurs, nb, longueur);
+        nb += longueur;
+    }
+
+    /**
+     * pour agrandir l'information de {@code longueur} échantillons nuls et
+     * récupérer le rang du premier, afin de les écrire directement dans
+     * {@link #valeurs()}
+     * @param longueur le nombre d'échantillons à ajouter
+     * @return le rang du premier échantillon ajouté
+     */
+    public int etendre(int longueur) {
+        reserver(nb + longueur);
+        int debut = nb;
+        nb += longueur;
+        return debut;
+    }
+
+    /**
+     * pour vider l'information en conservant la place réservée, afin de la
+     * remplir à nouveau sans allocation
+     */
+    public void vider() {
+        Arrays.fill(valeurs, 0, nb, 0f);
+        nb = 0;
+    }
+
+    /**
+     * pour accéder directement au tableau interne (sans copie). Seuls les
+     * {@link #nbElements()} premiers échantillons sont significatifs, et le
+     * tableau peut être réalloué par un ajout ultérieur.
+     * @return le tableau interne des échantillons
+     */
+    public float[] valeurs() {
+        return valeurs;
+    }
+
+    /**
+     * pour obtenir une copie des échantillons, à la taille exacte
+     * @return un nouveau tableau contenant les échantillons
+     */
+    public float[] toArray() {
+        return Arrays.copyOf(valeurs, nb);
+    }
+
+    /**
+     * pour garantir la place d'au moins {@code capacite} échantillons
+     * @param capacite le nombre d'échantillons à pouvoir stocker
+     */
+    private void reserver(int capacite) {
+        if (capacite > valeurs.length) {
+            valeurs = Arrays.copyOf(valeurs, Math.max(capacite, valeurs.length * 2));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof InformationAnalogique) {
+            InformationAnalogique autre = (InformationAnalogique) o;
+            return Arrays.equals(valeurs, 0, nb, autre.valeurs, 0, autre.nb);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // comme Arrays.hashCode, limité aux nbElements() échantillons utilisés
+        int h = 1;
+        for (int i = 0; i < nb; i++) {
+            h = 31 * h + Float.hashCode(valeurs[i]);
+        }
+        return h;
+    }
+
+    @Override
+    public Iterator<Float> iterator() {
+        return new Iterator<Float>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < nb;
+            }
+
+            @Override
+            public Float next() {
+                if (i >= nb) {
+                    throw new NoSuchElementException();
+                }
+                return valeurs[i++];
+            }
+        };
+    }
+}
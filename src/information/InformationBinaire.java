@@ -0,0 +1,281 @@
+package information;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Information binaire dont les bits sont rangés 64 par 64 dans un tableau de
+ * {@code long} (le bit de rang i est le bit {@code i % 64} du mot {@code i / 64}).
+ * <p>
+ * Conserve l'API de {@link Information} ({@code nbElements},
+ * {@code iemeElement}, {@code add}, parcours "for each") et offre en plus
+ * des accès en masse sur les mots. Les bits au-delà de {@code nbElements()}
+ * dans le dernier mot sont toujours à 0.
+ * </p>
+ */
+public class InformationBinaire extends Information<Boolean> {
+
+    /** nombre de mots réservés quand aucune taille n'est donnée */
+    private static final int CAPACITE_DEFAUT = 2;
+
+    /** les bits de l'information, rangés par mots de 64 */
+    private long[] mots;
+
+    /** le nombre de bits de l'information */
+    private int nb;
+
+    /**
+     * pour construire une information binaire vide
+     */
+    public InformationBinaire() {
+        super();
+        this.mots = new long[CAPACITE_DEFAUT];
+        this.nb = 0;
+    }
+
+    /**
+     * pour construire une information binaire vide en réservant la place
+     * de {@code capacite} bits
+     * @param capacite le nombre de bits à réserver
+     */
+    public InformationBinaire(int capacite) {
+        super();
+        this.mots = new long[Math.max(nbMots(capacite), 1)];
+        this.nb = 0;
+    }
+
+    /**
+     * pour construire une information binaire à partir d'un tableau de booléens
+     * @param bits les bits de l'information construite
+     */
+    public InformationBinaire(boolean[] bits) {
+        this(bits.length);
+        for (boolean b : bits) {
+            add(b);
+        }
+    }
+
+    /**
+     * pour obtenir une information binaire à partir d'une information
+     * quelconque de {@code Boolean} : renvoie l'information elle-même si elle
+     * est déjà binaire, une copie compacte sinon
+     * @param information l'information à convertir
+     * @return l'information sous forme binaire
+     */
+    public static InformationBinaire de(Information<Boolean> information) {
+        if (information instanceof InformationBinaire) {
+            return (InformationBinaire) information;
+        }
+        InformationBinaire resultat = new InformationBinaire(information.nbElements());
+        for (Boolean b : information) {
+            resultat.add(b.booleanValue());
+        }
+        return resultat;
+    }
+
+    /**
+     * pour connaître le nombre de mots nécessaires au stockage de n bits
+     * @param nbBits le nombre de bits
+     * @return le nombre de mots de 64 bits
+     */
+    public static int nbMots(int nbBits) {
+        return (nbBits + 63) >>> 6;
+    }
+
+    @Override
+    public int nbElements() {
+        return nb;
+    }
+
+    @Override
+    public Boolean iemeElement(int i) {
+        return iemeBit(i);
+    }
+
+    /**
+     * pour renvoyer un bit sans passer par un {@code Boolean}
+     * @param i le rang du bit (à partir de 0)
+     * @return le ième bit
+     */
+    public boolean iemeBit(int i) {
+        if (i < 0 || i >= nb) {
+            throw new IndexOutOfBoundsException("Index " + i + " hors de [0, " + nb + "[");
+        }
+        return ((mots[i >>> 6] >>> i) & 1L) != 0;
+    }
+
+    @Override
+    public void setIemeElement(int i, Boolean v) {
+        setIemeBit(i, v);
+    }
+
+    /**
+     * pour modifier un bit sans passer par un {@code Boolean}
+     * @param i le rang du bit à modifier (à partir de 0)
+     * @param v la nouvelle valeur du bit
+     */
+    public void setIemeBit(int i, boolean v) {
+        if (i < 0 || i >= nb) {
+            throw new IndexOutOfBoundsException("Index " + i + " hors de [0, " + nb + "[");
+        }
+        if (v) {
+            mots[i >>> 6] |= 1L << i;
+        } else {
+            mots[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    @Override
+    public void add(Boolean valeur) {
+        add(valeur.booleanValue());
+    }
+
+    /**
+     * pour ajouter un bit à la fin de l'information
+     * @param valeur le bit à rajouter
+     */
+    public void add(boolean valeur) {
+        reserver(nb + 1);
+        if (valeur) {
+            mots[nb >>> 6] |= 1L << nb;
+        }
+        nb++;
+    }
+
+    /**
+     * pour ajouter en une fois les {@code nbBits} bits de poids faible d'un mot
+     * (le bit 0 du mot devient le premier bit ajouté)
+     * @param mot le mot contenant les bits à ajouter
+     * @param nbBits le nombre de bits à ajouter (de 0 à 64)
+     */
+    public void addMot(long mot, int nbBits) {
+        if (nbBits <= 0) {
+            return;
+        }
+        if (nbBits < 64) {
+            mot &= (1L << nbBits) - 1;
+        }
+        reserver(nb + nbBits);
+        int decalage = nb & 63;
+        int indice = nb >>> 6;
+        mots[indice] |= mot << decalage;
+        if (decalage != 0 && decalage + nbBits > 64) {
+            mots[indice + 1] = mot >>> (64 - decalage);
+        }
+        nb += nbBits;
+    }
+
+    /**
+     * pour vider l'information en conservant la place réservée, afin de la
+     * remplir à nouveau sans allocation
+     */
+    public void vider() {
+        Arrays.fill(mots, 0, nbMots(nb), 0L);
+        nb = 0;
+    }
+
+    /**
+     * pour lire 64 bits consécutifs à partir d'un rang quelconque (les bits
+     * au-delà de la fin de l'information valent 0)
+     * @param debut le rang du premier bit lu
+     * @return un mot dont le bit 0 est le bit de rang {@code debut}
+     */
+    public long lireMot(int debut) {
+        int indice = debut >>> 6;
+        int decalage = debut & 63;
+        long mot = indice < mots.length ? mots[indice] >>> decalage : 0L;
+        if (decalage != 0 && indice + 1 < mots.length) {
+            mot |= mots[indice + 1] << (64 - decalage);
+        }
+        return mot;
+    }
+
+    /**
+     * pour accéder directement au tableau interne des mots (sans copie).
+     * Seuls les {@link #nbElements()} premiers bits sont significatifs, et
+     * le tableau peut être réalloué par un ajout ultérieur.
+     * @return le tableau interne des mots
+     */
+    public long[] mots() {
+        return mots;
+    }
+
+    /**
+     * pour compter les bits différents entre cette information et une autre,
+     * sur leurs {@code nbBits} premiers bits
+     * @param autre l'information à comparer
+     * @param nbBits le nombre de bits comparés (au plus la taille de chacune)
+     * @return le nombre de bits différents
+     */
+    public int nbDifferences(InformationBinaire autre, int nbBits) {
+        int erreurs = 0;
+        int complets = nbBits >>> 6;
+        for (int m = 0; m < complets; m++) {
+            erreurs += Long.bitCount(mots[m] ^ autre.mots[m]);
+        }
+        int reste = nbBits & 63;
+        if (reste != 0) {
+            long masque = (1L << reste) - 1;
+            erreurs += Long.bitCount((mots[complets] ^ autre.mots[complets]) & masque);
+        }
+        return erreurs;
+    }
+
+    /**
+     * pour garantir la place d'au moins {@code capacite} bits
+     * @param capacite le nombre de bits à pouvoir stocker
+     */
+    private void reserver(int capacite) {
+        int necessaires = nbMots(capacite);
+        if (necessaires > mots.length) {
+            mots = Arrays.copyOf(mots, Math.max(necessaires, mots.length * 2));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof InformationBinaire) {
+            InformationBinaire autre = (InformationBinaire) o;
+            return nb == autre.nb && nbDifferences(autre, nb) == 0;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // les bits au-delà de nbElements() ne participent pas à equals
+        int h = nb;
+        int complets = nb >>> 6;
+        for (int m = 0; m < complets; m++) {
+            h = 31 * h + Long.hashCode(mots[m]);
+        }
+        int reste = nb & 63;
+        if (reste != 0) {
+            h = 31 * h + Long.hashCode(mots[complets] & ((1L << reste) - 1));
+        }
+        return h;
+    }
+
+    @Override
+    public Iterator<Boolean> iterator() {
+        return new Iterator<Boolean>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < nb;
+            }
+
+            @Override
+            public Boolean next() {
+                if (i >= nb) {
+                    throw new NoSuchElementException();
+                }
+                boolean b = ((mots[i >>> 6] >>> i) & 1L) != 0;
+                i++;
+                return b;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événement Java Flight Recorder d'un appel de maillon de la chaîne
+ * ({@code recevoir} ou {@code emettre}), émis par {@link Metriques}. Sa durée
+ * inclut celle des maillons suivants appelés pendant l'appel : dans
+ * l'enregistrement, les événements des étages s'emboîtent comme les appels.
+ */
+@Name("transmission.Etage")
+@Label("Étage de la chaîne")
+@Category({"Transmission", "Chaîne"})
+@Description("Appel recevoir ou emettre d'un maillon de la chaîne de transmission")
+@StackTrace(false)
+class EvenementEtage extends Event {
+
+    /** nom de la classe du maillon */
+    @Label("Étage")
+    String etage;
+
+    /** "recevoir" ou "emettre" */
+    @Label("Opération")
+    String operation;
+
+    /** nombre d'éléments de l'information reçue (0 pour une émission) */
+    @Label("Éléments")
+    long nbElements;
+}
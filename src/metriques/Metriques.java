@@ -0,0 +1,335 @@
+package metriques;
+
+import destinations.DestinationInterface;
+import information.Information;
+import information.InformationNonConformeException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import sources.SourceInterface;
+
+/**
+ * Mesures par étage de la chaîne de transmission (option -metrics) et
+ * événements Java Flight Recorder des étages ({@link EvenementEtage}).
+ * <p>
+ * Les classes de base {@code Source} et {@code Transmetteur} font passer
+ * chaque émission par {@link #recevoir(DestinationInterface, Information)},
+ * et le simulateur lance les émissions par {@link #emettre(SourceInterface)} :
+ * chaque appel est attribué au maillon appelé, avec ses éléments reçus, son
+ * temps et sa mémoire allouée. Les appels imbriqués (un maillon qui émet vers
+ * le suivant depuis sa réception) sont retranchés du maillon appelant, si bien
+ * que chaque étage ne compte que son propre travail.
+ * </p>
+ * <p>
+ * Chaque appel produit aussi un événement JFR {@code transmission.Etage}
+ * quand un enregistrement en cours l'active, indépendamment de -metrics.
+ * </p>
+ * <p>
+ * Sans -metrics ni enregistrement JFR (par défaut), il ne reste que la lecture
+ * d'un booléen et le test d'activation de l'événement avant l'appel direct
+ * du maillon.
+ * </p>
+ */
+public final class Metriques {
+
+    /** true quand les mesures sont actives */
+    private static volatile boolean actif = false;
+
+    /** compteurs de chaque maillon mesuré, par identité */
+    private static final Map<Object, MetriquesEtage> etages = new IdentityHashMap<>();
+
+    /** compteurs dans l'ordre de première mesure des maillons */
+    private static final List<MetriquesEtage> ordre = new ArrayList<>();
+
+    /** mesure en cours du thread courant (sommet de la pile des appels imbriqués) */
+    private static final ThreadLocal<Mesure> enCours = new ThreadLocal<>();
+
+    /** accès à la mémoire allouée par thread, null si la JVM ne la fournit pas */
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocations();
+
+    /**
+     * mesure d'un appel en cours
+     */
+    private static final class Mesure {
+        /** étage mesuré */
+        final MetriquesEtage etage;
+        /** mesure englobante, ou null */
+        final Mesure parent;
+        /** instant de début, en nanosecondes */
+        final long debut;
+        /** mémoire allouée par le thread au début, en octets */
+        final long octetsDebut;
+        /** temps passé dans les appels imbriqués */
+        long nanosImbriques;
+        /** mémoire allouée par les appels imbriqués */
+        long octetsImbriques;
+
+        Mesure(MetriquesEtage etage, Mesure parent) {
+            this.etage = etage;
+            this.parent = parent;
+            this.octetsDebut = octetsAlloues();
+            this.debut = System.nanoTime();
+        }
+    }
+
+    /**
+     * classe utilitaire, non instanciable
+     */
+    private Metriques() {}
+
+    /**
+     * Active ou désactive les mesures. Les compteurs des maillons ne sont pas
+     * synchronisés et les maillons mesurés restent référencés jusqu'à
+     * {@link #reinitialiser()} : les mesures sont prévues pour une seule
+     * chaîne exécutée par un seul thread, et doivent être désactivées avant
+     * de lancer des simulations en parallèle.
+     * @param active true pour mesurer les appels suivants
+     */
+    public static void activer(boolean active) {
+        actif = active;
+    }
+
+    /**
+     * @return true si les mesures sont actives
+     */
+    public static boolean isActif() {
+        return actif;
+    }
+
+    /**
+     * Oublie tous les maillons mesurés jusqu'ici
+     */
+    public static synchronized void reinitialiser() {
+        etages.clear();
+        ordre.clear();
+    }
+
+    /**
+     * Fait recevoir une information à un maillon, en mesurant l'appel si les
+     * mesures sont actives
+     * @param <T> le type des éléments de l'information
+     * @param destination le maillon destinataire
+     * @param information l'information à lui transmettre
+     * @throws InformationNonConformeException si le maillon rejette l'information
+     */
+    public static <T> void recevoir(DestinationInterface<T> destination, Information<T> information)
+            throws InformationNonConformeException {
+        EvenementEtage evenement = new EvenementEtage();
+        if (!actif && !evenement.isEnabled()) {
+            destination.recevoir(information);
+            return;
+        }
+        int nbElements = (information != null) ? information.nbElements() : 0;
+        Mesure mesure = null;
+        if (actif) {
+            mesure = debut(destination);
+            mesure.etage.elementsEntres += nbElements;
+        }
+        evenement.begin();
+        try {
+            destination.recevoir(information);
+        } finally {
+            evenement.end();
+            if (mesure != null) {
+                fin(mesure);
+            }
+            enregistrer(evenement, destination, "recevoir", nbElements);
+        }
+    }
+
+    /**
+     * Fait émettre un maillon, en mesurant l'appel si les mesures sont actives
+     * @param source le maillon qui émet
+     * @throws InformationNonConformeException si un maillon rejette l'information émise
+     */
+    public static void emettre(SourceInterface<?> source) throws InformationNonConformeException {
+        EvenementEtage evenement = new EvenementEtage();
+        if (!actif && !evenement.isEnabled()) {
+            source.emettre();
+            return;
+        }
+        Mesure mesure = actif ? debut(source) : null;
+        evenement.begin();
+        try {
+            source.emettre();
+        } finally {
+            evenement.end();
+            if (mesure != null) {
+                fin(mesure);
+            }
+            enregistrer(evenement, source, "emettre", 0);
+        }
+    }
+
+    /**
+     * complète et enregistre l'événement JFR d'un appel, s'il dépasse le seuil
+     * de l'enregistrement en cours
+     * @param evenement l'événement de l'appel, terminé
+     * @param composant le maillon appelé
+     * @param operation "recevoir" ou "emettre"
+     * @param nbElements le nombre d'éléments reçus
+     */
+    private static void enregistrer(EvenementEtage evenement, Object composant, String operation, long nbElements) {
+        if (evenement.shouldCommit()) {
+            evenement.etage = composant.getClass().getSimpleName();
+            evenement.operation = operation;
+            evenement.nbElements = nbElements;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Compte les éléments émis par un maillon (une fois par information émise,
+     * quel que soit le nombre de destinations)
+     * @param source le maillon qui émet
+     * @param information l'information émise
+     */
+    public static void sortie(Object source, Information<?> information) {
+        if (actif && information != null) {
+            etage(source).elementsSortis += information.nbElements();
+        }
+    }
+
+    /**
+     * Donne les compteurs cumulés de chaque étage, les maillons de même classe
+     * étant regroupés, dans l'ordre de première mesure
+     * @return les compteurs par étage
+     */
+    public static synchronized List<MetriquesEtage> resume() {
+        Map<String, MetriquesEtage> parNom = new LinkedHashMap<>();
+        for (MetriquesEtage etage : ordre) {
+            parNom.computeIfAbsent(etage.getNom(), nom -> new MetriquesEtage(nom, ALLOCATIONS != null)).ajouter(etage);
+        }
+        return new ArrayList<>(parNom.values());
+    }
+
+    /**
+     * Écrit le tableau récapitulatif des étages
+     * @param sortie le flux où écrire le tableau
+     */
+    public static void afficher(PrintStream sortie) {
+        sortie.println(String.format(Locale.ROOT, "%-22s %10s %14s %14s %12s %14s %14s %12s",
+                "Etage", "Appels", "Entrees", "Sorties", "Temps (ms)", "Debit (el/s)", "Latence (us)", "Alloue (Mo)"));
+        for (MetriquesEtage etage : resume()) {
+            sortie.println(String.format(Locale.ROOT, "%-22s %10d %14d %14d %12.3f %14.4g %14.3f %12s",
+                    etage.getNom(), etage.getAppels(), etage.getElementsEntres(), etage.getElementsSortis(),
+                    etage.getNanos() / 1e6, etage.getDebit(), etage.getLatenceMoyenne() / 1e3,
+                    etage.getOctetsAlloues() < 0 ? "-"
+                            : String.format(Locale.ROOT, "%.3f", etage.getOctetsAlloues() / (1024.0 * 1024.0))));
+        }
+    }
+
+    /**
+     * Écrit les compteurs des étages au format JSON
+     * @param fichier le fichier à écrire
+     * @throws IOException si le fichier ne peut être écrit
+     */
+    public static void exporterJSON(Path fichier) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(fichier, StandardCharsets.UTF_8))) {
+            writer.println("{");
+            writer.println("  \"etages\": [");
+            List<MetriquesEtage> resume = resume();
+            for (int i = 0; i < resume.size(); i++) {
+                MetriquesEtage etage = resume.get(i);
+                writer.print(String.format(Locale.ROOT,
+                        "    {\"nom\": \"%s\", \"appels\": %d, \"elementsEntres\": %d, \"elementsSortis\": %d, "
+                                + "\"nanos\": %d, \"octetsAlloues\": %d, \"debit\": %.6g, \"latenceMoyenneNanos\": %.6g}",
+                        etage.getNom(), etage.getAppels(), etage.getElementsEntres(), etage.getElementsSortis(),
+                        etage.getNanos(), etage.getOctetsAlloues(), etage.getDebit(), etage.getLatenceMoyenne()));
+                writer.println(i + 1 < resume.size() ? "," : "");
+            }
+            writer.println("  ]");
+            writer.println("}");
+        }
+    }
+
+    /**
+     * donne les compteurs d'un maillon, créés à sa première mesure
+     * @param composant le maillon
+     * @return ses compteurs
+     */
+    private static synchronized MetriquesEtage etage(Object composant) {
+        MetriquesEtage etage = etages.get(composant);
+        if (etage == null) {
+            etage = new MetriquesEtage(composant.getClass().getSimpleName(), ALLOCATIONS != null);
+            etages.put(composant, etage);
+            ordre.add(etage);
+        }
+        return etage;
+    }
+
+    /**
+     * commence la mesure d'un appel ; un maillon qui s'appelle lui-même
+     * (réception qui déclenche sa propre émission) reste dans la même mesure
+     * @param composant le maillon appelé
+     * @return la mesure ouverte
+     */
+    private static Mesure debut(Object composant) {
+        MetriquesEtage etage = etage(composant);
+        Mesure parent = enCours.get();
+        Mesure mesure = new Mesure(etage, parent);
+        enCours.set(mesure);
+        return mesure;
+    }
+
+    /**
+     * termine la mesure d'un appel et la retranche de la mesure englobante
+     * @param mesure la mesure ouverte par {@link #debut(Object)}
+     */
+    private static void fin(Mesure mesure) {
+        long nanos = System.nanoTime() - mesure.debut;
+        long octets = octetsAlloues() - mesure.octetsDebut;
+        MetriquesEtage etage = mesure.etage;
+        Mesure parent = mesure.parent;
+        if (parent != null && parent.etage == etage) {
+            // même maillon : le temps reste dans la mesure englobante
+            parent.nanosImbriques += mesure.nanosImbriques;
+            parent.octetsImbriques += mesure.octetsImbriques;
+        } else {
+            etage.appels++;
+            etage.nanos += nanos - mesure.nanosImbriques;
+            if (etage.octetsAlloues >= 0) {
+                etage.octetsAlloues += octets - mesure.octetsImbriques;
+            }
+            if (parent != null) {
+                parent.nanosImbriques += nanos;
+                parent.octetsImbriques += octets;
+            }
+        }
+        enCours.set(parent);
+    }
+
+    /**
+     * @return la mémoire allouée jusqu'ici par le thread courant, 0 si elle n'est pas mesurée
+     */
+    private static long octetsAlloues() {
+        return ALLOCATIONS == null ? 0 : ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return l'accès à la mémoire allouée par thread, null s'il n'est pas disponible
+     */
+    private static com.sun.management.ThreadMXBean allocations() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                    return bean;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // JVM sans jdk.management : pas de mesure des allocations
+        }
+        return null;
+    }
+}
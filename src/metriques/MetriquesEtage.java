@@ -0,0 +1,86 @@
+package metriques;
+
+/**
+ * Compteurs d'un étage (maillon) de la chaîne de transmission : appels,
+ * éléments reçus et émis, temps passé et mémoire allouée.
+ * <p>
+ * Le temps et la mémoire sont exclusifs : ce qu'un étage passe à attendre les
+ * étages auxquels il émet n'est compté que pour ces derniers. Un étage n'est
+ * utilisé que par un thread à la fois (chaque thread d'un balayage a sa
+ * propre chaîne), ses compteurs ne sont donc pas synchronisés.
+ * </p>
+ */
+public class MetriquesEtage {
+
+    /** nom de l'étage (nom de la classe du maillon) */
+    private final String nom;
+
+    /** nombre d'appels mesurés */
+    long appels;
+
+    /** nombre d'éléments reçus */
+    long elementsEntres;
+
+    /** nombre d'éléments émis */
+    long elementsSortis;
+
+    /** temps passé dans l'étage, en nanosecondes */
+    long nanos;
+
+    /** mémoire allouée par l'étage, en octets (-1 si la mesure est indisponible) */
+    long octetsAlloues;
+
+    /**
+     * construit les compteurs d'un étage
+     * @param nom le nom de l'étage
+     * @param allocationsMesurees true si la mémoire allouée est mesurée
+     */
+    MetriquesEtage(String nom, boolean allocationsMesurees) {
+        this.nom = nom;
+        this.octetsAlloues = allocationsMesurees ? 0 : -1;
+    }
+
+    /**
+     * ajoute les compteurs d'un autre étage de même nom
+     * @param autre l'étage à ajouter
+     */
+    void ajouter(MetriquesEtage autre) {
+        appels += autre.appels;
+        elementsEntres += autre.elementsEntres;
+        elementsSortis += autre.elementsSortis;
+        nanos += autre.nanos;
+        octetsAlloues = (octetsAlloues < 0 || autre.octetsAlloues < 0) ? -1 : octetsAlloues + autre.octetsAlloues;
+    }
+
+    /** @return le nom de l'étage */
+    public String getNom() { return nom; }
+
+    /** @return le nombre d'appels mesurés */
+    public long getAppels() { return appels; }
+
+    /** @return le nombre d'éléments reçus */
+    public long getElementsEntres() { return elementsEntres; }
+
+    /** @return le nombre d'éléments émis */
+    public long getElementsSortis() { return elementsSortis; }
+
+    /** @return le temps passé dans l'étage, en nanosecondes */
+    public long getNanos() { return nanos; }
+
+    /** @return la mémoire allouée par l'étage en octets, -1 si elle n'est pas mesurée */
+    public long getOctetsAlloues() { return octetsAlloues; }
+
+    /**
+     * @return le débit de l'étage en éléments reçus par seconde (éléments
+     *         émis pour une source, qui ne reçoit rien), 0 sans mesure
+     */
+    public double getDebit() {
+        long elements = elementsEntres > 0 ? elementsEntres : elementsSortis;
+        return nanos == 0 ? 0.0 : elements * 1e9 / nanos;
+    }
+
+    /** @return la latence moyenne d'un appel, en nanosecondes */
+    public double getLatenceMoyenne() {
+        return appels == 0 ? 0.0 : (double) nanos / appels;
+    }
+}
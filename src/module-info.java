@@ -6,5 +6,8 @@
  */
 module Transmission.system {
 		requires java.desktop;
+		requires java.management;
+		requires jdk.management;
+		requires jdk.jfr;
 }
 
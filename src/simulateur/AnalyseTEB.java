@@ -1,11 +1,17 @@
 package simulateur;
 
 import transmetteurs.Trajet;
+import visualisations.FichierColonnes;
+import visualisations.FormatExport;
+import visualisations.ImageCourbe;
 import visualisations.VueCourbe;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Paths;
 
 /**
  * Classe pour analyser le Taux d'Erreur Binaire (TEB) en fonction de différents paramètres
@@ -14,6 +20,17 @@ import java.io.PrintWriter;
  * 1. TEB = f(NbTrajets)
  * 2. TEB = f(alpha_i)
  * 3. TEB = f(tau_i)
+ * <p>
+ * Les points de chaque balayage sont simulés en parallèle par un
+ * {@link ExecuteurBalayage}. Les analyses ne font que calculer leurs courbes :
+ * les fichiers CSV sont écrits une seule fois, à la fin de
+ * {@link #genererGraphiques}, puis les courbes sont affichées si un écran est
+ * disponible (aucune attente sur Swing en mode headless).
+ * </p>
+ * <p>
+ * Avec {@link #setAnalytique(boolean)}, les trois courbes des trajets
+ * multiples sont calculées par {@link TEBAnalytique} au lieu d'être simulées.
+ * </p>
  */
 public class AnalyseTEB {
 
@@ -22,9 +39,35 @@ public class AnalyseTEB {
     private static int nbEch;
     private static float snrDb;
     private static String forme;
-    private static Integer seed;
     private static List<Trajet> trajetsUtilisateur;
 
+    /** graine des balayages : la graine de l'utilisateur, ou une graine tirée à chaque génération */
+    private static long graineBalayage;
+
+    /** nombre de threads simulant les points des balayages */
+    private static int parallelisme = Runtime.getRuntime().availableProcessors();
+
+    /** true pour afficher les courbes dans des fenêtres (si l'environnement le permet) */
+    private static boolean affichageCourbes = true;
+
+    /** format des fichiers de courbes : CSV par défaut, les courbes n'ayant que quelques points */
+    private static FormatExport formatExport = FormatExport.CSV;
+
+    /** true pour évaluer tous les SNR d'une courbe en une seule passe ({@link EvaluationMultiSNR}) */
+    private static boolean passeUnique = false;
+
+    /** true pour calculer les courbes des trajets multiples au lieu de les simuler ({@link TEBAnalytique}) */
+    private static boolean analytique = false;
+
+    /** nombre d'erreurs visé par point de la courbe TEB = f(SNR) */
+    private static final long NB_ERREURS_CIBLE = 100;
+
+    /** budget maximal de bits par point de la courbe TEB = f(SNR), en nombre de messages */
+    private static final int NB_MESSAGES_MAX = 100;
+
+    /** durée maximale de simulation par point de la courbe TEB = f(SNR), en millisecondes */
+    private static final long DUREE_MAX_POINT = 10000;
+
     /**
      * Construit un analyseur de TEB avec les paramètres par défaut.
      */
@@ -32,6 +75,195 @@ public class AnalyseTEB {
         // rien à initialiser pour l'instant
     }
 
+    /**
+     * Courbe de TEB calculée par une analyse, exportée en CSV et affichée
+     * par {@link #genererGraphiques}.
+     */
+    public static class Courbe {
+
+        /** nom du fichier CSV (sans préfixe ni extension) */
+        private final String nomFichier;
+
+        /** label de l'axe X */
+        private final String labelX;
+
+        /** titre de la fenêtre */
+        private final String titre;
+
+        /** valeurs de l'axe X */
+        private final float[] x;
+
+        /** résultats (erreurs et bits) de chaque point */
+        private final ResultatTEB[] resultats;
+
+        /** true pour exporter l'intervalle de confiance et les compteurs dans le CSV */
+        private final boolean detaillee;
+
+        /**
+         * @param nomFichier nom du fichier CSV (sans préfixe ni extension)
+         * @param labelX label de l'axe X
+         * @param titre titre de la fenêtre
+         * @param x valeurs de l'axe X
+         * @param resultats résultats de chaque point
+         * @param detaillee true pour exporter l'intervalle de confiance et les compteurs
+         */
+        Courbe(String nomFichier, String labelX, String titre, float[] x, ResultatTEB[] resultats, boolean detaillee) {
+            this.nomFichier = nomFichier;
+            this.labelX = labelX;
+            this.titre = titre;
+            this.x = x;
+            this.resultats = resultats;
+            this.detaillee = detaillee;
+        }
+
+        /** @return le nom du fichier CSV (sans préfixe ni extension) */
+        public String getNomFichier() { return nomFichier; }
+
+        /** @return le titre de la courbe */
+        public String getTitre() { return titre; }
+
+        /** @return les valeurs de l'axe X */
+        public float[] getX() { return x.clone(); }
+
+        /** @return le résultat de chaque point */
+        public ResultatTEB[] getResultats() { return resultats.clone(); }
+
+        /** @return le TEB de chaque point */
+        public float[] getTEB() {
+            float[] teb = new float[resultats.length];
+            for (int i = 0; i < resultats.length; i++) {
+                teb[i] = (float) resultats[i].getTEB();
+            }
+            return teb;
+        }
+    }
+
+    /**
+     * Fixe le nombre de threads simulant les points des balayages.
+     * @param nbThreads nombre de threads (&gt; 0)
+     * @throws IllegalArgumentException si nbThreads &lt;= 0
+     */
+    public static void setParallelisme(int nbThreads) {
+        if (nbThreads < 1) {
+            throw new IllegalArgumentException("Le parallélisme doit être > 0");
+        }
+        parallelisme = nbThreads;
+    }
+
+    /**
+     * Active ou désactive l'affichage des courbes dans des fenêtres, ou leur
+     * rendu en PNG sans écran (les fichiers CSV sont écrits dans tous les cas).
+     * @param affichage true pour afficher les courbes
+     */
+    public static void setAffichageCourbes(boolean affichage) {
+        affichageCourbes = affichage;
+    }
+
+    /**
+     * Choisit le format des fichiers de courbes ({@code TEB_*.csv} ou {@code TEB_*.bin})
+     * @param format CSV, BINAIRE, ou AUTO (CSV pour les courbes de quelques points)
+     */
+    public static void setFormatExport(FormatExport format) {
+        formatExport = format;
+    }
+
+    /**
+     * Choisit l'évaluation des courbes TEB = f(SNR) : un balayage point par point
+     * (défaut), ou une seule passe pour tous les SNR ({@link EvaluationMultiSNR}).
+     * @param unePasse true pour l'évaluation en une seule passe
+     */
+    public static void setPasseUnique(boolean unePasse) {
+        passeUnique = unePasse;
+    }
+
+    /**
+     * Choisit l'évaluation des courbes des trajets multiples : simulation
+     * (défaut), ou calcul exact du TEB par énumération des motifs
+     * d'interférence ({@link TEBAnalytique}), vérifié une fois par simulation.
+     * @param calcul true pour calculer les courbes
+     */
+    public static void setAnalytique(boolean calcul) {
+        analytique = calcul;
+    }
+
+    /**
+     * Construit la configuration commune aux points des balayages : message
+     * aléatoire de {@code nbBitsMessage} bits, forme, nbEch et SNR choisis par
+     * l'utilisateur. Chaque analyse en dérive ses points avec
+     * {@link SimulationConfig#modifier()} ; les graines sont fixées par
+     * l'{@link ExecuteurBalayage}.
+     * @return la configuration de base
+     * @throws ArgumentsException si les paramètres sont incohérents
+     */
+    private static SimulationConfig configurationDeBase() throws ArgumentsException {
+        return new SimulationConfig.Builder()
+                .messageAleatoire(nbBitsMessage)
+                .form(forme)
+                .nbEch(nbEch)
+                .snrpb(snrDb)
+                .build();
+    }
+
+    /**
+     * Simule les points d'un balayage avec la graine et le parallélisme courants.
+     * @param points les configurations des points
+     * @return le résultat de chaque point, dans l'ordre des points
+     * @throws Exception si la simulation d'un point échoue
+     */
+    private static ResultatTEB[] balayer(List<SimulationConfig> points) throws Exception {
+        return new ExecuteurBalayage(parallelisme, graineBalayage).executer(points);
+    }
+
+    /**
+     * Évalue les points d'une courbe des trajets multiples : simulés par
+     * {@link #balayer}, ou calculés pour un message de {@code nbBitsMessage}
+     * bits avec {@link #setAnalytique(boolean)}.
+     * @param points les configurations des points
+     * @return le résultat de chaque point, dans l'ordre des points
+     * @throws Exception si la simulation d'un point échoue
+     */
+    private static ResultatTEB[] evaluerTrajets(List<SimulationConfig> points) throws Exception {
+        if (!analytique) {
+            return balayer(points);
+        }
+        ResultatTEB[] resultats = new ResultatTEB[points.size()];
+        for (int i = 0; i < resultats.length; i++) {
+            double teb = new TEBAnalytique(points.get(i)).calculer(nbBitsMessage);
+            resultats[i] = ResultatTEB.calcule(teb, nbBitsMessage);
+        }
+        return resultats;
+    }
+
+    /**
+     * Vérifie le calcul exact sur la configuration de l'utilisateur : simule
+     * un point avec tous ses trajets et affiche si le TEB calculé tombe dans
+     * l'intervalle de confiance à 95 % du TEB simulé.
+     * @throws Exception si la simulation échoue
+     */
+    private static void verifierCalcul() throws Exception {
+        SimulationConfig configuration = configurationDeBase().modifier().trajets(trajetsUtilisateur).build();
+        ResultatTEB simule = balayer(List.of(configuration))[0];
+        double calcule = new TEBAnalytique(configuration).calculer(nbBitsMessage);
+        double[] ic = simule.intervalleWilson(ResultatTEB.Z_95);
+        boolean accord = calcule >= ic[0] && calcule <= ic[1];
+        System.out.println(String.format("Vérification : TEB simulé=%.6f  IC95%%=[%.2e ; %.2e]  TEB calculé=%.6f (%s)",
+                simule.getTEB(), ic[0], ic[1], calcule, accord ? "dans l'intervalle" : "hors de l'intervalle"));
+    }
+
+    /**
+     * Évalue une courbe TEB = f(SNR) en une seule passe, sur un message de
+     * {@code nbBitsMessage} bits comme un point de {@link #balayer}.
+     * @param configuration la configuration de la chaîne
+     * @param valeursSNR les SNR de la courbe, en dB
+     * @return le résultat de chaque SNR
+     * @throws Exception si la simulation échoue
+     */
+    private static ResultatTEB[] evaluerEnUnePasse(SimulationConfig configuration, float[] valeursSNR) throws Exception {
+        int tailleLot = Math.min(nbBitsMessage, MoteurTEB.TAILLE_LOT_MAX);
+        return new EvaluationMultiSNR(configuration, valeursSNR, nbBitsMessage, tailleLot, graineBalayage)
+                .executer(parallelisme);
+    }
+
     /**
      * Exporte les données TEB vers un fichier CSV
      * @param fileName nom du fichier (sans extension)
@@ -51,334 +283,412 @@ public class AnalyseTEB {
     }
 
     /**
-     * Exporte les données TEB vers un fichier CSV (version simplifiée pour index)
+     * Exporte les données TEB et leur intervalle de confiance vers un fichier CSV
      * @param fileName nom du fichier (sans extension)
      * @param xLabel label de l'axe X
-     * @param yValues valeurs de l'axe Y (TEB), l'index sert de valeur X
+     * @param xValues valeurs de l'axe X
+     * @param resultats résultats (TEB et intervalle de confiance) de chaque point
      */
-    private static void exportToCSV(String fileName, String xLabel, float[] yValues) {
-        float[] xValues = new float[yValues.length];
-        for (int i = 0; i < yValues.length; i++) {
-            xValues[i] = i;
+    private static void exportToCSV(String fileName, String xLabel, float[] xValues, ResultatTEB[] resultats) {
+        try (PrintWriter writer = new PrintWriter(new FileWriter("TEB_" + fileName + ".csv"))) {
+            writer.println(xLabel + ",TEB,TEB_min,TEB_max,erreurs,bits");
+            for (int i = 0; i < xValues.length && i < resultats.length; i++) {
+                double[] ic = resultats[i].intervalleWilson(ResultatTEB.Z_95);
+                writer.println(xValues[i] + "," + resultats[i].getTEB() + "," + ic[0] + "," + ic[1]
+                        + "," + resultats[i].getNbErreurs() + "," + resultats[i].getNbBits());
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'export CSV de " + fileName + ": " + e.getMessage());
         }
-        exportToCSV(fileName, xLabel, xValues, yValues);
     }
 
-    public static void analyserNbTrajets() throws Exception {
+    /**
+     * Exporte une courbe vers un fichier binaire en colonnes ({@link FichierColonnes}) :
+     * les mêmes colonnes que le CSV, X en float32, TEB et intervalle en float64,
+     * compteurs en int64
+     * @param courbe la courbe à exporter
+     */
+    private static void exporterBinaire(Courbe courbe) {
+        int n = Math.min(courbe.x.length, courbe.resultats.length);
+        float[] x = Arrays.copyOf(courbe.x, n);
+        double[] teb = new double[n];
+        double[] tebMin = new double[n];
+        double[] tebMax = new double[n];
+        long[] erreurs = new long[n];
+        long[] bits = new long[n];
+        for (int i = 0; i < n; i++) {
+            double[] ic = courbe.resultats[i].intervalleWilson(ResultatTEB.Z_95);
+            teb[i] = courbe.resultats[i].getTEB();
+            tebMin[i] = ic[0];
+            tebMax[i] = ic[1];
+            erreurs[i] = courbe.resultats[i].getNbErreurs();
+            bits[i] = courbe.resultats[i].getNbBits();
+        }
+        FichierColonnes.Colonne[] colonnes = courbe.detaillee
+                ? new FichierColonnes.Colonne[] {
+                    FichierColonnes.Colonne.de(courbe.labelX, x), FichierColonnes.Colonne.de("TEB", teb),
+                    FichierColonnes.Colonne.de("TEB_min", tebMin), FichierColonnes.Colonne.de("TEB_max", tebMax),
+                    FichierColonnes.Colonne.de("erreurs", erreurs), FichierColonnes.Colonne.de("bits", bits)}
+                : new FichierColonnes.Colonne[] {
+                    FichierColonnes.Colonne.de(courbe.labelX, x), FichierColonnes.Colonne.de("TEB", teb)};
+        try {
+            FichierColonnes.ecrire(Paths.get("TEB_" + courbe.nomFichier + ".bin"), courbe.nomFichier, nbEch, forme, colonnes);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'export binaire de " + courbe.nomFichier + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Exporte toutes les courbes calculées, une fois les analyses terminées
+     * @param courbes les courbes à exporter
+     */
+    private static void exporterCourbes(List<Courbe> courbes) {
+        for (Courbe courbe : courbes) {
+            if (formatExport.estBinaire(courbe.x.length)) {
+                exporterBinaire(courbe);
+            } else if (courbe.detaillee) {
+                exportToCSV(courbe.nomFichier, courbe.labelX, courbe.x, courbe.resultats);
+            } else {
+                exportToCSV(courbe.nomFichier, courbe.labelX, courbe.x, courbe.getTEB());
+            }
+        }
+    }
+
+    /**
+     * Affiche les courbes calculées, sauf si l'affichage est désactivé ; dans
+     * un environnement sans écran, elles sont rendues dans des fichiers
+     * {@code TEB_*.png} ({@link ImageCourbe}, à attendre avant la fin du programme)
+     * @param courbes les courbes à afficher
+     */
+    private static void afficherCourbes(List<Courbe> courbes) {
+        if (!affichageCourbes) {
+            return;
+        }
+        for (Courbe courbe : courbes) {
+            if (ImageCourbe.isHorsEcran()) {
+                ImageCourbe.ecrire(courbe.getTEB(), courbe.titre, Paths.get("TEB_" + courbe.nomFichier + ".png"));
+            } else {
+                new VueCourbe(courbe.getTEB(), courbe.titre);
+            }
+        }
+    }
+
+    /**
+     * Analyse 1 : TEB en fonction du nombre de trajets
+     * On prend les 0, 1, ..., n premiers trajets utilisateur
+     * @return la courbe calculée (aucune si pas de trajets définis)
+     * @throws Exception si une erreur survient lors de l'exécution du simulateur
+     * ou lors de l'analyse des résultats.
+     */
+    public static List<Courbe> analyserNbTrajets() throws Exception {
         System.out.println("=== Analyse TEB = f(NbTrajets) ===");
+        List<Courbe> courbes = new ArrayList<>();
 
         // Si pas de trajets définis, on ne fait rien
         if (trajetsUtilisateur == null || trajetsUtilisateur.isEmpty()) {
             System.out.println("Pas de trajets définis, analyse ignorée\n");
-            return;
+            return courbes;
         }
 
         int nbTrajetsMax = trajetsUtilisateur.size();
         int nbPoints = nbTrajetsMax + 1;  // 0 à nbTrajetsMax
-        float[] valeursTEB = new float[nbPoints];
+        float[] valeursNbTrajets = new float[nbPoints];
+        List<SimulationConfig> points = new ArrayList<>();
 
         // Tester de 0 à nbTrajetsMax trajets
+        SimulationConfig base = configurationDeBase();
         for (int nbTrajets = 0; nbTrajets < nbPoints; nbTrajets++) {
-            StringBuilder args = new StringBuilder();
-            args.append("-mess ").append(nbBitsMessage);
-            args.append(" -form ").append(forme);
-            args.append(" -nbEch ").append(nbEch);
-            if (seed != null) {
-                args.append(" -seed ").append(seed);
-            }
-            args.append(" -snrpb ").append(snrDb);
-
-            if (nbTrajets > 0) {
-                args.append(" -ti");
-                for (int i = 0; i < nbTrajets; i++) {
-                    Trajet t = trajetsUtilisateur.get(i);
-                    args.append(" ").append(t.getTau()).append(" ").append(t.getAlpha());
-                }
-            }
-
-            Simulateur sim = new Simulateur(args.toString().split("\\s+"));
-            sim.execute();
-            float teb = sim.calculTauxErreurBinaire();
+            valeursNbTrajets[nbTrajets] = nbTrajets;
+            // les nbTrajets premiers trajets de l'utilisateur (aucun : canal sans trajets multiples)
+            points.add(base.modifier().trajets(trajetsUtilisateur.subList(0, nbTrajets)).build());
+        }
 
-            valeursTEB[nbTrajets] = teb;
-            System.out.println("NbTrajets=" + nbTrajets + " => TEB=" + teb);
+        ResultatTEB[] resultats = evaluerTrajets(points);
+        for (int nbTrajets = 0; nbTrajets < nbPoints; nbTrajets++) {
+            System.out.println("NbTrajets=" + nbTrajets + " => TEB=" + (float) resultats[nbTrajets].getTEB());
         }
 
-        VueCourbe courbe1 = new VueCourbe(valeursTEB, "TEB = f(Nombre de trajets)");
-        try { Thread.sleep(200); } catch (Exception e) {}  // Laisser le temps à la fenêtre de se créer
-        exportToCSV("NbTrajets", "NbTrajets", valeursTEB);
-        System.out.println("Graphique TEB vs NbTrajets généré\n");
+        courbes.add(new Courbe("NbTrajets", "NbTrajets", "TEB = f(Nombre de trajets)", valeursNbTrajets, resultats, false));
+        System.out.println("Courbe TEB vs NbTrajets calculée\n");
+        return courbes;
     }
 
     /**
      * Analyse 2 : TEB en fonction du coefficient d'atténuation alpha
      * On prend les trajets utilisateur et on fait varier alpha du premier trajet
+     * @return la courbe calculée (aucune si pas de trajets définis)
      * @throws Exception si une erreur survient lors de l'exécution du simulateur
      * ou lors de l'analyse des résultats.
      */
-    public static void analyserAlpha() throws Exception {
+    public static List<Courbe> analyserAlpha() throws Exception {
         System.out.println("=== Analyse TEB = f(alpha_i) ===");
+        List<Courbe> courbes = new ArrayList<>();
 
         // Si pas de trajets définis, on ne fait rien
         if (trajetsUtilisateur == null || trajetsUtilisateur.isEmpty()) {
             System.out.println("Pas de trajets définis, analyse ignorée\n");
-            return;
+            return courbes;
         }
 
         int nbPoints = 9;  // alpha de 0.1 à 0.9
-        float[] valeursTEB = new float[nbPoints];
         float[] valeursAlpha = new float[nbPoints];
+        List<SimulationConfig> points = new ArrayList<>();
 
         // Récupérer le tau du premier trajet
         int tauPremier = trajetsUtilisateur.get(0).getTau();
 
         // Faire varier alpha de 0.1 à 0.9
+        SimulationConfig base = configurationDeBase();
         for (int i = 0; i < nbPoints; i++) {
             float alpha = 0.1f + i * 0.1f;
             valeursAlpha[i] = alpha;
 
-            StringBuilder args = new StringBuilder();
-            args.append("-mess ").append(nbBitsMessage);
-            args.append(" -form ").append(forme);
-            args.append(" -nbEch ").append(nbEch);
-            if (seed != null) {
-                args.append(" -seed ").append(seed);
-            }
-            args.append(" -snrpb ").append(snrDb);
-            args.append(" -ti");
-            args.append(" ").append(tauPremier).append(" ").append(alpha);  // trajet 1 : alpha variable
-            // Ajouter les autres trajets tels quels
-            for (int j = 1; j < trajetsUtilisateur.size(); j++) {
-                Trajet t = trajetsUtilisateur.get(j);
-                args.append(" ").append(t.getTau()).append(" ").append(t.getAlpha());
-            }
-
-            Simulateur sim = new Simulateur(args.toString().split("\\s+"));
-            sim.execute();
-            float teb = sim.calculTauxErreurBinaire();
+            // trajet 1 : alpha variable, les autres trajets tels quels
+            List<Trajet> trajets = new ArrayList<>(trajetsUtilisateur);
+            trajets.set(0, new Trajet(tauPremier, alpha));
+            points.add(base.modifier().trajets(trajets).build());
+        }
 
-            valeursTEB[i] = teb;
-            System.out.println(String.format("Alpha=%.1f => TEB=%.6f", alpha, teb));
+        ResultatTEB[] resultats = evaluerTrajets(points);
+        for (int i = 0; i < nbPoints; i++) {
+            System.out.println(String.format("Alpha=%.1f => TEB=%.6f", valeursAlpha[i], resultats[i].getTEB()));
         }
 
-        VueCourbe courbe2 = new VueCourbe(valeursTEB, "TEB = f(alpha_i)");
-        try { Thread.sleep(200); } catch (Exception e) {}  // Laisser le temps à la fenêtre de se créer
-        exportToCSV("Alpha", "Alpha", valeursAlpha, valeursTEB);
-        System.out.println("Graphique TEB vs Alpha généré\n");
+        courbes.add(new Courbe("Alpha", "Alpha", "TEB = f(alpha_i)", valeursAlpha, resultats, false));
+        System.out.println("Courbe TEB vs Alpha calculée\n");
+        return courbes;
     }
 
     /**
      * Analyse 3 : TEB en fonction du délai tau
      * On prend les trajets utilisateur et on fait varier tau du premier trajet
+     * @return la courbe calculée (aucune si pas de trajets définis)
      * @throws Exception si une erreur survient lors de l'exécution du simulateur
      * ou lors de l'analyse des résultats.
      */
-    public static void analyserTau() throws Exception {
+    public static List<Courbe> analyserTau() throws Exception {
         System.out.println("=== Analyse TEB = f(tau_i) ===");
+        List<Courbe> courbes = new ArrayList<>();
 
         // Si pas de trajets définis, on ne fait rien
         if (trajetsUtilisateur == null || trajetsUtilisateur.isEmpty()) {
             System.out.println("Pas de trajets définis, analyse ignorée\n");
-            return;
+            return courbes;
         }
 
         int nbPoints = 20;  // tau de 1 à 20
-        float[] valeursTEB = new float[nbPoints];
         float[] valeursTau = new float[nbPoints];
+        List<SimulationConfig> points = new ArrayList<>();
 
         // Récupérer l'alpha du premier trajet
         float alphaPremier = trajetsUtilisateur.get(0).getAlpha();
 
         // Faire varier tau de 1 à 20 échantillons
+        SimulationConfig base = configurationDeBase();
         for (int tau = 1; tau <= nbPoints; tau++) {
             valeursTau[tau - 1] = tau;
 
-            StringBuilder args = new StringBuilder();
-            args.append("-mess ").append(nbBitsMessage);
-            args.append(" -form ").append(forme);
-            args.append(" -nbEch ").append(nbEch);
-            if (seed != null) {
-                args.append(" -seed ").append(seed);
-            }
-            args.append(" -snrpb ").append(snrDb);
-            args.append(" -ti");
-            args.append(" ").append(tau).append(" ").append(alphaPremier);  // trajet 1 : tau variable
-            // Ajouter les autres trajets tels quels
-            for (int j = 1; j < trajetsUtilisateur.size(); j++) {
-                Trajet t = trajetsUtilisateur.get(j);
-                args.append(" ").append(t.getTau()).append(" ").append(t.getAlpha());
-            }
-
-            Simulateur sim = new Simulateur(args.toString().split("\\s+"));
-            sim.execute();
-            float teb = sim.calculTauxErreurBinaire();
+            // trajet 1 : tau variable, les autres trajets tels quels
+            List<Trajet> trajets = new ArrayList<>(trajetsUtilisateur);
+            trajets.set(0, new Trajet(tau, alphaPremier));
+            points.add(base.modifier().trajets(trajets).build());
+        }
 
-            valeursTEB[tau - 1] = teb;
-            System.out.println("Tau=" + tau + " => TEB=" + teb);
+        ResultatTEB[] resultats = evaluerTrajets(points);
+        for (int tau = 1; tau <= nbPoints; tau++) {
+            System.out.println("Tau=" + tau + " => TEB=" + (float) resultats[tau - 1].getTEB());
         }
 
-        VueCourbe courbe3 = new VueCourbe(valeursTEB, "TEB = f(tau_i)");
-        try { Thread.sleep(200); } catch (Exception e) {}  // Laisser le temps à la fenêtre de se créer
-        exportToCSV("Tau", "Tau", valeursTau, valeursTEB);
-        System.out.println("Graphique TEB vs Tau généré\n");
+        courbes.add(new Courbe("Tau", "Tau", "TEB = f(tau_i)", valeursTau, resultats, false));
+        System.out.println("Courbe TEB vs Tau calculée\n");
+        return courbes;
     }
 
     /**
      * Analyse 4 : TEB en fonction du SNR (pour canal sans multi-trajet)
+     * <p>
+     * Chaque point est estimé par le {@link MoteurTEB} avec arrêt anticipé :
+     * on simule des messages de {@code nbBitsMessage} bits jusqu'à observer
+     * {@link #NB_ERREURS_CIBLE} erreurs, dans la limite de {@link #NB_MESSAGES_MAX}
+     * messages et de {@link #DUREE_MAX_POINT} ms. Les points à faible SNR
+     * s'arrêtent donc vite, le calcul se concentre sur ceux à fort SNR.
+     * Le moteur répartit déjà les lots d'un point sur tous les threads : les
+     * points sont donc estimés l'un après l'autre.
+     * </p>
+     * <p>
+     * Avec {@link #setPasseUnique(boolean)}, les dix points sont estimés
+     * ensemble par une {@link EvaluationMultiSNR}, avec le même budget et le
+     * même critère d'arrêt, atteint quand chaque point a ses erreurs.
+     * </p>
+     * @return la courbe calculée
      * @throws Exception si une erreur survient lors de l'exécution du simulateur
      */
-    public static void analyserSNR() throws Exception {
+    public static List<Courbe> analyserSNR() throws Exception {
         System.out.println("=== Analyse TEB = f(SNR) ===");
 
         int nbPoints = 10;  // SNR de 0 à 9 dB
-        float[] valeursTEB = new float[nbPoints];
         float[] valeursSNR = new float[nbPoints];
+        ResultatTEB[] resultats = new ResultatTEB[nbPoints];
 
-        // Utiliser le nombre de bits du message
-        int nbBitsAnalyse = nbBitsMessage;
-
-        // Faire varier le SNR de 0 à 9 dB
+        // Taille des lots : le nombre de bits du message, budget max : NB_MESSAGES_MAX messages
+        int tailleLot = Math.min(nbBitsMessage, MoteurTEB.TAILLE_LOT_MAX);
+        long nbBitsMax = (long) tailleLot * NB_MESSAGES_MAX;
+        SimulationConfig base = configurationDeBase();
         for (int i = 0; i < nbPoints; i++) {
-            float snrCourant = (float) i;
-            valeursSNR[i] = snrCourant;
+            valeursSNR[i] = (float) i;
+        }
 
-            StringBuilder args = new StringBuilder();
-            args.append("-mess ").append(nbBitsAnalyse);
-            args.append(" -form ").append(forme);
-            args.append(" -nbEch ").append(nbEch);
-            if (seed != null) {
-                args.append(" -seed ").append(seed);
+        if (passeUnique) {
+            EvaluationMultiSNR evaluation = new EvaluationMultiSNR(base, valeursSNR, nbBitsMax, tailleLot, graineBalayage);
+            evaluation.setNbErreursCible(NB_ERREURS_CIBLE);
+            evaluation.setDureeMax(DUREE_MAX_POINT);
+            resultats = evaluation.executer(parallelisme);
+            for (int i = 0; i < nbPoints; i++) {
+                double[] ic = resultats[i].intervalleWilson(ResultatTEB.Z_95);
+                System.out.println(String.format("SNR=%.1f dB => TEB=%.6f  IC95%%=[%.2e ; %.2e]  (%d erreurs / %d bits)",
+                        valeursSNR[i], resultats[i].getTEB(), ic[0], ic[1], resultats[i].getNbErreurs(),
+                        resultats[i].getNbBits()));
+            }
+            System.out.println("Passe unique : " + evaluation.getMotifArret());
+        } else {
+            // Faire varier le SNR de 0 à 9 dB
+            for (int i = 0; i < nbPoints; i++) {
+                float snrCourant = valeursSNR[i];
+
+                MoteurTEB moteur = new MoteurTEB(base.modifier().snrpb(snrCourant).build(), nbBitsMax, tailleLot, graineBalayage);
+                moteur.setNbErreursCible(NB_ERREURS_CIBLE);
+                moteur.setDureeMax(DUREE_MAX_POINT);
+                ResultatTEB resultat = moteur.executer(parallelisme);
+
+                resultats[i] = resultat;
+                double[] ic = resultat.intervalleWilson(ResultatTEB.Z_95);
+                System.out.println(String.format("SNR=%.1f dB => TEB=%.6f  IC95%%=[%.2e ; %.2e]  (%d erreurs / %d bits, %s)",
+                        snrCourant, resultat.getTEB(), ic[0], ic[1], resultat.getNbErreurs(), resultat.getNbBits(),
+                        moteur.getMotifArret()));
             }
-            args.append(" -snrpb ").append(snrCourant);
-
-            Simulateur sim = new Simulateur(args.toString().split("\\s+"));
-            sim.execute();
-            float teb = sim.calculTauxErreurBinaire();
-
-            valeursTEB[i] = teb;
-            System.out.println(String.format("SNR=%.1f dB => TEB=%.6f", snrCourant, teb));
         }
 
-        VueCourbe courbe4 = new VueCourbe(valeursTEB, "TEB = f(SNR en dB)");
-        try { Thread.sleep(200); } catch (Exception e) {}
-        exportToCSV("SNR", "SNR_dB", valeursSNR, valeursTEB);
-        System.out.println("Graphique TEB vs SNR généré\n");
+        List<Courbe> courbes = new ArrayList<>();
+        courbes.add(new Courbe("SNR", "SNR_dB", "TEB = f(SNR en dB)", valeursSNR, resultats, true));
+        System.out.println("Courbe TEB vs SNR calculée\n");
+        return courbes;
     }
 
     /**
      * Analyse 5 : TEB en fonction du nombre d'échantillons par bit
+     * @return la courbe calculée
      * @throws Exception si une erreur survient lors de l'exécution du simulateur
      */
-    public static void analyserNbEch() throws Exception {
+    public static List<Courbe> analyserNbEch() throws Exception {
         System.out.println("=== Analyse TEB = f(nbEch) ===");
 
         int nbPoints = 10;  // nbEch de 10 à 100
-        float[] valeursTEB = new float[nbPoints];
         float[] valeursNbEch = new float[nbPoints];
+        List<SimulationConfig> points = new ArrayList<>();
 
         // Référence pour garder la variance de bruit constante
         int nbEchReference = 30;  // valeur de référence
 
         // Faire varier nbEch de 10 à 100 par pas de 10
+        SimulationConfig base = configurationDeBase();
         for (int i = 0; i < nbPoints; i++) {
             int nbEchCourant = 10 + i * 10;
             valeursNbEch[i] = nbEchCourant;
 
-            // Utiliser le nombre de bits du message
-            int nbBitsAnalyse = nbBitsMessage;
-
             // Ajuster le SNR pour garder la variance de bruit constante
             // variance = (puissanceSignal × nEch) / SNR_b
             // Pour variance constante: SNR_b doit être proportionnel à nEch
             float snrAjuste = snrDb + 10.0f * (float)Math.log10((double)nbEchCourant / nbEchReference);
 
-            StringBuilder args = new StringBuilder();
-            args.append("-mess ").append(nbBitsAnalyse);
-            args.append(" -form ").append(forme);
-            args.append(" -nbEch ").append(nbEchCourant);
-            if (seed != null) {
-                args.append(" -seed ").append(seed);
-            }
-            args.append(" -snrpb ").append(snrAjuste);
-
-            Simulateur sim = new Simulateur(args.toString().split("\\s+"));
-            sim.execute();
-            float teb = sim.calculTauxErreurBinaire();
+            points.add(base.modifier().nbEch(nbEchCourant).snrpb(snrAjuste).build());
+        }
 
-            valeursTEB[i] = teb;
-            System.out.println(String.format("nbEch=%d => TEB=%.6f", nbEchCourant, teb));
+        ResultatTEB[] resultats = balayer(points);
+        for (int i = 0; i < nbPoints; i++) {
+            System.out.println(String.format("nbEch=%d => TEB=%.6f", (int) valeursNbEch[i], resultats[i].getTEB()));
         }
 
-        VueCourbe courbe5 = new VueCourbe(valeursTEB, "TEB = f(nbEch)");
-        try { Thread.sleep(200); } catch (Exception e) {}
-        exportToCSV("NbEch", "NbEch", valeursNbEch, valeursTEB);
-        System.out.println("Graphique TEB vs nbEch généré\n");
+        List<Courbe> courbes = new ArrayList<>();
+        courbes.add(new Courbe("NbEch", "NbEch", "TEB = f(nbEch)", valeursNbEch, resultats, false));
+        System.out.println("Courbe TEB vs nbEch calculée\n");
+        return courbes;
     }
 
     /**
      * Analyse 6 : TEB en fonction du SNR avec et sans codeur/décodeur
-     * Compare l'efficacité du codage avec redondance pour la correction d'erreurs
+     * Compare l'efficacité du codage avec redondance pour la correction d'erreurs,
+     * avec décodage dur (vote sur les bits décidés) et souple (somme des valeurs souples).
+     * Les trois balayages ont la même graine : à SNR égal, le message est le même.
+     * Avec {@link #setPasseUnique(boolean)}, chaque courbe est évaluée en une
+     * seule passe sur un message de {@code nbBitsMessage} bits.
+     * @return les trois courbes calculées (sans codeur, avec codeur, avec codeur et décodage souple)
      * @throws Exception si une erreur survient lors de l'exécution du simulateur
      */
-    public static void analyserCodeur() throws Exception {
+    public static List<Courbe> analyserCodeur() throws Exception {
         System.out.println("=== Analyse TEB avec/sans Codeur = f(SNR) ===");
 
         int nbPoints = 10;  // SNR de 0 à 9 dB
-        float[] valeursTEB_SansCodeur = new float[nbPoints];
-        float[] valeursTEB_AvecCodeur = new float[nbPoints];
         float[] valeursSNR = new float[nbPoints];
-
-        // Utiliser le nombre de bits du message comme les autres analyses
-        int nbBitsAnalyse = nbBitsMessage;
+        List<SimulationConfig> pointsSans = new ArrayList<>();
+        List<SimulationConfig> pointsAvec = new ArrayList<>();
+        List<SimulationConfig> pointsSouple = new ArrayList<>();
 
         // Faire varier le SNR de 0 à 9 dB
+        SimulationConfig sansCodeur = configurationDeBase();
+        SimulationConfig avecCodeur = sansCodeur.modifier().codeur(true).build();
+        SimulationConfig decodageSouple = avecCodeur.modifier().souple(true).build();
         for (int i = 0; i < nbPoints; i++) {
             float snrCourant = (float) i;
             valeursSNR[i] = snrCourant;
+            pointsSans.add(sansCodeur.modifier().snrpb(snrCourant).build());
+            pointsAvec.add(avecCodeur.modifier().snrpb(snrCourant).build());
+            pointsSouple.add(decodageSouple.modifier().snrpb(snrCourant).build());
+        }
 
-            // Test SANS codeur
-            StringBuilder argsSans = new StringBuilder();
-            argsSans.append("-mess ").append(nbBitsAnalyse);
-            argsSans.append(" -form ").append(forme);
-            argsSans.append(" -nbEch ").append(nbEch);
-            if (seed != null) {
-                argsSans.append(" -seed ").append(seed);
-            }
-            argsSans.append(" -snrpb ").append(snrCourant);
-
-            Simulateur simSans = new Simulateur(argsSans.toString().split("\\s+"));
-            simSans.execute();
-            float tebSans = simSans.calculTauxErreurBinaire();
-            valeursTEB_SansCodeur[i] = tebSans;
-
-            // Test AVEC codeur
-            StringBuilder argsAvec = new StringBuilder();
-            argsAvec.append("-mess ").append(nbBitsAnalyse);
-            argsAvec.append(" -form ").append(forme);
-            argsAvec.append(" -nbEch ").append(nbEch);
-            if (seed != null) {
-                argsAvec.append(" -seed ").append(seed);
-            }
-            argsAvec.append(" -snrpb ").append(snrCourant);
-            argsAvec.append(" -codeur");
-
-            Simulateur simAvec = new Simulateur(argsAvec.toString().split("\\s+"));
-            simAvec.execute();
-            float tebAvec = simAvec.calculTauxErreurBinaire();
-            valeursTEB_AvecCodeur[i] = tebAvec;
-
-            System.out.println(String.format("SNR=%.1f dB => Sans codeur: TEB=%.6f | Avec codeur: TEB=%.6f",
-                                            snrCourant, tebSans, tebAvec));
+        ResultatTEB[] resultatsSans;
+        ResultatTEB[] resultatsAvec;
+        ResultatTEB[] resultatsSouple;
+        if (passeUnique) {
+            resultatsSans = evaluerEnUnePasse(sansCodeur, valeursSNR);
+            resultatsAvec = evaluerEnUnePasse(avecCodeur, valeursSNR);
+            resultatsSouple = evaluerEnUnePasse(decodageSouple, valeursSNR);
+        } else {
+            resultatsSans = balayer(pointsSans);
+            resultatsAvec = balayer(pointsAvec);
+            resultatsSouple = balayer(pointsSouple);
+        }
+        for (int i = 0; i < nbPoints; i++) {
+            System.out.println(String.format("SNR=%.1f dB => Sans codeur: TEB=%.6f | Avec codeur: TEB=%.6f | Souple: TEB=%.6f",
+                                            valeursSNR[i], resultatsSans[i].getTEB(), resultatsAvec[i].getTEB(),
+                                            resultatsSouple[i].getTEB()));
         }
 
-        // Créer deux graphiques: un pour chaque configuration
-        VueCourbe courbeSans = new VueCourbe(valeursTEB_SansCodeur, "TEB sans codeur = f(SNR en dB)");
-        try { Thread.sleep(200); } catch (Exception e) {}
-        VueCourbe courbeAvec = new VueCourbe(valeursTEB_AvecCodeur, "TEB avec codeur = f(SNR en dB)");
-        try { Thread.sleep(200); } catch (Exception e) {}
-        exportToCSV("Codeur_Sans", "SNR_dB", valeursSNR, valeursTEB_SansCodeur);
-        exportToCSV("Codeur_Avec", "SNR_dB", valeursSNR, valeursTEB_AvecCodeur);
-        System.out.println("Graphiques TEB avec/sans codeur générés\n");
+        // Une courbe pour chaque configuration
+        List<Courbe> courbes = new ArrayList<>();
+        courbes.add(new Courbe("Codeur_Sans", "SNR_dB", "TEB sans codeur = f(SNR en dB)", valeursSNR, resultatsSans, false));
+        courbes.add(new Courbe("Codeur_Avec", "SNR_dB", "TEB avec codeur = f(SNR en dB)", valeursSNR, resultatsAvec, false));
+        courbes.add(new Courbe("Codeur_Souple", "SNR_dB", "TEB avec codeur, décodage souple = f(SNR en dB)",
+                valeursSNR, resultatsSouple, false));
+        System.out.println("Courbes TEB avec/sans codeur calculées\n");
+        return courbes;
+    }
+
+    /**
+     * Fixe les paramètres communs aux analyses.
+     * @param nbBits nombre de bits du message
+     * @param nbEchantillons nombre d'échantillons par bit
+     * @param snr rapport signal/bruit en dB
+     * @param forme forme du signal (RZ, NRZ, NRZT)
+     * @param seedValue seed pour reproductibilité (peut être null : graine tirée au hasard)
+     * @param trajets liste des trajets définis par l'utilisateur (peut être null)
+     */
+    public static void configurer(int nbBits, int nbEchantillons, float snr, String forme, Integer seedValue, List<Trajet> trajets) {
+        nbBitsMessage = nbBits;
+        nbEch = nbEchantillons;
+        snrDb = snr;
+        AnalyseTEB.forme = forme;
+        trajetsUtilisateur = trajets;
+        graineBalayage = (seedValue != null) ? seedValue : System.nanoTime();
     }
 
     /**
@@ -394,39 +704,39 @@ public class AnalyseTEB {
     public static void genererGraphiques(int nbBits, int nbEchantillons, float snr, String forme, Integer seedValue, List<Trajet> trajets, boolean avecCodeur) {
         try {
             // Configurer les paramètres
-            nbBitsMessage = nbBits;
-            nbEch = nbEchantillons;
-            snrDb = snr;
-            AnalyseTEB.forme = forme;
-            seed = seedValue;
-            trajetsUtilisateur = trajets;
+            configurer(nbBits, nbEchantillons, snr, forme, seedValue, trajets);
 
             System.out.println("\n=== Génération des graphiques d'analyse TEB ===");
             System.out.println("Paramètres: mess=" + nbBits + ", nbEch=" + nbEchantillons +
-                             ", snr=" + snr + "dB, forme=" + forme);
+                             ", snr=" + snr + "dB, forme=" + forme + ", graine=" + graineBalayage +
+                             ", threads=" + parallelisme);
 
             // Choisir les analyses en fonction de la présence de multi-trajet
+            List<Courbe> courbes = new ArrayList<>();
             if (trajets != null && !trajets.isEmpty()) {
                 // Analyses pour canal à trajets multiples
-                System.out.println("Mode: Canal à trajets multiples");
-                analyserNbTrajets();
-                Thread.sleep(500);
-                analyserAlpha();
-                Thread.sleep(500);
-                analyserTau();
+                System.out.println("Mode: Canal à trajets multiples" + (analytique ? " (TEB calculé)" : ""));
+                if (analytique) {
+                    verifierCalcul();
+                }
+                courbes.addAll(analyserNbTrajets());
+                courbes.addAll(analyserAlpha());
+                courbes.addAll(analyserTau());
             } else {
                 // Analyses pour canal simple (avec ou sans bruit)
                 System.out.println("Mode: Canal simple");
-                analyserSNR();
-                Thread.sleep(500);
-                analyserNbEch();
+                courbes.addAll(analyserSNR());
+                courbes.addAll(analyserNbEch());
                 // Analyser le codeur seulement si utilisé
                 if (avecCodeur) {
-                    Thread.sleep(500);
-                    analyserCodeur();
+                    courbes.addAll(analyserCodeur());
                 }
             }
 
+            // Export puis affichage, une fois tous les calculs terminés
+            exporterCourbes(courbes);
+            afficherCourbes(courbes);
+
             System.out.println("=== Graphiques TEB générés ===\n");
 
         } catch (Exception e) {
@@ -444,14 +754,32 @@ public class AnalyseTEB {
      * automatiquement les graphiques de TEB.
      * </p>
      *
-     * @param args arguments de la ligne de commande (non utilisés ici)
+     * @param args {@code -threads k} pour fixer le nombre de threads,
+     *             {@code -nogui} pour ne produire que les fichiers CSV,
+     *             {@code -export csv|bin|auto} pour le format des fichiers,
+     *             {@code -passeunique} pour évaluer les courbes f(SNR) en une seule passe,
+     *             {@code -analytique} pour calculer les courbes des trajets multiples
      */
     public static void main(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-threads") && i + 1 < args.length) {
+                setParallelisme(Integer.parseInt(args[++i]));
+            } else if (args[i].equals("-nogui")) {
+                setAffichageCourbes(false);
+            } else if (args[i].equals("-passeunique")) {
+                setPasseUnique(true);
+            } else if (args[i].equals("-analytique")) {
+                setAnalytique(true);
+            } else if (args[i].equals("-export") && i + 1 < args.length) {
+                setFormatExport(FormatExport.depuisOption(args[++i]));
+            }
+        }
         // Utiliser des paramètres par défaut pour le test standalone
         List<Trajet> trajetsTest = new java.util.ArrayList<>();
         trajetsTest.add(new Trajet(6, 0.4f));
         trajetsTest.add(new Trajet(4, 0.1f));
         trajetsTest.add(new Trajet(3, 0.8f));
         genererGraphiques(1000, 30, 10.0f, "RZ", 42, trajetsTest, false);
+        ImageCourbe.attendre();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package simulateur;
+
+import emmetteurs.Emetteur;
+import information.InformationBinaire;
+import transmetteurs.GenerateurGaussien;
+
+/**
+ * Chaîne émetteur → canal bruité (AWGN) → récepteur fusionnée en une seule
+ * boucle : pour chaque bit, les échantillons du symbole sont lus dans un gabarit
+ * précalculé, le bruit y est ajouté et le résultat est intégré immédiatement,
+ * sans jamais construire le signal analogique du message.
+ * <p>
+ * Les opérations flottantes sont celles de la chaîne {@code Emetteur},
+ * {@code TransmetteurImparfait}, {@code Recepteur}, effectuées dans le même
+ * ordre : avec un générateur de bruit initialisé de la même façon, les bits
+ * décidés sont identiques à ceux de la chaîne complète.
+ * </p>
+ */
+public class ChaineFusionnee {
+
+    /** nombre de bits traités par tirage de bruit */
+    private static final int BITS_PAR_LOT = 1024;
+
+    /** nombre d'échantillons par symbole */
+    private final int nbEch;
+
+    /** seuil de décision du récepteur */
+    private final float seuil;
+
+    /** rapport signal sur bruit par bit, en dB */
+    private final float SNRdB;
+
+    /** générateur du bruit du canal */
+    private final GenerateurGaussien generateur;
+
+    /** true pour la forme NRZT, dont le symbole dépend du niveau précédent */
+    private final boolean nrzt;
+
+    /**
+     * gabarits des symboles de l'émetteur ({@link Emetteur#gabarits(String, int)}),
+     * indexés par {@link #indiceGabarit(float, boolean)}
+     */
+    private final float[][] gabarits;
+
+    /** niveau du dernier symbole NRZT émis, conservé d'un appel à l'autre */
+    private float niveauPrecedent = 0.0f;
+
+    /** puissance du signal imposée ; si {@code null}, elle est mesurée sur chaque message */
+    private Float puissanceImposee = null;
+
+    /** tampon de bruit d'un lot de bits */
+    private final float[] bruit;
+
+    /**
+     * construit la chaîne fusionnée
+     * @param form la forme d'onde (NRZ, RZ ou NRZT)
+     * @param nbEch le nombre d'échantillons par symbole
+     * @param seuil le seuil de décision du récepteur
+     * @param SNRdB le rapport signal sur bruit par bit, en dB
+     * @param generateur le générateur du bruit gaussien
+     * @throws IllegalArgumentException si la forme d'onde est inconnue ou nbEch &lt;= 0
+     */
+    public ChaineFusionnee(String form, int nbEch, float seuil, float SNRdB, GenerateurGaussien generateur) {
+        if (nbEch <= 0) {
+            throw new IllegalArgumentException("nbEch doit être > 0");
+        }
+        this.nbEch = nbEch;
+        this.seuil = seuil;
+        this.SNRdB = SNRdB;
+        this.generateur = generateur;
+        this.nrzt = "NRZT".equalsIgnoreCase(form);
+        this.bruit = new float[BITS_PAR_LOT * nbEch];
+        this.gabarits = Emetteur.gabarits(form, nbEch);
+    }
+
+    /**
+     * donne l'indice du gabarit d'un bit
+     * @param prevLevel le niveau du symbole précédent (utilisé en NRZT seulement)
+     * @param bit le bit à émettre
+     * @return l'indice dans {@link #gabarits}
+     */
+    private int indiceGabarit(float prevLevel, boolean bit) {
+        return Emetteur.indiceGabarit(nrzt, prevLevel, bit);
+    }
+
+    /**
+     * Impose la puissance du signal utilisée pour calculer la variance du bruit
+     * (message transmis par blocs), au lieu de la mesurer sur chaque message
+     * @param puissance la puissance du signal, ou {@code null} pour revenir à la mesure
+     */
+    public void setPuissanceSignalImposee(Float puissance) {
+        this.puissanceImposee = puissance;
+    }
+
+    /**
+     * Remet la chaîne dans son état de début de message (niveau NRZT précédent)
+     */
+    public void reinitialiser() {
+        niveauPrecedent = 0.0f;
+    }
+
+    /**
+     * mesure la puissance du signal qu'émettrait l'émetteur pour ces bits,
+     * à partir de l'état courant, sans modifier cet état
+     * @param bits les bits à émettre
+     * @param nbBits le nombre de bits
+     * @return la puissance moyenne par échantillon
+     */
+    private float mesurerPuissance(InformationBinaire bits, int nbBits) {
+        double somme = 0;
+        float prevLevel = niveauPrecedent;
+        for (int b = 0; b < nbBits; b++) {
+            boolean bit = bits.iemeBit(b);
+            float[] gabarit = gabarits[indiceGabarit(prevLevel, bit)];
+            for (int i = 0; i < nbEch; i++) {
+                somme += gabarit[i] * gabarit[i];
+            }
+            prevLevel = bit ? 1.0f : -1.0f;
+        }
+        return (float) (somme / ((long) nbBits * nbEch));
+    }
+
+    /**
+     * transmet des bits : émission, ajout du bruit et décision, bit par bit
+     * @param bits les bits émis
+     * @return les bits décidés par le récepteur
+     */
+    public InformationBinaire transmettre(InformationBinaire bits) {
+        int nbBits = bits.nbElements();
+        InformationBinaire decides = new InformationBinaire(nbBits);
+        if (nbBits == 0) {
+            return decides;
+        }
+        float puissanceSignal = (puissanceImposee != null) ? puissanceImposee : mesurerPuissance(bits, nbBits);
+        float snrLineaire = (float) Math.pow(10, SNRdB / 10.0);
+        float variance = (puissanceSignal * nbEch) / snrLineaire;
+        double sqrtVariance = Math.sqrt(variance);
+
+        float prevLevel = niveauPrecedent;
+        for (int debut = 0; debut < nbBits; debut += BITS_PAR_LOT) {
+            int taille = Math.min(BITS_PAR_LOT, nbBits - debut);
+            generateur.remplir(bruit, 0, taille * nbEch, sqrtVariance);
+
+            long mot = 0;
+            int nbDansMot = 0;
+            for (int b = 0, k = 0; b < taille; b++) {
+                boolean bit = bits.iemeBit(debut + b);
+                float[] gabarit = gabarits[indiceGabarit(prevLevel, bit)];
+                float moy = 0f;
+                for (int i = 0; i < nbEch; i++) {
+                    moy += gabarit[i] + bruit[k++];
+                }
+                moy /= nbEch;
+                prevLevel = bit ? 1.0f : -1.0f;
+
+                if (moy >= seuil) {
+                    mot |= 1L << nbDansMot;
+                }
+                if (++nbDansMot == 64) {
+                    decides.addMot(mot, 64);
+                    mot = 0;
+                    nbDansMot = 0;
+                }
+            }
+            decides.addMot(mot, nbDansMot);
+        }
+        if (nrzt) {
+            niveauPrecedent = prevLevel;
+        }
+        return decides;
+    }
+}
@@ -0,0 +1,348 @@
+package simulateur;
+
+import emmetteurs.Emetteur;
+import information.CodeRepetition;
+import information.InformationBinaire;
+import information.InformationNonConformeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import sources.SourceAleatoire;
+import sources.SourceParMots;
+import transmetteurs.GenerateurGaussien;
+
+/**
+ * Estimation du TEB en plusieurs SNR en une seule passe, pour un canal AWGN
+ * sans trajets multiples.
+ * <p>
+ * Le récepteur moyenne les échantillons de chaque symbole : la moyenne reçue
+ * est la moyenne du gabarit émis plus σ fois la moyenne d'un bruit de variance
+ * unité. Pour chaque lot de bits, le message, son signal (gabarits de
+ * {@link Emetteur#gabarits(String, int)}) et une seule réalisation du bruit unitaire sont donc
+ * tirés une fois ; chaque SNR ne coûte plus qu'une multiplication et une
+ * décision par symbole, et les K compteurs d'erreurs sont obtenus ensemble.
+ * Avec le codeur, les triplets sont décidés par majorité (décodage dur) ou
+ * sur la somme des valeurs souples, comme {@link CodeRepetition}.
+ * </p>
+ * <p>
+ * Les lots et leurs graines sont ceux du {@link MoteurTEB} : graines tirées
+ * dans l'ordre des lots, résultats cumulés dans cet ordre, indépendants du
+ * parallélisme. Le même bruit unitaire servant à tous les SNR, les écarts
+ * entre points voisins de la courbe sont moins bruités qu'avec des tirages
+ * indépendants.
+ * </p>
+ */
+public class EvaluationMultiSNR {
+
+    /** nombre de symboles traités par tirage de bruit */
+    private static final int SYMBOLES_PAR_TIRAGE = 1024;
+
+    /** configuration de la chaîne (forme, nbEch, codeur, source, générateur de bruit) */
+    private final SimulationConfig configuration;
+
+    /** les SNR par bit évalués, en dB */
+    private final float[] SNRdB;
+
+    /** nombre maximal de bits simulés */
+    private final long nbBitsTotal;
+
+    /** nombre de bits par lot */
+    private final int tailleLot;
+
+    /** graine globale dont dérivent les graines de tous les lots */
+    private final long graine;
+
+    /** nombre d'échantillons par symbole */
+    private final int nbEch;
+
+    /** seuil de décision du récepteur */
+    private final float seuil;
+
+    /** true pour la forme NRZT, dont le symbole dépend du niveau précédent */
+    private final boolean nrzt;
+
+    /** moyenne de chaque gabarit, indexée comme {@link Emetteur#gabarits(String, int)} */
+    private final float[] moyennes;
+
+    /** énergie (somme des carrés) de chaque gabarit */
+    private final double[] energies;
+
+    /** nombre d'erreurs à atteindre en chaque SNR avant de s'arrêter (0 : pas de cible) */
+    private long nbErreursCible = 0;
+
+    /** durée au-delà de laquelle l'évaluation s'arrête, en millisecondes (0 : pas de limite) */
+    private long dureeMax = 0;
+
+    /** raison de l'arrêt de la dernière exécution */
+    private String motifArret = null;
+
+    /**
+     * Construit une évaluation multi-SNR.
+     * @param configuration configuration de la chaîne ; son SNR, son message et ses graines sont ignorés
+     * @param SNRdB les SNR par bit à évaluer, en dB
+     * @param nbBitsTotal nombre maximal de bits à simuler (&gt; 0)
+     * @param tailleLot nombre de bits par lot (entre 1 et {@link MoteurTEB#TAILLE_LOT_MAX})
+     * @param graine graine globale de la simulation
+     * @throws IllegalArgumentException si un paramètre est incorrect, si la chaîne
+     *         a des trajets multiples ou si sa forme d'onde est inconnue
+     */
+    public EvaluationMultiSNR(SimulationConfig configuration, float[] SNRdB, long nbBitsTotal, int tailleLot, long graine) {
+        if (nbBitsTotal <= 0) {
+            throw new IllegalArgumentException("Le nombre de bits doit être > 0");
+        }
+        if (tailleLot < 1 || tailleLot > MoteurTEB.TAILLE_LOT_MAX) {
+            throw new IllegalArgumentException("La taille de lot doit être entre 1 et " + MoteurTEB.TAILLE_LOT_MAX);
+        }
+        if (SNRdB.length == 0) {
+            throw new IllegalArgumentException("Aucun SNR à évaluer");
+        }
+        if (configuration.getTrajets() != null && !configuration.getTrajets().isEmpty()) {
+            throw new IllegalArgumentException("L'évaluation multi-SNR ne traite que le canal sans trajets multiples");
+        }
+        this.configuration = configuration;
+        this.SNRdB = SNRdB.clone();
+        this.nbBitsTotal = nbBitsTotal;
+        this.tailleLot = tailleLot;
+        this.graine = graine;
+        this.nbEch = configuration.getNbEch();
+        this.nrzt = "NRZT".equalsIgnoreCase(configuration.getForm());
+        this.seuil = "RZ".equalsIgnoreCase(configuration.getForm()) ? (1.0f / 6.0f) : 0.0f;
+
+        float[][] gabarits = Emetteur.gabarits(configuration.getForm(), nbEch);
+        moyennes = new float[gabarits.length];
+        energies = new double[gabarits.length];
+        for (int g = 0; g < gabarits.length; g++) {
+            if (gabarits[g] == null) {
+                continue;
+            }
+            float somme = 0f;
+            for (float valeur : gabarits[g]) {
+                somme += valeur;
+                energies[g] += valeur * valeur;
+            }
+            moyennes[g] = somme / nbEch;
+        }
+    }
+
+    /**
+     * Fixe le nombre d'erreurs à observer en chaque SNR avant de s'arrêter :
+     * l'évaluation s'interrompt au premier lot qui porte le cumul des erreurs
+     * de tous les SNR à cette valeur.
+     * @param nbErreursCible le nombre d'erreurs visé (0 : simuler tout le budget)
+     */
+    public void setNbErreursCible(long nbErreursCible) {
+        this.nbErreursCible = nbErreursCible;
+    }
+
+    /**
+     * Fixe une durée maximale d'évaluation ; une fois dépassée, l'évaluation
+     * s'arrête à la fin de la vague de lots en cours.
+     * @param dureeMax la durée maximale en millisecondes (0 : pas de limite)
+     */
+    public void setDureeMax(long dureeMax) {
+        this.dureeMax = dureeMax;
+    }
+
+    /**
+     * Retourne la raison de l'arrêt de la dernière exécution
+     * @return "cible d'erreurs atteinte", "durée maximale atteinte" ou "budget de bits épuisé"
+     */
+    public String getMotifArret() {
+        return motifArret;
+    }
+
+    /**
+     * Simule les lots par vagues sur un pool fork-join, jusqu'au critère d'arrêt.
+     * @param parallelisme nombre de threads du pool (&gt; 0)
+     * @return le résultat de chaque SNR, dans l'ordre des SNR
+     * @throws Exception si la simulation d'un lot échoue
+     */
+    public ResultatTEB[] executer(int parallelisme) throws Exception {
+        long nbLots = (nbBitsTotal + tailleLot - 1) / tailleLot;
+        boolean arretAnticipe = nbErreursCible > 0 || dureeMax > 0;
+        int lotsParVague = arretAnticipe ? 4 * parallelisme : (int) Math.min(nbLots, Integer.MAX_VALUE);
+
+        SplittableRandom racine = new SplittableRandom(graine);
+        long[] erreurs = new long[SNRdB.length];
+        long nbBits = 0;
+        long debut = System.currentTimeMillis();
+        motifArret = "budget de bits épuisé";
+
+        ForkJoinPool pool = new ForkJoinPool(parallelisme);
+        try {
+            vagues:
+            for (long premier = 0; premier < nbLots; premier += lotsParVague) {
+                int tailleVague = (int) Math.min(lotsParVague, nbLots - premier);
+                List<Future<long[]>> lots = new ArrayList<>(tailleVague);
+                int[] tailles = new int[tailleVague];
+                for (int i = 0; i < tailleVague; i++) {
+                    SplittableRandom flux = racine.split();
+                    int graineMessage = flux.nextInt();
+                    int graineBruit = flux.nextInt();
+                    tailles[i] = (int) Math.min(tailleLot, nbBitsTotal - (premier + i) * tailleLot);
+                    int taille = tailles[i];
+                    lots.add(pool.submit(() -> simulerLot(taille, graineMessage, graineBruit)));
+                }
+
+                // Cumul dans l'ordre des lots, arrêt exact sur la cible d'erreurs
+                for (int i = 0; i < tailleVague; i++) {
+                    long[] erreursLot = lots.get(i).get();
+                    for (int k = 0; k < erreurs.length; k++) {
+                        erreurs[k] += erreursLot[k];
+                    }
+                    nbBits += tailles[i];
+                    if (nbErreursCible > 0 && minimum(erreurs) >= nbErreursCible) {
+                        motifArret = "cible d'erreurs atteinte";
+                        break vagues;
+                    }
+                }
+                if (dureeMax > 0 && System.currentTimeMillis() - debut >= dureeMax) {
+                    motifArret = "durée maximale atteinte";
+                    break;
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ResultatTEB[] resultats = new ResultatTEB[SNRdB.length];
+        for (int k = 0; k < resultats.length; k++) {
+            resultats[k] = new ResultatTEB(erreurs[k], nbBits);
+        }
+        return resultats;
+    }
+
+    /**
+     * @param valeurs des compteurs
+     * @return le plus petit
+     */
+    private static long minimum(long[] valeurs) {
+        long min = Long.MAX_VALUE;
+        for (long valeur : valeurs) {
+            min = Math.min(min, valeur);
+        }
+        return min;
+    }
+
+    /**
+     * Simule un lot : génère son message puis compte ses erreurs en chaque SNR.
+     * @param taille nombre de bits du lot
+     * @param graineMessage graine du message du lot
+     * @param graineBruit graine du bruit du lot
+     * @return le nombre d'erreurs en chaque SNR
+     * @throws InformationNonConformeException si le message ne peut être généré
+     */
+    @SuppressWarnings("unchecked")
+    private long[] simulerLot(int taille, int graineMessage, int graineBruit) throws InformationNonConformeException {
+        String typeSource = configuration.getTypeSource();
+        SourceAleatoire source = (typeSource == null) ? new SourceAleatoire() : new SourceParMots(typeSource);
+        source.setSeed(graineMessage);
+        source.setLength(taille);
+        source.generer();
+        source.emettre();
+        String methode = configuration.getMethodeBruit();
+        GenerateurGaussien generateur = GenerateurGaussien.creer(methode != null ? methode : "ziggurat", graineBruit);
+        return compterErreurs(InformationBinaire.de(source.getInformationEmise()), generateur);
+    }
+
+    /**
+     * Transmet un message (émis depuis le niveau 0, comme un nouveau message)
+     * et compte ses erreurs en chaque SNR, avec une seule réalisation du bruit.
+     * <p>
+     * Comme dans {@code TransmetteurImparfait}, la variance du bruit est
+     * {@code puissance * nbEch / SNR}, la puissance étant celle du signal émis
+     * (codé, avec le codeur) sur tout le message.
+     * </p>
+     * @param bits les bits d'information du message
+     * @param generateur le générateur du bruit unitaire
+     * @return le nombre de bits d'information mal décidés en chaque SNR
+     */
+    public long[] compterErreurs(InformationBinaire bits, GenerateurGaussien generateur) {
+        boolean codeur = configuration.isCodeur();
+        boolean souple = codeur && configuration.isSouple();
+        InformationBinaire symboles = codeur ? CodeRepetition.coder(bits) : bits;
+        int nbSymboles = symboles.nbElements();
+        int nbSNR = SNRdB.length;
+        long[] erreurs = new long[nbSNR];
+        if (nbSymboles == 0) {
+            return erreurs;
+        }
+
+        // puissance du signal émis, à partir des énergies des gabarits
+        double somme = 0;
+        float prevLevel = 0.0f;
+        for (int j = 0; j < nbSymboles; j++) {
+            boolean symbole = symboles.iemeBit(j);
+            somme += energies[Emetteur.indiceGabarit(nrzt, prevLevel, symbole)];
+            prevLevel = symbole ? 1.0f : -1.0f;
+        }
+        float puissanceSignal = (float) (somme / ((long) nbSymboles * nbEch));
+        float[] ecartsTypes = new float[nbSNR];
+        for (int k = 0; k < nbSNR; k++) {
+            float snrLineaire = (float) Math.pow(10, SNRdB[k] / 10.0);
+            float variance = (puissanceSignal * nbEch) / snrLineaire;
+            ecartsTypes[k] = (float) Math.sqrt(variance);
+        }
+
+        // votes (décodage dur) ou sommes souples du triplet en cours, par SNR
+        int[] votes = new int[nbSNR];
+        float[] sommes = new float[nbSNR];
+        float[] bruit = new float[SYMBOLES_PAR_TIRAGE * nbEch];
+        prevLevel = 0.0f;
+        for (int debut = 0; debut < nbSymboles; debut += SYMBOLES_PAR_TIRAGE) {
+            int taille = Math.min(SYMBOLES_PAR_TIRAGE, nbSymboles - debut);
+            generateur.remplir(bruit, 0, taille * nbEch, 1.0);
+            for (int s = 0, i = 0; s < taille; s++) {
+                int j = debut + s;
+                boolean symbole = symboles.iemeBit(j);
+                float signal = moyennes[Emetteur.indiceGabarit(nrzt, prevLevel, symbole)];
+                prevLevel = symbole ? 1.0f : -1.0f;
+                float moyBruit = 0f;
+                for (int fin = i + nbEch; i < fin; i++) {
+                    moyBruit += bruit[i];
+                }
+                moyBruit /= nbEch;
+
+                if (!codeur) {
+                    for (int k = 0; k < nbSNR; k++) {
+                        if ((signal + ecartsTypes[k] * moyBruit >= seuil) != symbole) {
+                            erreurs[k]++;
+                        }
+                    }
+                    continue;
+                }
+                // symbole central du triplet inversé : corrélation avec le mot de code 101
+                int position = j % 3;
+                boolean central = position == 1;
+                for (int k = 0; k < nbSNR; k++) {
+                    float moy = signal + ecartsTypes[k] * moyBruit;
+                    if (souple) {
+                        sommes[k] += central ? -(moy - seuil) : (moy - seuil);
+                    } else if ((moy >= seuil) != central) {
+                        votes[k]++;
+                    }
+                }
+                if (position == 2) {
+                    boolean bit = bits.iemeBit(j / 3);
+                    for (int k = 0; k < nbSNR; k++) {
+                        boolean decide = souple ? sommes[k] >= 0 : votes[k] >= 2;
+                        if (decide != bit) {
+                            erreurs[k]++;
+                        }
+                        votes[k] = 0;
+                        sommes[k] = 0f;
+                    }
+                }
+            }
+        }
+        return erreurs;
+    }
+}
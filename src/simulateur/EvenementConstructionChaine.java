@@ -0,0 +1,60 @@
+package simulateur;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement Java Flight Recorder de la construction d'une chaîne de
+ * transmission par le {@link Simulateur}, avec les paramètres de la chaîne.
+ */
+@Name("transmission.ConstructionChaine")
+@Label("Construction de la chaîne")
+@Category({"Transmission", "Simulation"})
+@Description("Création et connexion des maillons d'une chaîne de transmission")
+class EvenementConstructionChaine extends Event {
+
+    /** forme d'onde */
+    @Label("Forme d'onde")
+    String form;
+
+    /** nombre d'échantillons par symbole */
+    @Label("Échantillons par symbole")
+    int nbEch;
+
+    /** SNR par bit en dB, NaN sans bruit */
+    @Label("SNR par bit (dB)")
+    float snrpb;
+
+    /** nombre de trajets réfléchis */
+    @Label("Trajets réfléchis")
+    int nbTrajets;
+
+    /** nombre de bits du message */
+    @Label("Bits du message")
+    long nbBits;
+
+    /** true avec le code à répétition */
+    @Label("Codeur")
+    boolean codeur;
+
+    /** true pour la chaîne fusionnée */
+    @Label("Chaîne fusionnée")
+    boolean fusion;
+
+    /**
+     * renseigne les paramètres de la chaîne
+     * @param config la configuration de la chaîne
+     */
+    void decrire(SimulationConfig config) {
+        form = config.getForm();
+        nbEch = config.getNbEch();
+        snrpb = config.getSNRpB() != null ? config.getSNRpB() : Float.NaN;
+        nbTrajets = config.getTrajets() != null ? config.getTrajets().size() : 0;
+        nbBits = config.getNbBitsMess();
+        codeur = config.isCodeur();
+        fusion = config.isFusion();
+    }
+}
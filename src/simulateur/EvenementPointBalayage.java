@@ -0,0 +1,68 @@
+package simulateur;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement Java Flight Recorder d'un point de courbe de TEB (point d'un
+ * {@link ExecuteurBalayage} ou estimation d'un {@link MoteurTEB}) : la durée
+ * du point, ses paramètres et le TEB obtenu, pour relier dans un
+ * enregistrement le temps CPU à la configuration simulée.
+ */
+@Name("transmission.PointBalayage")
+@Label("Point de balayage")
+@Category({"Transmission", "Simulation"})
+@Description("Simulation d'un point d'une courbe de TEB")
+class EvenementPointBalayage extends Event {
+
+    /** forme d'onde */
+    @Label("Forme d'onde")
+    String form;
+
+    /** nombre d'échantillons par symbole */
+    @Label("Échantillons par symbole")
+    int nbEch;
+
+    /** SNR par bit en dB, NaN sans bruit */
+    @Label("SNR par bit (dB)")
+    float snrpb;
+
+    /** nombre de trajets réfléchis */
+    @Label("Trajets réfléchis")
+    int nbTrajets;
+
+    /** true avec le code à répétition */
+    @Label("Codeur")
+    boolean codeur;
+
+    /** nombre de bits comparés */
+    @Label("Bits comparés")
+    long nbBits;
+
+    /** nombre de bits erronés */
+    @Label("Bits erronés")
+    long nbErreurs;
+
+    /** taux d'erreur binaire du point */
+    @Label("TEB")
+    double teb;
+
+    /**
+     * renseigne les paramètres et le résultat du point
+     * @param config la configuration du point
+     * @param resultat le résultat du point
+     */
+    void decrire(SimulationConfig config, ResultatTEB resultat) {
+        form = config.getForm();
+        nbEch = config.getNbEch();
+        snrpb = config.getSNRpB() != null ? config.getSNRpB() : Float.NaN;
+        nbTrajets = config.getTrajets() != null ? config.getTrajets().size() : 0;
+        codeur = config.isCodeur();
+        nbBits = resultat.getNbBits();
+        nbErreurs = resultat.getNbErreurs();
+        teb = resultat.getTEB();
+    }
+}
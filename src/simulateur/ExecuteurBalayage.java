@@ -0,0 +1,121 @@
+package simulateur;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Exécuteur des points d'un balayage de paramètres (courbes de TEB).
+ * <p>
+ * Les points d'un balayage sont indépendants : ils sont simulés en parallèle
+ * sur un pool de {@code parallelisme} threads, chaque thread réutilisant sa
+ * chaîne de transmission d'un point à l'autre
+ * ({@link Simulateur#reparametrer(SimulationConfig)}).
+ * </p>
+ * <p>
+ * Comme pour les lots du {@link MoteurTEB}, les graines de message et de bruit
+ * de chaque point sont tirées à l'avance, dans l'ordre des points, à partir de
+ * la graine du balayage : le point i reçoit toujours les mêmes graines, et les
+ * résultats, rendus dans l'ordre des points, ne dépendent pas du parallélisme.
+ * Deux balayages de même graine et de même nombre de points utilisent les mêmes
+ * messages point à point (comparaison avec et sans codeur par exemple).
+ * </p>
+ */
+public class ExecuteurBalayage {
+
+    /** nombre de threads simulant les points */
+    private final int parallelisme;
+
+    /** graine dont dérivent les graines de tous les points */
+    private final long graine;
+
+    /**
+     * Construit un exécuteur de balayage.
+     * @param parallelisme nombre de threads (&gt; 0)
+     * @param graine graine du balayage
+     * @throws IllegalArgumentException si le parallélisme est &lt;= 0
+     */
+    public ExecuteurBalayage(int parallelisme, long graine) {
+        if (parallelisme < 1) {
+            throw new IllegalArgumentException("Le parallélisme doit être > 0");
+        }
+        this.parallelisme = parallelisme;
+        this.graine = graine;
+    }
+
+    /**
+     * Simule tous les points d'un balayage. La graine de message et la graine
+     * de bruit de chaque configuration sont remplacées par celles du point.
+     * @param points les configurations des points, dans l'ordre du balayage
+     * @return le résultat (erreurs et bits comparés) de chaque point, dans le même ordre
+     * @throws Exception si la simulation d'un point échoue
+     */
+    public ResultatTEB[] executer(List<SimulationConfig> points) throws Exception {
+        int nbPoints = points.size();
+        ResultatTEB[] resultats = new ResultatTEB[nbPoints];
+        if (nbPoints == 0) {
+            return resultats;
+        }
+
+        // Graines tirées séquentiellement : le point i a toujours les mêmes
+        SplittableRandom racine = new SplittableRandom(graine);
+        ThreadLocal<Simulateur> simulateurs = new ThreadLocal<>();
+        List<Callable<ResultatTEB>> taches = new ArrayList<>(nbPoints);
+        for (SimulationConfig point : points) {
+            SplittableRandom flux = racine.split();
+            SimulationConfig config = point.modifier()
+                    .seed(flux.nextInt())
+                    .seedBruit(flux.nextInt())
+                    .build();
+            taches.add(() -> simuler(simulateurs, config));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelisme, nbPoints));
+        try {
+            List<Future<ResultatTEB>> futurs = pool.invokeAll(taches);
+            for (int i = 0; i < nbPoints; i++) {
+                resultats[i] = futurs.get(i).get();
+            }
+            return resultats;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Simule un point avec la chaîne de transmission du thread courant.
+     * @param simulateurs les chaînes des threads du pool
+     * @param config la configuration du point
+     * @return le résultat du point
+     * @throws Exception si la chaîne ne peut être construite ou exécutée
+     */
+    private static ResultatTEB simuler(ThreadLocal<Simulateur> simulateurs, SimulationConfig config) throws Exception {
+        EvenementPointBalayage evenement = new EvenementPointBalayage();
+        evenement.begin();
+        Simulateur sim = simulateurs.get();
+        if (sim == null) {
+            sim = new Simulateur(config);
+            simulateurs.set(sim);
+        } else {
+            sim.reparametrer(config);
+        }
+        sim.execute();
+        ResultatTEB resultat = new ResultatTEB(sim.calculNbErreurs(), sim.getNbBitsCompares());
+
+        evenement.end();
+        if (evenement.shouldCommit()) {
+            evenement.decrire(config, resultat);
+            evenement.commit();
+        }
+        return resultat;
+    }
+}
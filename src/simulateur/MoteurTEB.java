@@ -0,0 +1,340 @@
+package simulateur;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Moteur de Monte Carlo pour l'estimation du Taux d'Erreur Binaire sur un
+ * grand nombre de bits, réparti sur tous les cœurs.
+ * <p>
+ * Le budget de bits est découpé en lots indépendants ; chaque lot est simulé
+ * par sa propre chaîne de transmission ({@link Simulateur}) avec une graine de
+ * message et une graine de bruit qui lui sont propres. Ces graines sont toutes
+ * tirées à l'avance, dans l'ordre des lots, à partir de la graine globale par
+ * découpage d'un {@link SplittableRandom} : le lot i reçoit toujours les mêmes
+ * graines quel que soit le nombre de threads. Les compteurs d'erreurs des lots
+ * sont additionnés, le TEB obtenu ne dépend donc pas du parallélisme.
+ * </p>
+ * <p>
+ * Le moteur peut s'arrêter avant d'avoir épuisé le budget de bits : dès qu'un
+ * nombre d'erreurs cible est atteint, ou quand une durée maximale est dépassée.
+ * Les lots sont alors simulés par vagues, et leurs résultats cumulés dans
+ * l'ordre des lots ; l'arrêt sur cible d'erreurs a lieu exactement au premier
+ * lot qui l'atteint, ce qui le rend lui aussi indépendant du parallélisme.
+ * </p>
+ *
+ * <p>Utilisation :
+ * <pre>
+ *   java simulateur.MoteurTEB -bits 100000000 -lot 100000 -threads 8 -seed 42 -form NRZ -snrpb 3
+ *   java simulateur.MoteurTEB -bits 1000000000 -erreurs 200 -duree 60 -seed 42 -form NRZ -snrpb 9
+ * </pre>
+ * Les options autres que -bits, -lot, -threads, -seed, -erreurs et -duree décrivent la chaîne
+ * (voir {@link SimulationConfig#depuisArguments(String[])}, sans -mess ni -seedBruit).
+ * <p>
+ * Chaque thread construit une seule chaîne, reparamétrée ensuite pour chacun de ses lots
+ * (message et graines) avec {@link Simulateur#reparametrer(SimulationConfig)}.
+ * </p>
+ */
+public class MoteurTEB {
+
+    /** taille maximale d'un lot (chaque lot est transmis en une fois, en mémoire) */
+    public static final int TAILLE_LOT_MAX = 1 << 20;
+
+    /** taille de lot utilisée par défaut */
+    public static final int TAILLE_LOT_DEFAUT = 100000;
+
+    /** configuration de la chaîne de transmission simulée pour chaque lot (message et graines exceptés) */
+    private final SimulationConfig configuration;
+
+    /** nombre total de bits à simuler */
+    private final long nbBitsTotal;
+
+    /** nombre de bits par lot */
+    private final int tailleLot;
+
+    /** graine globale dont dérivent les graines de tous les lots */
+    private final long graine;
+
+    /** nombre d'erreurs au-delà duquel la simulation s'arrête (0 : pas de cible) */
+    private long nbErreursCible = 0;
+
+    /** durée au-delà de laquelle la simulation s'arrête, en millisecondes (0 : pas de limite) */
+    private long dureeMax = 0;
+
+    /** raison de l'arrêt de la dernière exécution */
+    private String motifArret = null;
+
+    /** chaîne de transmission de chaque thread, réutilisée d'un lot à l'autre */
+    private ThreadLocal<Simulateur> simulateurs;
+
+    /**
+     * Construit un moteur de Monte Carlo.
+     * @param optionsChaine options du Simulateur décrivant la chaîne (sans -mess, -seed ni -seedBruit)
+     * @param nbBitsTotal nombre total de bits à simuler (&gt; 0)
+     * @param tailleLot nombre de bits par lot (entre 1 et {@link #TAILLE_LOT_MAX})
+     * @param graine graine globale de la simulation
+     * @throws ArgumentsException si les options de la chaîne sont incorrectes
+     */
+    public MoteurTEB(String[] optionsChaine, long nbBitsTotal, int tailleLot, long graine) throws ArgumentsException {
+        this(SimulationConfig.depuisArguments(optionsChaine), nbBitsTotal, tailleLot, graine);
+    }
+
+    /**
+     * Construit un moteur de Monte Carlo.
+     * @param configuration configuration de la chaîne ; son message et ses graines sont remplacés pour chaque lot
+     * @param nbBitsTotal nombre total de bits à simuler (&gt; 0)
+     * @param tailleLot nombre de bits par lot (entre 1 et {@link #TAILLE_LOT_MAX})
+     * @param graine graine globale de la simulation
+     */
+    public MoteurTEB(SimulationConfig configuration, long nbBitsTotal, int tailleLot, long graine) {
+        if (nbBitsTotal <= 0) {
+            throw new IllegalArgumentException("Le nombre de bits doit être > 0");
+        }
+        if (tailleLot < 1 || tailleLot > TAILLE_LOT_MAX) {
+            throw new IllegalArgumentException("La taille de lot doit être entre 1 et " + TAILLE_LOT_MAX);
+        }
+        this.configuration = configuration;
+        this.nbBitsTotal = nbBitsTotal;
+        this.tailleLot = tailleLot;
+        this.graine = graine;
+    }
+
+    /**
+     * Fixe le nombre d'erreurs à observer avant de s'arrêter : la simulation
+     * s'interrompt au premier lot qui porte le cumul des erreurs à cette valeur.
+     * @param nbErreursCible le nombre d'erreurs visé (0 : simuler tout le budget)
+     */
+    public void setNbErreursCible(long nbErreursCible) {
+        this.nbErreursCible = nbErreursCible;
+    }
+
+    /**
+     * Fixe une durée maximale de simulation ; une fois dépassée, la simulation
+     * s'arrête à la fin de la vague de lots en cours.
+     * @param dureeMax la durée maximale en millisecondes (0 : pas de limite)
+     */
+    public void setDureeMax(long dureeMax) {
+        this.dureeMax = dureeMax;
+    }
+
+    /**
+     * Retourne la raison de l'arrêt de la dernière exécution
+     * @return "cible d'erreurs atteinte", "durée maximale atteinte" ou "budget de bits épuisé"
+     */
+    public String getMotifArret() {
+        return motifArret;
+    }
+
+    /**
+     * Simule les lots sur un pool fork-join et fusionne leurs résultats, en
+     * s'arrêtant au plus tard à la fin du budget de bits.
+     * @param parallelisme nombre de threads du pool (&gt; 0)
+     * @return le résultat global (erreurs et bits cumulés sur les lots simulés)
+     * @throws Exception si la simulation d'un lot échoue
+     */
+    public ResultatTEB executer(int parallelisme) throws Exception {
+        // un événement JFR par point estimé, avec ses paramètres et son TEB
+        EvenementPointBalayage evenement = new EvenementPointBalayage();
+        evenement.begin();
+        ResultatTEB resultat = simulerLots(parallelisme);
+        evenement.end();
+        if (evenement.shouldCommit()) {
+            evenement.decrire(configuration, resultat);
+            evenement.commit();
+        }
+        return resultat;
+    }
+
+    /**
+     * Simule les vagues de lots jusqu'au critère d'arrêt (voir {@link #executer(int)}).
+     * @param parallelisme nombre de threads du pool (&gt; 0)
+     * @return le résultat global
+     * @throws Exception si la simulation d'un lot échoue
+     */
+    private ResultatTEB simulerLots(int parallelisme) throws Exception {
+        long nbLots = (nbBitsTotal + tailleLot - 1) / tailleLot;
+        boolean arretAnticipe = nbErreursCible > 0 || dureeMax > 0;
+        // Sans critère d'arrêt, une seule vague ; sinon des vagues de quelques lots par thread
+        int lotsParVague = arretAnticipe ? 4 * parallelisme : (int) Math.min(nbLots, Integer.MAX_VALUE);
+
+        // Graines tirées séquentiellement : le lot i a toujours les mêmes
+        SplittableRandom racine = new SplittableRandom(graine);
+        ResultatTEB total = new ResultatTEB(0, 0);
+        long debut = System.currentTimeMillis();
+        motifArret = "budget de bits épuisé";
+
+        ForkJoinPool pool = new ForkJoinPool(parallelisme);
+        simulateurs = new ThreadLocal<>();
+        try {
+            for (long premier = 0; premier < nbLots; premier += lotsParVague) {
+                int tailleVague = (int) Math.min(lotsParVague, nbLots - premier);
+                int[] grainesMessage = new int[tailleVague];
+                int[] grainesBruit = new int[tailleVague];
+                for (int i = 0; i < tailleVague; i++) {
+                    SplittableRandom flux = racine.split();
+                    grainesMessage[i] = flux.nextInt();
+                    grainesBruit[i] = flux.nextInt();
+                }
+
+                ResultatTEB[] resultats = new ResultatTEB[tailleVague];
+                pool.invoke(new TacheLots(premier, 0, tailleVague, grainesMessage, grainesBruit, resultats));
+
+                // Cumul dans l'ordre des lots, arrêt exact sur la cible d'erreurs
+                for (ResultatTEB resultat : resultats) {
+                    total = total.fusionner(resultat);
+                    if (nbErreursCible > 0 && total.getNbErreurs() >= nbErreursCible) {
+                        motifArret = "cible d'erreurs atteinte";
+                        return total;
+                    }
+                }
+                if (dureeMax > 0 && System.currentTimeMillis() - debut >= dureeMax) {
+                    motifArret = "durée maximale atteinte";
+                    return total;
+                }
+            }
+            return total;
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+            simulateurs = null;
+        }
+    }
+
+    /**
+     * Simule un lot avec la chaîne de transmission du thread courant,
+     * reparamétrée pour le message et les graines du lot.
+     * @param indiceLot rang du lot
+     * @param graineMessage graine du message du lot
+     * @param graineBruit graine du bruit du lot
+     * @return le résultat du lot
+     * @throws Exception si la chaîne ne peut être construite ou exécutée
+     */
+    private ResultatTEB simulerLot(long indiceLot, int graineMessage, int graineBruit) throws Exception {
+        long debut = indiceLot * tailleLot;
+        int taille = (int) Math.min(tailleLot, nbBitsTotal - debut);
+
+        SimulationConfig config = configuration.modifier()
+                .messageAleatoire(taille)
+                .seed(graineMessage)
+                .seedBruit(graineBruit)
+                .build();
+
+        Simulateur sim = simulateurs.get();
+        if (sim == null) {
+            sim = new Simulateur(config);
+            simulateurs.set(sim);
+        } else {
+            sim.reparametrer(config);
+        }
+        sim.execute();
+        return new ResultatTEB(sim.calculNbErreurs(), sim.getNbBitsCompares());
+    }
+
+    /**
+     * Tâche fork-join simulant un intervalle de lots d'une vague par dichotomie.
+     */
+    private class TacheLots extends RecursiveTask<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long premierLotVague;
+        private final int premier;
+        private final int fin;
+        private final int[] grainesMessage;
+        private final int[] grainesBruit;
+        private final ResultatTEB[] resultats;
+
+        /**
+         * @param premierLotVague rang (global) du premier lot de la vague
+         * @param premier indice dans la vague du premier lot de l'intervalle
+         * @param fin indice dans la vague suivant le dernier lot de l'intervalle
+         * @param grainesMessage graines de message des lots de la vague
+         * @param grainesBruit graines de bruit des lots de la vague
+         * @param resultats tableau recevant le résultat de chaque lot de la vague
+         */
+        TacheLots(long premierLotVague, int premier, int fin, int[] grainesMessage, int[] grainesBruit,
+                  ResultatTEB[] resultats) {
+            this.premierLotVague = premierLotVague;
+            this.premier = premier;
+            this.fin = fin;
+            this.grainesMessage = grainesMessage;
+            this.grainesBruit = grainesBruit;
+            this.resultats = resultats;
+        }
+
+        @Override
+        protected Void compute() {
+            if (fin - premier == 1) {
+                try {
+                    resultats[premier] = simulerLot(premierLotVague + premier,
+                            grainesMessage[premier], grainesBruit[premier]);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                return null;
+            }
+            int milieu = (premier + fin) >>> 1;
+            TacheLots gauche = new TacheLots(premierLotVague, premier, milieu, grainesMessage, grainesBruit, resultats);
+            TacheLots droite = new TacheLots(premierLotVague, milieu, fin, grainesMessage, grainesBruit, resultats);
+            invokeAll(gauche, droite);
+            return null;
+        }
+    }
+
+    /**
+     * Lance une estimation du TEB en ligne de commande.
+     * @param args -bits N, -lot n, -threads k, -seed s, -erreurs E, -duree secondes
+     *             puis les options de la chaîne
+     */
+    public static void main(String[] args) {
+        long nbBits = 1000000;
+        int tailleLot = TAILLE_LOT_DEFAUT;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long graine = 0;
+        long nbErreursCible = 0;
+        long dureeMaxSecondes = 0;
+        List<String> optionsChaine = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].matches("-bits")) {
+                    nbBits = Long.parseLong(args[++i]);
+                } else if (args[i].matches("-lot")) {
+                    tailleLot = Integer.parseInt(args[++i]);
+                } else if (args[i].matches("-threads")) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (args[i].matches("-seed")) {
+                    graine = Long.parseLong(args[++i]);
+                } else if (args[i].matches("-erreurs")) {
+                    nbErreursCible = Long.parseLong(args[++i]);
+                } else if (args[i].matches("-duree")) {
+                    dureeMaxSecondes = Long.parseLong(args[++i]);
+                } else if (args[i].matches("-mess|-seedBruit")) {
+                    throw new ArgumentsException("Option gérée par le moteur de Monte Carlo :" + args[i]);
+                } else {
+                    optionsChaine.add(args[i]);
+                }
+            }
+
+            MoteurTEB moteur = new MoteurTEB(optionsChaine.toArray(new String[0]), nbBits, tailleLot, graine);
+            moteur.setNbErreursCible(nbErreursCible);
+            moteur.setDureeMax(dureeMaxSecondes * 1000);
+            long t0 = System.nanoTime();
+            ResultatTEB resultat = moteur.executer(threads);
+            double secondes = (System.nanoTime() - t0) / 1e9;
+            System.out.println("java  MoteurTEB  " + String.join("  ", args) + "    =>   " + resultat
+                    + String.format(" en %.2f s sur %d threads", secondes, threads)
+                    + " (" + moteur.getMotifArret() + ")");
+        } catch (Exception e) {
+            System.out.println(e);
+            System.exit(-1);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package simulateur;
+
+/**
+ * Résultat d'une estimation du Taux d'Erreur Binaire : nombre de bits
+ * erronés et nombre de bits comparés. Les résultats partiels (lots
+ * simulés séparément) se fusionnent en additionnant les compteurs.
+ * <p>
+ * Un résultat peut aussi être calculé analytiquement ({@link #calcule(double, long)},
+ * voir {@link TEBAnalytique}) : son TEB est alors exact, son nombre d'erreurs
+ * est le nombre attendu (arrondi) et son intervalle de confiance est réduit au TEB.
+ * </p>
+ */
+public class ResultatTEB {
+
+    /** quantile de la loi normale pour un intervalle de confiance à 95 % */
+    public static final double Z_95 = 1.959963984540054;
+
+    /** nombre de bits erronés */
+    private final long nbErreurs;
+
+    /** nombre de bits comparés */
+    private final long nbBits;
+
+    /** TEB calculé analytiquement, NaN pour un résultat de simulation */
+    private final double tebCalcule;
+
+    /**
+     * construit un résultat à partir de ses compteurs
+     * @param nbErreurs le nombre de bits erronés
+     * @param nbBits le nombre de bits comparés
+     */
+    public ResultatTEB(long nbErreurs, long nbBits) {
+        this(nbErreurs, nbBits, Double.NaN);
+    }
+
+    /**
+     * @param nbErreurs le nombre de bits erronés
+     * @param nbBits le nombre de bits comparés
+     * @param tebCalcule le TEB calculé, NaN pour un résultat de simulation
+     */
+    private ResultatTEB(long nbErreurs, long nbBits, double tebCalcule) {
+        this.nbErreurs = nbErreurs;
+        this.nbBits = nbBits;
+        this.tebCalcule = tebCalcule;
+    }
+
+    /**
+     * construit un résultat calculé analytiquement
+     * @param teb le TEB calculé
+     * @param nbBits le nombre de bits du message auquel il s'applique
+     * @return le résultat, de {@code round(teb * nbBits)} erreurs attendues
+     */
+    public static ResultatTEB calcule(double teb, long nbBits) {
+        return new ResultatTEB(Math.round(teb * nbBits), nbBits, teb);
+    }
+
+    /**
+     * indique si le résultat a été calculé analytiquement plutôt que simulé
+     * @return true pour un résultat calculé
+     */
+    public boolean isCalcule() {
+        return !Double.isNaN(tebCalcule);
+    }
+
+    /**
+     * retourne le nombre de bits erronés
+     * @return le nombre de bits erronés
+     */
+    public long getNbErreurs() {
+        return nbErreurs;
+    }
+
+    /**
+     * retourne le nombre de bits comparés
+     * @return le nombre de bits comparés
+     */
+    public long getNbBits() {
+        return nbBits;
+    }
+
+    /**
+     * retourne le Taux d'Erreur Binaire estimé
+     * @return nbErreurs / nbBits (0 si aucun bit n'a été comparé)
+     */
+    public double getTEB() {
+        if (isCalcule()) {
+            return tebCalcule;
+        }
+        return (nbBits == 0) ? 0.0 : (double) nbErreurs / nbBits;
+    }
+
+    /**
+     * fusionne ce résultat avec un autre, obtenu sur des bits différents
+     * @param autre le résultat à ajouter
+     * @return le résultat portant sur l'ensemble des bits
+     */
+    public ResultatTEB fusionner(ResultatTEB autre) {
+        if (isCalcule() || autre.isCalcule()) {
+            long total = nbBits + autre.nbBits;
+            return calcule((total == 0) ? 0.0 : (getTEB() * nbBits + autre.getTEB() * autre.nbBits) / total, total);
+        }
+        return new ResultatTEB(nbErreurs + autre.nbErreurs, nbBits + autre.nbBits);
+    }
+
+    /**
+     * calcule l'intervalle de confiance de Wilson du TEB. Contrairement à
+     * l'intervalle normal, il reste valable quand aucune erreur n'a été
+     * observée (sa borne supérieure vaut alors environ z²/nbBits).
+     * Pour un résultat calculé, l'intervalle est réduit au TEB.
+     * @param z le quantile de la loi normale (par exemple {@link #Z_95})
+     * @return un tableau {borne inférieure, borne supérieure}
+     */
+    public double[] intervalleWilson(double z) {
+        if (isCalcule()) {
+            return new double[] {tebCalcule, tebCalcule};
+        }
+        if (nbBits == 0) {
+            return new double[] {0.0, 1.0};
+        }
+        double n = nbBits;
+        double p = getTEB();
+        double z2 = z * z;
+        double centre = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double demiLargeur = (z / (1 + z2 / n)) * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n));
+        return new double[] {Math.max(0.0, centre - demiLargeur), Math.min(1.0, centre + demiLargeur)};
+    }
+
+    @Override
+    public String toString() {
+        if (isCalcule()) {
+            return "TEB : " + getTEB() + " (calculé, " + nbErreurs + " erreurs attendues sur " + nbBits + " bits)";
+        }
+        double[] ic = intervalleWilson(Z_95);
+        return "TEB : " + getTEB() + " (" + nbErreurs + " erreurs sur " + nbBits + " bits, IC 95 % ["
+                + String.format("%.3e", ic[0]) + " ; " + String.format("%.3e", ic[1]) + "])";
+    }
+}
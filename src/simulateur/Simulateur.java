@@ -3,21 +3,29 @@ import destinations.Destination;
 import sources.Source;
 import sources.SourceAleatoire;
 import sources.SourceFixe;
+import sources.SourceParMots;
 import transmetteurs.*;
 import destinations.DestinationFinale;
 import information.Information;
+import information.InformationAnalogique;
+import information.InformationBinaire;
 import information.InformationNonConformeException;
 import visualisations.SondeLogique;
 import visualisations.SondeAnalogique;
+import visualisations.Sonde;
+import visualisations.ImageCourbe;
 import visualisations.VueCourbe;
-import emmetteurs.CodageEmission;
 import transmetteurs.DecodageReception;
+import transmetteurs.DecodageSouple;
 
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import emmetteurs.Emetteur;
+import metriques.Metriques;
 
 /**
  * La classe Simulateur permet de construire et simuler une chaîne de
@@ -29,12 +37,29 @@ import emmetteurs.Emetteur;
  * <p>Options de ligne de commande :
  * <ul>
  *   <li>-s : active les sondes d'affichage (logique/analogique)</li>
- *   <li>-mess m : si m est binaire (ex. "10101"), message fixe ; si m est un entier N, génère N bits aléatoires</li>
+ *   <li>-mess m : si m est binaire (ex. "10101"), message fixe ; si m est un entier N, génère N bits aléatoires
+ *       (N sur 64 bits, ex. 10G ou 1e10 ; au-delà de 2^31 échantillons, le message est transmis par blocs)</li>
+ *   <li>-source G : générateur du message aléatoire, 64 bits à la fois (aleatoire | prbs7 | prbs15 | prbs23 | prbs31)</li>
  *   <li>-seed v : graine pour la génération du message (reproductibilité)</li>
  *   <li>-form F : forme d'onde de l'émetteur (NRZ | RZ | NRZT). Défaut : RZ</li>
  *   <li>-ne k : nombre d'échantillons par symbole (nbEch). Défaut : 30</li>
  *   <li>-snrpb d : SNR par bit en dB ; si absent → transmetteur parfait (pas de bruit)</li>
  *   <li>-seedBruit v : graine du bruit AWGN (reproductibilité du canal)</li>
+ *   <li>-bloc n : transmet le message par blocs de n bits (mémoire bornée, même TEB que le message entier)</li>
+ *   <li>-bruit G : générateur du bruit gaussien (ziggurat | polaire | boxmuller). Défaut : ziggurat</li>
+ *   <li>-codeur : code à répétition (1 → 101, 0 → 010) décodé par majorité</li>
+ *   <li>-souple : avec -codeur, le décodeur somme les valeurs souples du récepteur au lieu de voter sur les bits décidés</li>
+ *   <li>-fusion : émetteur, canal AWGN et récepteur fusionnés en une boucle (mêmes décisions, sans signal analogique)</li>
+ *   <li>-metrics [f] : mesure chaque étage de la chaîne (appels, éléments, temps, allocations), affiche un
+ *       tableau récapitulatif et écrit les mesures au format JSON dans le fichier f s'il est donné</li>
+ *   <li>-capture : avec -s, les sondes analogiques ajoutent le signal reçu dans un fichier projeté en mémoire
+ *       ({@code sonde_<nom>.bin}) au lieu de le copier, et leur courbe est relue depuis ce fichier</li>
+ *   <li>-export F : format des fichiers des sondes et des courbes de TEB (csv | bin | auto). Défaut : auto,
+ *       CSV jusqu'à 65536 valeurs et binaire en colonnes au-delà</li>
+ *   <li>-passeunique : avec -s, les courbes TEB = f(SNR) sont évaluées en une seule passe : signal et bruit
+ *       unitaire tirés une fois, bruit mis à l'échelle de chaque SNR au récepteur</li>
+ *   <li>-analytique : avec -s et -ti, les courbes des trajets multiples sont calculées exactement
+ *       (énumération des motifs d'interférence) au lieu d'être simulées, avec une simulation de vérification</li>
  * </ul>
  * Exemples :
  * <pre>
@@ -45,9 +70,15 @@ import emmetteurs.Emetteur;
  */
 public class Simulateur {
 
+    /** la configuration de la simulation en cours */
+    private SimulationConfig configuration;
+
     /** indique si le Simulateur utilise des sondes d'affichage */
     private boolean affichage = false;
 
+    /** les sondes analogiques de la chaîne, à terminer en fin de capture */
+    private final List<SondeAnalogique> sondesAnalogiques = new ArrayList<>();
+
     /** indique si le Simulateur doit générer les graphiques d'analyse TEB */
     private boolean modeAnalyse = false;
 
@@ -63,8 +94,14 @@ public class Simulateur {
     /** la valeur de la semence utilisée pour les générateurs aléatoires */
     private Integer seed = null; // pas de semence par défaut
 
+    /** la semence du bruit du canal ; si absente, le canal utilise {@code seed} */
+    private Integer seedBruit = null;
+
+    /** le générateur du message aléatoire (null : SourceAleatoire, bit par bit) */
+    private String typeSource = null;
+
     /** la longueur du message aléatoire à transmettre si un message n'est pas imposé */
-    private int nbBitsMess = 100;
+    private long nbBitsMess = 100;
 
     /** la chaîne de caractères correspondant à m dans l'argument -mess m */
     private String messageString = "100";
@@ -93,16 +130,37 @@ public class Simulateur {
 	/** booléen disant si on utilise un codeur ou non */
 	private Boolean codeur = false;
 
+	/** indique si le décodeur reçoit les valeurs souples du récepteur (décodage souple) */
+	private boolean souple = false;
+
+	/** la méthode de génération du bruit gaussien du canal (null : générateur par défaut du canal) */
+	private String methodeBruit = null;
+
+	/** indique si l'émetteur, le canal AWGN et le récepteur sont remplacés par la chaîne fusionnée */
+	private boolean fusion = false;
+
+	/** la chaîne fusionnée utilisée à la place des maillons analogiques (null si -fusion est absent) */
+	private ChaineFusionnee chaineFusionnee = null;
+
+	/** taille des blocs en mode bloc par bloc (0 : le message est transmis en une fois) */
+	private int tailleBloc = 0;
+
+	/** en mode bloc par bloc, nombre d'erreurs binaires cumulé sur les blocs déjà transmis */
+	private long nbErreursBlocs = 0;
+
+	/** en mode bloc par bloc, nombre de bits comparés cumulé sur les blocs déjà transmis */
+	private long nbBitsComparesBlocs = 0;
+
 
 
-    private Emetteur emetteur = null;
+    private Emetteur<Boolean> emetteur = null;
     private Recepteur recepteur = null;
    	
    
     /** Le constructeur de Simulateur construit une chaîne de
      * transmission composée d'une Source {@code <Boolean>}, d'une Destination
      * {@code <Boolean>}et de Transmetteur(s) [voir la méthode
-     * analyseArguments]...  <br> Les différents composants de la
+     * {@link SimulationConfig#depuisArguments(String[])}]...  <br> Les différents composants de la
      * chaîne de transmission (Source, Transmetteur(s), Destination,
      * Sonde(s) de visualisation) sont créés et connectés.
      * @param args le tableau des différents arguments.
@@ -112,39 +170,217 @@ public class Simulateur {
 	 *         au type ou à la forme attendue
      *
      */
-	@SuppressWarnings("unchecked")
     public  Simulateur(String [] args) throws ArgumentsException, InformationNonConformeException {
-    	// analyser et récupérer les arguments   	
-    	analyseArguments(args);
-    	
-    	// 1. Create the correct source based on the arguments
+    	this(SimulationConfig.depuisArguments(args));
+    }
+
+    /** Construit la chaîne de transmission décrite par une configuration.
+     * @param configuration la configuration de la simulation
+     *
+     * @throws InformationNonConformeException si l'information générée ne correspond pas
+	 *         au type ou à la forme attendue
+     */
+    public  Simulateur(SimulationConfig configuration) throws InformationNonConformeException {
+    	appliquer(configuration);
+    	construireChaine();
+    }
+
+    /** Retourne la configuration de la simulation en cours.
+     * @return la configuration appliquée en dernier
+     */
+    public SimulationConfig getConfiguration() {
+    	return configuration;
+    }
+
+    /** Adapte la chaîne déjà construite à une nouvelle configuration, typiquement
+     * le point suivant d'un balayage. Quand seuls le SNR, les trajets, le nombre
+     * d'échantillons par bit, le message ou les graines changent, les composants
+     * existants sont reparamétrés et remis dans leur état initial ; sinon la
+     * chaîne est reconstruite. Dans les deux cas, l'exécution donne le même
+     * résultat qu'un Simulateur neuf construit avec cette configuration.
+     * @param nouvelle la configuration à appliquer
+     *
+     * @throws InformationNonConformeException si l'information générée ne correspond pas
+	 *         au type ou à la forme attendue
+     */
+    public void reparametrer(SimulationConfig nouvelle) throws InformationNonConformeException {
+    	if (!memeStructure(configuration, nouvelle)) {
+    		appliquer(nouvelle);
+    		construireChaine();
+    		return;
+    	}
+    	appliquer(nouvelle);
+    	preparerSource();
+
+    	Integer graineCanal = graineCanal();
+    	emetteur.setNbEch(nEch);
+    	emetteur.reinitialiser();
+    	recepteur.setNbEch(nEch);
+    	if (chaineFusionnee != null) {
+    		chaineFusionnee = new ChaineFusionnee(form, nEch, seuilDecision(), SNRpB,
+    				GenerateurGaussien.creer(methodeBruit != null ? methodeBruit : "ziggurat", graineCanal));
+    	} else if (transmetteurLogique instanceof TransmetteurImparfait) {
+    		TransmetteurImparfait<?> canal = (TransmetteurImparfait<?>) transmetteurLogique;
+    		canal.setSNRdB(SNRpB);
+    		canal.setNbEch(nEch);
+    		canal.setPuissanceSignalImposee(null);
+    		canal.setGenerateurGaussien(GenerateurGaussien.creer(methodeBruit != null ? methodeBruit : "ziggurat", graineCanal));
+    	} else if (transmetteurLogique instanceof TransmetteurMultiTrajet) {
+    		TransmetteurMultiTrajet<?> canal = (TransmetteurMultiTrajet<?>) transmetteurLogique;
+    		canal.setSNRdB((SNRpB != null) ? SNRpB : 1000.0f);
+    		canal.setTrajets(trajetsMultiples, nEch);
+    		canal.reinitialiser();
+    		canal.setPuissanceSignalImposee(null);
+    		canal.setGenerateurGaussien(GenerateurGaussien.creer(methodeBruit != null ? methodeBruit : "ziggurat", graineCanal));
+    	}
+    }
+
+    /** Indique si deux configurations utilisent la même chaîne de composants
+     * (seuls leurs paramètres diffèrent).
+     * @param a la première configuration
+     * @param b la seconde configuration
+     * @return true si la chaîne construite pour a peut être reparamétrée pour b
+     */
+    private static boolean memeStructure(SimulationConfig a, SimulationConfig b) {
+    	return !a.isAffichage() && !b.isAffichage()
+    			&& a.isMessageAleatoire() == b.isMessageAleatoire()
+    			&& Objects.equals(a.getTypeSource(), b.getTypeSource())
+    			&& a.getForm().equals(b.getForm())
+    			&& a.isCodeur() == b.isCodeur()
+    			&& a.isSouple() == b.isSouple()
+    			&& a.isFusion() == b.isFusion()
+    			&& (a.getSNRpB() == null) == (b.getSNRpB() == null)
+    			&& (a.getTrajets() == null) == (b.getTrajets() == null);
+    }
+
+    /** Prépare la source du message : la crée si besoin, puis génère le
+     * message (ou, en mode bloc par bloc, fixe seulement sa graine).
+     *
+     * @throws InformationNonConformeException si l'information générée ne correspond pas
+	 *         au type ou à la forme attendue
+     */
+    @SuppressWarnings("unchecked")
+    private void preparerSource() throws InformationNonConformeException {
         if (messageAleatoire) {
             // Random message
-            SourceAleatoire SA = new SourceAleatoire();
-            if (aleatoireAvecGerme && seed != null) {
-                SA.setSeed(seed);  // assuming you add a setSeed method
+            SourceAleatoire SA = (source instanceof SourceAleatoire) ? (SourceAleatoire) source : nouvelleSourceAleatoire();
+            SA.setSeed(aleatoireAvecGerme ? seed : null);
+            if (tailleBloc > 0) {
+                // En mode bloc par bloc, les blocs sont générés à la volée par execute().
+                // Sans graine, on en tire une pour pouvoir rejouer le message lors de
+                // la mesure préalable de la puissance du signal.
+                if (SA.seed == null) {
+                    SA.setSeed(new java.util.Random().nextInt());
+                }
+            } else {
+                // transmis en une fois, le message tient sur un int (voir SimulationConfig.build)
+                SA.setLength((int) nbBitsMess);
+                SA.generer();
             }
-            SA.setLength(nbBitsMess);  // assuming you add a setNbBits method
-            SA.generer(); 
             source = SA;
         } else {
             // Fixed message
-            SourceFixe SF = new SourceFixe();
+            SourceFixe SF = (source instanceof SourceFixe) ? (SourceFixe) source : new SourceFixe();
             SF.generer(messageString);
             source = SF;
         }
+    }
+
+    /** Crée la source du message aléatoire : tirage bit par bit, ou par mots
+     * de 64 bits avec le générateur demandé par -source.
+     * @return une source aléatoire sans graine ni longueur
+     */
+    private SourceAleatoire nouvelleSourceAleatoire() {
+    	return (typeSource == null) ? new SourceAleatoire() : new SourceParMots(typeSource);
+    }
+
+    /** Donne la graine du bruit du canal : la sienne si elle est donnée, celle du message sinon.
+     * @return la graine du canal, ou null pour un bruit non reproductible
+     */
+    private Integer graineCanal() {
+    	return (seedBruit != null) ? seedBruit : (aleatoireAvecGerme ? seed : null);
+    }
+
+    /** Donne le seuil de décision du récepteur pour la forme d'onde courante :
+     * RZ : pulse dans le tiers central, moyenne pour bit=1 est 1/3, seuil = 1/6 ;
+     * NRZ et NRZT : signaux ±1, seuil = 0.0
+     * @return le seuil de décision
+     */
+    private float seuilDecision() {
+    	return "RZ".equalsIgnoreCase(form) ? (1.0f / 6.0f) : 0.0f;
+    }
+
+    /** Recopie une configuration dans les attributs du Simulateur.
+     * @param configuration la configuration à appliquer
+     */
+    private void appliquer(SimulationConfig configuration) {
+    	this.configuration = configuration;
+    	affichage = configuration.isAffichage();
+    	messageAleatoire = configuration.isMessageAleatoire();
+    	messageString = configuration.getMessage();
+    	nbBitsMess = configuration.getNbBitsMess();
+    	typeSource = configuration.getTypeSource();
+    	seed = configuration.getSeed();
+    	aleatoireAvecGerme = (seed != null);
+    	seedBruit = configuration.getSeedBruit();
+    	form = configuration.getForm();
+    	nEch = configuration.getNbEch();
+    	SNRpB = configuration.getSNRpB();
+    	trajetsMultiples = (configuration.getTrajets() == null) ? null : new ArrayList<>(configuration.getTrajets());
+    	codeur = configuration.isCodeur();
+    	souple = configuration.isSouple();
+    	tailleBloc = configuration.getTailleBloc();
+    	methodeBruit = configuration.getMethodeBruit();
+    	fusion = configuration.isFusion();
+    }
+
+    /** Crée et connecte tous les composants de la chaîne de transmission
+     * à partir des attributs du Simulateur, sous un événement JFR
+     * {@code transmission.ConstructionChaine} portant les paramètres de la chaîne.
+     *
+     * @throws InformationNonConformeException si l'information générée ne correspond pas
+	 *         au type ou à la forme attendue
+     */
+    private void construireChaine() throws InformationNonConformeException {
+    	EvenementConstructionChaine evenement = new EvenementConstructionChaine();
+    	evenement.begin();
+    	connecterChaine();
+    	evenement.end();
+    	if (evenement.shouldCommit()) {
+    		evenement.decrire(configuration);
+    		evenement.commit();
+    	}
+    }
+
+    /** Crée et connecte les composants (voir {@link #construireChaine()}).
+     *
+     * @throws InformationNonConformeException si l'information générée ne correspond pas
+	 *         au type ou à la forme attendue
+     */
+	@SuppressWarnings("unchecked")
+    private void connecterChaine() throws InformationNonConformeException {
+    	// 1. Create the correct source based on the arguments
+    	source = null;
+    	sondesAnalogiques.clear();
+    	preparerSource();
     	
         // Création du transmetteur selon les options
+        Integer graineCanal = graineCanal();
+        chaineFusionnee = null;
         if (trajetsMultiples != null && !trajetsMultiples.isEmpty()) {
             // Canal à trajets multiples (avec ou sans bruit)
             // Si SNR non spécifié, utiliser SNR très élevé (1000 dB) = canal parfait
             float snrEffectif = (SNRpB != null) ? SNRpB : 1000.0f;
 
-            if (aleatoireAvecGerme && seed != null) {
-                transmetteurLogique = new TransmetteurMultiTrajet<>(trajetsMultiples, snrEffectif, nEch, seed);
+            if (graineCanal != null) {
+                transmetteurLogique = new TransmetteurMultiTrajet<>(trajetsMultiples, snrEffectif, nEch, graineCanal);
             } else {
                 transmetteurLogique = new TransmetteurMultiTrajet<>(trajetsMultiples, snrEffectif, nEch);
             }
+            if (methodeBruit != null) {
+                ((TransmetteurMultiTrajet<?>) transmetteurLogique).setGenerateurGaussien(
+                        GenerateurGaussien.creer(methodeBruit, graineCanal));
+            }
         }
         else if (SNRpB == null) {
             // Canal parfait (pas de bruit)
@@ -152,42 +388,56 @@ public class Simulateur {
         }
         else {
             // Canal simple avec bruit uniquement
-            if (aleatoireAvecGerme && seed != null) {
-                transmetteurLogique = new TransmetteurImparfait<>(nEch, SNRpB, seed);
+            if (graineCanal != null) {
+                transmetteurLogique = new TransmetteurImparfait<>(nEch, SNRpB, graineCanal);
             }
             else {
                 transmetteurLogique = new TransmetteurImparfait<>(nEch, SNRpB);
             }
+            if (methodeBruit != null) {
+                ((TransmetteurImparfait<?>) transmetteurLogique).setGenerateurGaussien(
+                        GenerateurGaussien.creer(methodeBruit, graineCanal));
+            }
         }
 
-		// Toujours créer les maillons de base
-		emetteur = new Emetteur(form, nEch);
+		// Toujours créer les maillons de base ; avec le codeur, l'émetteur code
+		// lui-même chaque bit d'information (gabarit de ses trois symboles codés)
+		emetteur = new Emetteur<>(form, nEch, codeur);
 
-		// Seuil de décision dépend du codage:
-		// - RZ: pulse dans le tiers central, moyenne pour bit=1 est 1/3, seuil = 1/6
-		// - NRZ et NRZT: signaux ±1, seuil = 0.0
-		float seuil = "RZ".equalsIgnoreCase(form) ? (1.0f / 6.0f) : 0.0f;
+		// Seuil de décision dépend du codage (voir seuilDecision())
+		float seuil = seuilDecision();
 		recepteur = new Recepteur(nEch, seuil, form);
 		destination = new DestinationFinale();
 
 
-		if (codeur) {
-			CodageEmission codeur = new CodageEmission();
-			DecodageReception decodeur = new DecodageReception();
+		if (fusion) {
+			// Les bits vont directement de la source à la chaîne fusionnée (voir execute())
+			chaineFusionnee = new ChaineFusionnee(form, nEch, seuil, SNRpB,
+					GenerateurGaussien.creer(methodeBruit != null ? methodeBruit : "ziggurat", graineCanal));
+		} else if (codeur) {
+			Transmetteur<?, Boolean> decodeur;
 
-			// Chaîne avec codage
-			source.connecter(codeur);
-			codeur.connecter(emetteur);
+			// Chaîne avec codage : le codage 1 → 101, 0 → 010 est fait par l'émetteur
+			source.connecter(emetteur);
 			emetteur.connecter(transmetteurLogique);
 			transmetteurLogique.connecter(recepteur);
-			recepteur.connecter(decodeur);
+			if (souple) {
+				// le décodeur reçoit les valeurs souples des symboles, pas les bits décidés
+				DecodageSouple decodeurSouple = new DecodageSouple();
+				recepteur.connecterSouple(decodeurSouple);
+				decodeur = decodeurSouple;
+			} else {
+				DecodageReception decodeurDur = new DecodageReception();
+				recepteur.connecter(decodeurDur);
+				decodeur = decodeurDur;
+			}
 			decodeur.connecter(destination);
 
 			if (affichage) {
-				source.connecter(new SondeLogique("source", 100));
-				emetteur.connecterSonde(new SondeAnalogique("émetteur"));
-				transmetteurLogique.connecter(new SondeAnalogique("transmetteur"));
-				decodeur.connecter(new SondeLogique("récepteur2", 100));
+				source.connecter(new SondeLogique("source", 100).decrireSignal(nEch, form));
+				emetteur.connecterSonde(sondeAnalogique("émetteur"));
+				transmetteurLogique.connecter(sondeAnalogique("transmetteur"));
+				decodeur.connecter(new SondeLogique("récepteur2", 100).decrireSignal(nEch, form));
 			}
 		} else {
 			// Chaîne sans codage (ancienne version)
@@ -197,136 +447,16 @@ public class Simulateur {
 			recepteur.connecter(destination);
 
 			if (affichage) {
-				source.connecter(new SondeLogique("source", 100));
-				emetteur.connecterSonde(new SondeAnalogique("émetteur"));
-				transmetteurLogique.connecter(new SondeAnalogique("transmetteur"));
-				recepteur.connecter(new SondeLogique("récepteur", 100));
+				source.connecter(new SondeLogique("source", 100).decrireSignal(nEch, form));
+				emetteur.connecterSonde(sondeAnalogique("émetteur"));
+				transmetteurLogique.connecter(sondeAnalogique("transmetteur"));
+				recepteur.connecter(new SondeLogique("récepteur", 100).decrireSignal(nEch, form));
 			}
 		}
     }
    
    
    
-    /** La méthode analyseArguments extrait d'un tableau de chaînes de
-     * caractères les différentes options de la simulation.  <br>Elle met
-     * à jour les attributs correspondants du Simulateur.
-     *
-     * @param args le tableau des différents arguments.
-     * <br>
-     * <br>Les arguments autorisés sont : 
-     * <br> 
-     * <dl>
-     * <dt> -mess m  </dt><dd> m (String) constitué de 7 ou plus digits à 0 | 1, le message à transmettre</dd>
-     * <dt> -mess m  </dt><dd> m (int) constitué de 1 à 6 digits, le nombre de bits du message "aléatoire" à transmettre</dd> 
-     * <dt> -s </dt><dd> pour demander l'utilisation des sondes d'affichage</dd>
-     * <dt> -seed v </dt><dd> v (int) d'initialisation pour les générateurs aléatoires</dd> 
-     * </dl>
-     *
-     * @throws ArgumentsException si un des arguments est incorrect.
-     *
-     */   
-    private  void analyseArguments(String[] args)  throws  ArgumentsException {
-
-    	for (int i=0;i<args.length;i++){ // traiter les arguments 1 par 1
-
-    		if (args[i].matches("-s")){
-    			affichage = true;
-    		}
-
-    		else if (args[i].matches("-seed")) {
-    			aleatoireAvecGerme = true;
-    			i++; 
-    			try { 
-    				seed = Integer.valueOf(args[i]);
-    			}
-    			catch (Exception e) {
-    				throw new ArgumentsException("Valeur du parametre -seed  invalide :" + args[i]);
-    			}           		
-    		}
-
-    		else if (args[i].matches("-mess")){
-    			i++; 
-    			// traiter la valeur associee
-    			messageString = args[i];
-    			if (args[i].matches("[0,1]{7,}")) { // au moins 7 digits
-    				messageAleatoire = false;
-    				nbBitsMess = args[i].length();
-    			} 
-    			else if (args[i].matches("[0-9]{1,6}")) { // de 1 à 6 chiffres
-    				messageAleatoire = true;
-    				nbBitsMess = Integer.valueOf(args[i]);
-    				if (nbBitsMess < 1) 
-    					throw new ArgumentsException ("Valeur du parametre -mess invalide : " + nbBitsMess);
-    			}
-    			else 
-    				throw new ArgumentsException("Valeur du parametre -mess invalide : " + args[i]);
-    		}
-
-			else if (args[i].matches("-form")) {
-				i++;
-				if (i < args.length) {
-					form = args[i];
-				} else {
-					throw new ArgumentsException("Valeur du parametre -form manquante");
-				}
-			}
-
-			else if (args[i].matches("-nbEch")) {
-				i++;
-				try {
-					nEch = Integer.valueOf(args[i]);
-				}
-				catch (Exception e) {
-					throw new ArgumentsException("Valeur du parametre -nbEch invalide :" + args[i]);
-				}
-			}
-
-            else if (args[i].matches("-snrpb")) {
-				i++;
-				try {
-					SNRpB = Float.valueOf(args[i]);
-				}
-				catch (Exception e) {
-					throw new ArgumentsException("Valeur du parametre -snrpb invalide :" + args[i]);
-				}
-			}
-
-			else if (args[i].matches("-ti")) {
-				// Trajets multiples : lire les couples (dt, ar) jusqu'à 5 max
-				trajetsMultiples = new ArrayList<>();
-				i++;
-				while (i < args.length && !args[i].startsWith("-") && trajetsMultiples.size() < 5) {
-					try {
-						int dt = Integer.valueOf(args[i]);
-						i++;
-						if (i >= args.length || args[i].startsWith("-")) {
-							throw new ArgumentsException("Valeur ar manquante après dt pour -ti");
-						}
-						float ar = Float.valueOf(args[i]);
-						trajetsMultiples.add(new Trajet(dt, ar));
-						i++;
-					} catch (NumberFormatException e) {
-						throw new ArgumentsException("Valeurs invalides pour -ti : " + args[i-1]);
-					}
-				}
-				i--; // Compenser le i++ du for
-				if (trajetsMultiples.isEmpty()) {
-					throw new ArgumentsException("Au moins un couple (dt, ar) requis pour -ti");
-				}
-			}
-
-			else if (args[i].matches("-codeur")) {
-				codeur = true;
-			}
-
-
-    		else throw new ArgumentsException("Option invalide :"+ args[i]);
-    	}
-      
-    }
-     
-    
-   	
     /** La méthode execute effectue un envoi de message par la source
      * de la chaîne de transmission du Simulateur.
      *
@@ -335,19 +465,30 @@ public class Simulateur {
      */ 
     public void execute() throws Exception {
 
-    	source.emettre();
+		if (tailleBloc > 0) {
+			executerParBlocs();
+			return;
+		}
+
+    	Metriques.emettre(source);
+		if (chaineFusionnee != null) {
+			destination.recevoir(chaineFusionnee.transmettre(InformationBinaire.de(source.getInformationEmise())));
+			return;
+		}
 		//System.err.println("DEBUG: Source a émis " + source.getInformationEmise().nbElements() + " bits");
 		//System.err.println("DEBUG: Premiers bits source: " + source.getInformationEmise().iemeElement(0) + " " + source.getInformationEmise().iemeElement(1) + " " + source.getInformationEmise().iemeElement(2));
 		//System.err.println("DEBUG: Emetteur a généré " + emetteur.getInformationEmise().nbElements() + " échantillons");
 
-        // emetteur émet automatiquement vers transmetteur dans recevoir()
-        transmetteurLogique.emettre();
+        // emetteur émet automatiquement vers transmetteur dans recevoir() ;
+        // le transmetteur parfait émet dès la réception, les canaux bruités sur demande
+        if (!(transmetteurLogique instanceof TransmetteurParfait)) {
+            Metriques.emettre(transmetteurLogique);
+        }
 		//System.err.println("DEBUG: Transmetteur a émis " + transmetteurLogique.getInformationEmise().nbElements() + " échantillons");
 
-        // transmetteur émet vers recepteur
+        // transmetteur émet vers recepteur (connecté), qui émet vers la destination
 		//System.err.println("DEBUG: Signal transmetteur premiers échantillons: " + transmetteurLogique.getInformationAnalogEmise().iemeElement(0) + " " + transmetteurLogique.getInformationAnalogEmise().iemeElement(1) + " " + transmetteurLogique.getInformationAnalogEmise().iemeElement(2));
 		//System.err.println("DEBUG: Signal emetteur premiers échantillons: " + emetteur.getInformationEmise().iemeElement(0) + " " + emetteur.getInformationEmise().iemeElement(1) + " " + emetteur.getInformationEmise().iemeElement(2));
-        recepteur.recevoir(transmetteurLogique.getInformationAnalogEmise());
         //recepteur.emettre();
 		//System.err.println("DEBUG: Recepteur a émis " + recepteur.getInformationEmise().nbElements() + " bits");
 		//System.err.println("DEBUG: Premiers bits recepteur: " + recepteur.getInformationEmise().iemeElement(0) + " " + recepteur.getInformationEmise().iemeElement(1) + " " + recepteur.getInformationEmise().iemeElement(2));
@@ -359,6 +500,142 @@ public class Simulateur {
    
    	   	
    	
+    /** La méthode executerParBlocs transmet le message bloc par bloc :
+     * chaque bloc de {@code tailleBloc} bits traverse toute la chaîne avant
+     * que le suivant ne soit généré, si bien que la mémoire utilisée ne
+     * dépend pas de la longueur du message. Les erreurs sont comptées au fil
+     * des blocs.
+     *
+     * @throws Exception si un problème survient lors de l'exécution
+     */
+	private void executerParBlocs() throws Exception {
+		nbErreursBlocs = 0;
+		nbBitsComparesBlocs = 0;
+
+		// Les maillons à mémoire repartent d'un début de message
+		emetteur.reinitialiser();
+		if (messageAleatoire) {
+			((SourceAleatoire) source).reinitialiser();
+		}
+		if (transmetteurLogique instanceof TransmetteurMultiTrajet) {
+			((TransmetteurMultiTrajet<?>) transmetteurLogique).reinitialiser();
+		}
+
+		// Le bruit dépend de la puissance du message entier, pas de celle du bloc
+		if (chaineFusionnee != null) {
+			chaineFusionnee.reinitialiser();
+			chaineFusionnee.setPuissanceSignalImposee(mesurerPuissanceSignal());
+		} else if (transmetteurLogique instanceof TransmetteurImparfait) {
+			((TransmetteurImparfait<?>) transmetteurLogique).setPuissanceSignalImposee(mesurerPuissanceSignal());
+		} else if (transmetteurLogique instanceof TransmetteurMultiTrajet) {
+			((TransmetteurMultiTrajet<?>) transmetteurLogique).setPuissanceSignalImposee(mesurerPuissanceSignal());
+		}
+
+		for (long debut = 0; debut < nbBitsMess; debut += tailleBloc) {
+			int taille = (int) Math.min(tailleBloc, nbBitsMess - debut);
+			genererBloc(source, debut, taille);
+
+			Metriques.emettre(source);
+			if (chaineFusionnee != null) {
+				destination.recevoir(chaineFusionnee.transmettre(InformationBinaire.de(source.getInformationEmise())));
+			} else if (!(transmetteurLogique instanceof TransmetteurParfait)) {
+				// le transmetteur parfait émet dès la réception, les canaux bruités sur demande
+				Metriques.emettre(transmetteurLogique);
+			}
+
+			Information<Boolean> blocEmis = source.getInformationEmise();
+			Information<Boolean> blocRecu = destination.getInformationRecue();
+			int size = Math.min(blocEmis.nbElements(), blocRecu.nbElements());
+			nbErreursBlocs += compterErreurs(blocEmis, blocRecu, size);
+			nbBitsComparesBlocs += size;
+		}
+	}
+
+	/**
+	 * Fait générer à une source le bloc de message commençant au bit {@code debut}
+	 * @param src la source (aléatoire ou fixe selon le message)
+	 * @param debut le rang du premier bit du bloc dans le message
+	 * @param taille le nombre de bits du bloc
+	 */
+	private void genererBloc(Source<Boolean> src, long debut, int taille) {
+		if (messageAleatoire) {
+			((SourceAleatoire) src).genererBloc(taille);
+		} else {
+			// un message fixe est une chaîne de caractères : debut tient sur un int
+			((SourceFixe) src).generer(messageString.substring((int) debut, (int) debut + taille));
+		}
+	}
+
+	/**
+	 * Mesure la puissance du signal émis pour le message entier, en le
+	 * regénérant bloc par bloc sans le conserver (source rejouée avec la
+	 * même graine). La somme est accumulée dans le même ordre que le ferait
+	 * le canal sur le message entier, la puissance obtenue est donc identique.
+	 * @return la puissance moyenne par échantillon du signal émis
+	 * @throws InformationNonConformeException si un maillon rejette un bloc
+	 */
+	@SuppressWarnings("unchecked")
+	private float mesurerPuissanceSignal() throws InformationNonConformeException {
+		Source<Boolean> sourceMesure;
+		if (messageAleatoire) {
+			SourceAleatoire SA = nouvelleSourceAleatoire();
+			SA.setSeed(((SourceAleatoire) source).seed);
+			sourceMesure = SA;
+		} else {
+			sourceMesure = new SourceFixe();
+		}
+		// avec le codeur, l'émetteur de mesure code lui-même les bits, comme celui de la chaîne
+		Emetteur<Boolean> emetteurMesure = new Emetteur<>(form, nEch, codeur);
+
+		double somme = 0;
+		long count = 0;
+		// cette passe ne fait pas partie de la chaîne : les mesures par étage sont suspendues
+		boolean mesures = Metriques.isActif();
+		Metriques.activer(false);
+		try {
+			for (long debut = 0; debut < nbBitsMess; debut += tailleBloc) {
+				int taille = (int) Math.min(tailleBloc, nbBitsMess - debut);
+				genererBloc(sourceMesure, debut, taille);
+				sourceMesure.emettre();
+				emetteurMesure.recevoir(sourceMesure.getInformationEmise());
+
+				InformationAnalogique signal = InformationAnalogique.de(emetteurMesure.getInformationEmise());
+				float[] echantillons = signal.valeurs();
+				for (int i = 0; i < signal.nbElements(); i++) {
+					somme += echantillons[i] * echantillons[i];
+				}
+				count += signal.nbElements();
+			}
+		} finally {
+			Metriques.activer(mesures);
+		}
+		return (float) (somme / count);
+	}
+
+    /**
+     * Crée une sonde analogique décrite par la forme d'onde et le nombre
+     * d'échantillons de la chaîne ; avec l'option -capture, elle capture le
+     * signal dans un fichier projeté en mémoire
+     * @param nomSonde le nom de la sonde
+     * @return la sonde
+     */
+    private SondeAnalogique sondeAnalogique(String nomSonde) {
+        SondeAnalogique sonde = new SondeAnalogique(nomSonde, configuration.isCapture());
+        sonde.decrireSignal(nEch, form);
+        sondesAnalogiques.add(sonde);
+        return sonde;
+    }
+
+    /**
+     * Termine les captures des sondes analogiques : chaque fichier est ramené
+     * à la taille de ses données (sans effet sans l'option -capture)
+     */
+    public void terminerCaptures() {
+        for (SondeAnalogique sonde : sondesAnalogiques) {
+            sonde.terminerCapture();
+        }
+    }
+
     /**
      * Retourne si le mode affichage est activé
      * @return true si l'affichage est activé
@@ -373,18 +650,51 @@ public class Simulateur {
      * @return  La valeur du Taux dErreur Binaire.
      */
     public float  calculTauxErreurBinaire() {
+		return (float) calculNbErreurs() / getNbBitsCompares();
+	}
+
+    /** La méthode qui compte les bits erronés du message reçu par rapport
+     * au message émis (sur l'ensemble des blocs en mode bloc par bloc).
+     *
+     * @return  le nombre de bits erronés.
+     */
+	public long calculNbErreurs() {
+		if (tailleBloc > 0) {
+			return nbErreursBlocs;
+		}
     	Information<Boolean> infoEmise = source.getInformationEmise();
     	Information<Boolean> infoRecue = destination.getInformationRecue();
+		return compterErreurs(infoEmise, infoRecue, (int) getNbBitsCompares());
+	}
 
-		int size = Math.min(infoEmise.nbElements(), infoRecue.nbElements());
-		int error = 0;
+    /** La méthode qui donne le nombre de bits sur lesquels porte la
+     * comparaison entre message émis et message reçu.
+     *
+     * @return  le nombre de bits comparés.
+     */
+	public long getNbBitsCompares() {
+		if (tailleBloc > 0) {
+			return nbBitsComparesBlocs;
+		}
+		return Math.min(source.getInformationEmise().nbElements(), destination.getInformationRecue().nbElements());
+	}
 
-		// Debug
-		//System.err.println("DEBUG: Taille émise = " + infoEmise.nbElements());
-		//System.err.println("DEBUG: Taille reçue = " + infoRecue.nbElements());
-		//System.err.println("DEBUG: Comparaison sur " + size + " bits");
+	/**
+	 * Compte les bits différents entre deux informations binaires sur leurs
+	 * {@code size} premiers éléments
+	 * @param infoEmise l'information émise
+	 * @param infoRecue l'information reçue
+	 * @param size le nombre de bits à comparer
+	 * @return le nombre de bits erronés
+	 */
+	private static int compterErreurs(Information<Boolean> infoEmise, Information<Boolean> infoRecue, int size) {
+		// Comparaison mot par mot quand les deux informations sont compactes
+		if (infoEmise instanceof InformationBinaire && infoRecue instanceof InformationBinaire) {
+			return ((InformationBinaire) infoEmise).nbDifferences((InformationBinaire) infoRecue, size);
+		}
 
 		// Use iterators for O(n) performance instead of iemeElement which is O(n²) with LinkedList
+		int error = 0;
 		Iterator<Boolean> iterEmis = infoEmise.iterator();
 		Iterator<Boolean> iterRecu = infoRecue.iterator();
 		for (int i = 0; i < size; i++) {
@@ -392,25 +702,21 @@ public class Simulateur {
 			Boolean recu = iterRecu.next();
 			if (!emis.equals(recu)) {
 				error++;
-				if (error <= 5) { // Afficher les 5 premières erreurs
-					//System.err.println("DEBUG: Erreur bit " + i + " : émis=" + emis + " reçu=" + recu);
-				}
 			}
 		}
-		//System.err.println("DEBUG: Nombre d'erreurs = " + error);
-		return (float) error / size;
+		return error;
 	}
 
 
 	/**
-	 * Supprime les anciens fichiers CSV pour éviter d'afficher des données obsolètes
+	 * Supprime les anciens fichiers CSV et binaires pour éviter d'afficher des données obsolètes
 	 */
 	private static void nettoyerAnciensCSV() {
 		try {
 			java.io.File currentDir = new java.io.File(".");
 			java.io.File[] csvFiles = currentDir.listFiles((dir, name) ->
-				name.startsWith("sonde_") && name.endsWith(".csv") ||
-				name.startsWith("TEB_") && name.endsWith(".csv")
+				(name.startsWith("sonde_") || name.startsWith("TEB_"))
+				&& (name.endsWith(".csv") || name.endsWith(".bin") || name.endsWith(".png"))
 			);
 
 			if (csvFiles != null) {
@@ -482,25 +788,55 @@ public class Simulateur {
     	} 
 
     	try {
+    		SimulationConfig config = simulateur.getConfiguration();
+    		Metriques.activer(config.isMetriques());
+    		Sonde.setFormatExport(config.getFormatExport());
+    		AnalyseTEB.setFormatExport(config.getFormatExport());
+    		AnalyseTEB.setPasseUnique(config.isPasseUnique());
+    		AnalyseTEB.setAnalytique(config.isAnalytique());
+    		if (simulateur.isAffichageActive()) {
+    			// Nettoyer les anciens fichiers avant que les sondes n'écrivent les nouveaux
+    			nettoyerAnciensCSV();
+    		}
     		simulateur.execute();
+    		simulateur.terminerCaptures();
     		String s = "java  Simulateur  ";
     		for (int i = 0; i < args.length; i++) { //copier tous les paramètres de simulation
     			s += args[i] + "  ";
     		}
     		System.out.println(s + "  =>   TEB : " + simulateur.calculTauxErreurBinaire());
 
+    		if (config.isMetriques()) {
+    			Metriques.afficher(System.out);
+    			if (config.getFichierMetriques() != null) {
+    				Metriques.exporterJSON(Paths.get(config.getFichierMetriques()));
+    			}
+    		}
+    		// les mesures ne portent que sur la chaîne ci-dessus, pas sur les balayages
+    		// de l'analyse TEB (maillons conservés par les mesures, threads concurrents)
+    		Metriques.activer(false);
+    		Metriques.reinitialiser();
+
     		// Générer les graphiques d'analyse TEB si affichage activé
     		if (simulateur.isAffichageActive()) {
-    			// Nettoyer les anciens fichiers CSV avant de générer les nouveaux
-    			nettoyerAnciensCSV();
+    			if (simulateur.recepteur != null && simulateur.recepteur.getNbEchantillonsDecides() > 0) {
+    				System.err.printf("Récepteur : %d échantillons décidés, %.1f Méch/s%n",
+    						simulateur.recepteur.getNbEchantillonsDecides(), simulateur.recepteur.getDebitDecision() / 1e6);
+    			}
 
     			// Utiliser SNR = 10dB par défaut si pas de bruit dans la simulation
     			float snr = (simulateur.SNRpB != null) ? simulateur.SNRpB : 10.0f;
-    			AnalyseTEB.genererGraphiques(simulateur.nbBitsMess, simulateur.nEch,
+    			AnalyseTEB.genererGraphiques((int) Math.min(simulateur.nbBitsMess, MoteurTEB.TAILLE_LOT_MAX), simulateur.nEch,
     			                             snr, simulateur.form, simulateur.seed, simulateur.trajetsMultiples, simulateur.codeur);
 
-    			// Appeler le script Python pour générer les graphiques améliorés
-    			appelScriptPython();
+    			// Sans écran, les courbes sont rendues en PNG ; sinon appeler le script
+    			// Python pour générer les graphiques améliorés
+    			if (ImageCourbe.isHorsEcran()) {
+    				ImageCourbe.attendre();
+    				System.out.println("Environnement sans écran : courbes écrites dans les fichiers sonde_*.png et TEB_*.png");
+    			} else {
+    				appelScriptPython();
+    			}
     		}
     	}
     	catch (Exception e) {
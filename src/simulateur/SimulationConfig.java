@@ -0,0 +1,681 @@
+package simulateur;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import transmetteurs.Trajet;
+import visualisations.FormatExport;
+
+/**
+ * Configuration immuable d'une simulation : message, forme d'onde, canal,
+ * codage et mode d'exécution. Elle est produite soit par l'analyse des
+ * arguments de la ligne de commande ({@link #depuisArguments(String[])}),
+ * soit directement par programme avec un {@link Builder}, par exemple pour
+ * les points d'un balayage :
+ * <pre>
+ *   SimulationConfig base = new SimulationConfig.Builder().messageAleatoire(10000).form("NRZ").build();
+ *   SimulationConfig point = base.modifier().snrpb(3.0f).build();
+ * </pre>
+ */
+public class SimulationConfig {
+
+    /** nombre maximal de trajets réfléchis acceptés par l'option -ti */
+    public static final int NB_TRAJETS_MAX_CLI = 5;
+
+    /**
+     * taille des blocs imposée quand le message, transmis en une fois, compterait
+     * plus de {@link Integer#MAX_VALUE} échantillons (indices des tableaux du signal)
+     */
+    public static final int TAILLE_BLOC_AUTO = 1 << 16;
+
+    private final boolean affichage;
+    private final boolean messageAleatoire;
+    private final String messageString;
+    private final long nbBitsMess;
+    private final String typeSource;
+    private final Integer seed;
+    private final Integer seedBruit;
+    private final String form;
+    private final int nbEch;
+    private final Float SNRpB;
+    private final List<Trajet> trajets;
+    private final boolean codeur;
+    private final boolean souple;
+    private final int tailleBloc;
+    private final String methodeBruit;
+    private final boolean fusion;
+    private final boolean metriques;
+    private final String fichierMetriques;
+    private final FormatExport formatExport;
+    private final boolean capture;
+    private final boolean passeUnique;
+    private final boolean analytique;
+
+    /**
+     * construit la configuration à partir d'un builder déjà validé
+     * @param b le builder
+     */
+    private SimulationConfig(Builder b) {
+        this.affichage = b.affichage;
+        this.messageAleatoire = b.messageAleatoire;
+        this.messageString = b.messageString;
+        this.nbBitsMess = b.nbBitsMess;
+        this.typeSource = b.typeSource;
+        this.seed = b.seed;
+        this.seedBruit = b.seedBruit;
+        this.form = b.form;
+        this.nbEch = b.nbEch;
+        this.SNRpB = b.SNRpB;
+        this.trajets = (b.trajets == null) ? null : Collections.unmodifiableList(new ArrayList<>(b.trajets));
+        this.codeur = b.codeur;
+        this.souple = b.souple;
+        this.tailleBloc = b.tailleBloc;
+        this.methodeBruit = b.methodeBruit;
+        this.fusion = b.fusion;
+        this.metriques = b.metriques;
+        this.fichierMetriques = b.fichierMetriques;
+        this.formatExport = b.formatExport;
+        this.capture = b.capture;
+        this.passeUnique = b.passeUnique;
+        this.analytique = b.analytique;
+    }
+
+    /**
+     * retourne un builder initialisé avec cette configuration, pour en
+     * dériver une configuration voisine
+     * @return un nouveau builder
+     */
+    public Builder modifier() {
+        Builder b = new Builder();
+        b.affichage = affichage;
+        b.messageAleatoire = messageAleatoire;
+        b.messageString = messageString;
+        b.nbBitsMess = nbBitsMess;
+        b.typeSource = typeSource;
+        b.seed = seed;
+        b.seedBruit = seedBruit;
+        b.form = form;
+        b.nbEch = nbEch;
+        b.SNRpB = SNRpB;
+        b.trajets = trajets;
+        b.codeur = codeur;
+        b.souple = souple;
+        b.tailleBloc = tailleBloc;
+        b.methodeBruit = methodeBruit;
+        b.fusion = fusion;
+        b.metriques = metriques;
+        b.fichierMetriques = fichierMetriques;
+        b.formatExport = formatExport;
+        b.capture = capture;
+        b.passeUnique = passeUnique;
+        b.analytique = analytique;
+        return b;
+    }
+
+    /** @return true si les sondes d'affichage sont demandées */
+    public boolean isAffichage() { return affichage; }
+
+    /** @return true si le message est aléatoire, false s'il est imposé */
+    public boolean isMessageAleatoire() { return messageAleatoire; }
+
+    /** @return le message imposé (chaîne de 0 et de 1), ou la longueur du message aléatoire en texte */
+    public String getMessage() { return messageString; }
+
+    /** @return le nombre de bits du message */
+    public long getNbBitsMess() { return nbBitsMess; }
+
+    /** @return le générateur du message aléatoire (null : SourceAleatoire bit par bit) */
+    public String getTypeSource() { return typeSource; }
+
+    /** @return la graine des générateurs aléatoires, ou null */
+    public Integer getSeed() { return seed; }
+
+    /** @return la graine du bruit du canal, ou null (le canal utilise alors la graine du message) */
+    public Integer getSeedBruit() { return seedBruit; }
+
+    /** @return la forme d'onde (NRZ, RZ ou NRZT) */
+    public String getForm() { return form; }
+
+    /** @return le nombre d'échantillons par bit */
+    public int getNbEch() { return nbEch; }
+
+    /** @return le SNR par bit en dB, ou null pour un canal sans bruit */
+    public Float getSNRpB() { return SNRpB; }
+
+    /** @return les trajets réfléchis (retards en bits, liste non modifiable), ou null sans trajets multiples */
+    public List<Trajet> getTrajets() { return trajets; }
+
+    /** @return true si le codeur/décodeur est utilisé */
+    public boolean isCodeur() { return codeur; }
+
+    /** @return true si le décodeur reçoit les valeurs souples du récepteur */
+    public boolean isSouple() { return souple; }
+
+    /** @return la taille des blocs (0 : message transmis en une fois) */
+    public int getTailleBloc() { return tailleBloc; }
+
+    /** @return la méthode de génération du bruit, ou null pour celle par défaut du canal */
+    public String getMethodeBruit() { return methodeBruit; }
+
+    /** @return true si la chaîne fusionnée est demandée */
+    public boolean isFusion() { return fusion; }
+
+    /** @return true si les mesures par étage de la chaîne sont demandées */
+    public boolean isMetriques() { return metriques; }
+
+    /** @return le fichier JSON où écrire les mesures par étage, ou null */
+    public String getFichierMetriques() { return fichierMetriques; }
+
+    /** @return le format des fichiers exportés par les sondes et l'analyse du TEB */
+    public FormatExport getFormatExport() { return formatExport; }
+
+    /** @return true si les sondes analogiques capturent le signal dans un fichier projeté */
+    public boolean isCapture() { return capture; }
+
+    /** @return true si les courbes TEB = f(SNR) sont évaluées en une seule passe ({@link EvaluationMultiSNR}) */
+    public boolean isPasseUnique() { return passeUnique; }
+
+    /** @return true si les courbes des trajets multiples sont calculées ({@link TEBAnalytique}) au lieu d'être simulées */
+    public boolean isAnalytique() { return analytique; }
+
+    /** La méthode depuisArguments extrait d'un tableau de chaînes de
+     * caractères les différentes options de la simulation.
+     *
+     * @param args le tableau des différents arguments.
+     * <br>
+     * <br>Les arguments autorisés sont :
+     * <br>
+     * <dl>
+     * <dt> -mess m  </dt><dd> m (String) constitué de 7 ou plus digits à 0 | 1, le message à transmettre</dd>
+     * <dt> -mess m  </dt><dd> m (long) le nombre de bits du message "aléatoire" à transmettre : entier
+     *      qui n'est pas un message (1 à 6 chiffres, ou pas seulement des 0 et des 1), éventuellement
+     *      suivi de k, M ou G (10^3, 10^6, 10^9), ou en notation scientifique (1e10)</dd>
+     * <dt> -source G </dt><dd> G (String) générateur du message aléatoire, 64 bits à la fois :
+     *      aleatoire, prbs7, prbs15, prbs23 ou prbs31 (défaut : tirage bit par bit)</dd>
+     * <dt> -s </dt><dd> pour demander l'utilisation des sondes d'affichage</dd>
+     * <dt> -seed v </dt><dd> v (int) d'initialisation pour les générateurs aléatoires</dd>
+     * <dt> -seedBruit v </dt><dd> v (int) d'initialisation du générateur de bruit du canal (défaut : -seed)</dd>
+     * <dt> -form F </dt><dd> F (String) forme d'onde : NRZ, RZ ou NRZT</dd>
+     * <dt> -nbEch k </dt><dd> k (int) nombre d'échantillons par bit</dd>
+     * <dt> -snrpb d </dt><dd> d (float) SNR par bit en dB</dd>
+     * <dt> -ti dt ar ... </dt><dd> jusqu'à 5 couples (retard en bits, atténuation) de trajets réfléchis</dd>
+     * <dt> -codeur </dt><dd> pour utiliser le codeur/décodeur</dd>
+     * <dt> -souple </dt><dd> avec -codeur, décodage à partir des valeurs souples du récepteur</dd>
+     * <dt> -bloc n </dt><dd> n (int) taille des blocs pour une transmission bloc par bloc</dd>
+     * <dt> -bruit G </dt><dd> G (String) générateur du bruit gaussien : ziggurat, polaire ou boxmuller</dd>
+     * <dt> -fusion </dt><dd> pour utiliser la chaîne fusionnée (avec -snrpb, sans -ti, -codeur ni -s)</dd>
+     * <dt> -metrics [f] </dt><dd> pour mesurer chaque étage de la chaîne (tableau récapitulatif),
+     *      et écrire les mesures au format JSON dans le fichier f s'il est donné</dd>
+     * <dt> -capture </dt><dd> avec -s, pour que les sondes analogiques capturent le signal dans un
+     *      fichier projeté en mémoire au lieu de le copier</dd>
+     * <dt> -passeunique </dt><dd> avec -s, pour évaluer tous les SNR des courbes TEB = f(SNR) en une
+     *      seule passe, avec une seule réalisation du bruit</dd>
+     * <dt> -analytique </dt><dd> avec -s et -ti, pour calculer exactement les courbes des trajets
+     *      multiples au lieu de les simuler</dd>
+     * <dt> -export F </dt><dd> F (String) format des fichiers des sondes et des courbes de TEB :
+     *      csv, bin (binaire en colonnes) ou auto (csv jusqu'à 65536 valeurs, défaut)</dd>
+     * </dl>
+     *
+     * @return la configuration décrite par les arguments
+     * @throws ArgumentsException si un des arguments est incorrect.
+     */
+    public static SimulationConfig depuisArguments(String[] args) throws ArgumentsException {
+        Builder b = new Builder();
+
+        for (int i = 0; i < args.length; i++) { // traiter les arguments 1 par 1
+
+            if (args[i].matches("-s")) {
+                b.affichage(true);
+            }
+
+            else if (args[i].matches("-seed")) {
+                i++;
+                try {
+                    b.seed(Integer.valueOf(args[i]));
+                }
+                catch (Exception e) {
+                    throw new ArgumentsException("Valeur du parametre -seed  invalide :" + args[i]);
+                }
+            }
+
+            else if (args[i].matches("-seedBruit")) {
+                i++;
+                try {
+                    b.seedBruit(Integer.valueOf(args[i]));
+                }
+                catch (Exception e) {
+                    throw new ArgumentsException("Valeur du parametre -seedBruit  invalide :" + args[i]);
+                }
+            }
+
+            else if (args[i].matches("-mess")) {
+                i++;
+                // traiter la valeur associee
+                if (args[i].matches("[0,1]{7,}")) { // au moins 7 digits
+                    b.messageFixe(args[i]);
+                }
+                else if (args[i].matches("[0-9]+[kMG]?|[0-9]+(\\.[0-9]+)?[eE][0-9]+")) { // une longueur
+                    long nbBitsMess = longueurMessage(args[i]);
+                    if (nbBitsMess < 1)
+                        throw new ArgumentsException("Valeur du parametre -mess invalide : " + nbBitsMess);
+                    b.messageAleatoire(nbBitsMess);
+                }
+                else
+                    throw new ArgumentsException("Valeur du parametre -mess invalide : " + args[i]);
+            }
+
+            else if (args[i].matches("-source")) {
+                i++;
+                if (i >= args.length || !args[i].matches("aleatoire|prbs(7|15|23|31)"))
+                    throw new ArgumentsException("Valeur du parametre -source invalide : " + (i < args.length ? args[i] : ""));
+                b.source(args[i]);
+            }
+
+            else if (args[i].matches("-form")) {
+                i++;
+                if (i < args.length) {
+                    b.form(args[i]);
+                } else {
+                    throw new ArgumentsException("Valeur du parametre -form manquante");
+                }
+            }
+
+            else if (args[i].matches("-nbEch")) {
+                i++;
+                try {
+                    b.nbEch(Integer.valueOf(args[i]));
+                }
+                catch (Exception e) {
+                    throw new ArgumentsException("Valeur du parametre -nbEch invalide :" + args[i]);
+                }
+            }
+
+            else if (args[i].matches("-snrpb")) {
+                i++;
+                try {
+                    b.snrpb(Float.valueOf(args[i]));
+                }
+                catch (Exception e) {
+                    throw new ArgumentsException("Valeur du parametre -snrpb invalide :" + args[i]);
+                }
+            }
+
+            else if (args[i].matches("-ti")) {
+                // Trajets multiples : lire les couples (dt, ar) jusqu'à 5 max
+                List<Trajet> trajetsMultiples = new ArrayList<>();
+                i++;
+                while (i < args.length && !args[i].startsWith("-") && trajetsMultiples.size() < NB_TRAJETS_MAX_CLI) {
+                    try {
+                        int dt = Integer.valueOf(args[i]);
+                        i++;
+                        if (i >= args.length || args[i].startsWith("-")) {
+                            throw new ArgumentsException("Valeur ar manquante après dt pour -ti");
+                        }
+                        float ar = Float.valueOf(args[i]);
+                        trajetsMultiples.add(new Trajet(dt, ar));
+                        i++;
+                    } catch (NumberFormatException e) {
+                        throw new ArgumentsException("Valeurs invalides pour -ti : " + args[i-1]);
+                    }
+                }
+                i--; // Compenser le i++ du for
+                if (trajetsMultiples.isEmpty()) {
+                    throw new ArgumentsException("Au moins un couple (dt, ar) requis pour -ti");
+                }
+                b.trajets(trajetsMultiples);
+            }
+
+            else if (args[i].matches("-codeur")) {
+                b.codeur(true);
+            }
+
+            else if (args[i].matches("-souple")) {
+                b.souple(true);
+            }
+
+            else if (args[i].matches("-bloc")) {
+                i++;
+                try {
+                    b.tailleBloc(Integer.valueOf(args[i]));
+                }
+                catch (Exception e) {
+                    throw new ArgumentsException("Valeur du parametre -bloc invalide :" + args[i]);
+                }
+                if (b.tailleBloc < 1)
+                    throw new ArgumentsException("Valeur du parametre -bloc invalide : " + b.tailleBloc);
+            }
+
+            else if (args[i].matches("-bruit")) {
+                i++;
+                if (i >= args.length || !args[i].matches("ziggurat|polaire|boxmuller"))
+                    throw new ArgumentsException("Valeur du parametre -bruit invalide : " + (i < args.length ? args[i] : ""));
+                b.bruit(args[i]);
+            }
+
+            else if (args[i].matches("-fusion")) {
+                b.fusion(true);
+            }
+
+            else if (args[i].matches("-metrics")) {
+                b.metriques(true);
+                // fichier JSON facultatif
+                if (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+                    i++;
+                    b.fichierMetriques(args[i]);
+                }
+            }
+
+            else if (args[i].matches("-capture")) {
+                b.capture(true);
+            }
+
+            else if (args[i].matches("-passeunique")) {
+                b.passeUnique(true);
+            }
+
+            else if (args[i].matches("-analytique")) {
+                b.analytique(true);
+            }
+
+            else if (args[i].matches("-export")) {
+                i++;
+                if (i >= args.length || !args[i].matches("csv|bin|auto"))
+                    throw new ArgumentsException("Valeur du parametre -export invalide : " + (i < args.length ? args[i] : ""));
+                b.formatExport(FormatExport.depuisOption(args[i]));
+            }
+
+            else throw new ArgumentsException("Option invalide :" + args[i]);
+        }
+
+        return b.build();
+    }
+
+    /**
+     * Convertit la longueur d'un message aléatoire donnée à l'option -mess :
+     * entier, entier suivi de k, M ou G, ou notation scientifique entière
+     * @param valeur la valeur de l'option
+     * @return le nombre de bits du message
+     * @throws ArgumentsException si la valeur n'est pas un entier représentable sur 64 bits
+     */
+    private static long longueurMessage(String valeur) throws ArgumentsException {
+        try {
+            long facteur = 1;
+            String nombre = valeur;
+            char dernier = valeur.charAt(valeur.length() - 1);
+            if (dernier == 'k' || dernier == 'M' || dernier == 'G') {
+                facteur = (dernier == 'k') ? 1000L : (dernier == 'M') ? 1000000L : 1000000000L;
+                nombre = valeur.substring(0, valeur.length() - 1);
+            }
+            return Math.multiplyExact(new java.math.BigDecimal(nombre).longValueExact(), facteur);
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new ArgumentsException("Valeur du parametre -mess invalide : " + valeur);
+        }
+    }
+
+    /**
+     * Builder de {@link SimulationConfig}. Les valeurs par défaut sont celles
+     * du Simulateur sans option : message aléatoire de 100 bits, forme RZ,
+     * 30 échantillons par bit, canal parfait.
+     */
+    public static class Builder {
+
+        private boolean affichage = false;
+        private boolean messageAleatoire = true;
+        private String messageString = "100";
+        private long nbBitsMess = 100;
+        private String typeSource = null;
+        private Integer seed = null;
+        private Integer seedBruit = null;
+        private String form = "RZ";
+        private int nbEch = 30;
+        private Float SNRpB = null;
+        private List<Trajet> trajets = null;
+        private boolean codeur = false;
+        private boolean souple = false;
+        private int tailleBloc = 0;
+        private String methodeBruit = null;
+        private boolean fusion = false;
+        private boolean metriques = false;
+        private String fichierMetriques = null;
+        private FormatExport formatExport = FormatExport.AUTO;
+        private boolean capture = false;
+        private boolean passeUnique = false;
+        private boolean analytique = false;
+
+        /**
+         * construit un builder avec les valeurs par défaut
+         */
+        public Builder() {
+            // valeurs par défaut ci-dessus
+        }
+
+        /**
+         * @param affichage true pour utiliser les sondes d'affichage
+         * @return ce builder
+         */
+        public Builder affichage(boolean affichage) {
+            this.affichage = affichage;
+            return this;
+        }
+
+        /**
+         * demande un message aléatoire
+         * @param nbBits le nombre de bits du message
+         * @return ce builder
+         */
+        public Builder messageAleatoire(long nbBits) {
+            this.messageAleatoire = true;
+            this.nbBitsMess = nbBits;
+            this.messageString = String.valueOf(nbBits);
+            return this;
+        }
+
+        /**
+         * impose le message à transmettre
+         * @param bits le message, chaîne de 0 et de 1
+         * @return ce builder
+         */
+        public Builder messageFixe(String bits) {
+            this.messageAleatoire = false;
+            this.nbBitsMess = bits.length();
+            this.messageString = bits;
+            return this;
+        }
+
+        /**
+         * @param typeSource aleatoire, prbs7, prbs15, prbs23, prbs31, ou null pour
+         *                   la source aléatoire tirant les bits un par un
+         * @return ce builder
+         */
+        public Builder source(String typeSource) {
+            this.typeSource = typeSource;
+            return this;
+        }
+
+        /**
+         * @param seed la graine des générateurs aléatoires (null : tirage non reproductible)
+         * @return ce builder
+         */
+        public Builder seed(Integer seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param seedBruit la graine du bruit du canal (null : celle du message)
+         * @return ce builder
+         */
+        public Builder seedBruit(Integer seedBruit) {
+            this.seedBruit = seedBruit;
+            return this;
+        }
+
+        /**
+         * @param form la forme d'onde (NRZ, RZ ou NRZT)
+         * @return ce builder
+         */
+        public Builder form(String form) {
+            this.form = form;
+            return this;
+        }
+
+        /**
+         * @param nbEch le nombre d'échantillons par bit
+         * @return ce builder
+         */
+        public Builder nbEch(int nbEch) {
+            this.nbEch = nbEch;
+            return this;
+        }
+
+        /**
+         * @param SNRpB le SNR par bit en dB (null : canal sans bruit)
+         * @return ce builder
+         */
+        public Builder snrpb(Float SNRpB) {
+            this.SNRpB = SNRpB;
+            return this;
+        }
+
+        /**
+         * @param trajets les trajets réfléchis, retards en bits (null ou vide : pas de trajets multiples)
+         * @return ce builder
+         */
+        public Builder trajets(List<Trajet> trajets) {
+            this.trajets = (trajets == null || trajets.isEmpty()) ? null : trajets;
+            return this;
+        }
+
+        /**
+         * @param codeur true pour utiliser le codeur/décodeur
+         * @return ce builder
+         */
+        public Builder codeur(boolean codeur) {
+            this.codeur = codeur;
+            return this;
+        }
+
+        /**
+         * @param souple true pour décoder à partir des valeurs souples du récepteur (avec le codeur)
+         * @return ce builder
+         */
+        public Builder souple(boolean souple) {
+            this.souple = souple;
+            return this;
+        }
+
+        /**
+         * @param tailleBloc la taille des blocs (0 : message transmis en une fois)
+         * @return ce builder
+         */
+        public Builder tailleBloc(int tailleBloc) {
+            this.tailleBloc = tailleBloc;
+            return this;
+        }
+
+        /**
+         * @param methodeBruit ziggurat, polaire, boxmuller, ou null pour le générateur par défaut
+         * @return ce builder
+         */
+        public Builder bruit(String methodeBruit) {
+            this.methodeBruit = methodeBruit;
+            return this;
+        }
+
+        /**
+         * @param fusion true pour utiliser la chaîne fusionnée
+         * @return ce builder
+         */
+        public Builder fusion(boolean fusion) {
+            this.fusion = fusion;
+            return this;
+        }
+
+        /**
+         * @param metriques true pour mesurer chaque étage de la chaîne
+         * @return ce builder
+         */
+        public Builder metriques(boolean metriques) {
+            this.metriques = metriques;
+            return this;
+        }
+
+        /**
+         * @param fichierMetriques le fichier JSON où écrire les mesures par étage, ou null
+         * @return ce builder
+         */
+        public Builder fichierMetriques(String fichierMetriques) {
+            this.fichierMetriques = fichierMetriques;
+            return this;
+        }
+
+        /**
+         * @param formatExport le format des fichiers exportés par les sondes et l'analyse du TEB
+         * @return ce builder
+         */
+        public Builder formatExport(FormatExport formatExport) {
+            this.formatExport = formatExport;
+            return this;
+        }
+
+        /**
+         * @param capture true pour que les sondes analogiques capturent le signal dans un fichier projeté
+         * @return ce builder
+         */
+        public Builder capture(boolean capture) {
+            this.capture = capture;
+            return this;
+        }
+
+        /**
+         * @param passeUnique true pour évaluer tous les SNR des courbes TEB = f(SNR) en une seule passe
+         * @return ce builder
+         */
+        public Builder passeUnique(boolean passeUnique) {
+            this.passeUnique = passeUnique;
+            return this;
+        }
+
+        /**
+         * @param analytique true pour calculer les courbes des trajets multiples au lieu de les simuler
+         * @return ce builder
+         */
+        public Builder analytique(boolean analytique) {
+            this.analytique = analytique;
+            return this;
+        }
+
+        /**
+         * vérifie la cohérence des paramètres et construit la configuration
+         * @return la configuration immuable
+         * @throws ArgumentsException si les paramètres sont incohérents
+         */
+        public SimulationConfig build() throws ArgumentsException {
+            if (nbBitsMess < 1) {
+                throw new ArgumentsException("Valeur du parametre -mess invalide : " + nbBitsMess);
+            }
+            if (tailleBloc < 0) {
+                throw new ArgumentsException("Valeur du parametre -bloc invalide : " + tailleBloc);
+            }
+            if (nbEch < 1) {
+                throw new ArgumentsException("Valeur du parametre -nbEch invalide : " + nbEch + " (nbEch doit être > 0)");
+            }
+            // au-delà de Integer.MAX_VALUE échantillons, le message ne tient plus dans un signal
+            long echantillonsParBit = (long) nbEch * (codeur ? 3 : 1);
+            if (tailleBloc == 0 && nbBitsMess > Integer.MAX_VALUE / echantillonsParBit) {
+                tailleBloc = TAILLE_BLOC_AUTO;
+            }
+            if (typeSource != null && !messageAleatoire) {
+                throw new ArgumentsException("-source requiert un message aléatoire (-mess n)");
+            }
+            if (souple && !codeur) {
+                throw new ArgumentsException("-souple requiert -codeur");
+            }
+            if (fusion && (SNRpB == null || trajets != null || codeur || affichage)) {
+                throw new ArgumentsException("-fusion requiert -snrpb et est incompatible avec -ti, -codeur et -s");
+            }
+            return new SimulationConfig(this);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package simulateur;
+
+import emmetteurs.Emetteur;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import transmetteurs.Trajet;
+
+/**
+ * Calcul exact du TEB d'une chaîne sans codeur sur un canal à trajets
+ * multiples ({@code TransmetteurMultiTrajet}) et bruit blanc gaussien, avec
+ * le récepteur par moyennage.
+ * <p>
+ * Les retards des trajets sont des nombres entiers de bits : chaque écho
+ * recouvre exactement un symbole antérieur. La moyenne reçue pour le bit n
+ * est donc la moyenne de son gabarit, plus α fois la moyenne du gabarit du
+ * bit {@code n - tau} pour chaque trajet, plus la moyenne de {@code nbEch}
+ * échantillons de bruit : une gaussienne de variance {@code σ² / nbEch}.
+ * Elle ne dépend que des bits situés aux retards des trajets (et des bits qui
+ * les précèdent en NRZT, dont le gabarit dépend du niveau précédent).
+ * </p>
+ * <p>
+ * Ces motifs de bits, équiprobables, sont énumérés (ou tirés au hasard
+ * au-delà de {@link #NB_BITS_ENUMERES_MAX} bits) ; chacun contribue par la
+ * queue gaussienne {@link #q(double)} de l'écart entre sa moyenne et le seuil.
+ * Les premiers bits du message, qui ne reçoivent pas encore tous les échos,
+ * sont traités à part : le TEB est celui d'un message de longueur donnée.
+ * La puissance du signal, qui fixe σ², est son espérance sur le message.
+ * </p>
+ */
+public class TEBAnalytique {
+
+    /** nombre maximal de bits d'un motif énuméré ; au-delà, les motifs sont tirés */
+    public static final int NB_BITS_ENUMERES_MAX = 20;
+
+    /** nombre de motifs tirés quand ils sont trop nombreux pour être énumérés */
+    static final int NB_MOTIFS_TIRES = 1 << 16;
+
+    /** nombre d'échantillons par symbole */
+    private final int nbEch;
+
+    /** seuil de décision du récepteur */
+    private final float seuil;
+
+    /** true pour la forme NRZT, dont le symbole dépend du niveau précédent */
+    private final boolean nrzt;
+
+    /** moyenne de chaque gabarit, indexée comme {@link Emetteur#gabarits(String, int)} */
+    private final double[] moyennes;
+
+    /** énergie moyenne d'un symbole en régime établi */
+    private final double energieSymbole;
+
+    /** énergie moyenne du premier symbole du message (NRZT : transition depuis 0) */
+    private final double energiePremierSymbole;
+
+    /** retards distincts des contributions (0 : trajet direct), en bits */
+    private final int[] retards;
+
+    /** atténuation cumulée de chaque retard (1 pour le trajet direct) */
+    private final double[] attenuations;
+
+    /** retards en bits des bits dont dépend la décision, dans l'ordre croissant */
+    private final int[] decalages;
+
+    /** SNR par bit, en dB */
+    private final float SNRdB;
+
+    /**
+     * prépare le calcul pour une configuration de chaîne
+     * @param configuration la chaîne : forme, nbEch, SNR (canal sans bruit s'il est absent) et trajets
+     * @throws IllegalArgumentException si la chaîne utilise le codeur ou si sa forme d'onde est inconnue
+     */
+    public TEBAnalytique(SimulationConfig configuration) {
+        if (configuration.isCodeur()) {
+            throw new IllegalArgumentException("Le calcul exact du TEB ne traite pas le codeur");
+        }
+        this.nbEch = configuration.getNbEch();
+        this.nrzt = "NRZT".equalsIgnoreCase(configuration.getForm());
+        this.seuil = "RZ".equalsIgnoreCase(configuration.getForm()) ? (1.0f / 6.0f) : 0.0f;
+        // comme le Simulateur : sans SNR, le canal à trajets multiples est à 1000 dB
+        this.SNRdB = (configuration.getSNRpB() != null) ? configuration.getSNRpB() : 1000.0f;
+
+        float[][] gabarits = Emetteur.gabarits(configuration.getForm(), nbEch);
+        moyennes = new double[gabarits.length];
+        double[] energies = new double[gabarits.length];
+        for (int g = 0; g < gabarits.length; g++) {
+            if (gabarits[g] == null) {
+                continue;
+            }
+            for (float valeur : gabarits[g]) {
+                moyennes[g] += valeur;
+                energies[g] += valeur * valeur;
+            }
+            moyennes[g] /= nbEch;
+        }
+        if (nrzt) {
+            energiePremierSymbole = (energies[0] + energies[1]) / 2;
+            energieSymbole = (energies[2] + energies[3] + energies[4] + energies[5]) / 4;
+        } else {
+            energiePremierSymbole = (energies[0] + energies[1]) / 2;
+            energieSymbole = energiePremierSymbole;
+        }
+
+        // trajet direct et échos, les trajets de même retard étant cumulés
+        TreeMap<Integer, Double> parRetard = new TreeMap<>();
+        parRetard.put(0, 1.0);
+        List<Trajet> trajets = configuration.getTrajets();
+        if (trajets != null) {
+            for (Trajet trajet : trajets) {
+                parRetard.merge(trajet.getTau(), (double) trajet.getAlpha(), Double::sum);
+            }
+        }
+        retards = new int[parRetard.size()];
+        attenuations = new double[parRetard.size()];
+        List<Integer> bitsUtiles = new ArrayList<>();
+        int i = 0;
+        for (var contribution : parRetard.entrySet()) {
+            retards[i] = contribution.getKey();
+            attenuations[i++] = contribution.getValue();
+            ajouterDecalage(bitsUtiles, contribution.getKey());
+            if (nrzt) {
+                ajouterDecalage(bitsUtiles, contribution.getKey() + 1);
+            }
+        }
+        decalages = bitsUtiles.stream().sorted().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @param decalages les décalages déjà retenus
+     * @param decalage le décalage à ajouter s'il n'y est pas
+     */
+    private static void ajouterDecalage(List<Integer> decalages, int decalage) {
+        if (!decalages.contains(decalage)) {
+            decalages.add(decalage);
+        }
+    }
+
+    /** @return le nombre de bits dont dépend la décision d'un bit en régime établi */
+    public int getNbBitsMotif() {
+        return decalages.length;
+    }
+
+    /** @return true si les motifs sont tirés au hasard plutôt qu'énumérés */
+    public boolean isEchantillonne() {
+        return decalages.length > NB_BITS_ENUMERES_MAX;
+    }
+
+    /**
+     * calcule le TEB d'un message aléatoire de nbBits bits
+     * @param nbBits le nombre de bits du message (&gt; 0)
+     * @return le TEB exact (à l'échantillonnage des motifs près, voir {@link #isEchantillonne()})
+     * @throws IllegalArgumentException si nbBits &lt;= 0
+     */
+    public double calculer(long nbBits) {
+        if (nbBits <= 0) {
+            throw new IllegalArgumentException("Le nombre de bits doit être > 0");
+        }
+        // puissance du signal émis mesurée par le canal, en espérance
+        double puissance = (energiePremierSymbole + (nbBits - 1) * energieSymbole) / ((double) nbBits * nbEch);
+        float snrLineaire = (float) Math.pow(10, SNRdB / 10.0);
+        float variance = ((float) puissance * nbEch) / snrLineaire;
+        double ecartType = Math.sqrt((double) variance / nbEch);
+
+        // le bit n ne reçoit tous les échos qu'à partir du plus grand décalage
+        int regime = decalages[decalages.length - 1];
+        double somme = 0;
+        for (int n = 0; n < Math.min(nbBits, regime); n++) {
+            somme += probabiliteErreur(n, ecartType);
+        }
+        if (nbBits > regime) {
+            somme += (nbBits - regime) * probabiliteErreur(regime, ecartType);
+        }
+        return somme / nbBits;
+    }
+
+    /**
+     * probabilité d'erreur du bit n du message, en moyenne sur les motifs
+     * des bits dont dépend sa décision
+     * @param n la position du bit dans le message
+     * @param ecartType l'écart-type du bruit sur la moyenne d'un symbole
+     * @return la probabilité d'erreur
+     */
+    private double probabiliteErreur(int n, double ecartType) {
+        int nbPresents = 0;
+        while (nbPresents < decalages.length && decalages[nbPresents] <= n) {
+            nbPresents++;
+        }
+        boolean[] bits = new boolean[nbPresents];
+        if (nbPresents <= NB_BITS_ENUMERES_MAX) {
+            double somme = 0;
+            for (long motif = 0; motif < (1L << nbPresents); motif++) {
+                for (int j = 0; j < nbPresents; j++) {
+                    bits[j] = ((motif >>> j) & 1) != 0;
+                }
+                somme += probabiliteErreur(n, bits, ecartType);
+            }
+            return somme / (1L << nbPresents);
+        }
+        SplittableRandom aleatoire = new SplittableRandom(n);
+        double somme = 0;
+        for (int t = 0; t < NB_MOTIFS_TIRES; t++) {
+            for (int j = 0; j < nbPresents; j++) {
+                bits[j] = aleatoire.nextBoolean();
+            }
+            somme += probabiliteErreur(n, bits, ecartType);
+        }
+        return somme / NB_MOTIFS_TIRES;
+    }
+
+    /**
+     * probabilité d'erreur du bit n pour un motif de bits donné
+     * @param n la position du bit dans le message
+     * @param bits les bits du motif, un par décalage présent ({@code bits[0]} est le bit n)
+     * @param ecartType l'écart-type du bruit sur la moyenne d'un symbole
+     * @return la probabilité que la moyenne reçue tombe du mauvais côté du seuil
+     */
+    private double probabiliteErreur(int n, boolean[] bits, double ecartType) {
+        double moyenne = 0;
+        for (int k = 0; k < retards.length; k++) {
+            int retard = retards[k];
+            if (retard > n) {
+                continue;   // écho pas encore arrivé
+            }
+            boolean bit = bits[indice(retard)];
+            float prevLevel = 0.0f;
+            if (nrzt && retard + 1 <= n) {
+                prevLevel = bits[indice(retard + 1)] ? 1.0f : -1.0f;
+            }
+            moyenne += attenuations[k] * moyennes[Emetteur.indiceGabarit(nrzt, prevLevel, bit)];
+        }
+        boolean emis = bits[0];
+        if (ecartType == 0) {
+            return ((moyenne >= seuil) != emis) ? 1.0 : 0.0;
+        }
+        return emis ? q((moyenne - seuil) / ecartType) : q((seuil - moyenne) / ecartType);
+    }
+
+    /**
+     * @param decalage un décalage dont dépend la décision
+     * @return son indice dans {@link #decalages}
+     */
+    private int indice(int decalage) {
+        int j = 0;
+        while (decalages[j] != decalage) {
+            j++;
+        }
+        return j;
+    }
+
+    /**
+     * fonction Q, queue de la loi normale centrée réduite : P(Z &gt; x)
+     * <p>
+     * Série de erf à termes positifs pour |x| &lt; 3, fraction continue de
+     * Laplace au-delà (erreur relative de l'ordre de 1e-15).
+     * </p>
+     * @param x le seuil
+     * @return Q(x)
+     */
+    public static double q(double x) {
+        if (x < 0) {
+            return 1.0 - q(-x);
+        }
+        if (x < 3) {
+            // erf(z) = 2/√π e^(-z²) Σ 2^k z^(2k+1) / (1·3···(2k+1))
+            double z = x / Math.sqrt(2);
+            double terme = z;
+            double somme = z;
+            for (int k = 1; terme > 1e-17 * somme; k++) {
+                terme *= 2 * z * z / (2 * k + 1);
+                somme += terme;
+            }
+            return 0.5 - Math.exp(-z * z) * somme / Math.sqrt(Math.PI);
+        }
+        // Q(x) = φ(x) / (x + 1/(x + 2/(x + 3/(x + ...)))), évaluée depuis la fin
+        double fraction = x;
+        for (int k = 200; k >= 1; k--) {
+            fraction = x + k / fraction;
+        }
+        return Math.exp(-x * x / 2) / Math.sqrt(2 * Math.PI) / fraction;
+    }
+}
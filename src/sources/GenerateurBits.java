@@ -0,0 +1,44 @@
+package sources;
+
+/**
+ * Générateur de bits produisant 64 bits à la fois, rangés dans un mot
+ * {@code long} (le premier bit de la suite est le bit 0 du mot), comme les
+ * mots d'une {@link information.InformationBinaire}.
+ * <p>
+ * Construites avec la même graine, les réalisations produisent toujours la
+ * même suite de bits.
+ * </p>
+ */
+public interface GenerateurBits {
+
+    /**
+     * Produit les 64 bits suivants de la suite
+     * @return un mot dont le bit 0 est le premier des 64 bits
+     */
+    long suivant64();
+
+    /**
+     * Construit un générateur à partir de son nom
+     * @param type "aleatoire" (pseudo-aléatoire 64 bits), ou "prbs7", "prbs15",
+     *             "prbs23", "prbs31" (séquences binaires pseudo-aléatoires à
+     *             registre à décalage), insensible à la casse
+     * @param graine la graine du générateur (état initial du registre pour une PRBS),
+     *               ou {@code null} : tirage non reproductible, ou registre à 1 pour une PRBS
+     * @return le générateur demandé
+     * @throws IllegalArgumentException si le type est inconnu
+     */
+    static GenerateurBits creer(String type, Integer graine) {
+        if ("aleatoire".equalsIgnoreCase(type)) {
+            return (graine == null) ? new GenerateurBitsAleatoires() : new GenerateurBitsAleatoires(graine);
+        } else if (type != null && type.toLowerCase().startsWith("prbs")) {
+            int ordre;
+            try {
+                ordre = Integer.parseInt(type.substring(4));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Générateur de bits inconnu : " + type);
+            }
+            return new GenerateurPRBS(ordre, graine);
+        }
+        throw new IllegalArgumentException("Générateur de bits inconnu : " + type);
+    }
+}
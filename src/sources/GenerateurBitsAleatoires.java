@@ -0,0 +1,33 @@
+package sources;
+
+import java.util.SplittableRandom;
+
+/**
+ * Générateur de bits pseudo-aléatoires équiprobables : chaque mot de 64 bits
+ * est un seul tirage {@link SplittableRandom#nextLong()}.
+ */
+public class GenerateurBitsAleatoires implements GenerateurBits {
+
+    /** générateur uniforme sous-jacent */
+    private final SplittableRandom rand;
+
+    /**
+     * Construit un générateur non reproductible
+     */
+    public GenerateurBitsAleatoires() {
+        this.rand = new SplittableRandom();
+    }
+
+    /**
+     * Construit un générateur reproductible
+     * @param graine la graine du générateur
+     */
+    public GenerateurBitsAleatoires(long graine) {
+        this.rand = new SplittableRandom(graine);
+    }
+
+    @Override
+    public long suivant64() {
+        return rand.nextLong();
+    }
+}
@@ -0,0 +1,92 @@
+package sources;
+
+/**
+ * Séquence binaire pseudo-aléatoire (PRBS) produite par un registre à
+ * décalage à rétroaction linéaire de Fibonacci de polynôme
+ * x<sup>n</sup> + x<sup>m</sup> + 1 :
+ * PRBS-7 (x<sup>7</sup> + x<sup>6</sup> + 1), PRBS-15 (x<sup>15</sup> + x<sup>14</sup> + 1),
+ * PRBS-23 (x<sup>23</sup> + x<sup>18</sup> + 1) et PRBS-31 (x<sup>31</sup> + x<sup>28</sup> + 1).
+ * La suite est périodique, de période 2<sup>n</sup> - 1.
+ * <p>
+ * Un pas du registre calcule {@code b = bit(n-1) xor bit(m-1)}, décale le
+ * registre d'un cran vers la gauche en y entrant b, et produit b. Comme le
+ * registre est linéaire, les 64 bits suivants et l'état atteint 64 pas plus
+ * loin sont des combinaisons linéaires (xor) des bits de l'état courant :
+ * ils sont précalculés pour chaque valeur de chaque octet de l'état, et un
+ * mot de 64 bits s'obtient en 4 lectures de table au plus.
+ * </p>
+ */
+public class GenerateurPRBS implements GenerateurBits {
+
+    /** nombre d'octets de l'état (n &lt;= 31) */
+    private static final int NB_OCTETS = 4;
+
+    /** 64 bits produits à partir de chaque valeur de chaque octet de l'état */
+    private final long[][] sorties = new long[NB_OCTETS][256];
+
+    /** état atteint 64 pas plus loin à partir de chaque valeur de chaque octet de l'état */
+    private final int[][] etats = new int[NB_OCTETS][256];
+
+    /** l'état courant du registre (n bits) */
+    private int etat;
+
+    /**
+     * Construit un générateur PRBS
+     * @param ordre le degré n du polynôme : 7, 15, 23 ou 31
+     * @param graine l'état initial du registre (ses n bits de poids faible) ;
+     *               {@code null}, ou un état nul, donne le registre rempli de 1
+     * @throws IllegalArgumentException si l'ordre n'est pas 7, 15, 23 ou 31
+     */
+    public GenerateurPRBS(int ordre, Integer graine) {
+        int prise;
+        switch (ordre) {
+            case 7:  prise = 6;  break;
+            case 15: prise = 14; break;
+            case 23: prise = 18; break;
+            case 31: prise = 28; break;
+            default: throw new IllegalArgumentException("PRBS d'ordre non supporté : " + ordre);
+        }
+        int masque = (int) ((1L << ordre) - 1);
+        etat = (graine == null) ? 0 : graine & masque;
+        if (etat == 0) {
+            etat = masque;
+        }
+
+        // contribution de chaque bit de l'état, puis de chaque valeur d'octet
+        long[] sortieBit = new long[ordre];
+        int[] etatBit = new int[ordre];
+        for (int i = 0; i < ordre; i++) {
+            int a = 1 << i;
+            long sortie = 0;
+            for (int k = 0; k < 64; k++) {
+                int b = ((a >>> (ordre - 1)) ^ (a >>> (prise - 1))) & 1;
+                a = ((a << 1) | b) & masque;
+                sortie |= (long) b << k;
+            }
+            sortieBit[i] = sortie;
+            etatBit[i] = a;
+        }
+        for (int o = 0; o < NB_OCTETS; o++) {
+            for (int v = 0; v < 256; v++) {
+                for (int j = 0; j < 8; j++) {
+                    int i = 8 * o + j;
+                    if (((v >>> j) & 1) != 0 && i < ordre) {
+                        sorties[o][v] ^= sortieBit[i];
+                        etats[o][v] ^= etatBit[i];
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public long suivant64() {
+        int e = etat;
+        int e0 = e & 0xFF;
+        int e1 = (e >>> 8) & 0xFF;
+        int e2 = (e >>> 16) & 0xFF;
+        int e3 = e >>> 24;
+        etat = etats[0][e0] ^ etats[1][e1] ^ etats[2][e2] ^ etats[3][e3];
+        return sorties[0][e0] ^ sorties[1][e1] ^ sorties[2][e2] ^ sorties[3][e3];
+    }
+}
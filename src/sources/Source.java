@@ -4,6 +4,7 @@ import information.*;
 import visualisations.SondeLogique;
 import destinations.DestinationInterface;
 import java.util.*;
+import metriques.Metriques;
 
 /** 
  * Classe Abstraite d'un composant source d'informations dont les
@@ -66,9 +67,10 @@ public  abstract class Source <T> implements  SourceInterface <T> {
      * @throws InformationNonConformeException si l'Information comporte une anomalie
      */
     public void emettre() throws InformationNonConformeException {
-       	// émission vers les composants connectés
+       	// émission vers les composants connectés (mesurée si -metrics)
+		Metriques.sortie(this, informationGeneree);
 		for (DestinationInterface <T> destinationConnectee : destinationsConnectees) {
-	            destinationConnectee.recevoir(informationGeneree);
+	            Metriques.recevoir(destinationConnectee, informationGeneree);
 		}
 		this.informationEmise = informationGeneree;   			 			      
     }
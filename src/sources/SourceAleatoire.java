@@ -5,6 +5,7 @@ import java.util.Random;
 import destinations.DestinationInterface;
 import emmetteurs.Emetteur;
 import information.Information;
+import information.InformationBinaire;
 import information.InformationNonConformeException;
 
 
@@ -21,6 +22,10 @@ public class SourceAleatoire extends Source {
 	 * graine du générateur aléatoire
 	 */
 	public Integer seed = null;
+	/**
+	 * générateur utilisé par genererBloc, conservé d'un bloc à l'autre
+	 */
+	private Random generateurBlocs = null;
 
 	/**
 	 * constructeur de la source aléatoire
@@ -31,10 +36,11 @@ public class SourceAleatoire extends Source {
 
 	/**
 	 * permet de fixer une graine pour la génération du message aléatoire
-	 * @param seed la graine à utiliser pour la génération aléatoire
+	 * @param seed la graine à utiliser pour la génération aléatoire (null : tirage non reproductible)
 	 */
-	public void setSeed(int seed) {
+	public void setSeed(Integer seed) {
 			this.seed = seed;
+			this.generateurBlocs = null;
 		}
 
 	/**
@@ -49,36 +55,43 @@ public class SourceAleatoire extends Source {
 	 * permet de générer un message booléen aléatoire
 	 * le message aléatoire est soit de longueur 100, soit de longueur fixée par le paramètre length
 	 * le message aléatoire est soit pseudo-aléatoire, soit généré selon la graine fixée par le paramètre seed
-	 * @throws InformationNonConformeException si un élément du message n'est pas un booléen
+	 * @throws InformationNonConformeException si le message ne peut pas être généré
 	 */
 	@SuppressWarnings("unchecked")
 	public void generer() throws InformationNonConformeException{
 			if (this.length == null) this.length = 100;
-			if (this.seed == null) {
-			Random rand = new Random();
-		    Information<Boolean> informationBinaire = new Information<Boolean>();
-		    for (int j = 0; j<length; j++) {
-		    	informationBinaire.add(rand.nextBoolean());
-		    }
-		    for (int j = 0; j<length; j++) {
-		    	if (informationBinaire.iemeElement(j) != true && informationBinaire.iemeElement(j) != false) throw new InformationNonConformeException();
-		    }
-		    
-		    this.informationGeneree = informationBinaire;
-			}
-			else {
-				Random rand = new Random(this.seed);
-			    Information<Boolean> informationBinaire = new Information<Boolean>();
-			    for (int j = 0; j<length; j++) {
-			    	informationBinaire.add(rand.nextBoolean());
-			    }
-			    for (int j = 0; j<length; j++) {
-			    	if (informationBinaire.iemeElement(j) != true && informationBinaire.iemeElement(j) != false) throw new InformationNonConformeException();
-			    }
-			    
-			    this.informationGeneree = informationBinaire;
+			Random rand = (this.seed == null) ? new Random() : new Random(this.seed);
+			InformationBinaire informationBinaire = new InformationBinaire(length);
+			for (int j = 0; j<length; j++) {
+				informationBinaire.add(rand.nextBoolean());
 			}
+			this.informationGeneree = informationBinaire;
+		}
+
+	/**
+	 * permet de générer le bloc suivant d'un message aléatoire transmis par blocs.
+	 * Les blocs successifs poursuivent le même tirage : avec une même graine, leur
+	 * concaténation est identique au message produit par generer()
+	 * @param taille le nombre de bits du bloc
+	 */
+	@SuppressWarnings("unchecked")
+	public void genererBloc(int taille) {
+		if (generateurBlocs == null) {
+			generateurBlocs = (this.seed == null) ? new Random() : new Random(this.seed);
+		}
+		InformationBinaire bloc = new InformationBinaire(taille);
+		for (int j = 0; j < taille; j++) {
+			bloc.add(generateurBlocs.nextBoolean());
 		}
+		this.informationGeneree = bloc;
+	}
+
+	/**
+	 * permet de recommencer le message transmis par blocs depuis son début
+	 */
+	public void reinitialiser() {
+		this.generateurBlocs = null;
+	}
 
 	@Override
 	@SuppressWarnings("unchecked")
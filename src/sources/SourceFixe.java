@@ -3,6 +3,7 @@ package sources;
 import destinations.DestinationInterface;
 import emmetteurs.Emetteur;
 import information.Information;
+import information.InformationBinaire;
 import visualisations.SondeLogique;
 
 /**
@@ -25,7 +26,7 @@ public class SourceFixe extends Source {
 	 */
 	@SuppressWarnings("unchecked")
 	public void generer(String message) {
-		Information<Boolean> informationBinaire = new Information<Boolean>();
+		InformationBinaire informationBinaire = new InformationBinaire(message.length());
         for (int j = 0; j < message.length(); j++) {
         	if (message.charAt(j) =='1') informationBinaire.add(true);
         	else if (message.charAt(j) =='0') informationBinaire.add(false);
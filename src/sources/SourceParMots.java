@@ -0,0 +1,115 @@
+package sources;
+
+import information.InformationBinaire;
+import information.InformationNonConformeException;
+
+/**
+ * Source aléatoire produisant son message 64 bits à la fois, à partir d'un
+ * {@link GenerateurBits} : bits pseudo-aléatoires ("aleatoire") ou séquence
+ * PRBS ("prbs7", "prbs15", "prbs23", "prbs31").
+ * <p>
+ * Les mots produits par le générateur sont ajoutés tels quels au message
+ * ({@link InformationBinaire#addMot}), sans tirage ni vérification bit par bit.
+ * Comme pour {@link SourceAleatoire}, la longueur et la graine se fixent par
+ * {@link #setLength(int)} et {@link #setSeed(Integer)}, et les blocs successifs
+ * de {@link #genererBloc(int)} poursuivent la suite : leur concaténation est
+ * identique au message produit par {@link #generer()}.
+ * </p>
+ */
+public class SourceParMots extends SourceAleatoire {
+
+    /** le type de générateur de bits */
+    private final String type;
+
+    /** générateur utilisé par genererBloc, conservé d'un bloc à l'autre */
+    private GenerateurBits generateurBlocs = null;
+
+    /** bits déjà produits par le générateur et pas encore émis (en mode bloc) */
+    private long motEnCours = 0;
+
+    /** nombre de bits valides dans {@code motEnCours} */
+    private int nbBitsEnCours = 0;
+
+    /**
+     * construit une source par mots
+     * @param type le type de générateur (voir {@link GenerateurBits#creer(String, Integer)})
+     * @throws IllegalArgumentException si le type est inconnu
+     */
+    public SourceParMots(String type) {
+        super();
+        GenerateurBits.creer(type, 1); // vérifie le type dès la construction
+        this.type = type;
+    }
+
+    /**
+     * retourne le type de générateur de bits de la source
+     * @return le type de générateur
+     */
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public void setSeed(Integer seed) {
+        super.setSeed(seed);
+        reinitialiser();
+    }
+
+    /**
+     * génère le message entier, de longueur 100 ou fixée par setLength
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void generer() throws InformationNonConformeException {
+        if (this.length == null) this.length = 100;
+        GenerateurBits generateur = GenerateurBits.creer(type, seed);
+        InformationBinaire message = new InformationBinaire(length);
+        int restants = length;
+        for (; restants >= 64; restants -= 64) {
+            message.addMot(generateur.suivant64(), 64);
+        }
+        if (restants > 0) {
+            message.addMot(generateur.suivant64(), restants);
+        }
+        this.informationGeneree = message;
+    }
+
+    /**
+     * génère le bloc suivant du message transmis par blocs
+     * @param taille le nombre de bits du bloc
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void genererBloc(int taille) {
+        if (generateurBlocs == null) {
+            generateurBlocs = GenerateurBits.creer(type, seed);
+        }
+        InformationBinaire bloc = new InformationBinaire(taille);
+        // d'abord les bits restant du mot précédent
+        int n = Math.min(nbBitsEnCours, taille);
+        if (n > 0) {
+            bloc.addMot(motEnCours, n);
+            motEnCours = (n == 64) ? 0 : motEnCours >>> n;
+            nbBitsEnCours -= n;
+            taille -= n;
+        }
+        for (; taille >= 64; taille -= 64) {
+            bloc.addMot(generateurBlocs.suivant64(), 64);
+        }
+        if (taille > 0) {
+            long mot = generateurBlocs.suivant64();
+            bloc.addMot(mot, taille);
+            motEnCours = mot >>> taille;
+            nbBitsEnCours = 64 - taille;
+        }
+        this.informationGeneree = bloc;
+    }
+
+    @Override
+    public void reinitialiser() {
+        super.reinitialiser();
+        generateurBlocs = null;
+        motEnCours = 0;
+        nbBitsEnCours = 0;
+    }
+}
@@ -0,0 +1,180 @@
+package transmetteurs;
+
+import java.util.Arrays;
+
+/**
+ * Capture bornée des échantillons de bruit générés par un canal.
+ * <p>
+ * La mémoire utilisée ne dépend pas de la longueur du message : seuls les
+ * {@code capacite} derniers échantillons sont conservés (tampon circulaire),
+ * et les statistiques (moyenne, variance, extrema, histogramme) sont mises à
+ * jour au fil de l'eau.
+ * </p>
+ */
+public class CaptureBruit {
+
+    /** les derniers échantillons reçus, rangés de manière circulaire */
+    private final float[] tampon;
+
+    /** position d'écriture du prochain échantillon dans le tampon */
+    private int position = 0;
+
+    /** nombre total d'échantillons observés */
+    private long nbEchantillons = 0;
+
+    /** moyenne courante (algorithme de Welford) */
+    private double moyenne = 0.0;
+
+    /** somme des carrés des écarts à la moyenne courante (algorithme de Welford) */
+    private double m2 = 0.0;
+
+    /** plus petit échantillon observé */
+    private float min = Float.POSITIVE_INFINITY;
+
+    /** plus grand échantillon observé */
+    private float max = Float.NEGATIVE_INFINITY;
+
+    /** effectifs de l'histogramme (vide si aucun histogramme n'est demandé) */
+    private final long[] histogramme;
+
+    /** borne inférieure de l'histogramme */
+    private final float debutHistogramme;
+
+    /** largeur d'une classe de l'histogramme */
+    private final float largeurClasse;
+
+    /**
+     * construit une capture conservant les {@code capacite} derniers
+     * échantillons, sans histogramme
+     * @param capacite le nombre d'échantillons conservés (0 : statistiques seules)
+     */
+    public CaptureBruit(int capacite) {
+        this(capacite, 0, 0.0f, 0.0f);
+    }
+
+    /**
+     * construit une capture conservant les {@code capacite} derniers
+     * échantillons et un histogramme de {@code nbClasses} classes sur [min, max[
+     * (les échantillons hors de l'intervalle ne sont pas comptés dans l'histogramme)
+     * @param capacite le nombre d'échantillons conservés (0 : statistiques seules)
+     * @param nbClasses le nombre de classes de l'histogramme (0 : pas d'histogramme)
+     * @param min la borne inférieure de l'histogramme
+     * @param max la borne supérieure de l'histogramme
+     * @throws IllegalArgumentException si un paramètre est incohérent
+     */
+    public CaptureBruit(int capacite, int nbClasses, float min, float max) {
+        if (capacite < 0 || nbClasses < 0 || (nbClasses > 0 && !(max > min))) {
+            throw new IllegalArgumentException("Paramètres de capture du bruit invalides");
+        }
+        this.tampon = new float[capacite];
+        this.histogramme = new long[nbClasses];
+        this.debutHistogramme = min;
+        this.largeurClasse = (nbClasses > 0) ? (max - min) / nbClasses : 0.0f;
+    }
+
+    /**
+     * ajoute des échantillons de bruit à la capture
+     * @param echantillons le tableau contenant les échantillons
+     * @param debut l'indice du premier échantillon à ajouter
+     * @param longueur le nombre d'échantillons à ajouter
+     */
+    public void ajouter(float[] echantillons, int debut, int longueur) {
+        int capacite = tampon.length;
+        int nbClasses = histogramme.length;
+        for (int i = debut; i < debut + longueur; i++) {
+            float x = echantillons[i];
+            nbEchantillons++;
+            double ecart = x - moyenne;
+            moyenne += ecart / nbEchantillons;
+            m2 += ecart * (x - moyenne);
+            if (x < min) min = x;
+            if (x > max) max = x;
+            if (nbClasses > 0) {
+                int classe = (int) Math.floor((x - debutHistogramme) / largeurClasse);
+                if (classe >= 0 && classe < nbClasses) {
+                    histogramme[classe]++;
+                }
+            }
+            if (capacite > 0) {
+                tampon[position] = x;
+                position = (position + 1 == capacite) ? 0 : position + 1;
+            }
+        }
+    }
+
+    /**
+     * retourne le nombre total d'échantillons observés
+     * @return le nombre d'échantillons observés
+     */
+    public long getNbEchantillons() {
+        return nbEchantillons;
+    }
+
+    /**
+     * retourne la moyenne empirique du bruit
+     * @return la moyenne (0 si aucun échantillon)
+     */
+    public double getMoyenne() {
+        return moyenne;
+    }
+
+    /**
+     * retourne la variance empirique du bruit
+     * @return la variance (0 si moins de deux échantillons)
+     */
+    public double getVariance() {
+        return (nbEchantillons > 1) ? m2 / nbEchantillons : 0.0;
+    }
+
+    /**
+     * retourne le plus petit échantillon observé
+     * @return le minimum (+infini si aucun échantillon)
+     */
+    public float getMin() {
+        return min;
+    }
+
+    /**
+     * retourne le plus grand échantillon observé
+     * @return le maximum (-infini si aucun échantillon)
+     */
+    public float getMax() {
+        return max;
+    }
+
+    /**
+     * retourne une copie des effectifs de l'histogramme
+     * @return les effectifs de chaque classe (tableau vide sans histogramme)
+     */
+    public long[] getHistogramme() {
+        return histogramme.clone();
+    }
+
+    /**
+     * retourne les derniers échantillons conservés, du plus ancien au plus récent
+     * @return au plus {@code capacite} échantillons
+     */
+    public float[] derniersEchantillons() {
+        int capacite = tampon.length;
+        int nb = (int) Math.min(nbEchantillons, capacite);
+        float[] resultat = new float[nb];
+        int depart = (nb < capacite) ? 0 : position;
+        for (int i = 0; i < nb; i++) {
+            resultat[i] = tampon[(depart + i) % capacite];
+        }
+        return resultat;
+    }
+
+    /**
+     * remet la capture à zéro (échantillons conservés, statistiques et histogramme)
+     */
+    public void reinitialiser() {
+        position = 0;
+        nbEchantillons = 0;
+        moyenne = 0.0;
+        m2 = 0.0;
+        min = Float.POSITIVE_INFINITY;
+        max = Float.NEGATIVE_INFINITY;
+        Arrays.fill(histogramme, 0L);
+    }
+}
@@ -0,0 +1,191 @@
+package transmetteurs;
+
+/**
+ * Convolution rapide d'un signal par une réponse impulsionnelle fixe, par
+ * la méthode "overlap-save" : le signal est découpé en segments de
+ * {@code taille} échantillons qui se recouvrent de {@code longueurReponse - 1}
+ * échantillons, chaque segment est convolué circulairement dans le domaine
+ * fréquentiel (FFT radix-2), et seule la partie non repliée est conservée.
+ * <p>
+ * Le coût par échantillon est en O(log taille) au lieu de O(longueurReponse)
+ * pour la convolution directe, ce qui devient avantageux pour les réponses
+ * longues et denses.
+ * </p>
+ */
+public class ConvolutionFFT {
+
+    /** taille minimale des transformées */
+    private static final int TAILLE_MIN = 64;
+
+    /** la réponse impulsionnelle */
+    private final float[] reponse;
+
+    /** taille des transformées (puissance de 2) */
+    private final int taille;
+
+    /** nombre d'échantillons de sortie produits par segment */
+    private final int pas;
+
+    /** spectre de la réponse impulsionnelle (partie réelle) */
+    private final double[] reponseRe;
+
+    /** spectre de la réponse impulsionnelle (partie imaginaire) */
+    private final double[] reponseIm;
+
+    /** facteurs de rotation exp(-2iπk/taille), pour k &lt; taille/2 (partie réelle) */
+    private final double[] cosinus;
+
+    /** facteurs de rotation (partie imaginaire) */
+    private final double[] sinus;
+
+    /** tampon de travail réutilisé d'un segment à l'autre (partie réelle) */
+    private final double[] re;
+
+    /** tampon de travail réutilisé d'un segment à l'autre (partie imaginaire) */
+    private final double[] im;
+
+    /**
+     * prépare la convolution par une réponse impulsionnelle donnée
+     * @param reponse la réponse impulsionnelle h (h[0] : coefficient du retard nul)
+     * @throws IllegalArgumentException si la réponse est vide
+     */
+    public ConvolutionFFT(float[] reponse) {
+        if (reponse == null || reponse.length == 0) {
+            throw new IllegalArgumentException("La réponse impulsionnelle ne peut pas être vide");
+        }
+        this.reponse = reponse.clone();
+        this.taille = tailleTransformee(reponse.length);
+        this.pas = taille - (reponse.length - 1);
+
+        int moitie = taille / 2;
+        cosinus = new double[moitie];
+        sinus = new double[moitie];
+        for (int k = 0; k < moitie; k++) {
+            double angle = -2.0 * Math.PI * k / taille;
+            cosinus[k] = Math.cos(angle);
+            sinus[k] = Math.sin(angle);
+        }
+
+        re = new double[taille];
+        im = new double[taille];
+        reponseRe = new double[taille];
+        reponseIm = new double[taille];
+        for (int j = 0; j < reponse.length; j++) {
+            reponseRe[j] = reponse[j];
+        }
+        fft(reponseRe, reponseIm, false);
+    }
+
+    /**
+     * choisit la taille des transformées : la plus petite puissance de 2
+     * au moins égale à 4 fois la longueur de la réponse (au moins la moitié
+     * de chaque segment produit donc des échantillons utiles)
+     * @param longueurReponse la longueur de la réponse impulsionnelle
+     * @return la taille des transformées
+     */
+    static int tailleTransformee(int longueurReponse) {
+        int taille = TAILLE_MIN;
+        while (taille < 4 * longueurReponse) {
+            taille <<= 1;
+        }
+        return taille;
+    }
+
+    /**
+     * estime le nombre d'opérations par échantillon de sortie de la
+     * convolution par FFT, comparable au nombre de coefficients non nuls
+     * de la réponse pour la convolution directe
+     * @param longueurReponse la longueur de la réponse impulsionnelle
+     * @return le coût estimé par échantillon
+     */
+    public static double coutParEchantillon(int longueurReponse) {
+        int taille = tailleTransformee(longueurReponse);
+        int log2 = Integer.numberOfTrailingZeros(taille);
+        // deux transformées complexes (aller et retour) et le produit des spectres
+        return (2.0 * 5.0 * taille * log2 / 2.0 + 6.0 * taille) / (taille - (longueurReponse - 1));
+    }
+
+    /**
+     * convolue le signal par la réponse impulsionnelle et ajoute le résultat
+     * à la sortie : sortie[i] += Somme_j h[j] · x[i - j], pour i dans
+     * [0, longueur[, où les échantillons d'indice négatif sont lus dans l'historique
+     * @param historique les {@code longueurReponse - 1} échantillons précédant le signal
+     *                   (le dernier est x[-1])
+     * @param signal le signal x
+     * @param longueur le nombre d'échantillons du signal à convoluer
+     * @param sortie le tableau auquel y est ajouté (au moins {@code longueur} cases)
+     */
+    public void ajouterConvolution(float[] historique, float[] signal, int longueur, float[] sortie) {
+        int memoire = reponse.length - 1;
+        double echelle = 1.0 / taille;
+        for (int debut = 0; debut < longueur; debut += pas) {
+            // segment d'entrée : x[debut - memoire .. debut - memoire + taille[
+            for (int m = 0; m < taille; m++) {
+                int indice = debut - memoire + m;
+                float x;
+                if (indice < 0) {
+                    x = historique[memoire + indice];
+                } else if (indice < longueur) {
+                    x = signal[indice];
+                } else {
+                    x = 0.0f;
+                }
+                re[m] = x;
+                im[m] = 0.0;
+            }
+            fft(re, im, false);
+            for (int m = 0; m < taille; m++) {
+                double a = re[m];
+                double b = im[m];
+                re[m] = a * reponseRe[m] - b * reponseIm[m];
+                im[m] = a * reponseIm[m] + b * reponseRe[m];
+            }
+            fft(re, im, true);
+            // seuls les échantillons d'indice >= memoire ne sont pas repliés
+            int nbSorties = Math.min(pas, longueur - debut);
+            for (int m = 0; m < nbSorties; m++) {
+                sortie[debut + m] += (float) (re[memoire + m] * echelle);
+            }
+        }
+    }
+
+    /**
+     * transformée de Fourier rapide en place (radix-2, sans normalisation)
+     * @param re les parties réelles
+     * @param im les parties imaginaires
+     * @param inverse true pour la transformée inverse (non divisée par la taille)
+     */
+    private void fft(double[] re, double[] im, boolean inverse) {
+        int n = taille;
+        // permutation par renversement des bits
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        for (int longueur = 2; longueur <= n; longueur <<= 1) {
+            int moitie = longueur >> 1;
+            int saut = n / longueur;
+            for (int i = 0; i < n; i += longueur) {
+                for (int k = 0; k < moitie; k++) {
+                    double wr = cosinus[k * saut];
+                    double wi = inverse ? -sinus[k * saut] : sinus[k * saut];
+                    int p = i + k;
+                    int q = p + moitie;
+                    double xr = re[q] * wr - im[q] * wi;
+                    double xi = re[q] * wi + im[q] * wr;
+                    re[q] = re[p] - xr;
+                    im[q] = im[p] - xi;
+                    re[p] += xr;
+                    im[p] += xi;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package transmetteurs;
+
+import destinations.DestinationInterface;
+import information.CodeRepetition;
+import information.Information;
+import information.InformationAnalogique;
+import information.InformationNonConformeException;
+
+/**
+ * classe permettant de décoder le code à répétition à partir des valeurs
+ * souples émises par le {@link Recepteur} (une par bit codé), au lieu des
+ * bits déjà décidés que reçoit {@link DecodageReception}
+ * (décodage par {@link CodeRepetition#decoderSouple})
+ */
+public class DecodageSouple extends Transmetteur<Float, Boolean> implements DestinationInterface<Float> {
+
+    /**
+     * construit un décodeur souple
+     */
+    public DecodageSouple() {}
+
+    @Override
+    public void recevoir(Information<Float> information) throws InformationNonConformeException {
+        if (information == null) {
+            throw new InformationNonConformeException("Information reçue est nulle");
+        }
+        this.informationRecue = information;
+
+        // Décodage puis émission
+        emettre();
+    }
+
+    @Override
+    public void emettre() throws InformationNonConformeException {
+        // Décision sur la somme des valeurs souples de chaque triplet (un triplet incomplet est ignoré)
+        informationEmise = CodeRepetition.decoderSouple(InformationAnalogique.de(informationRecue));
+
+        envoyer(informationEmise);
+    }
+}
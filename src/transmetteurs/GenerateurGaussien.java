@@ -0,0 +1,52 @@
+package transmetteurs;
+
+/**
+ * Générateur de bruit gaussien centré réduit N(0,1) utilisé par les canaux
+ * bruités ({@link TransmetteurImparfait}, {@link TransmetteurMultiTrajet}).
+ * <p>
+ * Les réalisations produisent leurs échantillons en masse dans un tableau de
+ * {@code float} et, construites avec une graine, produisent toujours la même
+ * suite d'échantillons. Une suite d'appels à {@link #remplir} produit les
+ * mêmes valeurs qu'un seul appel sur la longueur totale, ce qui permet de
+ * traiter un message bloc par bloc.
+ * </p>
+ */
+public interface GenerateurGaussien {
+
+    /**
+     * Tire un échantillon de la loi normale centrée réduite
+     * @return un échantillon suivant N(0,1)
+     */
+    double suivant();
+
+    /**
+     * Remplit une portion de tableau avec des échantillons de N(0, ecartType²)
+     * @param destination le tableau à remplir
+     * @param debut l'indice du premier échantillon écrit
+     * @param longueur le nombre d'échantillons à écrire
+     * @param ecartType l'écart-type du bruit
+     */
+    default void remplir(float[] destination, int debut, int longueur, double ecartType) {
+        for (int i = debut; i < debut + longueur; i++) {
+            destination[i] = (float) (suivant() * ecartType);
+        }
+    }
+
+    /**
+     * Construit un générateur à partir de son nom
+     * @param methode "ziggurat", "polaire" ou "boxmuller" (insensible à la casse)
+     * @param graine la graine du générateur, ou {@code null} pour un tirage non reproductible
+     * @return le générateur demandé
+     * @throws IllegalArgumentException si la méthode est inconnue
+     */
+    static GenerateurGaussien creer(String methode, Integer graine) {
+        if ("ziggurat".equalsIgnoreCase(methode)) {
+            return (graine == null) ? new GenerateurGaussienZiggurat() : new GenerateurGaussienZiggurat(graine);
+        } else if ("polaire".equalsIgnoreCase(methode)) {
+            return (graine == null) ? new GenerateurGaussienPolaire() : new GenerateurGaussienPolaire(graine);
+        } else if ("boxmuller".equalsIgnoreCase(methode)) {
+            return (graine == null) ? new GenerateurGaussienBoxMuller() : new GenerateurGaussienBoxMuller(graine);
+        }
+        throw new IllegalArgumentException("Générateur de bruit inconnu : " + methode);
+    }
+}
@@ -0,0 +1,38 @@
+package transmetteurs;
+
+import java.util.Random;
+
+/**
+ * Générateur gaussien par la formule de Box-Muller telle qu'utilisée
+ * historiquement par {@link TransmetteurImparfait} : deux tirages uniformes,
+ * un logarithme, une racine et un cosinus par échantillon, le second
+ * échantillon de la paire (en sinus) étant abandonné. Conservé comme
+ * référence pour les comparaisons de débit et de qualité.
+ */
+public class GenerateurGaussienBoxMuller implements GenerateurGaussien {
+
+    /** générateur uniforme sous-jacent */
+    private final Random rand;
+
+    /**
+     * Construit un générateur non reproductible
+     */
+    public GenerateurGaussienBoxMuller() {
+        this.rand = new Random();
+    }
+
+    /**
+     * Construit un générateur reproductible
+     * @param graine la graine du générateur uniforme
+     */
+    public GenerateurGaussienBoxMuller(long graine) {
+        this.rand = new Random(graine);
+    }
+
+    @Override
+    public double suivant() {
+        double u1 = rand.nextDouble();
+        double u2 = rand.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,55 @@
+package transmetteurs;
+
+import java.util.SplittableRandom;
+
+/**
+ * Générateur gaussien par la méthode polaire de Marsaglia : un point est
+ * tiré uniformément dans le disque unité (rejet hors du disque), ce qui
+ * donne deux échantillons indépendants avec un seul logarithme et une seule
+ * racine, sans fonction trigonométrique. Le second échantillon de chaque
+ * paire est conservé pour l'appel suivant.
+ */
+public class GenerateurGaussienPolaire implements GenerateurGaussien {
+
+    /** générateur uniforme sous-jacent */
+    private final SplittableRandom rand;
+
+    /** second échantillon de la dernière paire, pas encore rendu */
+    private double enAttente;
+
+    /** indique si {@code enAttente} contient un échantillon */
+    private boolean aEnAttente = false;
+
+    /**
+     * Construit un générateur non reproductible
+     */
+    public GenerateurGaussienPolaire() {
+        this.rand = new SplittableRandom();
+    }
+
+    /**
+     * Construit un générateur reproductible
+     * @param graine la graine du générateur uniforme
+     */
+    public GenerateurGaussienPolaire(long graine) {
+        this.rand = new SplittableRandom(graine);
+    }
+
+    @Override
+    public double suivant() {
+        if (aEnAttente) {
+            aEnAttente = false;
+            return enAttente;
+        }
+        double u, v, s;
+        do {
+            u = 2.0 * rand.nextDouble() - 1.0;
+            v = 2.0 * rand.nextDouble() - 1.0;
+            s = u * u + v * v;
+        } while (s >= 1.0 || s == 0.0);
+        double facteur = Math.sqrt(-2.0 * Math.log(s) / s);
+        enAttente = v * facteur;
+        aEnAttente = true;
+        return u * facteur;
+    }
+}
@@ -0,0 +1,134 @@
+package transmetteurs;
+
+import java.util.SplittableRandom;
+
+/**
+ * Générateur gaussien par la méthode Ziggurat de Marsaglia et Tsang (2000).
+ * <p>
+ * La densité est recouverte par 128 rectangles de même aire (tables
+ * calculées une fois pour toutes). Dans plus de 98 % des cas un seul tirage
+ * de 64 bits, une comparaison et une multiplication suffisent : les 7 bits
+ * de poids faible choisissent le rectangle, les 32 bits de poids fort
+ * donnent l'abscisse signée. Seuls les tirages tombant hors du rectangle
+ * intérieur (bords et queue de la distribution) demandent une exponentielle
+ * ou un logarithme.
+ * </p>
+ */
+public class GenerateurGaussienZiggurat implements GenerateurGaussien {
+
+    /** abscisse du début de la queue de distribution */
+    private static final double R = 3.442619855899;
+
+    /** aire commune des rectangles */
+    private static final double V = 9.91256303526217e-3;
+
+    /** facteur d'échelle entre les entiers 32 bits signés et les abscisses */
+    private static final double M1 = 2147483648.0;
+
+    /** seuils d'acceptation immédiate de chaque rectangle */
+    private static final long[] KN = new long[128];
+
+    /** largeurs des rectangles, rapportées à l'échelle des entiers */
+    private static final double[] WN = new double[128];
+
+    /** valeurs de la densité (non normalisée) aux bords des rectangles */
+    private static final double[] FN = new double[128];
+
+    static {
+        double dn = R;
+        double tn = dn;
+        double q = V / Math.exp(-0.5 * dn * dn);
+        KN[0] = (long) ((dn / q) * M1);
+        KN[1] = 0;
+        WN[0] = q / M1;
+        WN[127] = dn / M1;
+        FN[0] = 1.0;
+        FN[127] = Math.exp(-0.5 * dn * dn);
+        for (int i = 126; i >= 1; i--) {
+            dn = Math.sqrt(-2.0 * Math.log(V / dn + Math.exp(-0.5 * dn * dn)));
+            KN[i + 1] = (long) ((dn / tn) * M1);
+            tn = dn;
+            FN[i] = Math.exp(-0.5 * dn * dn);
+            WN[i] = dn / M1;
+        }
+    }
+
+    /** générateur uniforme sous-jacent */
+    private final SplittableRandom rand;
+
+    /**
+     * Construit un générateur non reproductible
+     */
+    public GenerateurGaussienZiggurat() {
+        this.rand = new SplittableRandom();
+    }
+
+    /**
+     * Construit un générateur reproductible
+     * @param graine la graine du générateur uniforme
+     */
+    public GenerateurGaussienZiggurat(long graine) {
+        this.rand = new SplittableRandom(graine);
+    }
+
+    @Override
+    public double suivant() {
+        long tirage = rand.nextLong();
+        int iz = (int) (tirage & 127);
+        int hz = (int) (tirage >> 32);
+        if (Math.abs((long) hz) < KN[iz]) {
+            return hz * WN[iz];
+        }
+        return horsRectangle(hz, iz);
+    }
+
+    @Override
+    public void remplir(float[] destination, int debut, int longueur, double ecartType) {
+        for (int i = debut; i < debut + longueur; i++) {
+            long tirage = rand.nextLong();
+            int iz = (int) (tirage & 127);
+            int hz = (int) (tirage >> 32);
+            double x = (Math.abs((long) hz) < KN[iz]) ? hz * WN[iz] : horsRectangle(hz, iz);
+            destination[i] = (float) (x * ecartType);
+        }
+    }
+
+    /**
+     * Traite les tirages qui ne tombent pas dans la partie intérieure du
+     * rectangle choisi : queue de distribution (rectangle 0) ou bord courbe.
+     * @param hz l'abscisse tirée, à l'échelle des entiers
+     * @param iz le rectangle tiré
+     * @return un échantillon suivant N(0,1)
+     */
+    private double horsRectangle(int hz, int iz) {
+        while (true) {
+            double x = hz * WN[iz];
+            if (iz == 0) {
+                // queue : méthode de Marsaglia pour x > R
+                double y;
+                do {
+                    x = -Math.log(uniforme()) / R;
+                    y = -Math.log(uniforme());
+                } while (y + y < x * x);
+                return (hz > 0) ? R + x : -R - x;
+            }
+            if (FN[iz] + uniforme() * (FN[iz - 1] - FN[iz]) < Math.exp(-0.5 * x * x)) {
+                return x;
+            }
+            long tirage = rand.nextLong();
+            iz = (int) (tirage & 127);
+            hz = (int) (tirage >> 32);
+            if (Math.abs((long) hz) < KN[iz]) {
+                return hz * WN[iz];
+            }
+        }
+    }
+
+    /**
+     * Tire un uniforme dans ]0, 1] (jamais nul, pour le logarithme)
+     * @return un réel uniforme dans ]0, 1]
+     */
+    private double uniforme() {
+        return 1.0 - rand.nextDouble();
+    }
+}
@@ -1,18 +1,50 @@
 package transmetteurs;
-import java.util.Arrays;
 import destinations.DestinationInterface;
+import java.util.LinkedList;
+import java.util.List;
 import information.Information;
+import information.InformationAnalogique;
+import information.InformationBinaire;
 import information.InformationNonConformeException;
+import metriques.Metriques;
 
 /**
  * Récepteur : conversion analogique → binaire par moyennage et décision par seuil.
  * Pour chaque symbole (bloc de {@code nbEch} échantillons), on calcule la moyenne
  * puis on décide {@code bit = (moy >= seuil)}.
+ * <p>
+ * Le récepteur peut aussi émettre, vers les destinations connectées par
+ * {@link #connecterSouple(DestinationInterface)}, une valeur souple par
+ * symbole : {@code moy - seuil}. Positive quand le bit 1 est le plus probable,
+ * elle est proportionnelle au logarithme du rapport de vraisemblance (LLR)
+ * pour un bruit gaussien, et conserve la fiabilité de chaque décision.
+ * </p>
  */
 public class Recepteur extends Transmetteur<Float, Boolean> implements DestinationInterface<Float> {
-    private final int nbEch;
+    private int nbEch;
     private final float seuil;
     private String typeCodage;
+
+    /** destinations des valeurs souples (moyenne centrée sur le seuil de chaque symbole) */
+    private final List<DestinationInterface<Float>> destinationsSouples = new LinkedList<>();
+
+    /** bits décidés, réutilisés d'une réception à l'autre */
+    private final InformationBinaire bits = new InformationBinaire();
+
+    /** valeurs souples, réutilisées d'une réception à l'autre */
+    private final InformationAnalogique souples = new InformationAnalogique();
+
+    /** true pour décider un symbole incomplet en fin d'information au lieu de l'écarter */
+    private boolean deciderSymboleIncomplet = false;
+
+    /** nombre d'échantillons du symbole incomplet de la dernière information reçue */
+    private int nbEchantillonsIncomplets = 0;
+
+    /** nombre total d'échantillons traités par la décision */
+    private long nbEchantillonsDecides = 0;
+
+    /** durée totale de la décision, en nanosecondes */
+    private long dureeDecision = 0;
     
     /**
      * Construit un récepteur paramétré.
@@ -40,6 +72,17 @@ public class Recepteur extends Transmetteur<Float, Boolean> implements Destinati
         this(nbEch,0.5f,"RZ");
     }
 
+    /**
+     * Modifie le nombre d'échantillons par symbole des prochaines décisions.
+     * @param nbEch nombre d'échantillons par symbole (strictement &gt; 0)
+     */
+    public void setNbEch(int nbEch) {
+        if(nbEch <= 0){
+            throw new IllegalArgumentException("nbEch doit être > 0");
+        }
+        this.nbEch = nbEch;
+    }
+
     /**
      * Reçoit l'information analogique en entrée du récepteur.
      * @param information trame analogique (échantillons {@code Float})
@@ -54,41 +97,122 @@ public class Recepteur extends Transmetteur<Float, Boolean> implements Destinati
         emettre();
     }
 
+    /**
+     * Choisit le traitement des échantillons en fin d'information qui ne
+     * forment pas un symbole complet (moins de {@code nbEch}) : par défaut ils
+     * sont écartés, et leur nombre est donné par {@link #getNbEchantillonsIncomplets()} ;
+     * s'ils sont décidés, le dernier bit est décidé sur la moyenne des seuls
+     * échantillons présents.
+     * @param decider true pour décider le symbole incomplet, false pour l'écarter
+     */
+    public void setDecisionSymboleIncomplet(boolean decider) {
+        this.deciderSymboleIncomplet = decider;
+    }
+
+    /**
+     * Donne le nombre d'échantillons de fin de la dernière information reçue
+     * qui ne formaient pas un symbole complet (décidés ou non selon
+     * {@link #setDecisionSymboleIncomplet(boolean)}).
+     * @return le nombre d'échantillons du symbole incomplet (0 à {@code nbEch - 1})
+     */
+    public int getNbEchantillonsIncomplets() {
+        return nbEchantillonsIncomplets;
+    }
+
+    /**
+     * Donne le nombre total d'échantillons traités par la décision depuis la
+     * création du récepteur.
+     * @return le nombre d'échantillons décidés
+     */
+    public long getNbEchantillonsDecides() {
+        return nbEchantillonsDecides;
+    }
+
+    /**
+     * Donne le débit de la décision (moyennage et seuillage, hors émission vers
+     * les destinations) depuis la création du récepteur.
+     * @return le débit en échantillons par seconde, 0 si rien n'a été décidé
+     */
+    public double getDebitDecision() {
+        return dureeDecision == 0 ? 0.0 : nbEchantillonsDecides * 1e9 / dureeDecision;
+    }
+
     /**
      * Convertit l'information analogique reçue en bits :
      * découpe en blocs de {@code nbEch} échantillons, calcule la moyenne par bloc
      * puis applique la décision {@code moy >= seuil}. Émet ensuite vers les destinations.
+     * <p>
+     * Les bits (et les valeurs souples) sont écrits dans des informations
+     * réutilisées d'un appel à l'autre : l'information émise n'est valable que
+     * jusqu'à la réception suivante, et aucune allocation n'a lieu une fois
+     * atteinte la taille des informations reçues.
+     * </p>
      * @throws InformationNonConformeException si l'information reçue est invalide
      */
     @Override
     public void emettre() throws InformationNonConformeException {
-        int n = this.informationRecue.nbElements();
-        int nbSymbols = n / nbEch; // -> Combien de bits reçus
-
-        Boolean[] bits = new Boolean[nbSymbols];
+        long debut = System.nanoTime();
+        InformationAnalogique signal = InformationAnalogique.de(this.informationRecue);
+        float[] echantillons = signal.valeurs();
+        int n = signal.nbElements();
+        int nbSymboles = n / nbEch; // -> Combien de bits reçus
+        nbEchantillonsIncomplets = n - nbSymboles * nbEch;
+        int nbDecisions = (deciderSymboleIncomplet && nbEchantillonsIncomplets > 0) ? nbSymboles + 1 : nbSymboles;
 
-        // Use iterator for O(n) performance instead of iemeElement which is O(n²) with LinkedList
-        java.util.Iterator<Float> iter = this.informationRecue.iterator();
+        boolean avecSouples = !destinationsSouples.isEmpty();
+        bits.vider();
+        if (avecSouples) {
+            souples.vider();
+        }
 
-        for(int i = 0; i < nbSymbols; i++) {
+        long mot = 0;
+        int nbDansMot = 0;
+        for (int i = 0, k = 0; i < nbDecisions; i++) {
+            // seul le dernier symbole peut être incomplet
+            int longueur = (i < nbSymboles) ? nbEch : nbEchantillonsIncomplets;
             float moy = 0f;
 
-            // calcul de la moyenne sur nbEch échantillons
-            for (int j = 0; j < nbEch; j++) {
-                moy += iter.next();
+            // calcul de la moyenne sur les échantillons du symbole
+            for (int fin = k + longueur; k < fin; k++) {
+                moy += echantillons[k];
             }
-            moy /= nbEch;
+            moy /= longueur;
 
-            // décision en fonction du seuil
-            bits[i] = moy >= seuil;
+            // décision en fonction du seuil, rangée sans branchement dans le mot courant
+            mot |= (moy >= seuil ? 1L : 0L) << nbDansMot;
+            if (++nbDansMot == 64) {
+                bits.addMot(mot, 64);
+                mot = 0;
+                nbDansMot = 0;
+            }
+            if (avecSouples) {
+                souples.add(moy - seuil);
+            }
         }
+        bits.addMot(mot, nbDansMot);
 
-        this.informationEmise = new Information<>(bits);
-        //System.out.println("Recepteur: bits décodés = " + Arrays.toString(bits));
+        this.informationEmise = bits;
+        nbEchantillonsDecides += n;
+        dureeDecision += System.nanoTime() - debut;
 
         /* On émet vers la ou les destinations connectée(s) */
-        for(DestinationInterface<Boolean> destination : destinationsConnectees){
-            destination.recevoir(informationEmise);
+        envoyer(informationEmise);
+        if (avecSouples) {
+            Metriques.sortie(this, souples);
+            for (DestinationInterface<Float> destination : destinationsSouples) {
+                Metriques.recevoir(destination, souples);
+            }
+        }
+    }
+
+    /**
+     * Connecte une destination recevant les valeurs souples des symboles
+     * ({@code moy - seuil}, un flottant par bit) au lieu des bits décidés.
+     * @param destination destination à connecter (ignorée si {@code null})
+     */
+    public void connecterSouple(DestinationInterface<Float> destination) {
+        if (destination != null && !destinationsSouples.contains(destination)) {
+            destinationsSouples.add(destination);
         }
     }
     
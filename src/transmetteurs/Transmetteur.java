@@ -7,6 +7,7 @@ import destinations.*;
 import information.*;
 
 import java.util.*;
+import metriques.Metriques;
 
 /** 
  * Classe Abstraite d'un composant transmetteur d'informations dont
@@ -96,6 +97,20 @@ public abstract  class Transmetteur <R,E> implements  DestinationInterface <R>,
     	destinationsConnectees.remove(destination);
     }
    	    
+    /**
+     * transmet une information à toutes les destinations connectées
+     * (chaque réception est mesurée par {@link Metriques} quand l'option
+     * -metrics est active)
+     * @param information  l'information à transmettre
+     * @throws InformationNonConformeException si une destination rejette l'information
+     */
+    protected void envoyer(Information <E> information) throws InformationNonConformeException {
+    	Metriques.sortie(this, information);
+    	for (DestinationInterface <E> destination : destinationsConnectees) {
+    		Metriques.recevoir(destination, information);
+    	}
+    }
+
     /**
      * reçoit une information.  Cette méthode, en fin d'exécution,
      * appelle la méthode émettre.
@@ -3,9 +3,8 @@ package transmetteurs;
 import destinations.DestinationInterface;
 import emmetteurs.Emetteur;
 import information.Information;
+import information.InformationAnalogique;
 import information.InformationNonConformeException;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Random;
 
 
@@ -36,11 +35,23 @@ public class TransmetteurImparfait<E> extends Transmetteur {
     /** Graine utilisée pour la génération aléatoire. */
     private int seed;
 
-    /** Générateur de nombres aléatoires pour le bruit. */
+    /** Générateur uniforme utilisé par la formule de Box-Muller de référence. */
     private Random rand;
 
-    /** Liste des échantillons de bruit générés. */
-    protected LinkedList<Float> bruit = new LinkedList<Float>();
+    /** Générateur du bruit gaussien ajouté au signal. */
+    private GenerateurGaussien generateur;
+
+    /**
+     * Puissance du signal imposée (mode bloc par bloc) ; si {@code null}, la
+     * puissance est mesurée sur chaque information reçue.
+     */
+    private Float puissanceImposee = null;
+
+    /**
+     * Capture optionnelle du bruit généré ; {@code null} par défaut, auquel cas
+     * aucun échantillon de bruit n'est conservé.
+     */
+    protected CaptureBruit bruit = null;
 
     /**
      * Constructeur sans graine (bruit totalement aléatoire)
@@ -52,6 +63,7 @@ public class TransmetteurImparfait<E> extends Transmetteur {
         this.SNRdB = SNRdB;
         this.nEch = nEch;
         this.rand = new Random(); // aléatoire total
+        this.generateur = new GenerateurGaussienZiggurat();
     }
 
     /**
@@ -66,6 +78,47 @@ public class TransmetteurImparfait<E> extends Transmetteur {
         this.nEch = nEch;
         this.seed = seed;
         this.rand = new Random(seed); // reproductible
+        this.generateur = new GenerateurGaussienZiggurat(seed);
+    }
+
+    /**
+     * Remplace le générateur de bruit gaussien (Ziggurat par défaut)
+     * @param generateur le générateur à utiliser pour les prochaines émissions
+     */
+    public void setGenerateurGaussien(GenerateurGaussien generateur) {
+        this.generateur = generateur;
+    }
+
+    /**
+     * Modifie le rapport signal sur bruit des prochaines émissions
+     * @param SNRdB le nouveau SNR par bit en dB
+     */
+    public void setSNRdB(float SNRdB) {
+        this.SNRdB = SNRdB;
+    }
+
+    /**
+     * Modifie le nombre d'échantillons par bit utilisé pour calculer la variance du bruit
+     * @param nEch le nouveau nombre d'échantillons par bit
+     */
+    public void setNbEch(int nEch) {
+        this.nEch = nEch;
+    }
+
+    /**
+     * Active (ou désactive) la capture du bruit généré par les prochaines émissions
+     * @param capture la capture à alimenter, ou {@code null} pour ne rien conserver
+     */
+    public void setCaptureBruit(CaptureBruit capture) {
+        this.bruit = capture;
+    }
+
+    /**
+     * retourne la capture du bruit
+     * @return la capture alimentée par ce transmetteur, ou {@code null} si elle est désactivée
+     */
+    public CaptureBruit getCaptureBruit() {
+        return bruit;
     }
 
     /**
@@ -95,16 +148,17 @@ public class TransmetteurImparfait<E> extends Transmetteur {
     /**
      * permet de calculer la puissance du signa reçu
      */
+    @SuppressWarnings("unchecked")
     public void calculPuissanceSignal() {
-        float somme = 0;
-        int count = 0;
+        InformationAnalogique signal = InformationAnalogique.de(informationRecue);
+        float[] echantillons = signal.valeurs();
+        int count = signal.nbElements();
+        double somme = 0; // en double : une somme en float cesse de croître au-delà de 2^24 échantillons
 
-        for (Object obj : informationRecue) {
-            float echantillon = (Float) obj;
-            somme += echantillon * echantillon;
-            count++;
+        for (int i = 0; i < count; i++) {
+            somme += echantillons[i] * echantillons[i];
         }
-        this.puissanceSignal = somme / count;
+        this.puissanceSignal = (float) (somme / count);
 
     }
 
@@ -121,19 +175,35 @@ public class TransmetteurImparfait<E> extends Transmetteur {
      */
 
     public void calculerVariance() {
-        calculPuissanceSignal();
+        if (puissanceImposee != null) {
+            this.puissanceSignal = puissanceImposee;
+        } else {
+            calculPuissanceSignal();
+        }
         // Variance par échantillon pour obtenir SNR_b après moyennage de nEch échantillons
         float snrLineaire = (float) Math.pow(10, SNRdB / 10.0);
         this.variance = (puissanceSignal * nEch) / snrLineaire;
     }
 
+    /**
+     * Impose la puissance du signal utilisée pour calculer la variance du bruit,
+     * au lieu de la mesurer sur chaque information reçue. Utile quand le message
+     * arrive par blocs : le bruit doit dépendre de la puissance du message entier.
+     * @param puissance la puissance du signal, ou {@code null} pour revenir à la mesure
+     */
+    public void setPuissanceSignalImposee(Float puissance) {
+        this.puissanceImposee = puissance;
+    }
+
     /**
      * Génère un échantillon de bruit gaussien centré réduit selon la formule de Box-Muller.
+     * Formule historique, conservée comme référence : le bruit du canal est tiré
+     * en masse par le {@link GenerateurGaussien} du transmetteur.
      * @return un échantillon suivant une loi normale N(0,1)
      */
     public double genererBruitGaussienFormule() {
-        double u1 = Math.random(); // tirage uniforme [0,1]
-        double u2 = Math.random();
+        double u1 = rand.nextDouble(); // tirage uniforme [0,1], reproductible si une graine est donnée
+        double u2 = rand.nextDouble();
 
         // Box-Muller : transforme les uniformes en loi gaussienne centrée réduite
         double x = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
@@ -150,16 +220,26 @@ public class TransmetteurImparfait<E> extends Transmetteur {
      */
     @SuppressWarnings("unchecked")
     public void genererBBAG() {
-        this.informationEmise = new Information<Float>();
+        InformationAnalogique signal = InformationAnalogique.de(informationRecue);
+        this.informationRecue = signal;
         calculerVariance();
         double sqrtVariance = Math.sqrt(variance);
 
-        for (Object obj : informationRecue) {
-            float echantillon = (Float) obj;
-            double bruitEchantillon = genererBruitGaussienFormule() * sqrtVariance;
-            this.bruit.add((float) bruitEchantillon);
-            this.informationEmise.add(echantillon + (float) bruitEchantillon);
+        int n = signal.nbElements();
+        float[] echantillons = signal.valeurs();
+        InformationAnalogique signalBruite = new InformationAnalogique(n);
+        signalBruite.etendre(n);
+        float[] sortie = signalBruite.valeurs();
+
+        // Le bruit est tiré en une fois dans le tableau de sortie, puis le signal y est ajouté
+        generateur.remplir(sortie, 0, n, sqrtVariance);
+        if (bruit != null) {
+            bruit.ajouter(sortie, 0, n);
         }
+        for (int i = 0; i < n; i++) {
+            sortie[i] = echantillons[i] + sortie[i];
+        }
+        this.informationEmise = signalBruite;
 
     }
 
@@ -170,12 +250,8 @@ public class TransmetteurImparfait<E> extends Transmetteur {
     @Override
     @SuppressWarnings("unchecked")
     public void emettre() throws InformationNonConformeException {
-        Iterator<DestinationInterface<E>> it = destinationsConnectees.iterator();
         genererBBAG();
-        while (it.hasNext()) {
-            DestinationInterface<E> destinationConnectee = it.next();
-            destinationConnectee.recevoir(this.informationEmise);
-        }
+        envoyer(this.informationEmise);
     }
 
     /**
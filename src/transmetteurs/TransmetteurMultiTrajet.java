@@ -3,11 +3,11 @@ package transmetteurs;
 import destinations.DestinationInterface;
 import emmetteurs.Emetteur;
 import information.Information;
+import information.InformationAnalogique;
 import information.InformationNonConformeException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Classe représentant un transmetteur avec canal à trajets multiples et bruité.
@@ -16,16 +16,46 @@ import java.util.Random;
  * - s(t) est le signal direct
  * - α_k·s(t-tau_k) représente les N trajets réfléchis avec atténuation et retard
  * - b(t) est un bruit blanc gaussien centré
+ * <p>
+ * Les échos sont calculés par convolution directe tant que les trajets sont
+ * peu nombreux, et par convolution FFT ({@link ConvolutionFFT}) quand le
+ * nombre de trajets rapporté au plus grand retard la rend moins coûteuse.
+ * </p>
  * @param <E> : type des données d'entrée
  */
 public class TransmetteurMultiTrajet<E> extends Transmetteur {
 
+    /**
+     * Méthode de calcul des échos
+     */
+    public enum ModeConvolution {
+        /** choix selon le coût estimé de chaque méthode */
+        AUTO,
+        /** boucle directe sur les trajets */
+        DIRECTE,
+        /** convolution par FFT (overlap-save) */
+        FFT
+    }
+
+    /**
+     * Coût d'un trajet par échantillon en convolution directe, dans l'unité de
+     * {@link ConvolutionFFT#coutParEchantillon(int)} (mesuré : la FFT devient plus
+     * rapide vers 45 trajets pour un retard de 150 échantillons, 70 pour 3000)
+     */
+    private static final double COUT_TRAJET_DIRECT = 1.5;
+
     private List<Trajet> trajets;            // liste des trajets réfléchis
     private float SNRdB;                     // rapport signal/bruit en dB
     private float puissanceSignal;           // puissance du signal
     private float variance;                  // variance du bruit gaussien
-    private Random rand;                     // générateur aléatoire
+    private GenerateurGaussien generateur;   // générateur du bruit gaussien
     private int nbEch;                       // nombre d'échantillons par bit
+    private Float puissanceImposee = null;   // puissance imposée (mode bloc par bloc), mesurée si null
+    private float[] historique = new float[0]; // derniers échantillons reçus, pour les échos du bloc suivant
+    private long nbEchantillonsTraites = 0;  // nombre d'échantillons déjà reçus depuis le début du message
+    private ModeConvolution modeConvolution = ModeConvolution.AUTO; // méthode de calcul des échos
+    private float[] reponseImpulsionnelle = null; // réponse du canal pour laquelle convolution a été préparée
+    private ConvolutionFFT convolution = null;    // convolution FFT préparée (créée à la demande)
 
     /**
      * Constructeur avec liste de trajets (bruit totalement aléatoire)
@@ -35,17 +65,9 @@ public class TransmetteurMultiTrajet<E> extends Transmetteur {
      */
     public TransmetteurMultiTrajet(List<Trajet> trajets, float SNRdB, int nbEch) {
         super();
-        if (trajets == null || trajets.isEmpty()) {
-            throw new IllegalArgumentException("La liste de trajets ne peut pas être vide");
-        }
-        this.nbEch = nbEch;
-        // Convertir les retards dt (en bits) en échantillons (dt × nbEch)
-        this.trajets = new ArrayList<>();
-        for (Trajet t : trajets) {
-            this.trajets.add(new Trajet(t.getTau() * nbEch, t.getAlpha()));
-        }
+        setTrajets(trajets, nbEch);
         this.SNRdB = SNRdB;
-        this.rand = new Random(); // aléatoire total
+        this.generateur = new GenerateurGaussienZiggurat(); // aléatoire total
     }
 
     /**
@@ -57,17 +79,9 @@ public class TransmetteurMultiTrajet<E> extends Transmetteur {
      */
     public TransmetteurMultiTrajet(List<Trajet> trajets, float SNRdB, int nbEch, int seed) {
         super();
-        if (trajets == null || trajets.isEmpty()) {
-            throw new IllegalArgumentException("La liste de trajets ne peut pas être vide");
-        }
-        this.nbEch = nbEch;
-        // Convertir les retards dt (en bits) en échantillons (dt × nbEch)
-        this.trajets = new ArrayList<>();
-        for (Trajet t : trajets) {
-            this.trajets.add(new Trajet(t.getTau() * nbEch, t.getAlpha()));
-        }
+        setTrajets(trajets, nbEch);
         this.SNRdB = SNRdB;
-        this.rand = new Random(seed); // reproductible
+        this.generateur = new GenerateurGaussienZiggurat(seed); // reproductible
     }
 
     @Override
@@ -93,15 +107,16 @@ public class TransmetteurMultiTrajet<E> extends Transmetteur {
     /**
      * Calcule la puissance du signal reçu : Ps = (1/N) * Somme(s^2)
      */
+    @SuppressWarnings("unchecked")
     private void calculerPuissanceSignal() {
-        float somme = 0;
-        int count = 0;
-        for (Object obj : informationRecue) {
-            float echantillon = (Float) obj;
-            somme += echantillon * echantillon;
-            count++;
+        InformationAnalogique signal = InformationAnalogique.de(informationRecue);
+        float[] echantillons = signal.valeurs();
+        int count = signal.nbElements();
+        double somme = 0; // en double : une somme en float cesse de croître au-delà de 2^24 échantillons
+        for (int i = 0; i < count; i++) {
+            somme += echantillons[i] * echantillons[i];
         }
-        this.puissanceSignal = somme / count;
+        this.puissanceSignal = (float) (somme / count);
     }
 
     /**
@@ -113,7 +128,11 @@ public class TransmetteurMultiTrajet<E> extends Transmetteur {
      * - variance = (puissanceSignal × nEch) / SNR_b
      */
     private void calculerVariance() {
-        calculerPuissanceSignal();
+        if (puissanceImposee != null) {
+            this.puissanceSignal = puissanceImposee;
+        } else {
+            calculerPuissanceSignal();
+        }
         float snrLineaire = (float) Math.pow(10, SNRdB / 10.0);
         this.variance = (puissanceSignal * nbEch) / snrLineaire;
     }
@@ -124,39 +143,173 @@ public class TransmetteurMultiTrajet<E> extends Transmetteur {
      */
     @SuppressWarnings("unchecked")
     private void genererSignalMultiTrajet() {
-        this.informationEmise = new Information<Float>();
+        InformationAnalogique signal = InformationAnalogique.de(informationRecue);
+        this.informationRecue = signal;
         calculerVariance();
         double sqrtVariance = Math.sqrt(variance);
 
-        int N = informationRecue.nbElements(); //nb ech analogiques
+        int N = signal.nbElements(); //nb ech analogiques
+        float[] s = signal.valeurs();
+        InformationAnalogique signalRecu = new InformationAnalogique(N);
+        signalRecu.etendre(N);
+        float[] r = signalRecu.valeurs();
+
+        int nbTrajets = trajets.size();
+        int[] taus = new int[nbTrajets];
+        float[] alphas = new float[nbTrajets];
+        int tauMax = 0;
+        for (int k = 0; k < nbTrajets; k++) {
+            taus[k] = trajets.get(k).getTau();
+            alphas[k] = trajets.get(k).getAlpha();
+            tauMax = Math.max(tauMax, taus[k]);
+        }
+        if (historique.length != tauMax) {
+            historique = redimensionnerHistorique(historique, tauMax);
+        }
+
+        // Le bruit b(t) est tiré en une fois dans le tableau de sortie
+        generateur.remplir(r, 0, N, sqrtVariance);
+
+        if (utiliserFFT(nbTrajets, tauMax, N)) {
+            // r(t) = b(t) + (h * s)(t), avec h[0] = 1 + Somme des α des trajets de retard nul
+            preparerConvolution(taus, alphas, tauMax).ajouterConvolution(historique, s, N, r);
+        } else {
+            ajouterEchosDirects(s, r, N, taus, alphas, tauMax);
+        }
+        this.informationEmise = signalRecu;
 
+        // Conserver les tauMax derniers échantillons pour le bloc suivant
+        if (N >= tauMax) {
+            System.arraycopy(s, N - tauMax, historique, 0, tauMax);
+        } else {
+            System.arraycopy(historique, N, historique, 0, tauMax - N);
+            System.arraycopy(s, 0, historique, tauMax - N, N);
+        }
+        nbEchantillonsTraites += N;
+    }
+
+    /**
+     * Ajoute au bruit le signal direct et ses échos par une boucle sur les trajets
+     * @param s le signal émis
+     * @param r le tableau contenant le bruit, qui reçoit le signal total
+     * @param N le nombre d'échantillons du bloc
+     * @param taus les retards des trajets (en échantillons)
+     * @param alphas les atténuations des trajets
+     * @param tauMax le plus grand retard
+     */
+    private void ajouterEchosDirects(float[] s, float[] r, int N, int[] taus, float[] alphas, int tauMax) {
+        int nbTrajets = taus.length;
         for (int i = 0; i < N; i++) {
             // 1. Signal direct s(t)
-            float echantillon = (Float) informationRecue.iemeElement(i);
-            float signalTotal = echantillon; // soit le premier terme s(t) (cf. l99)
+            float signalTotal = s[i];
+            long t = nbEchantillonsTraites + i; // instant depuis le début du message
 
             // 2. Somme de tous les trajets réfléchis : Somme(α_k*s(t-tau_k))
-            for (Trajet trajet : trajets) {
-                int tau = trajet.getTau();
-                float alpha = trajet.getAlpha();
-
-                // Vérifier qu'on a un signal à réfléchir (i >= tau) : i-tau
-                if (i >= tau) {
-                    float signalRetarde = (Float) informationRecue.iemeElement(i - tau);
-                    signalTotal += alpha * signalRetarde;
+            for (int k = 0; k < nbTrajets; k++) {
+                // Vérifier qu'on a un signal à réfléchir (t >= tau) : t-tau
+                if (t >= taus[k]) {
+                    // l'échantillon retardé est dans ce bloc, ou dans la fin du bloc précédent
+                    float signalRetarde = (i >= taus[k]) ? s[i - taus[k]] : historique[tauMax - taus[k] + i];
+                    signalTotal += alphas[k] * signalRetarde;
                 }
                 // Sinon, pas encore de signal à réfléchir pour ce trajet
             }
 
             // 3. Ajout du bruit blanc gaussien centré : b(t)
-            double bruitEchantillon = rand.nextGaussian() * sqrtVariance;
-            signalTotal += (float) bruitEchantillon;
+            r[i] = signalTotal + r[i];
+        }
+    }
 
-            // Ajout du signal total à l'information émise
-            this.informationEmise.add(signalTotal);
+    /**
+     * Indique si les échos de ce bloc doivent être calculés par FFT
+     * @param nbTrajets le nombre de trajets réfléchis
+     * @param tauMax le plus grand retard (en échantillons)
+     * @param N le nombre d'échantillons du bloc
+     * @return true pour la convolution FFT, false pour la boucle directe
+     */
+    private boolean utiliserFFT(int nbTrajets, int tauMax, int N) {
+        switch (modeConvolution) {
+            case FFT:
+                return true;
+            case DIRECTE:
+                return false;
+            default:
+                // la FFT traite au moins un segment entier : inutile sur un bloc plus court que la réponse
+                return N > tauMax
+                        && ConvolutionFFT.coutParEchantillon(tauMax + 1) < COUT_TRAJET_DIRECT * (nbTrajets + 1);
         }
     }
 
+    /**
+     * Construit la réponse impulsionnelle du canal, h[0] portant le trajet
+     * direct, et prépare (ou réutilise) la convolution FFT correspondante
+     * @param taus les retards des trajets (en échantillons)
+     * @param alphas les atténuations des trajets
+     * @param tauMax le plus grand retard
+     * @return la convolution FFT par la réponse du canal
+     */
+    private ConvolutionFFT preparerConvolution(int[] taus, float[] alphas, int tauMax) {
+        float[] h = new float[tauMax + 1];
+        h[0] = 1.0f;
+        for (int k = 0; k < taus.length; k++) {
+            h[taus[k]] += alphas[k];
+        }
+        if (convolution == null || !Arrays.equals(h, reponseImpulsionnelle)) {
+            convolution = new ConvolutionFFT(h);
+            reponseImpulsionnelle = h;
+        }
+        return convolution;
+    }
+
+    /**
+     * Adapte la taille de l'historique au plus grand retard, en gardant
+     * les échantillons les plus récents
+     * @param ancien l'historique actuel
+     * @param taille la nouvelle taille
+     * @return le nouvel historique
+     */
+    private static float[] redimensionnerHistorique(float[] ancien, int taille) {
+        float[] nouveau = new float[taille];
+        int garde = Math.min(ancien.length, taille);
+        System.arraycopy(ancien, ancien.length - garde, nouveau, taille - garde, garde);
+        return nouveau;
+    }
+
+    /**
+     * Remet le canal dans son état de début de message : oublie les échantillons
+     * des blocs précédents, de sorte que l'information suivante ne reçoit aucun
+     * écho d'un message antérieur.
+     */
+    public void reinitialiser() {
+        Arrays.fill(historique, 0.0f);
+        nbEchantillonsTraites = 0;
+    }
+
+    /**
+     * Choisit la méthode de calcul des échos (AUTO par défaut)
+     * @param mode la méthode à utiliser pour les prochaines émissions
+     */
+    public void setModeConvolution(ModeConvolution mode) {
+        this.modeConvolution = mode;
+    }
+
+    /**
+     * Remplace le générateur de bruit gaussien (Ziggurat par défaut)
+     * @param generateur le générateur à utiliser pour les prochaines émissions
+     */
+    public void setGenerateurGaussien(GenerateurGaussien generateur) {
+        this.generateur = generateur;
+    }
+
+    /**
+     * Impose la puissance du signal utilisée pour calculer la variance du bruit,
+     * au lieu de la mesurer sur chaque information reçue (mode bloc par bloc).
+     * @param puissance la puissance du signal, ou {@code null} pour revenir à la mesure
+     */
+    public void setPuissanceSignalImposee(Float puissance) {
+        this.puissanceImposee = puissance;
+    }
+
     /**
      * Émet l'information avec trajets multiples et bruit vers toutes les destinations connectées
      * @throws InformationNonConformeException si un problème survient lors de l'émission
@@ -165,12 +318,7 @@ public class TransmetteurMultiTrajet<E> extends Transmetteur {
     @SuppressWarnings("unchecked")
     public void emettre() throws InformationNonConformeException {
         genererSignalMultiTrajet();
-
-        Iterator<DestinationInterface<E>> it = destinationsConnectees.iterator();
-        while (it.hasNext()) {
-            DestinationInterface<E> destinationConnectee = it.next();
-            destinationConnectee.recevoir(this.informationEmise);
-        }
+        envoyer(this.informationEmise);
     }
 
     /**
@@ -181,6 +329,24 @@ public class TransmetteurMultiTrajet<E> extends Transmetteur {
         return new ArrayList<>(trajets);
     }
 
+    /**
+     * Remplace les trajets réfléchis et le nombre d'échantillons par bit
+     * @param trajets la liste des trajets réfléchis (dt en nombre de bits)
+     * @param nbEch le nombre d'échantillons par bit
+     * @throws IllegalArgumentException si la liste de trajets est vide
+     */
+    public void setTrajets(List<Trajet> trajets, int nbEch) {
+        if (trajets == null || trajets.isEmpty()) {
+            throw new IllegalArgumentException("La liste de trajets ne peut pas être vide");
+        }
+        this.nbEch = nbEch;
+        // Convertir les retards dt (en bits) en échantillons (dt × nbEch)
+        this.trajets = new ArrayList<>();
+        for (Trajet t : trajets) {
+            this.trajets.add(new Trajet(t.getTau() * nbEch, t.getAlpha()));
+        }
+    }
+
     /**
      * Ajoute un nouveau trajet réfléchi
      * @param trajet le trajet à ajouter
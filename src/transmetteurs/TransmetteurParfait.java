@@ -1,6 +1,5 @@
 package transmetteurs;
 
-import java.util.Iterator;
 import destinations.DestinationInterface;
 import information.Information;
 import information.InformationNonConformeException;
@@ -46,11 +45,7 @@ public class TransmetteurParfait<E> extends Transmetteur<E,E> {
     @Override
     public void emettre() throws InformationNonConformeException {
         this.informationEmise = this.informationRecue;
-        Iterator<DestinationInterface<E>> it = destinationsConnectees.iterator();
-        while (it.hasNext()) {
-            DestinationInterface<E> destinationConnectee = it.next();
-            destinationConnectee.recevoir(this.informationEmise);
-        }
+        envoyer(this.informationEmise);
     }
 
     /**
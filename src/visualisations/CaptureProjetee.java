@@ -0,0 +1,220 @@
+package visualisations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import information.Information;
+import information.InformationAnalogique;
+
+/**
+ * Capture d'un signal analogique dans un fichier projeté en mémoire, qui
+ * grandit par segments de {@link #TAILLE_SEGMENT} octets : chaque échantillon
+ * reçu est simplement écrit dans la projection, sans copie dans le tas, et la
+ * capture peut dépasser la taille du tas.
+ * <p>
+ * Le fichier est au format de {@link FichierColonnes} (une colonne float32
+ * {@code valeur}) ; le nombre de lignes de l'en-tête est mis à jour après
+ * chaque ajout, si bien que le fichier peut être relu à tout moment par
+ * {@link LecteurColonnes} (les octets au-delà de la dernière ligne sont nuls).
+ * </p>
+ * <p>
+ * Les courbes relisent la capture par {@link #enveloppe(int)} : minimum et
+ * maximum de chaque colonne de pixels ({@link Enveloppe}), en un seul
+ * parcours de la projection.
+ * </p>
+ */
+public class CaptureProjetee {
+
+    /** taille d'un segment projeté, en octets (multiple de 8) */
+    static final long TAILLE_SEGMENT = 1L << 26;
+
+    /** nombre d'échantillons d'un segment */
+    private static final int ECHANTILLONS_PAR_SEGMENT = (int) (TAILLE_SEGMENT / Float.BYTES);
+
+    /** le fichier de capture */
+    private final Path fichier;
+
+    /** canal du fichier, ouvert pour projeter les nouveaux segments */
+    private FileChannel canal;
+
+    /** projection de l'en-tête, pour mettre à jour le nombre de lignes */
+    private MappedByteBuffer entete;
+
+    /** position des données dans le fichier */
+    private final long debutDonnees;
+
+    /** segments projetés, vus comme des float petit-boutistes */
+    private final List<FloatBuffer> segments = new ArrayList<>();
+
+    /** nombre d'échantillons capturés */
+    private long nbEchantillons = 0;
+
+    /**
+     * crée (ou remplace) un fichier de capture
+     * @param fichier le fichier de capture
+     * @param nom le nom de la sonde
+     * @param nbEch le nombre d'échantillons par symbole, 0 s'il est inconnu
+     * @param forme la forme d'onde, ou null si elle est inconnue
+     * @throws IOException si le fichier ne peut être créé
+     */
+    public CaptureProjetee(Path fichier, String nom, int nbEch, String forme) throws IOException {
+        this.fichier = fichier;
+        ByteBuffer tampon = ByteBuffer.allocate(1 << 13).order(ByteOrder.LITTLE_ENDIAN);
+        FichierColonnes.ecrireEntete(tampon, nom, nbEch, forme, 0,
+                new FichierColonnes.Type[] {FichierColonnes.Type.FLOAT32}, new String[] {"valeur"});
+        tampon.flip();
+        debutDonnees = tampon.limit();
+
+        canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        entete = canal.map(FileChannel.MapMode.READ_WRITE, 0, debutDonnees);
+        entete.order(ByteOrder.LITTLE_ENDIAN).put(tampon);
+    }
+
+    /** @return le fichier de capture */
+    public Path getFichier() { return fichier; }
+
+    /** @return le nombre d'échantillons capturés */
+    public long getNbEchantillons() { return nbEchantillons; }
+
+    /**
+     * ajoute les échantillons d'une information à la fin de la capture
+     * @param information les échantillons à ajouter
+     * @throws IOException si un nouveau segment ne peut être projeté
+     * @throws IllegalStateException si la capture est fermée
+     */
+    public void ajouter(Information<Float> information) throws IOException {
+        verifierOuverte();
+        if (information instanceof InformationAnalogique) {
+            ajouter(((InformationAnalogique) information).valeurs(), 0, information.nbElements());
+        } else {
+            for (float valeur : information) {
+                segmentCourant().put(valeur);
+                nbEchantillons++;
+            }
+            entete.putLong(FichierColonnes.POSITION_NB_LIGNES, nbEchantillons);
+        }
+    }
+
+    /**
+     * ajoute des échantillons à la fin de la capture
+     * @param valeurs les échantillons
+     * @param debut l'indice du premier échantillon à ajouter
+     * @param nb le nombre d'échantillons à ajouter
+     * @throws IOException si un nouveau segment ne peut être projeté
+     * @throws IllegalStateException si la capture est fermée
+     */
+    public void ajouter(float[] valeurs, int debut, int nb) throws IOException {
+        verifierOuverte();
+        for (int i = debut, fin = debut + nb; i < fin; ) {
+            FloatBuffer segment = segmentCourant();
+            int n = Math.min(fin - i, segment.remaining());
+            segment.put(valeurs, i, n);
+            i += n;
+            nbEchantillons += n;
+        }
+        entete.putLong(FichierColonnes.POSITION_NB_LIGNES, nbEchantillons);
+    }
+
+    /**
+     * donne le segment où écrire le prochain échantillon, en projetant un
+     * nouveau segment (ce qui agrandit le fichier) si le dernier est plein
+     * @return le segment courant
+     * @throws IOException si la projection échoue
+     */
+    private FloatBuffer segmentCourant() throws IOException {
+        int dernier = segments.size() - 1;
+        if (dernier >= 0 && segments.get(dernier).hasRemaining()) {
+            return segments.get(dernier);
+        }
+        long position = debutDonnees + segments.size() * TAILLE_SEGMENT;
+        MappedByteBuffer projection = canal.map(FileChannel.MapMode.READ_WRITE, position, TAILLE_SEGMENT);
+        FloatBuffer segment = projection.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * vérifie que la capture n'est pas fermée
+     * @throws IllegalStateException si la capture est fermée
+     */
+    private void verifierOuverte() {
+        if (canal == null) {
+            throw new IllegalStateException("Capture fermée : " + fichier);
+        }
+    }
+
+    /**
+     * lit un échantillon capturé
+     * @param indice l'indice de l'échantillon
+     * @return sa valeur
+     * @throws IndexOutOfBoundsException si l'échantillon n'a pas été capturé
+     * @throws IllegalStateException si la capture est fermée
+     */
+    public float lire(long indice) {
+        verifierOuverte();
+        if (indice < 0 || indice >= nbEchantillons) {
+            throw new IndexOutOfBoundsException("Échantillon " + indice + " hors de [0, " + nbEchantillons + "[");
+        }
+        return segments.get((int) (indice / ECHANTILLONS_PAR_SEGMENT)).get((int) (indice % ECHANTILLONS_PAR_SEGMENT));
+    }
+
+    /**
+     * calcule l'enveloppe de la capture, en un parcours des segments projetés
+     * @param nbColonnes le nombre de colonnes (pixels en largeur)
+     * @return l'enveloppe, d'une colonne par échantillon s'il y a moins
+     *         d'échantillons que de colonnes
+     * @throws IllegalStateException si la capture est fermée
+     */
+    public Enveloppe enveloppe(int nbColonnes) {
+        verifierOuverte();
+        int nb = (int) Math.min(nbColonnes, nbEchantillons);
+        Enveloppe enveloppe = new Enveloppe(nb);
+        long indice = 0;
+        for (int c = 0; c < nb; c++) {
+            long fin = Enveloppe.finColonne(c, nbEchantillons, nb);
+            float premier = lire(indice);
+            float min = premier;
+            float max = premier;
+            while (indice < fin) {
+                FloatBuffer segment = segments.get((int) (indice / ECHANTILLONS_PAR_SEGMENT));
+                int i = (int) (indice % ECHANTILLONS_PAR_SEGMENT);
+                int n = (int) Math.min(fin - indice, ECHANTILLONS_PAR_SEGMENT - i);
+                for (int k = i; k < i + n; k++) {
+                    float v = segment.get(k);
+                    min = Math.min(min, v);
+                    max = Math.max(max, v);
+                }
+                indice += n;
+            }
+            enveloppe.colonne(c, min, max, premier, lire(fin - 1));
+        }
+        return enveloppe;
+    }
+
+    /**
+     * termine la capture : le fichier est ramené à la taille exacte de ses
+     * données (relisible par {@link LecteurColonnes}) et la capture ne peut
+     * plus être ni complétée ni lue
+     * @throws IOException si le fichier ne peut être tronqué
+     */
+    public void fermer() throws IOException {
+        if (canal == null) {
+            return;
+        }
+        segments.clear();
+        entete = null;
+        long taille = debutDonnees + ((nbEchantillons * Float.BYTES + 7) & ~7L);
+        canal.truncate(taille);
+        canal.close();
+        canal = null;
+    }
+}
@@ -0,0 +1,192 @@
+package visualisations;
+
+/**
+ * Enveloppe d'une courbe réduite à un nombre fixe de colonnes (une par pixel
+ * en largeur) : pour chaque colonne, le minimum et le maximum des valeurs
+ * qu'elle couvre, ainsi que sa première et sa dernière valeur pour relier
+ * les colonnes entre elles.
+ * <p>
+ * Avec n valeurs et k colonnes, la colonne c couvre les valeurs d'indice
+ * {@code [c * n / k, (c + 1) * n / k[}, et au moins la valeur {@code c * n / k} :
+ * avec moins de valeurs que de colonnes, une valeur s'étend sur plusieurs
+ * colonnes (tracé en escalier des courbes logiques). Une colonne par valeur
+ * redonne exactement la courbe point par point.
+ * </p>
+ * <p>
+ * La mémoire et le temps de tracé ne dépendent ainsi que du nombre de colonnes,
+ * et les pics isolés restent visibles quel que soit le nombre de valeurs.
+ * </p>
+ */
+public final class Enveloppe {
+
+    /** minimum de chaque colonne */
+    private final float[] min;
+
+    /** maximum de chaque colonne */
+    private final float[] max;
+
+    /** première valeur de chaque colonne */
+    private final float[] premier;
+
+    /** dernière valeur de chaque colonne */
+    private final float[] dernier;
+
+    /** true pour une courbe logique, tracée entre 0 et 1 */
+    private final boolean logique;
+
+    /**
+     * construit une enveloppe vide, remplie par {@link #colonne}
+     * @param nbColonnes le nombre de colonnes
+     */
+    Enveloppe(int nbColonnes) {
+        this(nbColonnes, false);
+    }
+
+    /**
+     * construit une enveloppe vide, remplie par {@link #colonne}
+     * @param nbColonnes le nombre de colonnes
+     * @param logique true pour une courbe logique
+     */
+    private Enveloppe(int nbColonnes, boolean logique) {
+        this.logique = logique;
+        min = new float[nbColonnes];
+        max = new float[nbColonnes];
+        premier = new float[nbColonnes];
+        dernier = new float[nbColonnes];
+    }
+
+    /**
+     * calcule l'enveloppe de valeurs flottantes
+     * @param valeurs les valeurs
+     * @param nbColonnes le nombre de colonnes (&gt; 0)
+     * @return l'enveloppe, de nbColonnes colonnes (aucune s'il n'y a pas de valeur)
+     */
+    public static Enveloppe de(float[] valeurs, int nbColonnes) {
+        int n = valeurs.length;
+        int k = (n == 0) ? 0 : nbColonnes;
+        Enveloppe enveloppe = new Enveloppe(k);
+        for (int c = 0; c < k; c++) {
+            int debut = (int) debutColonne(c, n, k);
+            int fin = (int) finColonne(c, n, k);
+            float mini = valeurs[debut];
+            float maxi = mini;
+            for (int i = debut + 1; i < fin; i++) {
+                mini = Math.min(mini, valeurs[i]);
+                maxi = Math.max(maxi, valeurs[i]);
+            }
+            enveloppe.colonne(c, mini, maxi, valeurs[debut], valeurs[fin - 1]);
+        }
+        return enveloppe;
+    }
+
+    /**
+     * calcule l'enveloppe de valeurs booléennes (true vaut 1, false vaut 0)
+     * @param valeurs les valeurs
+     * @param nbColonnes le nombre de colonnes (&gt; 0)
+     * @return l'enveloppe, de nbColonnes colonnes (aucune s'il n'y a pas de valeur)
+     */
+    public static Enveloppe de(boolean[] valeurs, int nbColonnes) {
+        int n = valeurs.length;
+        int k = (n == 0) ? 0 : nbColonnes;
+        Enveloppe enveloppe = new Enveloppe(k, true);
+        for (int c = 0; c < k; c++) {
+            int debut = (int) debutColonne(c, n, k);
+            int fin = (int) finColonne(c, n, k);
+            boolean unVrai = false;
+            boolean unFaux = false;
+            for (int i = debut; i < fin && !(unVrai && unFaux); i++) {
+                unVrai |= valeurs[i];
+                unFaux |= !valeurs[i];
+            }
+            enveloppe.colonne(c, unFaux ? 0f : 1f, unVrai ? 1f : 0f,
+                    valeurs[debut] ? 1f : 0f, valeurs[fin - 1] ? 1f : 0f);
+        }
+        return enveloppe;
+    }
+
+    /**
+     * @param c l'indice de la colonne
+     * @param n le nombre de valeurs
+     * @param k le nombre de colonnes
+     * @return l'indice de la première valeur de la colonne
+     */
+    static long debutColonne(int c, long n, int k) {
+        return c * n / k;
+    }
+
+    /**
+     * @param c l'indice de la colonne
+     * @param n le nombre de valeurs
+     * @param k le nombre de colonnes
+     * @return l'indice suivant la dernière valeur de la colonne (au moins une valeur)
+     */
+    static long finColonne(int c, long n, int k) {
+        return Math.max((c + 1) * n / k, debutColonne(c, n, k) + 1);
+    }
+
+    /**
+     * fixe les valeurs d'une colonne
+     * @param c l'indice de la colonne
+     * @param mini le minimum
+     * @param maxi le maximum
+     * @param prem la première valeur
+     * @param dern la dernière valeur
+     */
+    void colonne(int c, float mini, float maxi, float prem, float dern) {
+        min[c] = mini;
+        max[c] = maxi;
+        premier[c] = prem;
+        dernier[c] = dern;
+    }
+
+    /** @return le nombre de colonnes */
+    public int getNbColonnes() { return min.length; }
+
+    /** @return le bas de l'étendue verticale du tracé : 0 pour une courbe logique, sinon le minimum s'il est négatif */
+    public float getYMin() {
+        if (logique) {
+            return 0;
+        }
+        float y = 0;
+        for (int c = 0; c < min.length; c++) {
+            y = Math.min(y, min[c]);
+        }
+        return y;
+    }
+
+    /** @return le haut de l'étendue verticale du tracé : 1 pour une courbe logique, sinon le maximum s'il est positif */
+    public float getYMax() {
+        if (logique) {
+            return 1;
+        }
+        float y = 0;
+        for (int c = 0; c < max.length; c++) {
+            y = Math.max(y, max[c]);
+        }
+        return y;
+    }
+
+    /**
+     * @param c l'indice de la colonne
+     * @return le minimum de la colonne
+     */
+    public float getMin(int c) { return min[c]; }
+
+    /**
+     * @param c l'indice de la colonne
+     * @return le maximum de la colonne
+     */
+    public float getMax(int c) { return max[c]; }
+
+    /**
+     * @param c l'indice de la colonne
+     * @return la première valeur de la colonne
+     */
+    public float getPremier(int c) { return premier[c]; }
+
+    /**
+     * @param c l'indice de la colonne
+     * @return la dernière valeur de la colonne
+     */
+    public float getDernier(int c) { return dernier[c]; }
+}
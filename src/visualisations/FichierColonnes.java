@@ -0,0 +1,373 @@
+package visualisations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Écriture d'un fichier binaire en colonnes, alternative au CSV pour les
+ * sondes et les courbes de TEB.
+ * <p>
+ * Toutes les valeurs sont en petit-boutiste (little-endian). Le fichier
+ * commence par un en-tête :
+ * </p>
+ * <ul>
+ *   <li>les 4 octets {@code TSCB}, puis la version (short, {@link #VERSION}) ;</li>
+ *   <li>le nombre de colonnes (short) et le nombre de lignes (long) ;</li>
+ *   <li>le nombre d'échantillons par symbole (int, 0 s'il est inconnu) ;</li>
+ *   <li>le nom de la sonde puis la forme d'onde, chacun en UTF-8 précédé de sa longueur (short) ;</li>
+ *   <li>pour chaque colonne, son type (octet, code de {@link Type}) et son nom (UTF-8 précédé de sa longueur).</li>
+ * </ul>
+ * <p>
+ * L'en-tête est complété par des zéros jusqu'à un multiple de 8 octets, puis
+ * les colonnes se suivent, chacune complétée de même : float32, float64 ou
+ * int64 à raison d'une valeur par ligne, ou bits groupés par mots de 64
+ * (ligne i dans le bit {@code i % 64} du mot {@code i / 64}, comme dans
+ * {@link information.InformationBinaire}). Chaque valeur est ainsi alignée
+ * sur sa taille, ce qui permet de la relire directement dans une projection
+ * en mémoire du fichier ({@link LecteurColonnes}).
+ * </p>
+ */
+public final class FichierColonnes {
+
+    /** les 4 octets en tête de chaque fichier */
+    static final byte[] MAGIQUE = {'T', 'S', 'C', 'B'};
+
+    /** version du format */
+    static final short VERSION = 1;
+
+    /** position du nombre de lignes dans l'en-tête */
+    static final int POSITION_NB_LIGNES = 8;
+
+    /** taille du tampon d'écriture, en octets */
+    private static final int TAILLE_TAMPON = 1 << 20;
+
+    /** nombre maximal de colonnes, pour que l'en-tête tienne dans le tampon */
+    private static final int NB_COLONNES_MAX = 255;
+
+    /** longueur maximale d'un nom, en octets UTF-8 */
+    private static final int TAILLE_NOM_MAX = 1024;
+
+    /** type des valeurs d'une colonne */
+    public enum Type {
+        /** flottant 32 bits */
+        FLOAT32(1),
+        /** flottant 64 bits */
+        FLOAT64(2),
+        /** entier 64 bits */
+        INT64(3),
+        /** bits groupés par mots de 64 bits */
+        BITS(4);
+
+        /** code du type dans l'en-tête */
+        final byte code;
+
+        /**
+         * @param code code du type dans l'en-tête
+         */
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        /**
+         * donne la taille d'une colonne de ce type, remplissage compris
+         * @param nbLignes le nombre de lignes
+         * @return la taille en octets, multiple de 8
+         */
+        long taille(long nbLignes) {
+            switch (this) {
+                case FLOAT32:
+                    return ((nbLignes + 1) / 2) * 8;
+                case BITS:
+                    return ((nbLignes + 63) / 64) * 8;
+                default:
+                    return nbLignes * 8;
+            }
+        }
+
+        /**
+         * retrouve un type à partir de son code
+         * @param code le code lu dans l'en-tête
+         * @return le type, ou null si le code est inconnu
+         */
+        static Type deCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Une colonne à écrire : son nom, son type et ses valeurs
+     */
+    public static final class Colonne {
+
+        /** nom de la colonne */
+        private final String nom;
+
+        /** type des valeurs */
+        private final Type type;
+
+        /** nombre de lignes */
+        private final long nbLignes;
+
+        /** valeurs : float[], double[] ou long[] (mots de 64 bits pour le type BITS) */
+        private final Object valeurs;
+
+        /**
+         * @param nom nom de la colonne
+         * @param type type des valeurs
+         * @param nbLignes nombre de lignes
+         * @param valeurs tableau des valeurs
+         */
+        private Colonne(String nom, Type type, long nbLignes, Object valeurs) {
+            this.nom = nom;
+            this.type = type;
+            this.nbLignes = nbLignes;
+            this.valeurs = valeurs;
+        }
+
+        /**
+         * @param nom nom de la colonne
+         * @param valeurs valeurs écrites en float32
+         * @return la colonne
+         */
+        public static Colonne de(String nom, float[] valeurs) {
+            return new Colonne(nom, Type.FLOAT32, valeurs.length, valeurs);
+        }
+
+        /**
+         * @param nom nom de la colonne
+         * @param valeurs valeurs écrites en float64
+         * @return la colonne
+         */
+        public static Colonne de(String nom, double[] valeurs) {
+            return new Colonne(nom, Type.FLOAT64, valeurs.length, valeurs);
+        }
+
+        /**
+         * @param nom nom de la colonne
+         * @param valeurs valeurs écrites en int64
+         * @return la colonne
+         */
+        public static Colonne de(String nom, long[] valeurs) {
+            return new Colonne(nom, Type.INT64, valeurs.length, valeurs);
+        }
+
+        /**
+         * @param nom nom de la colonne
+         * @param valeurs valeurs booléennes, groupées par mots de 64 bits
+         * @return la colonne
+         */
+        public static Colonne bits(String nom, boolean[] valeurs) {
+            long[] mots = new long[(valeurs.length + 63) / 64];
+            for (int i = 0; i < valeurs.length; i++) {
+                mots[i >>> 6] |= (valeurs[i] ? 1L : 0L) << i;
+            }
+            return new Colonne(nom, Type.BITS, valeurs.length, mots);
+        }
+
+        /**
+         * @param nom nom de la colonne
+         * @param mots bits déjà groupés (premier bit en bit 0 du premier mot),
+         *             comme dans {@link information.InformationBinaire#mots()}
+         * @param nbBits nombre de bits utiles
+         * @return la colonne
+         * @throws IllegalArgumentException si les mots ne contiennent pas nbBits bits
+         */
+        public static Colonne bits(String nom, long[] mots, long nbBits) {
+            if (nbBits < 0 || (nbBits + 63) / 64 > mots.length) {
+                throw new IllegalArgumentException("Pas assez de mots pour " + nbBits + " bits");
+            }
+            return new Colonne(nom, Type.BITS, nbBits, mots);
+        }
+    }
+
+    /**
+     * classe utilitaire, non instanciable
+     */
+    private FichierColonnes() {}
+
+    /**
+     * Écrit un fichier en colonnes, par blocs de {@link #TAILLE_TAMPON} octets
+     * @param fichier le fichier (remplacé s'il existe)
+     * @param nom le nom de la sonde ou de la courbe
+     * @param nbEch le nombre d'échantillons par symbole, 0 s'il est inconnu
+     * @param forme la forme d'onde, ou null si elle est inconnue
+     * @param colonnes les colonnes, toutes de même nombre de lignes
+     * @throws IOException si l'écriture échoue
+     * @throws IllegalArgumentException si les colonnes n'ont pas le même nombre de lignes
+     *         ou si un nom est trop long
+     */
+    public static void ecrire(Path fichier, String nom, int nbEch, String forme, Colonne... colonnes) throws IOException {
+        long nbLignes = colonnes.length == 0 ? 0 : colonnes[0].nbLignes;
+        for (Colonne colonne : colonnes) {
+            if (colonne.nbLignes != nbLignes) {
+                throw new IllegalArgumentException("Colonne " + colonne.nom + " : " + colonne.nbLignes
+                        + " lignes au lieu de " + nbLignes);
+            }
+        }
+
+        ByteBuffer tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Type[] types = new Type[colonnes.length];
+            String[] noms = new String[colonnes.length];
+            for (int c = 0; c < colonnes.length; c++) {
+                types[c] = colonnes[c].type;
+                noms[c] = colonnes[c].nom;
+            }
+            ecrireEntete(tampon, nom, nbEch, forme, nbLignes, types, noms);
+
+            for (Colonne colonne : colonnes) {
+                switch (colonne.type) {
+                    case FLOAT32:
+                        ecrireFloats(canal, tampon, (float[]) colonne.valeurs);
+                        break;
+                    case FLOAT64:
+                        ecrireDoubles(canal, tampon, (double[]) colonne.valeurs);
+                        break;
+                    case INT64:
+                        ecrireLongs(canal, tampon, (long[]) colonne.valeurs, colonne.nbLignes);
+                        break;
+                    default:
+                        ecrireLongs(canal, tampon, (long[]) colonne.valeurs, (colonne.nbLignes + 63) / 64);
+                        break;
+                }
+                completer(tampon);
+            }
+            vider(canal, tampon);
+        }
+    }
+
+    /**
+     * écrit l'en-tête, complété jusqu'à un multiple de 8 octets
+     * @param tampon le tampon d'écriture, petit-boutiste
+     * @param nom le nom de la sonde ou de la courbe
+     * @param nbEch le nombre d'échantillons par symbole, 0 s'il est inconnu
+     * @param forme la forme d'onde, ou null si elle est inconnue
+     * @param nbLignes le nombre de lignes
+     * @param types les types des colonnes
+     * @param noms les noms des colonnes
+     * @throws IllegalArgumentException s'il y a trop de colonnes ou si un nom est trop long
+     */
+    static void ecrireEntete(ByteBuffer tampon, String nom, int nbEch, String forme, long nbLignes,
+                             Type[] types, String[] noms) {
+        if (types.length > NB_COLONNES_MAX) {
+            throw new IllegalArgumentException("Trop de colonnes : " + types.length);
+        }
+        tampon.put(MAGIQUE).putShort(VERSION);
+        tampon.putShort((short) types.length).putLong(nbLignes).putInt(nbEch);
+        ecrireTexte(tampon, nom);
+        ecrireTexte(tampon, forme == null ? "" : forme);
+        for (int c = 0; c < types.length; c++) {
+            tampon.put(types[c].code);
+            ecrireTexte(tampon, noms[c]);
+        }
+        completer(tampon);
+    }
+
+    /**
+     * écrit une chaîne en UTF-8 précédée de sa longueur
+     * @param tampon le tampon d'écriture (l'en-tête y tient entièrement)
+     * @param texte la chaîne
+     * @throws IllegalArgumentException si la chaîne est trop longue
+     */
+    private static void ecrireTexte(ByteBuffer tampon, String texte) {
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        if (octets.length > TAILLE_NOM_MAX) {
+            throw new IllegalArgumentException("Nom trop long : " + texte);
+        }
+        tampon.putShort((short) octets.length).put(octets);
+    }
+
+    /**
+     * complète le tampon par des zéros jusqu'à un multiple de 8 octets ; le
+     * tampon étant vidé par multiples de 8, c'est aussi l'alignement dans le fichier
+     * @param tampon le tampon d'écriture
+     */
+    private static void completer(ByteBuffer tampon) {
+        while ((tampon.position() & 7) != 0) {
+            tampon.put((byte) 0);
+        }
+    }
+
+    /**
+     * écrit des float32 par blocs
+     * @param canal le fichier
+     * @param tampon le tampon d'écriture
+     * @param valeurs les valeurs
+     * @throws IOException si l'écriture échoue
+     */
+    private static void ecrireFloats(FileChannel canal, ByteBuffer tampon, float[] valeurs) throws IOException {
+        for (int i = 0; i < valeurs.length; ) {
+            int n = Math.min(valeurs.length - i, tampon.remaining() / Float.BYTES);
+            tampon.asFloatBuffer().put(valeurs, i, n);
+            tampon.position(tampon.position() + n * Float.BYTES);
+            i += n;
+            if (!tampon.hasRemaining()) {
+                vider(canal, tampon);
+            }
+        }
+    }
+
+    /**
+     * écrit des float64 par blocs
+     * @param canal le fichier
+     * @param tampon le tampon d'écriture
+     * @param valeurs les valeurs
+     * @throws IOException si l'écriture échoue
+     */
+    private static void ecrireDoubles(FileChannel canal, ByteBuffer tampon, double[] valeurs) throws IOException {
+        for (int i = 0; i < valeurs.length; ) {
+            int n = Math.min(valeurs.length - i, tampon.remaining() / Double.BYTES);
+            tampon.asDoubleBuffer().put(valeurs, i, n);
+            tampon.position(tampon.position() + n * Double.BYTES);
+            i += n;
+            if (!tampon.hasRemaining()) {
+                vider(canal, tampon);
+            }
+        }
+    }
+
+    /**
+     * écrit des int64 par blocs
+     * @param canal le fichier
+     * @param tampon le tampon d'écriture
+     * @param valeurs les valeurs
+     * @param nb le nombre de valeurs à écrire
+     * @throws IOException si l'écriture échoue
+     */
+    private static void ecrireLongs(FileChannel canal, ByteBuffer tampon, long[] valeurs, long nb) throws IOException {
+        for (int i = 0; i < nb; ) {
+            int n = (int) Math.min(nb - i, tampon.remaining() / Long.BYTES);
+            tampon.asLongBuffer().put(valeurs, i, n);
+            tampon.position(tampon.position() + n * Long.BYTES);
+            i += n;
+            if (!tampon.hasRemaining()) {
+                vider(canal, tampon);
+            }
+        }
+    }
+
+    /**
+     * écrit le contenu du tampon dans le fichier et le vide
+     * @param canal le fichier
+     * @param tampon le tampon d'écriture
+     * @throws IOException si l'écriture échoue
+     */
+    private static void vider(FileChannel canal, ByteBuffer tampon) throws IOException {
+        tampon.flip();
+        while (tampon.hasRemaining()) {
+            canal.write(tampon);
+        }
+        tampon.clear();
+    }
+}
@@ -0,0 +1,53 @@
+package visualisations;
+
+/**
+ * Format des fichiers exportés par les sondes et par l'analyse du TEB.
+ * <p>
+ * Le CSV (une ligne texte par valeur) reste lisible directement mais devient
+ * très lent au-delà de quelques centaines de milliers de lignes ; le format
+ * binaire en colonnes ({@link FichierColonnes}) s'écrit par grands blocs et se
+ * relit par projection en mémoire ({@link LecteurColonnes}).
+ * </p>
+ */
+public enum FormatExport {
+
+    /** fichiers {@code .csv}, une ligne {@code index,valeur} par élément */
+    CSV,
+
+    /** fichiers {@code .bin} au format de {@link FichierColonnes} */
+    BINAIRE,
+
+    /** CSV jusqu'à {@link #SEUIL_CSV} lignes, binaire au-delà */
+    AUTO;
+
+    /** nombre maximal de lignes exportées en CSV par le format {@link #AUTO} */
+    public static final long SEUIL_CSV = 1 << 16;
+
+    /**
+     * indique si un export de nbLignes lignes doit être binaire
+     * @param nbLignes le nombre de lignes (valeurs) à exporter
+     * @return true pour le format binaire, false pour le CSV
+     */
+    public boolean estBinaire(long nbLignes) {
+        return this == BINAIRE || (this == AUTO && nbLignes > SEUIL_CSV);
+    }
+
+    /**
+     * convertit la valeur de l'option -export
+     * @param valeur csv, bin ou auto
+     * @return le format correspondant
+     * @throws IllegalArgumentException si la valeur est inconnue
+     */
+    public static FormatExport depuisOption(String valeur) {
+        switch (valeur.toLowerCase()) {
+            case "csv":
+                return CSV;
+            case "bin":
+                return BINAIRE;
+            case "auto":
+                return AUTO;
+            default:
+                throw new IllegalArgumentException("Format d'export inconnu : " + valeur);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package visualisations;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import javax.imageio.ImageIO;
+
+/**
+ * Rendu hors écran des courbes dans des fichiers PNG, pour les exécutions
+ * sans écran (nœuds de calcul, balayages en lot).
+ * <p>
+ * Les courbes sont tracées par le même code que les fenêtres
+ * ({@link VueCourbe#tracer}) dans une {@link BufferedImage} de même taille.
+ * Le calcul de l'enveloppe, le tracé et l'écriture du fichier se font sur un
+ * thread de rendu, en parallèle de la simulation : les tableaux transmis ne
+ * doivent plus être modifiés par l'appelant. {@link #attendre()} attend la
+ * fin des rendus en cours, avant la fin du programme.
+ * </p>
+ */
+public final class ImageCourbe {
+
+    /** hauteur des images, celle des fenêtres de courbe */
+    public static final int HAUTEUR = 200;
+
+    /**
+     * largeur minimale des images : à l'écran, le gestionnaire de fenêtres
+     * élargit les fenêtres trop étroites, hors écran c'est à faire ici (courbes
+     * de TEB de quelques points)
+     */
+    public static final int LARGEUR_MIN = 300;
+
+    /** hauteur réservée au titre, au-dessus de la zone de dessin */
+    private static final int HAUTEUR_TITRE = 16;
+
+    /** thread de rendu, créé au premier rendu */
+    private static ExecutorService rendus = null;
+
+    /** rendus soumis et pas encore attendus */
+    private static final List<Future<?>> enCours = new ArrayList<>();
+
+    /**
+     * classe utilitaire, non instanciable
+     */
+    private ImageCourbe() {}
+
+    /**
+     * indique si les courbes doivent être rendues dans des fichiers PNG
+     * plutôt qu'affichées dans des fenêtres
+     * @return true si l'environnement est sans écran
+     */
+    public static boolean isHorsEcran() {
+        return GraphicsEnvironment.isHeadless();
+    }
+
+    /**
+     * rend une courbe de valeurs flottantes, comme {@link VueCourbe#VueCourbe(float[], String)}
+     * @param valeurs les valeurs, qui ne doivent plus être modifiées
+     * @param titre le titre de la courbe
+     * @param fichier le fichier PNG à écrire
+     */
+    public static void ecrire(float[] valeurs, String titre, Path fichier) {
+        soumettre(() -> Enveloppe.de(valeurs, VueCourbe.nbColonnes(valeurs.length)),
+                VueCourbe.largeur(valeurs.length, 1), titre, fichier);
+    }
+
+    /**
+     * rend une courbe de valeurs booléennes, comme {@link VueCourbe#VueCourbe(boolean[], int, String)}
+     * @param valeurs les valeurs, qui ne doivent plus être modifiées
+     * @param nbPixels largeur en pixels d'une valeur
+     * @param titre le titre de la courbe
+     * @param fichier le fichier PNG à écrire
+     */
+    public static void ecrire(boolean[] valeurs, int nbPixels, String titre, Path fichier) {
+        soumettre(() -> Enveloppe.de(valeurs, VueCourbe.nbColonnes(valeurs.length, nbPixels)),
+                VueCourbe.largeur(valeurs.length, nbPixels), titre, fichier);
+    }
+
+    /**
+     * rend une courbe déjà réduite à son enveloppe
+     * @param enveloppe l'enveloppe de la courbe
+     * @param titre le titre de la courbe
+     * @param fichier le fichier PNG à écrire
+     */
+    public static void ecrire(Enveloppe enveloppe, String titre, Path fichier) {
+        soumettre(() -> enveloppe, VueCourbe.largeur(enveloppe.getNbColonnes(), 1), titre, fichier);
+    }
+
+    /**
+     * trace une courbe dans une image : fond blanc, titre, puis axes et
+     * courbe tracés comme dans une fenêtre
+     * @param enveloppe l'enveloppe de la courbe
+     * @param titre le titre de la courbe
+     * @param largeur la largeur de l'image
+     * @return l'image
+     */
+    public static BufferedImage dessiner(Enveloppe enveloppe, String titre, int largeur) {
+        BufferedImage image = new BufferedImage(largeur, HAUTEUR, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.white);
+            g.fillRect(0, 0, largeur, HAUTEUR);
+            g.setColor(Color.black);
+            g.drawString(titre, 20, HAUTEUR_TITRE - 4);
+            g.translate(0, HAUTEUR_TITRE);
+            VueCourbe.tracer(g, largeur, HAUTEUR - HAUTEUR_TITRE, enveloppe);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * attend la fin de tous les rendus soumis ; une erreur de rendu est
+     * signalée sur la sortie d'erreur
+     */
+    public static void attendre() {
+        List<Future<?>> rendusAttendus;
+        synchronized (enCours) {
+            rendusAttendus = new ArrayList<>(enCours);
+            enCours.clear();
+        }
+        for (Future<?> rendu : rendusAttendus) {
+            try {
+                rendu.get();
+            } catch (ExecutionException e) {
+                System.err.println("Erreur lors du rendu d'une courbe : " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * soumet le rendu d'une courbe au thread de rendu
+     * @param enveloppe calcul de l'enveloppe, fait sur le thread de rendu
+     * @param largeur la largeur de la fenêtre équivalente, portée à {@link #LARGEUR_MIN}
+     * @param titre le titre de la courbe
+     * @param fichier le fichier PNG à écrire
+     */
+    private static void soumettre(Supplier<Enveloppe> enveloppe, int largeur, String titre, Path fichier) {
+        synchronized (enCours) {
+            if (rendus == null) {
+                rendus = Executors.newSingleThreadExecutor(tache -> {
+                    Thread thread = new Thread(tache, "rendu-courbes");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            int largeurImage = Math.max(largeur, LARGEUR_MIN);
+            enCours.add(rendus.submit(() -> {
+                BufferedImage image = dessiner(enveloppe.get(), titre, largeurImage);
+                if (!ImageIO.write(image, "png", fichier.toFile())) {
+                    throw new IOException("Pas d'encodeur PNG pour " + fichier);
+                }
+                return null;
+            }));
+        }
+    }
+}
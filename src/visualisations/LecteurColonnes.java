@@ -0,0 +1,264 @@
+package visualisations;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lecture d'un fichier écrit par {@link FichierColonnes}, par projection en
+ * mémoire : seuls l'en-tête et les pages effectivement lues sont chargés.
+ * <p>
+ * Le fichier est projeté par segments de {@link #TAILLE_SEGMENT} octets (une
+ * projection est limitée à 2 Go) ; les valeurs étant alignées sur leur taille,
+ * aucune ne chevauche deux segments.
+ * </p>
+ */
+public class LecteurColonnes {
+
+    /** taille d'un segment projeté, multiple de 8 */
+    private static final long TAILLE_SEGMENT = 1L << 30;
+
+    /** segments projetés du fichier */
+    private final MappedByteBuffer[] segments;
+
+    /** nom de la sonde ou de la courbe */
+    private final String nom;
+
+    /** nombre d'échantillons par symbole, 0 s'il est inconnu */
+    private final int nbEch;
+
+    /** forme d'onde, vide si elle est inconnue */
+    private final String forme;
+
+    /** nombre de lignes de chaque colonne */
+    private final long nbLignes;
+
+    /** noms des colonnes */
+    private final String[] noms;
+
+    /** types des colonnes */
+    private final FichierColonnes.Type[] types;
+
+    /** position de chaque colonne dans le fichier */
+    private final long[] debuts;
+
+    /**
+     * projette un fichier et lit son en-tête
+     * @param fichier le fichier à lire
+     * @throws IOException si le fichier ne peut être lu ou n'est pas au format attendu
+     */
+    public LecteurColonnes(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            segments = new MappedByteBuffer[(int) ((taille + TAILLE_SEGMENT - 1) / TAILLE_SEGMENT)];
+            for (int s = 0; s < segments.length; s++) {
+                long debut = s * TAILLE_SEGMENT;
+                segments[s] = canal.map(FileChannel.MapMode.READ_ONLY, debut, Math.min(TAILLE_SEGMENT, taille - debut));
+                segments[s].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        if (segments.length == 0) {
+            throw new IOException(fichier + " : fichier vide");
+        }
+
+        ByteBuffer entete = segments[0].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            byte[] magique = new byte[FichierColonnes.MAGIQUE.length];
+            entete.get(magique);
+            if (!Arrays.equals(magique, FichierColonnes.MAGIQUE)) {
+                throw new IOException(fichier + " : ce n'est pas un fichier en colonnes");
+            }
+            short version = entete.getShort();
+            if (version != FichierColonnes.VERSION) {
+                throw new IOException(fichier + " : version " + version + " non prise en charge");
+            }
+            int nbColonnes = entete.getShort() & 0xFFFF;
+            nbLignes = entete.getLong();
+            nbEch = entete.getInt();
+            nom = lireTexte(entete);
+            forme = lireTexte(entete);
+            noms = new String[nbColonnes];
+            types = new FichierColonnes.Type[nbColonnes];
+            for (int c = 0; c < nbColonnes; c++) {
+                byte code = entete.get();
+                types[c] = FichierColonnes.Type.deCode(code);
+                if (types[c] == null) {
+                    throw new IOException(fichier + " : type de colonne inconnu " + code);
+                }
+                noms[c] = lireTexte(entete);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException(fichier + " : en-tête tronqué");
+        }
+
+        debuts = new long[noms.length];
+        long position = (entete.position() + 7) & ~7L;
+        for (int c = 0; c < noms.length; c++) {
+            debuts[c] = position;
+            position += types[c].taille(nbLignes);
+        }
+        if (position > taille()) {
+            throw new IOException(fichier + " : fichier tronqué (" + taille() + " octets au lieu de " + position + ")");
+        }
+    }
+
+    /**
+     * lit une chaîne UTF-8 précédée de sa longueur
+     * @param entete l'en-tête
+     * @return la chaîne
+     */
+    private static String lireTexte(ByteBuffer entete) {
+        byte[] octets = new byte[entete.getShort() & 0xFFFF];
+        entete.get(octets);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    /** @return la taille totale projetée, en octets */
+    private long taille() {
+        return (segments.length - 1) * TAILLE_SEGMENT + segments[segments.length - 1].capacity();
+    }
+
+    /** @return le nom de la sonde ou de la courbe */
+    public String getNom() { return nom; }
+
+    /** @return le nombre d'échantillons par symbole, 0 s'il est inconnu */
+    public int getNbEch() { return nbEch; }
+
+    /** @return la forme d'onde, vide si elle est inconnue */
+    public String getForme() { return forme; }
+
+    /** @return le nombre de lignes */
+    public long getNbLignes() { return nbLignes; }
+
+    /** @return le nombre de colonnes */
+    public int getNbColonnes() { return noms.length; }
+
+    /**
+     * @param colonne l'indice de la colonne
+     * @return le nom de la colonne
+     */
+    public String getNomColonne(int colonne) { return noms[colonne]; }
+
+    /**
+     * @param colonne l'indice de la colonne
+     * @return le type de la colonne
+     */
+    public FichierColonnes.Type getType(int colonne) { return types[colonne]; }
+
+    /**
+     * donne l'indice d'une colonne à partir de son nom
+     * @param nomColonne le nom de la colonne
+     * @return l'indice de la colonne
+     * @throws IllegalArgumentException si aucune colonne ne porte ce nom
+     */
+    public int indiceColonne(String nomColonne) {
+        for (int c = 0; c < noms.length; c++) {
+            if (noms[c].equals(nomColonne)) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException("Colonne inconnue : " + nomColonne);
+    }
+
+    /**
+     * @param colonne l'indice d'une colonne float32
+     * @param ligne le numéro de ligne
+     * @return la valeur
+     */
+    public float lireFloat(int colonne, long ligne) {
+        long position = position(colonne, FichierColonnes.Type.FLOAT32, ligne, ligne * Float.BYTES);
+        return segments[(int) (position / TAILLE_SEGMENT)].getFloat((int) (position % TAILLE_SEGMENT));
+    }
+
+    /**
+     * @param colonne l'indice d'une colonne float64
+     * @param ligne le numéro de ligne
+     * @return la valeur
+     */
+    public double lireDouble(int colonne, long ligne) {
+        long position = position(colonne, FichierColonnes.Type.FLOAT64, ligne, ligne * Double.BYTES);
+        return segments[(int) (position / TAILLE_SEGMENT)].getDouble((int) (position % TAILLE_SEGMENT));
+    }
+
+    /**
+     * @param colonne l'indice d'une colonne int64
+     * @param ligne le numéro de ligne
+     * @return la valeur
+     */
+    public long lireLong(int colonne, long ligne) {
+        long position = position(colonne, FichierColonnes.Type.INT64, ligne, ligne * Long.BYTES);
+        return segments[(int) (position / TAILLE_SEGMENT)].getLong((int) (position % TAILLE_SEGMENT));
+    }
+
+    /**
+     * @param colonne l'indice d'une colonne de bits
+     * @param ligne le numéro de ligne
+     * @return la valeur
+     */
+    public boolean lireBit(int colonne, long ligne) {
+        long position = position(colonne, FichierColonnes.Type.BITS, ligne, (ligne >>> 6) * Long.BYTES);
+        long mot = segments[(int) (position / TAILLE_SEGMENT)].getLong((int) (position % TAILLE_SEGMENT));
+        return ((mot >>> ligne) & 1L) != 0;
+    }
+
+    /**
+     * lit une colonne float32 entière, segment par segment
+     * @param colonne l'indice de la colonne
+     * @return les valeurs
+     * @throws IllegalArgumentException si la colonne n'est pas de type float32
+     *         ou a trop de lignes pour un tableau
+     */
+    public float[] lireFloats(int colonne) {
+        if (nbLignes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Colonne trop longue pour un tableau : " + nbLignes + " lignes");
+        }
+        verifierType(colonne, FichierColonnes.Type.FLOAT32);
+        float[] valeurs = new float[(int) nbLignes];
+        for (int i = 0; i < valeurs.length; ) {
+            long position = position(colonne, FichierColonnes.Type.FLOAT32, i, (long) i * Float.BYTES);
+            ByteBuffer segment = segments[(int) (position / TAILLE_SEGMENT)].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            segment.position((int) (position % TAILLE_SEGMENT));
+            int n = Math.min(valeurs.length - i, segment.remaining() / Float.BYTES);
+            segment.asFloatBuffer().get(valeurs, i, n);
+            i += n;
+        }
+        return valeurs;
+    }
+
+    /**
+     * calcule la position d'une valeur dans le fichier
+     * @param colonne l'indice de la colonne
+     * @param type le type attendu de la colonne
+     * @param ligne le numéro de ligne
+     * @param decalage la position de la valeur dans la colonne, en octets
+     * @return la position dans le fichier
+     * @throws IllegalArgumentException si la colonne n'est pas du type attendu
+     * @throws IndexOutOfBoundsException si la ligne n'existe pas
+     */
+    private long position(int colonne, FichierColonnes.Type type, long ligne, long decalage) {
+        verifierType(colonne, type);
+        if (ligne < 0 || ligne >= nbLignes) {
+            throw new IndexOutOfBoundsException("Ligne " + ligne + " hors de [0, " + nbLignes + "[");
+        }
+        return debuts[colonne] + decalage;
+    }
+
+    /**
+     * vérifie le type d'une colonne
+     * @param colonne l'indice de la colonne
+     * @param type le type attendu
+     * @throws IllegalArgumentException si la colonne n'est pas du type attendu
+     */
+    private void verifierType(int colonne, FichierColonnes.Type type) {
+        if (types[colonne] != type) {
+            throw new IllegalArgumentException("La colonne " + noms[colonne] + " est de type " + types[colonne]);
+        }
+    }
+}
@@ -14,6 +14,21 @@ public  abstract class Sonde <T> extends Destination <T> {
      * nom de la fenêtre d'affichage
      */   
     protected String nom;
+
+    /**
+     * nombre d'échantillons par symbole du signal observé, 0 s'il est inconnu
+     */
+    protected int nbEch = 0;
+
+    /**
+     * forme d'onde du signal observé, null si elle est inconnue
+     */
+    protected String forme = null;
+
+    /**
+     * format des fichiers exportés par toutes les sondes
+     */
+    private static FormatExport formatExport = FormatExport.AUTO;
    
     /**
      *  constructeur public de la sonde
@@ -29,4 +44,38 @@ public  abstract class Sonde <T> extends Destination <T> {
      * @param information  l'information  à recevoir
      */   
     public abstract void recevoir(Information <T> information);     
+
+    /**
+     * décrit le signal observé, pour l'en-tête des fichiers binaires exportés
+     * @param nbEch  le nombre d'échantillons par symbole
+     * @param forme  la forme d'onde
+     * @return cette sonde
+     */
+    public Sonde <T> decrireSignal(int nbEch, String forme) {
+	this.nbEch = nbEch;
+	this.forme = forme;
+	return this;
+    }
+
+    /**
+     * choisit le format des fichiers exportés par les sondes
+     * @param format  CSV, BINAIRE, ou AUTO (CSV pour les petites informations)
+     */
+    public static void setFormatExport(FormatExport format) {
+	formatExport = format;
+    }
+
+    /**
+     * @return le format des fichiers exportés par les sondes
+     */
+    public static FormatExport getFormatExport() {
+	return formatExport;
+    }
+
+    /**
+     * @return le nom des fichiers exportés par cette sonde, sans extension
+     */
+    protected String nomFichier() {
+	return "sonde_" + nom.replaceAll("[^a-zA-Z0-9]", "_");
+    }
 }
@@ -4,6 +4,7 @@ import java.util.Iterator;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Paths;
 
 import destinations.DestinationInterface;
 import information.Information;
@@ -15,22 +16,54 @@ import information.Information;
  */
 public class SondeAnalogique extends Sonde <Float> {
 
+    /** nombre de colonnes (pixels) de la courbe d'une capture */
+    private static final int NB_COLONNES_CAPTURE = VueCourbe.LARGEUR_MAX - 10;
+
     /** la fenêtre d'affichage de la courbe */
     private VueCourbe vueCourbe;
 
+    /** true pour capturer le signal dans un fichier projeté plutôt que de le copier */
+    private final boolean capture;
+
+    /** la capture en cours, créée à la première réception */
+    private CaptureProjetee captureProjetee;
+
+    /** true quand la courbe a été rendue en PNG (environnement sans écran) */
+    private boolean imageEcrite = false;
+
+    /** nombre d'échantillons de la capture lors du dernier tracé de son enveloppe */
+    private long echantillonsTraces = 0;
+
     /**
      * pour construire une sonde analogique
      * @param nom  le nom de la fenêtre d'affichage
      */
     public SondeAnalogique(String nom) {
+        this(nom, false);
+    }
+
+    /**
+     * pour construire une sonde analogique qui peut capturer le signal : les
+     * informations reçues sont ajoutées les unes à la suite des autres dans
+     * le fichier {@code sonde_<nom>.bin} projeté en mémoire
+     * ({@link CaptureProjetee}), et la courbe est relue depuis la capture
+     * @param nom  le nom de la fenêtre d'affichage
+     * @param capture  true pour capturer le signal au lieu de le copier
+     */
+    public SondeAnalogique(String nom, boolean capture) {
         super(nom);
         this.vueCourbe = null;
+        this.capture = capture;
     }
 
 
 
     public void recevoir (Information <Float> information) {
         informationRecue = information;
+        if (capture) {
+            capturer(information);
+            return;
+        }
         int nbElements = information.nbElements();
         float [] table = new float[nbElements];
         int i = 0;
@@ -38,13 +71,91 @@ public class SondeAnalogique extends Sonde <Float> {
             table[i] = f;
             i++;
         }
-        // Créer la fenêtre seulement la première fois
-        if (vueCourbe == null) {
+        // Créer la fenêtre seulement la première fois (sans écran : une image PNG)
+        if (ImageCourbe.isHorsEcran()) {
+            if (!imageEcrite) {
+                ImageCourbe.ecrire(table, nom, Paths.get(nomFichier() + ".png"));
+                imageEcrite = true;
+            }
+        } else if (vueCourbe == null) {
             vueCourbe = new VueCourbe (table, nom);
         }
 
-        // Exporter les données vers CSV
-        exportToCSV(table);
+        // Exporter les données (CSV pour les petites informations)
+        if (getFormatExport().estBinaire(nbElements)) {
+            exporterBinaire(table);
+        } else {
+            exportToCSV(table);
+        }
+    }
+
+    /**
+     * Ajoute une information à la capture, puis affiche l'enveloppe de toute
+     * la capture quand elle a doublé depuis le dernier tracé : chaque tracé
+     * relit toute la capture, ces relectures coûtent donc au total moins de
+     * deux fois la capture, quel que soit le nombre de blocs reçus
+     * @param information l'information reçue
+     */
+    private void capturer(Information <Float> information) {
+        try {
+            if (captureProjetee == null) {
+                captureProjetee = new CaptureProjetee(Paths.get(nomFichier() + ".bin"), nom, nbEch, forme);
+            }
+            captureProjetee.ajouter(information);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la capture de " + nom + ": " + e.getMessage());
+            return;
+        }
+
+        // sans écran, la courbe de toute la capture est rendue à la fin (terminerCapture)
+        if (ImageCourbe.isHorsEcran()) {
+            return;
+        }
+        if (vueCourbe == null || captureProjetee.getNbEchantillons() >= 2 * echantillonsTraces) {
+            tracerCapture();
+        }
+    }
+
+    /**
+     * Affiche l'enveloppe de toute la capture
+     */
+    private void tracerCapture() {
+        Enveloppe enveloppe = captureProjetee.enveloppe(NB_COLONNES_CAPTURE);
+        echantillonsTraces = captureProjetee.getNbEchantillons();
+        if (vueCourbe == null) {
+            vueCourbe = new VueCourbe (enveloppe, nom);
+        } else {
+            vueCourbe.changer(enveloppe);
+        }
+    }
+
+    /**
+     * @return la capture en cours, ou null si la sonde ne capture pas ou n'a rien reçu
+     */
+    public CaptureProjetee getCapture() {
+        return captureProjetee;
+    }
+
+    /**
+     * Termine la capture : le fichier est ramené à la taille de ses données,
+     * après le rendu PNG de sa courbe dans un environnement sans écran, ou
+     * le tracé de toute la capture dans sa fenêtre
+     * (sans effet si la sonde ne capture pas)
+     */
+    public void terminerCapture() {
+        if (captureProjetee != null) {
+            if (ImageCourbe.isHorsEcran() && captureProjetee.getNbEchantillons() > 0) {
+                ImageCourbe.ecrire(captureProjetee.enveloppe(NB_COLONNES_CAPTURE), nom, Paths.get(nomFichier() + ".png"));
+            } else if (vueCourbe != null && captureProjetee.getNbEchantillons() != echantillonsTraces) {
+                // dernier tracé : toute la capture
+                tracerCapture();
+            }
+            try {
+                captureProjetee.fermer();
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la fin de capture de " + nom + ": " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -52,7 +163,7 @@ public class SondeAnalogique extends Sonde <Float> {
      * @param table tableau de valeurs à exporter
      */
     private void exportToCSV(float[] table) {
-        String fileName = "sonde_" + nom.replaceAll("[^a-zA-Z0-9]", "_") + ".csv";
+        String fileName = nomFichier() + ".csv";
         try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
             writer.println("index,valeur");
             for (int i = 0; i < table.length; i++) {
@@ -62,4 +173,17 @@ public class SondeAnalogique extends Sonde <Float> {
             System.err.println("Erreur lors de l'export CSV de " + nom + ": " + e.getMessage());
         }
     }
+
+    /**
+     * Exporte les données vers un fichier binaire (colonne float32), voir {@link FichierColonnes}
+     * @param table tableau de valeurs à exporter
+     */
+    private void exporterBinaire(float[] table) {
+        try {
+            FichierColonnes.ecrire(Paths.get(nomFichier() + ".bin"), nom, nbEch, forme,
+                    FichierColonnes.Colonne.de("valeur", table));
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'export binaire de " + nom + ": " + e.getMessage());
+        }
+    }
 }
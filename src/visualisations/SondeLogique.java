@@ -5,6 +5,7 @@ import information.Information;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Paths;
 
 /**
  * Classe réalisant l'affichage d'information composée d'éléments
@@ -20,6 +21,9 @@ public class SondeLogique extends Sonde <Boolean> {
     /** la fenêtre d'affichage de la courbe */
     private VueCourbe vueCourbe;
 
+    /** true quand la courbe a été rendue en PNG (environnement sans écran) */
+    private boolean imageEcrite = false;
+
     /**
      * pour construire une sonde logique
      * @param nom  le nom de la fenêtre d'affichage
@@ -41,13 +45,22 @@ public class SondeLogique extends Sonde <Boolean> {
             table[i] = b;
             i++;
 	}
-	// Créer la fenêtre seulement la première fois
-	if (vueCourbe == null) {
+	// Créer la fenêtre seulement la première fois (sans écran : une image PNG)
+	if (ImageCourbe.isHorsEcran()) {
+	    if (!imageEcrite) {
+		ImageCourbe.ecrire(table, nbPixels, nom, Paths.get(nomFichier() + ".png"));
+		imageEcrite = true;
+	    }
+	} else if (vueCourbe == null) {
       	    vueCourbe = new VueCourbe (table,  nbPixels, nom);
 	}
 
-	// Exporter les données vers CSV
-	exportToCSV(table);
+	// Exporter les données (CSV pour les petites informations)
+	if (getFormatExport().estBinaire(nbElements)) {
+	    exporterBinaire(table);
+	} else {
+	    exportToCSV(table);
+	}
     }
 
     /**
@@ -55,7 +68,7 @@ public class SondeLogique extends Sonde <Boolean> {
      * @param table tableau de valeurs booléennes à exporter
      */
     private void exportToCSV(boolean[] table) {
-        String fileName = "sonde_" + nom.replaceAll("[^a-zA-Z0-9]", "_") + ".csv";
+        String fileName = nomFichier() + ".csv";
         try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
             writer.println("index,valeur");
             for (int i = 0; i < table.length; i++) {
@@ -65,4 +78,17 @@ public class SondeLogique extends Sonde <Boolean> {
             System.err.println("Erreur lors de l'export CSV de " + nom + ": " + e.getMessage());
         }
     }
+
+    /**
+     * Exporte les données vers un fichier binaire (colonne de bits), voir {@link FichierColonnes}
+     * @param table tableau de valeurs booléennes à exporter
+     */
+    private void exporterBinaire(boolean[] table) {
+        try {
+            FichierColonnes.ecrire(Paths.get(nomFichier() + ".bin"), nom, nbEch, forme,
+                    FichierColonnes.Colonne.bits("valeur", table));
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'export binaire de " + nom + ": " + e.getMessage());
+        }
+    }
 }
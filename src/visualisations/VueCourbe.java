@@ -6,12 +6,14 @@ package visualisations;
  */
 
 import java.awt.*;
-import java.awt.geom.*;
 
 /**
  * Classe représentant une vue graphique d'une courbe.
  * <p>
  * Permet de visualiser des données booléennes ou flottantes sous forme de courbe.
+ * La courbe est conservée sous forme d'{@link Enveloppe} (minimum et maximum
+ * par colonne de pixels) : la mémoire et le temps de tracé dépendent de la
+ * largeur de la fenêtre et non du nombre de valeurs.
  * Les coordonnées de la courbe sont automatiquement calculées et la fenêtre est
  * positionnée pour éviter le chevauchement avec d'autres vues.
  * </p>
@@ -21,17 +23,24 @@ import java.awt.geom.*;
     private static final long serialVersionUID = 1917L;
 
 	/**
-	 * tableau des coordonnées de la courbe
+	 * largeur maximale de la fenêtre, en pixels
 	 */
-	private Point2D.Float [] coordonnees;
+    public static final int LARGEUR_MAX = 1000;
+
 	/**
-	 * valeur maximale de y dans les données
+	 * marge horizontale de la fenêtre (largeur non occupée par la courbe)
 	 */
-    private float yMax = 0;
+    private static final int MARGE = 10;
+
 	/**
-	 * valeur minimale de y dans les données
+	 * enveloppe de la courbe : une colonne par pixel au plus, quel que soit le
+	 * nombre de valeurs
 	 */
-    private float yMin = 0;
+	private Enveloppe enveloppe;
+	/**
+	 * nombre de colonnes de l'enveloppe, fixé par la largeur de la fenêtre
+	 */
+	private final int nbColonnes;
 
 
 	/**
@@ -54,34 +63,19 @@ import java.awt.geom.*;
 		int yPosition = Vue.getYPosition();
 		setLocation(xPosition, yPosition);
 
-		this.coordonnees = new Point2D.Float [(2 * valeurs.length) + 1];
-		yMax = 1;
-		yMin = 0;
-
-		coordonnees[0] = new Point2D.Float(0, 0);
-
-		for (int i = 0, j = 0; i < valeurs.length; i++, j+= 2) {
-				if (valeurs[i]) {
-			coordonnees[j+1] = new Point2D.Float(i, 1);
-			coordonnees[j+2] = new Point2D.Float(i+1, 1);
-				}
-				else {
-			coordonnees[j+1] = new Point2D.Float(i, 0);
-			coordonnees[j+2] = new Point2D.Float(i+1, 0);
-				}
-		}
+		int largeur = largeur(valeurs.length, nbPixels);
+		this.nbColonnes = largeur - MARGE;
+		this.enveloppe = Enveloppe.de(valeurs, nbColonnes);
 
-		setDefaultCloseOperation(EXIT_ON_CLOSE);
-		int largeur = (valeurs.length * nbPixels) + 10;
-		if (largeur > 1000)
-				largeur = 1000;
-		setSize(largeur, 200);
-		setVisible(true);
-		repaint();
+		afficher(largeur);
     }
 
 	/**
 	 * Constructeur pour afficher une courbe à partir de valeurs flottantes.
+	 * <p>
+	 * Jusqu'à {@code LARGEUR_MAX - 10} valeurs, la courbe est tracée point par
+	 * point ; au-delà, elle est réduite à son enveloppe min/max par pixel.
+	 * </p>
 	 *
 	 * @param valeurs tableau des valeurs float à tracer
 	 * @param nom titre de la fenêtre
@@ -94,27 +88,80 @@ import java.awt.geom.*;
 		int yPosition = Vue.getYPosition();
 		setLocation(xPosition, yPosition);
 
-		this.coordonnees = new Point2D.Float [valeurs.length];
-		yMax = 0;
-		yMin = 0;
+		int largeur = largeur(valeurs.length, 1);
+		this.nbColonnes = largeur - MARGE;
+		this.enveloppe = Enveloppe.de(valeurs, Math.min(valeurs.length, nbColonnes));
 
-		for (int i = 0; i < valeurs.length; i++) {
-			if (valeurs[i] > yMax)
-				yMax = valeurs[i];
-			if (valeurs[i] < yMin)
-				yMin = valeurs[i];
-			coordonnees[i] = new Point2D.Float(i, valeurs[i]);
-		}
+		afficher(largeur);
+    }
+
+	/**
+	 * Constructeur pour afficher une courbe déjà réduite à son enveloppe,
+	 * par exemple relue depuis une capture projetée en mémoire
+	 * ({@link CaptureProjetee#enveloppe(int)}).
+	 *
+	 * @param enveloppe l'enveloppe de la courbe, une colonne par pixel
+	 * @param nom titre de la fenêtre
+	 */
+    public  VueCourbe (Enveloppe enveloppe, String nom) {   
+       
+		super(nom);
+
+		int xPosition = Vue.getXPosition();
+		int yPosition = Vue.getYPosition();
+		setLocation(xPosition, yPosition);
+
+		int largeur = largeur(enveloppe.getNbColonnes(), 1);
+		this.nbColonnes = largeur - MARGE;
+		this.enveloppe = enveloppe;
 
+		afficher(largeur);
+    }
+
+	/**
+	 * Dimensionne et affiche la fenêtre.
+	 *
+	 * @param largeur largeur de la fenêtre en pixels
+	 */
+    private void afficher(int largeur) {
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
-		int largeur = valeurs.length  + 10;
-		if (largeur > 1000)
-				largeur = 1000;
 		setSize(largeur, 200);
 		setVisible(true);
 		repaint();
     }
 
+	/**
+	 * Calcule la largeur d'une fenêtre (ou d'une image) de courbe.
+	 *
+	 * @param nbValeurs nombre de valeurs ou de colonnes à tracer
+	 * @param nbPixels largeur en pixels d'une valeur
+	 * @return la largeur, au plus {@link #LARGEUR_MAX}, marge comprise
+	 */
+    static int largeur(long nbValeurs, int nbPixels) {
+		return (int) Math.max(MARGE + 1, Math.min(nbValeurs * nbPixels + MARGE, LARGEUR_MAX));
+    }
+
+	/**
+	 * Calcule le nombre de colonnes de l'enveloppe d'une courbe de valeurs flottantes.
+	 *
+	 * @param nbValeurs nombre de valeurs
+	 * @return une colonne par valeur, au plus une par pixel
+	 */
+    static int nbColonnes(int nbValeurs) {
+		return Math.min(nbValeurs, largeur(nbValeurs, 1) - MARGE);
+    }
+
+	/**
+	 * Calcule le nombre de colonnes de l'enveloppe d'une courbe de valeurs booléennes.
+	 *
+	 * @param nbValeurs nombre de valeurs
+	 * @param nbPixels largeur en pixels d'une valeur
+	 * @return une colonne par pixel
+	 */
+    static int nbColonnes(int nbValeurs, int nbPixels) {
+		return largeur(nbValeurs, nbPixels) - MARGE;
+    }
+
 	/**
 	 * Met à jour la courbe avec de nouvelles valeurs booléennes.
 	 *
@@ -122,22 +169,7 @@ import java.awt.geom.*;
 	 */
     public  void changer (boolean [] valeurs) {   
              	
-		this.coordonnees = new Point2D.Float [(2 * valeurs.length) + 1];
-		yMax = 1;
-		yMin = 0;
-
-		coordonnees[0] = new Point2D.Float(0, 0);
-
-		for (int i = 0, j = 0; i < valeurs.length; i++, j+= 2) {
-				if (valeurs[i]) {
-			coordonnees[j+1] = new Point2D.Float(i, 1);
-			coordonnees[j+2] = new Point2D.Float(i+1, 1);
-				}
-				else {
-			coordonnees[j+1] = new Point2D.Float(i, 0);
-			coordonnees[j+2] = new Point2D.Float(i+1, 0);
-				}
-		}
+		this.enveloppe = Enveloppe.de(valeurs, nbColonnes);
 
 		paint();
     }
@@ -149,17 +181,19 @@ import java.awt.geom.*;
 	 */
     public  void changer (float [] valeurs) {   
 
-		this.coordonnees = new Point2D.Float [valeurs.length];
-		yMax = 0;
-		yMin = 0;
+		this.enveloppe = Enveloppe.de(valeurs, Math.min(valeurs.length, nbColonnes));
 
-		for (int i = 0; i < valeurs.length; i++) {
-			if (valeurs[i] > yMax)
-				yMax = valeurs[i];
-			if (valeurs[i] < yMin)
-				yMin = valeurs[i];
-			coordonnees[i] = new Point2D.Float(i, valeurs[i]);
-		}
+		paint();
+    }
+
+	/**
+	 * Met à jour la courbe avec une nouvelle enveloppe.
+	 *
+	 * @param nouvelle l'enveloppe de la nouvelle courbe
+	 */
+    public  void changer (Enveloppe nouvelle) {   
+
+		this.enveloppe = nouvelle;
 
 		paint();
     }
@@ -191,12 +225,30 @@ import java.awt.geom.*;
 		g.fillRect(0, 0, getWidth(), getHeight());
 		g.setColor(Color.black);
 
+		Graphics courbe = getContentPane().getGraphics();
+		if (courbe != null) {
+				tracer(courbe, getContentPane().getWidth(), getContentPane().getHeight(), enveloppe);
+		}
+    }
+
+	/**
+	 * Dessine les axes et une courbe dans une zone de dessin, à l'écran
+	 * ou dans une image ({@link ImageCourbe}).
+	 *
+	 * @param g le contexte graphique, couleur de tracé déjà choisie
+	 * @param largeur largeur de la zone de dessin
+	 * @param hauteur hauteur de la zone de dessin
+	 * @param enveloppe l'enveloppe de la courbe
+	 */
+    static void tracer(Graphics g, int largeur, int hauteur, Enveloppe enveloppe) {
+		float yMin = enveloppe.getYMin();
+		float yMax = enveloppe.getYMax();
 
 		int x0Axe = 10;
-		float deltaX = getContentPane().getWidth() - (2 * x0Axe);
+		float deltaX = largeur - (2 * x0Axe);
 
 		int y0Axe = 10;
-		float deltaY = getContentPane().getHeight() - (2 * y0Axe);
+		float deltaY = hauteur - (2 * y0Axe);
 
 
 		if ((yMax > 0) && (yMin <= 0)) {
@@ -208,18 +260,23 @@ import java.awt.geom.*;
 		else if (yMax <= 0) {
 				y0Axe += 0;
 		}
-		getContentPane().getGraphics().drawLine(x0Axe, y0Axe, x0Axe + (int) deltaX + x0Axe, y0Axe);
-		getContentPane().getGraphics().drawLine(x0Axe + (int) deltaX + x0Axe - 5, y0Axe - 5, x0Axe + (int) deltaX + x0Axe, y0Axe);
-		getContentPane().getGraphics().drawLine(x0Axe + (int) deltaX + x0Axe - 5, y0Axe + 5, x0Axe + (int) deltaX + x0Axe, y0Axe);
+		g.drawLine(x0Axe, y0Axe, x0Axe + (int) deltaX + x0Axe, y0Axe);
+		g.drawLine(x0Axe + (int) deltaX + x0Axe - 5, y0Axe - 5, x0Axe + (int) deltaX + x0Axe, y0Axe);
+		g.drawLine(x0Axe + (int) deltaX + x0Axe - 5, y0Axe + 5, x0Axe + (int) deltaX + x0Axe, y0Axe);
 
-		getContentPane().getGraphics().drawLine(x0Axe, y0Axe, x0Axe, y0Axe - (int) deltaY - y0Axe);
-		getContentPane().getGraphics().drawLine(x0Axe + 5, 5, x0Axe, 0);
-		getContentPane().getGraphics().drawLine(x0Axe - 5, 5, x0Axe, 0);
+		g.drawLine(x0Axe, y0Axe, x0Axe, y0Axe - (int) deltaY - y0Axe);
+		g.drawLine(x0Axe + 5, 5, x0Axe, 0);
+		g.drawLine(x0Axe - 5, 5, x0Axe, 0);
 
 
-			// tracer la courbe
+			// tracer la courbe, colonne par colonne : segment vertical du minimum
+			// au maximum, relié à la colonne précédente par sa première valeur
 
-		float dx =  deltaX / (float) coordonnees[coordonnees.length - 1].getX();
+		int nb = enveloppe.getNbColonnes();
+		if (nb == 0) {
+				return;
+		}
+		float dx = (nb > 1) ? deltaX / (float) (nb - 1) : 0.0f;
 		float dy = 0.0f;
 		if ((yMax >= 0) && (yMin <= 0)) {
 				dy =  deltaY / (yMax-yMin);
@@ -232,12 +289,17 @@ import java.awt.geom.*;
 		}
 
 
-		for (int i = 1; i < coordonnees.length; i++) {
-				int x1 = (int) (coordonnees[i-1].getX() * dx);
-				int x2 = (int) (coordonnees[i].getX() * dx);
-				int y1 = (int) (coordonnees[i-1].getY() * dy);
-				int y2 = (int) (coordonnees[i].getY() * dy);
-				getContentPane().getGraphics().drawLine( x0Axe + x1, y0Axe - y1, x0Axe + x2, y0Axe - y2);
+		for (int c = 0; c < nb; c++) {
+				int x = x0Axe + (int) (c * dx);
+				if (c > 0) {
+					int xPrecedent = x0Axe + (int) ((c - 1) * dx);
+					g.drawLine(xPrecedent, y0Axe - (int) (enveloppe.getDernier(c - 1) * dy),
+							x, y0Axe - (int) (enveloppe.getPremier(c) * dy));
+				}
+				if (enveloppe.getMax(c) > enveloppe.getMin(c)) {
+					g.drawLine(x, y0Axe - (int) (enveloppe.getMin(c) * dy),
+							x, y0Axe - (int) (enveloppe.getMax(c) * dy));
+				}
 		}
     }
 }
@@ -0,0 +1,44 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import transmetteurs.CaptureBruit;
+
+/**
+ * classe de test permettant de tester la capture bornée du bruit
+ */
+public class CaptureBruitTest {
+
+    /**
+     * teste que seuls les derniers échantillons sont conservés, dans l'ordre
+     */
+    @Test
+    void testTamponCirculaire() {
+        CaptureBruit capture = new CaptureBruit(3);
+        capture.ajouter(new float[] {1.0f, 2.0f}, 0, 2);
+        assertArrayEquals(new float[] {1.0f, 2.0f}, capture.derniersEchantillons());
+        capture.ajouter(new float[] {0.0f, 3.0f, 4.0f, 5.0f}, 1, 3);
+        assertArrayEquals(new float[] {3.0f, 4.0f, 5.0f}, capture.derniersEchantillons());
+        assertEquals(5, capture.getNbEchantillons());
+    }
+
+    /**
+     * teste les statistiques calculées au fil de l'eau
+     */
+    @Test
+    void testStatistiques() {
+        CaptureBruit capture = new CaptureBruit(0, 4, -2.0f, 2.0f);
+        capture.ajouter(new float[] {-1.5f, -0.5f, 0.5f, 0.5f, 3.0f}, 0, 5);
+        assertEquals(0.4, capture.getMoyenne(), 1e-9);
+        assertEquals(2.24, capture.getVariance(), 1e-9);
+        assertEquals(-1.5f, capture.getMin());
+        assertEquals(3.0f, capture.getMax());
+        assertArrayEquals(new long[] {1, 1, 2, 0}, capture.getHistogramme());
+        assertEquals(0, capture.derniersEchantillons().length);
+
+        capture.reinitialiser();
+        assertEquals(0, capture.getNbEchantillons());
+        assertArrayEquals(new long[] {0, 0, 0, 0}, capture.getHistogramme());
+    }
+}
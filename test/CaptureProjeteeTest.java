@@ -0,0 +1,65 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import information.Information;
+import information.InformationAnalogique;
+import visualisations.CaptureProjetee;
+import visualisations.Enveloppe;
+import visualisations.LecteurColonnes;
+
+/**
+ * classe de test permettant de tester la capture d'un signal dans un fichier projeté en mémoire
+ */
+public class CaptureProjeteeTest {
+
+    /**
+     * teste l'ajout de plusieurs informations, la relecture du fichier
+     * pendant et après la capture, et l'enveloppe
+     * @throws IOException
+     */
+    @Test
+    void testCapture(@TempDir Path dossier) throws IOException {
+        Path fichier = dossier.resolve("sonde_transmetteur.bin");
+        CaptureProjetee capture = new CaptureProjetee(fichier, "transmetteur", 10, "NRZ");
+
+        float[] bloc = new float[1000];
+        for (int i = 0; i < bloc.length; i++) {
+            bloc[i] = i % 10;
+        }
+        capture.ajouter(new InformationAnalogique(bloc));
+        Information<Float> generique = new Information<>();
+        generique.add(-5f);
+        generique.add(42f);
+        capture.ajouter(generique);
+        assertEquals(1002, capture.getNbEchantillons());
+        assertEquals(42f, capture.lire(1001));
+
+        // relisible pendant la capture : l'en-tête porte le nombre d'échantillons
+        LecteurColonnes enCours = new LecteurColonnes(fichier);
+        assertEquals(1002, enCours.getNbLignes());
+        assertEquals(10, enCours.getNbEch());
+        assertEquals(9f, enCours.lireFloat(0, 999));
+
+        Enveloppe enveloppe = capture.enveloppe(2);
+        assertEquals(0f, enveloppe.getMin(0));
+        assertEquals(9f, enveloppe.getMax(0));
+        assertEquals(-5f, enveloppe.getMin(1));
+        assertEquals(42f, enveloppe.getMax(1));
+        assertEquals(42f, enveloppe.getDernier(1));
+        assertEquals(1002, capture.enveloppe(5000).getNbColonnes());
+
+        capture.fermer();
+        assertTrue(Files.size(fichier) < 8192);
+        LecteurColonnes lecteur = new LecteurColonnes(fichier);
+        float[] relu = lecteur.lireFloats(0);
+        assertEquals(1002, relu.length);
+        assertEquals(-5f, relu[1000]);
+        assertThrows(IllegalStateException.class, () -> capture.ajouter(bloc, 0, 1));
+    }
+}
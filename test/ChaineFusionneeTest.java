@@ -0,0 +1,59 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import destinations.DestinationFinale;
+import emmetteurs.Emetteur;
+import information.InformationBinaire;
+import simulateur.ChaineFusionnee;
+import sources.SourceAleatoire;
+import transmetteurs.GenerateurGaussienZiggurat;
+import transmetteurs.Recepteur;
+import transmetteurs.TransmetteurImparfait;
+
+/**
+ * classe de test permettant de tester la chaîne fusionnée
+ */
+public class ChaineFusionneeTest {
+
+    /**
+     * teste que la chaîne fusionnée décide les mêmes bits que la chaîne
+     * émetteur, canal bruité, récepteur, pour chaque forme d'onde
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMemesDecisionsQueLaChaine() throws Exception {
+        for (String form : new String[] {"NRZ", "RZ", "NRZT"}) {
+            float seuil = "RZ".equals(form) ? (1.0f / 6.0f) : 0.0f;
+            SourceAleatoire source = new SourceAleatoire();
+            source.setSeed(11);
+            source.setLength(5000);
+            source.generer();
+            source.emettre();
+            InformationBinaire bits = InformationBinaire.de(source.getInformationEmise());
+
+            Emetteur emetteur = new Emetteur(form, 10);
+            TransmetteurImparfait<Float> canal = new TransmetteurImparfait<>(10, 0.0f, 4);
+            Recepteur recepteur = new Recepteur(10, seuil, form);
+            DestinationFinale<Boolean> destination = new DestinationFinale<>();
+            emetteur.connecter(canal);
+            canal.connecter(recepteur);
+            recepteur.connecter(destination);
+            emetteur.recevoir(bits);
+            canal.emettre();
+
+            ChaineFusionnee fusionnee = new ChaineFusionnee(form, 10, seuil, 0.0f, new GenerateurGaussienZiggurat(4));
+            assertEquals(destination.getInformationRecue(), fusionnee.transmettre(bits), form);
+        }
+    }
+
+    /**
+     * teste le refus d'une forme d'onde inconnue
+     */
+    @Test
+    void testFormeInconnue() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChaineFusionnee("AMI", 10, 0.0f, 0.0f, new GenerateurGaussienZiggurat(1)));
+    }
+}
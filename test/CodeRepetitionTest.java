@@ -0,0 +1,114 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import information.CodeRepetition;
+import information.InformationAnalogique;
+import information.InformationBinaire;
+
+/**
+ * classe de test permettant de tester le code à répétition par tables
+ */
+public class CodeRepetitionTest {
+
+    /**
+     * teste le codage 1 → 101, 0 → 010, bit par bit, pour des tailles quelconques
+     */
+    @Test
+    void testCoder() {
+        Random random = new Random(1);
+        for (int nbBits : new int[] {0, 1, 7, 63, 64, 65, 200, 1000}) {
+            InformationBinaire bits = new InformationBinaire();
+            for (int i = 0; i < nbBits; i++) {
+                bits.add(random.nextBoolean());
+            }
+            InformationBinaire code = CodeRepetition.coder(bits);
+            assertEquals(3 * nbBits, code.nbElements());
+            for (int i = 0; i < nbBits; i++) {
+                boolean b = bits.iemeBit(i);
+                assertEquals(b, code.iemeBit(3 * i));
+                assertEquals(!b, code.iemeBit(3 * i + 1));
+                assertEquals(b, code.iemeBit(3 * i + 2));
+            }
+            assertEquals(bits, CodeRepetition.decoder(code));
+        }
+    }
+
+    /**
+     * teste la décision majoritaire sur chacun des 8 triplets
+     */
+    @Test
+    void testDecoderTriplets() {
+        // triplets (b1, b2, b3) → bit décidé, comme la table du décodeur d'origine
+        boolean[][] triplets = {
+            {false, false, false}, {false, false, true}, {false, true, false}, {false, true, true},
+            {true, false, false}, {true, false, true}, {true, true, false}, {true, true, true}};
+        boolean[] attendus = {false, true, false, false, true, true, false, true};
+        InformationBinaire code = new InformationBinaire();
+        for (boolean[] t : triplets) {
+            for (boolean b : t) {
+                code.add(b);
+            }
+        }
+        InformationBinaire decode = CodeRepetition.decoder(code);
+        assertEquals(8, decode.nbElements());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(attendus[i], decode.iemeBit(i), "triplet " + i);
+        }
+    }
+
+    /**
+     * teste qu'un triplet incomplet en fin d'information est ignoré
+     */
+    @Test
+    void testTripletIncomplet() {
+        InformationBinaire code = new InformationBinaire();
+        for (int i = 0; i < 3 * 70 + 2; i++) {
+            code.add(true);
+        }
+        InformationBinaire decode = CodeRepetition.decoder(code);
+        assertEquals(70, decode.nbElements());
+        for (int i = 0; i < 70; i++) {
+            assertTrue(decode.iemeBit(i));
+        }
+    }
+
+    /**
+     * teste le décodage souple : un bit peu fiable est corrigé par les deux autres
+     * même quand le vote sur les bits décidés se trompe
+     */
+    @Test
+    void testDecoderSouple() {
+        // bit 1 (101) : le 1er et le 2e bit sont décidés faux, mais de peu ; le 3e est très fiable
+        InformationAnalogique souples = new InformationAnalogique(new float[] {-0.1f, 0.1f, 0.9f, -0.8f, 0.7f, -0.9f});
+        InformationBinaire decode = CodeRepetition.decoderSouple(souples);
+        assertEquals(2, decode.nbElements());
+        assertTrue(decode.iemeBit(0));
+        assertFalse(decode.iemeBit(1));
+
+        InformationBinaire durs = new InformationBinaire(new boolean[] {false, true, true});
+        assertFalse(CodeRepetition.decoder(durs).iemeBit(0));
+    }
+
+    /**
+     * teste que le décodage souple de valeurs sans bruit redonne le message
+     */
+    @Test
+    void testDecoderSoupleSansBruit() {
+        Random random = new Random(5);
+        InformationBinaire bits = new InformationBinaire();
+        for (int i = 0; i < 150; i++) {
+            bits.add(random.nextBoolean());
+        }
+        InformationBinaire code = CodeRepetition.coder(bits);
+        InformationAnalogique souples = new InformationAnalogique(code.nbElements() + 1);
+        for (Boolean b : code) {
+            souples.add(b ? 1.0f : -1.0f);
+        }
+        souples.add(1.0f); // triplet incomplet, ignoré
+        assertEquals(bits, CodeRepetition.decoderSouple(souples));
+    }
+}
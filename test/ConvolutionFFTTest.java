@@ -0,0 +1,56 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import transmetteurs.ConvolutionFFT;
+
+/**
+ * classe de test permettant de tester la convolution par FFT
+ */
+public class ConvolutionFFTTest {
+
+    /**
+     * teste que la convolution FFT, historique compris, égale la convolution directe
+     */
+    @Test
+    void testEgaleConvolutionDirecte() {
+        Random rand = new Random(3);
+        float[] h = new float[200];
+        h[0] = 1.0f;
+        for (int k = 0; k < 40; k++) {
+            h[rand.nextInt(h.length)] += 0.1f * rand.nextFloat();
+        }
+        float[] historique = new float[h.length - 1];
+        for (int i = 0; i < historique.length; i++) {
+            historique[i] = rand.nextBoolean() ? 1.0f : -1.0f;
+        }
+        float[] signal = new float[5000];
+        for (int i = 0; i < signal.length; i++) {
+            signal[i] = rand.nextBoolean() ? 1.0f : -1.0f;
+        }
+
+        float[] sortie = new float[signal.length];
+        sortie[0] = 10.0f; // la convolution s'ajoute au contenu de la sortie
+        new ConvolutionFFT(h).ajouterConvolution(historique, signal, signal.length, sortie);
+
+        for (int i = 0; i < signal.length; i++) {
+            double attendu = (i == 0) ? 10.0 : 0.0;
+            for (int j = 0; j < h.length; j++) {
+                float x = (i - j >= 0) ? signal[i - j] : historique[historique.length + i - j];
+                attendu += h[j] * x;
+            }
+            assertEquals(attendu, sortie[i], 1e-4);
+        }
+    }
+
+    /**
+     * teste le refus d'une réponse impulsionnelle vide
+     */
+    @Test
+    void testReponseVide() {
+        assertThrows(IllegalArgumentException.class, () -> new ConvolutionFFT(new float[0]));
+    }
+}
@@ -0,0 +1,75 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import emmetteurs.CodageEmission;
+import emmetteurs.Emetteur;
+import information.InformationAnalogique;
+import information.InformationBinaire;
+import information.InformationNonConformeException;
+import sources.SourceAleatoire;
+
+/**
+ * classe de test permettant de tester la mise en forme des symboles par l'émetteur
+ */
+public class EmetteurTest {
+
+    /**
+     * teste les échantillons d'un symbole de chaque forme d'onde,
+     * dont la transition NRZT au début du message
+     * @throws Exception
+     */
+    @Test
+    void testSymboles() throws Exception {
+        InformationBinaire bits = new InformationBinaire(new boolean[] {true, false});
+
+        assertArrayEquals(new float[] {1, 1, 1, -1, -1, -1}, emettre(new Emetteur<>("NRZ", 3), bits));
+        assertArrayEquals(new float[] {0, 1, 0, 0, 0, 0}, emettre(new Emetteur<>("RZ", 3), bits));
+        assertArrayEquals(new float[] {0, 1, 1, 1, -1, -1}, emettre(new Emetteur<>("NRZT", 3), bits));
+
+        assertThrows(InformationNonConformeException.class, () -> emettre(new Emetteur<>("AMI", 3), bits));
+    }
+
+    /**
+     * teste que l'émetteur qui code lui-même les bits donne le même signal
+     * que le codeur suivi de l'émetteur, bloc après bloc
+     * @throws Exception
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCodageIntegre() throws Exception {
+        for (String form : new String[] {"NRZ", "RZ", "NRZT"}) {
+            SourceAleatoire source = new SourceAleatoire();
+            source.setSeed(5);
+            source.setLength(1000);
+            Emetteur<Boolean> integre = new Emetteur<>(form, 10, true);
+            Emetteur<Boolean> separe = new Emetteur<>(form, 10);
+            CodageEmission codeur = new CodageEmission();
+            for (int bloc = 0; bloc < 2; bloc++) {
+                source.generer();
+                source.emettre();
+                InformationBinaire bits = InformationBinaire.de(source.getInformationEmise());
+                codeur.recevoir(bits);
+                assertArrayEquals(emettre(separe, InformationBinaire.de(codeur.getInformationEmise())),
+                        emettre(integre, bits), form);
+            }
+        }
+    }
+
+    /**
+     * émet des bits et donne les échantillons produits
+     * @param emetteur l'émetteur
+     * @param bits les bits à émettre
+     * @return les échantillons
+     * @throws InformationNonConformeException si l'émetteur rejette les bits
+     */
+    private static float[] emettre(Emetteur<Boolean> emetteur, InformationBinaire bits)
+            throws InformationNonConformeException {
+        emetteur.recevoir(bits);
+        InformationAnalogique signal = InformationAnalogique.de(emetteur.getInformationEmise());
+        float[] echantillons = new float[signal.nbElements()];
+        System.arraycopy(signal.valeurs(), 0, echantillons, 0, echantillons.length);
+        return echantillons;
+    }
+}
@@ -0,0 +1,57 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import visualisations.Enveloppe;
+
+/**
+ * classe de test permettant de tester la réduction d'une courbe à son enveloppe par pixel
+ */
+public class EnveloppeTest {
+
+    /**
+     * teste qu'un long signal est réduit au nombre de colonnes demandé
+     * sans perdre ses pics isolés
+     */
+    @Test
+    void testDecimation() {
+        float[] valeurs = new float[1_000_000];
+        for (int i = 0; i < valeurs.length; i++) {
+            valeurs[i] = (i % 2 == 0) ? 0.5f : -0.5f;
+        }
+        valeurs[123_456] = 7f;
+        valeurs[999_999] = -3f;
+
+        Enveloppe enveloppe = Enveloppe.de(valeurs, 1000);
+        assertEquals(1000, enveloppe.getNbColonnes());
+        assertEquals(7f, enveloppe.getMax(123));
+        assertEquals(0.5f, enveloppe.getMax(124));
+        assertEquals(-0.5f, enveloppe.getMin(124));
+        assertEquals(-3f, enveloppe.getMin(999));
+        assertEquals(-3f, enveloppe.getDernier(999));
+        assertEquals(0.5f, enveloppe.getPremier(0));
+    }
+
+    /**
+     * teste qu'une colonne par valeur redonne la courbe point par point,
+     * et qu'une valeur logique s'étend sur plusieurs colonnes
+     */
+    @Test
+    void testPeuDeValeurs() {
+        float[] valeurs = {1f, -2f, 3f};
+        Enveloppe exacte = Enveloppe.de(valeurs, 3);
+        for (int c = 0; c < 3; c++) {
+            assertEquals(valeurs[c], exacte.getMin(c));
+            assertEquals(valeurs[c], exacte.getMax(c));
+        }
+
+        Enveloppe escalier = Enveloppe.de(new boolean[] {true, false}, 10);
+        assertEquals(10, escalier.getNbColonnes());
+        assertEquals(1f, escalier.getPremier(4));
+        assertEquals(0f, escalier.getPremier(5));
+        assertEquals(0f, escalier.getMax(9));
+
+        assertEquals(0, Enveloppe.de(new float[0], 100).getNbColonnes());
+    }
+}
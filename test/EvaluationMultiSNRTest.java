@@ -0,0 +1,68 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import simulateur.EvaluationMultiSNR;
+import simulateur.MoteurTEB;
+import simulateur.ResultatTEB;
+import simulateur.SimulationConfig;
+import transmetteurs.Trajet;
+
+/**
+ * classe de test permettant de tester l'évaluation de plusieurs SNR en une seule passe
+ */
+public class EvaluationMultiSNRTest {
+
+    /**
+     * teste que chaque SNR compte les mêmes erreurs que le moteur de Monte Carlo
+     * point par point : mêmes graines de lots, donc même message et même bruit
+     * unitaire, au seul arrondi près ; avec et sans codeur, décodage dur et souple
+     * @throws Exception
+     */
+    @Test
+    void testMemesErreursQueLeMoteur() throws Exception {
+        float[] snr = {0f, 4f, 8f};
+        for (String form : new String[] {"NRZ", "RZ", "NRZT"}) {
+            for (int mode = 0; mode < 3; mode++) {
+                SimulationConfig base = new SimulationConfig.Builder().messageAleatoire(10000).form(form)
+                        .nbEch(10).snrpb(0f).codeur(mode > 0).souple(mode == 2).build();
+                ResultatTEB[] resultats = new EvaluationMultiSNR(base, snr, 30000, 10000, 7).executer(2);
+                for (int k = 0; k < snr.length; k++) {
+                    ResultatTEB attendu = new MoteurTEB(base.modifier().snrpb(snr[k]).build(), 30000, 10000, 7).executer(2);
+                    assertEquals(attendu.getNbBits(), resultats[k].getNbBits());
+                    assertEquals(attendu.getNbErreurs(), resultats[k].getNbErreurs(), 2,
+                            form + ", mode " + mode + ", " + snr[k] + " dB");
+                }
+            }
+        }
+    }
+
+    /**
+     * teste l'arrêt dès que tous les SNR ont atteint la cible d'erreurs
+     * @throws Exception
+     */
+    @Test
+    void testArretSurCible() throws Exception {
+        SimulationConfig base = new SimulationConfig.Builder().messageAleatoire(1000).form("NRZ").nbEch(4).build();
+        EvaluationMultiSNR evaluation = new EvaluationMultiSNR(base, new float[] {0f, 2f}, 1000000, 1000, 3);
+        evaluation.setNbErreursCible(50);
+        ResultatTEB[] resultats = evaluation.executer(4);
+        assertEquals("cible d'erreurs atteinte", evaluation.getMotifArret());
+        assertTrue(resultats[1].getNbErreurs() >= 50);
+        assertTrue(resultats[0].getNbErreurs() > resultats[1].getNbErreurs());
+        assertTrue(resultats[0].getNbBits() < 1000000);
+    }
+
+    /**
+     * teste le refus d'un canal à trajets multiples
+     * @throws Exception
+     */
+    @Test
+    void testTrajetsMultiplesRefuses() throws Exception {
+        SimulationConfig multi = new SimulationConfig.Builder().messageAleatoire(100).form("NRZ")
+                .trajets(List.of(new Trajet(2, 0.5f))).build();
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationMultiSNR(multi, new float[] {0f}, 100, 100, 1));
+    }
+}
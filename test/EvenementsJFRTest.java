@@ -0,0 +1,73 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import simulateur.ExecuteurBalayage;
+import simulateur.SimulationConfig;
+
+/**
+ * classe de test permettant de tester les événements Java Flight Recorder
+ * de la chaîne et des balayages
+ */
+public class EvenementsJFRTest {
+
+    /**
+     * teste qu'un enregistrement contient la construction de la chaîne, les
+     * étages et chaque point du balayage avec ses paramètres
+     * @throws Exception
+     */
+    @Test
+    void testEvenementsBalayage() throws Exception {
+        List<RecordedEvent> evenements;
+        Path fichier = Files.createTempFile("transmission", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("transmission.ConstructionChaine");
+            recording.enable("transmission.Etage");
+            recording.enable("transmission.PointBalayage");
+            recording.start();
+            SimulationConfig base = new SimulationConfig.Builder()
+                    .messageAleatoire(2000).form("NRZ").nbEch(8).snrpb(5f).build();
+            new ExecuteurBalayage(1, 7).executer(List.of(base, base.modifier().snrpb(1f).build()));
+            recording.stop();
+            recording.dump(fichier);
+            evenements = RecordingFile.readAllEvents(fichier);
+        } finally {
+            Files.deleteIfExists(fichier);
+        }
+
+        List<RecordedEvent> points = new ArrayList<>();
+        boolean construction = false;
+        boolean recepteur = false;
+        for (RecordedEvent evenement : evenements) {
+            String type = evenement.getEventType().getName();
+            if (type.equals("transmission.PointBalayage")) {
+                points.add(evenement);
+            } else if (type.equals("transmission.ConstructionChaine")) {
+                construction = true;
+                assertEquals("NRZ", evenement.getString("form"));
+            } else if (type.equals("transmission.Etage") && "Recepteur".equals(evenement.getString("etage"))) {
+                recepteur = true;
+                assertEquals(16000, evenement.getLong("nbElements"));
+            }
+        }
+        assertTrue(construction);
+        assertTrue(recepteur);
+        assertEquals(2, points.size());
+        for (RecordedEvent point : points) {
+            assertEquals(8, point.getInt("nbEch"));
+            assertEquals(2000, point.getLong("nbBits"));
+            double teb = point.getDouble("teb");
+            assertEquals(point.getLong("nbErreurs") / 2000.0, teb, 1e-12);
+            float snr = point.getFloat("snrpb");
+            assertTrue(snr == 5f || snr == 1f);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import simulateur.ExecuteurBalayage;
+import simulateur.ResultatTEB;
+import simulateur.SimulationConfig;
+
+/**
+ * classe de test permettant de tester l'exécuteur des balayages de TEB
+ */
+public class ExecuteurBalayageTest {
+
+    /**
+     * construit un balayage en SNR
+     * @return les configurations des points
+     */
+    private List<SimulationConfig> points() throws Exception {
+        SimulationConfig base = new SimulationConfig.Builder().messageAleatoire(4000).form("NRZ").nbEch(8).snrpb(0f).build();
+        List<SimulationConfig> points = new ArrayList<>();
+        for (int snr = 0; snr < 6; snr++) {
+            points.add(base.modifier().snrpb((float) snr).build());
+        }
+        return points;
+    }
+
+    /**
+     * teste que les résultats ne dépendent pas du nombre de threads
+     */
+    @Test
+    void testIndependantDuParallelisme() throws Exception {
+        ResultatTEB[] seul = new ExecuteurBalayage(1, 42).executer(points());
+        ResultatTEB[] trois = new ExecuteurBalayage(3, 42).executer(points());
+        assertEquals(seul.length, trois.length);
+        for (int i = 0; i < seul.length; i++) {
+            assertEquals(seul[i].getNbErreurs(), trois[i].getNbErreurs());
+            assertEquals(4000, trois[i].getNbBits());
+        }
+    }
+
+    /**
+     * teste que les résultats sont rendus dans l'ordre des points (TEB décroissant avec le SNR)
+     */
+    @Test
+    void testOrdre() throws Exception {
+        ResultatTEB[] resultats = new ExecuteurBalayage(2, 7).executer(points());
+        assertTrue(resultats[0].getTEB() > resultats[resultats.length - 1].getTEB());
+    }
+
+    /**
+     * teste le refus d'un parallélisme nul
+     */
+    @Test
+    void testParallelismeInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> new ExecuteurBalayage(0, 1));
+    }
+}
@@ -0,0 +1,80 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import visualisations.FichierColonnes;
+import visualisations.FormatExport;
+import visualisations.LecteurColonnes;
+
+/**
+ * classe de test permettant de tester l'export binaire en colonnes et sa relecture projetée
+ */
+public class FichierColonnesTest {
+
+    /**
+     * teste la relecture d'un fichier à colonnes de tous les types, nombre de lignes impair
+     * @throws IOException
+     */
+    @Test
+    void testAllerRetour(@TempDir Path dossier) throws IOException {
+        int n = 201;
+        float[] signal = new float[n];
+        boolean[] bits = new boolean[n];
+        double[] teb = new double[n];
+        long[] compteurs = new long[n];
+        for (int i = 0; i < n; i++) {
+            signal[i] = (float) Math.sin(i / 7.0);
+            bits[i] = (i % 3) == 0;
+            teb[i] = 1e-6 * i;
+            compteurs[i] = 1_000_000_000_000L + i;
+        }
+        Path fichier = dossier.resolve("sonde__metteur.bin");
+        FichierColonnes.ecrire(fichier, "émetteur", 30, "NRZT",
+                FichierColonnes.Colonne.de("valeur", signal),
+                FichierColonnes.Colonne.bits("bit", bits),
+                FichierColonnes.Colonne.de("TEB", teb),
+                FichierColonnes.Colonne.de("bits", compteurs));
+        assertEquals(0, Files.size(fichier) % 8);
+
+        LecteurColonnes lecteur = new LecteurColonnes(fichier);
+        assertEquals("émetteur", lecteur.getNom());
+        assertEquals(30, lecteur.getNbEch());
+        assertEquals("NRZT", lecteur.getForme());
+        assertEquals(n, lecteur.getNbLignes());
+        assertEquals(4, lecteur.getNbColonnes());
+        assertEquals(FichierColonnes.Type.BITS, lecteur.getType(lecteur.indiceColonne("bit")));
+
+        assertArrayEquals(signal, lecteur.lireFloats(0));
+        for (int i = 0; i < n; i++) {
+            assertEquals(signal[i], lecteur.lireFloat(0, i));
+            assertEquals(bits[i], lecteur.lireBit(1, i));
+            assertEquals(teb[i], lecteur.lireDouble(2, i));
+            assertEquals(compteurs[i], lecteur.lireLong(3, i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> lecteur.lireFloat(1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> lecteur.lireBit(1, n));
+    }
+
+    /**
+     * teste les erreurs d'écriture et de lecture, et le choix du format automatique
+     * @throws IOException
+     */
+    @Test
+    void testErreurs(@TempDir Path dossier) throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> FichierColonnes.ecrire(dossier.resolve("a.bin"), "a", 0, null,
+                FichierColonnes.Colonne.de("x", new float[3]), FichierColonnes.Colonne.de("y", new double[2])));
+
+        Path csv = dossier.resolve("sonde.csv");
+        Files.writeString(csv, "index,valeur\n0,1.0\n");
+        assertThrows(IOException.class, () -> new LecteurColonnes(csv));
+
+        assertFalse(FormatExport.AUTO.estBinaire(FormatExport.SEUIL_CSV));
+        assertTrue(FormatExport.AUTO.estBinaire(FormatExport.SEUIL_CSV + 1));
+        assertFalse(FormatExport.CSV.estBinaire(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,55 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import transmetteurs.GenerateurGaussien;
+
+/**
+ * classe de test permettant de tester les générateurs de bruit gaussien
+ */
+public class GenerateurGaussienTest {
+
+    /**
+     * teste que chaque générateur produit des échantillons centrés de variance ecartType²
+     */
+    @Test
+    void testMoments() {
+        int n = 200000;
+        float[] echantillons = new float[n];
+        for (String methode : new String[] {"ziggurat", "polaire", "boxmuller"}) {
+            GenerateurGaussien.creer(methode, 7).remplir(echantillons, 0, n, 2.0);
+            double somme = 0;
+            double sommeCarres = 0;
+            for (float x : echantillons) {
+                somme += x;
+                sommeCarres += x * x;
+            }
+            double moyenne = somme / n;
+            assertEquals(0.0, moyenne, 0.02, methode);
+            assertEquals(4.0, sommeCarres / n - moyenne * moyenne, 0.05, methode);
+        }
+    }
+
+    /**
+     * teste qu'une même graine redonne la même suite, même remplie en plusieurs fois
+     */
+    @Test
+    void testGraine() {
+        float[] enUneFois = new float[1000];
+        float[] enDeuxFois = new float[1000];
+        GenerateurGaussien.creer("ziggurat", 42).remplir(enUneFois, 0, 1000, 1.0);
+        GenerateurGaussien generateur = GenerateurGaussien.creer("ziggurat", 42);
+        generateur.remplir(enDeuxFois, 0, 333, 1.0);
+        generateur.remplir(enDeuxFois, 333, 667, 1.0);
+        assertArrayEquals(enUneFois, enDeuxFois);
+    }
+
+    /**
+     * teste le refus d'une méthode inconnue
+     */
+    @Test
+    void testMethodeInconnue() {
+        assertThrows(IllegalArgumentException.class, () -> GenerateurGaussien.creer("uniforme", 1));
+    }
+}
@@ -0,0 +1,70 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import visualisations.Enveloppe;
+import visualisations.ImageCourbe;
+
+/**
+ * classe de test permettant de tester le rendu des courbes dans des fichiers PNG
+ */
+public class ImageCourbeTest {
+
+    /** répertoire temporaire des images */
+    @TempDir
+    Path repertoire;
+
+    /**
+     * teste que le tracé d'une courbe dans une image dessine bien quelque chose
+     */
+    @Test
+    void testDessiner() {
+        float[] valeurs = new float[5000];
+        for (int i = 0; i < valeurs.length; i++) {
+            valeurs[i] = (float) Math.sin(i / 50.0);
+        }
+        BufferedImage image = ImageCourbe.dessiner(Enveloppe.de(valeurs, 990), "sinus", 1000);
+        assertEquals(1000, image.getWidth());
+        assertEquals(ImageCourbe.HAUTEUR, image.getHeight());
+
+        int noirs = 0;
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                if ((image.getRGB(x, y) & 0xFFFFFF) == 0) {
+                    noirs++;
+                }
+            }
+        }
+        assertTrue(noirs > 1000, "courbe non tracée : " + noirs + " pixels noirs");
+    }
+
+    /**
+     * teste l'écriture asynchrone des fichiers, et la largeur minimale
+     * des courbes de quelques points
+     * @throws IOException si une image ne peut être relue
+     */
+    @Test
+    void testEcrire() throws IOException {
+        Path signal = repertoire.resolve("signal.png");
+        Path teb = repertoire.resolve("teb.png");
+        ImageCourbe.ecrire(new boolean[] {true, false, true, true}, 10, "bits", signal);
+        ImageCourbe.ecrire(new float[] {0.2f, 0.1f, 0.05f}, "TEB", teb);
+        ImageCourbe.attendre();
+
+        BufferedImage bits = ImageIO.read(signal.toFile());
+        assertNotNull(bits);
+        assertEquals(ImageCourbe.LARGEUR_MIN, bits.getWidth());
+        BufferedImage courbe = ImageIO.read(teb.toFile());
+        assertNotNull(courbe);
+        assertEquals(ImageCourbe.LARGEUR_MIN, courbe.getWidth());
+    }
+}
@@ -0,0 +1,106 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import information.Information;
+import information.InformationAnalogique;
+import information.InformationBinaire;
+
+/**
+ * classe de test permettant de tester les informations à stockage primitif
+ */
+public class InformationBinaireTest {
+
+    /**
+     * teste que l'information binaire se comporte comme une information de booléens
+     */
+    @Test
+    void testCommeInformation() {
+        Boolean[] bits = {true, false, true, true, false};
+        InformationBinaire info = new InformationBinaire();
+        for (Boolean b : bits) {
+            info.add(b);
+        }
+
+        assertEquals(5, info.nbElements());
+        assertEquals(new Information<>(bits), info);
+        assertEquals(info, new Information<>(bits));
+        int i = 0;
+        for (Boolean b : info) {
+            assertEquals(bits[i++], b);
+        }
+    }
+
+    /**
+     * teste l'ajout de mots à cheval sur deux mots de 64 bits
+     */
+    @Test
+    void testAddMot() {
+        InformationBinaire info = new InformationBinaire();
+        info.addMot(0b101, 3);
+        info.addMot(-1L, 64);
+        info.addMot(0b10, 2);
+
+        assertEquals(69, info.nbElements());
+        assertTrue(info.iemeBit(0));
+        assertFalse(info.iemeBit(1));
+        assertTrue(info.iemeBit(2));
+        for (int i = 3; i < 67; i++) {
+            assertTrue(info.iemeBit(i));
+        }
+        assertFalse(info.iemeBit(67));
+        assertTrue(info.iemeBit(68));
+        assertEquals(-1L, info.lireMot(3));
+    }
+
+    /**
+     * teste le comptage des différences entre deux informations binaires
+     */
+    @Test
+    void testNbDifferences() {
+        InformationBinaire a = new InformationBinaire();
+        InformationBinaire b = new InformationBinaire();
+        for (int i = 0; i < 200; i++) {
+            a.add(i % 3 == 0);
+            b.add(i % 3 == 0 ^ i % 50 == 0);
+        }
+        assertEquals(4, a.nbDifferences(b, 200));
+        assertEquals(1, a.nbDifferences(b, 10));
+    }
+
+    /**
+     * teste que des informations égales, de capacités différentes, ont le même hashCode
+     */
+    @Test
+    void testHashCode() {
+        InformationBinaire mot = new InformationBinaire();
+        mot.addMot(0b101, 3);
+        InformationBinaire bits = new InformationBinaire(new boolean[] {true, false, true});
+        assertEquals(bits, mot);
+        assertEquals(bits.hashCode(), mot.hashCode());
+
+        InformationAnalogique ajoutee = new InformationAnalogique();
+        ajoutee.add(0.5f);
+        ajoutee.add(-1.0f);
+        InformationAnalogique tableau = new InformationAnalogique(new float[] {0.5f, -1.0f});
+        assertEquals(tableau, ajoutee);
+        assertEquals(tableau.hashCode(), ajoutee.hashCode());
+    }
+
+    /**
+     * teste l'information analogique et ses accès en masse
+     */
+    @Test
+    void testInformationAnalogique() {
+        InformationAnalogique info = new InformationAnalogique(new float[] {0.5f, -1.0f});
+        info.add(2.0f);
+        info.addAll(new float[] {3.0f, 4.0f, 5.0f}, 1, 2);
+
+        assertEquals(5, info.nbElements());
+        assertEquals(Float.valueOf(-1.0f), info.iemeElement(1));
+        assertArrayEquals(new float[] {0.5f, -1.0f, 2.0f, 4.0f, 5.0f}, info.toArray());
+        assertEquals(new Information<>(new Float[] {0.5f, -1.0f, 2.0f, 4.0f, 5.0f}), info);
+        assertSame(info, InformationAnalogique.de(info));
+    }
+}
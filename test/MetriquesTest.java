@@ -0,0 +1,103 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import metriques.Metriques;
+import metriques.MetriquesEtage;
+import simulateur.SimulationConfig;
+import simulateur.Simulateur;
+
+/**
+ * classe de test permettant de tester les mesures par étage de la chaîne
+ */
+public class MetriquesTest {
+
+    /**
+     * teste que chaque étage compte ses éléments reçus et émis
+     * @throws Exception
+     */
+    @Test
+    void testEtagesMesures() throws Exception {
+        Metriques.reinitialiser();
+        Metriques.activer(true);
+        List<MetriquesEtage> etages;
+        try {
+            SimulationConfig config = new SimulationConfig.Builder()
+                    .messageAleatoire(1000).form("NRZ").nbEch(10).snrpb(5f).seed(1).codeur(true).build();
+            new Simulateur(config).execute();
+            etages = Metriques.resume();
+        } finally {
+            Metriques.activer(false);
+            Metriques.reinitialiser();
+        }
+
+        assertEquals("SourceAleatoire", etages.get(0).getNom());
+        // avec le codeur, l'émetteur code lui-même les bits : 3 symboles par bit d'information
+        assertNull(trouver(etages, "CodageEmission"));
+        MetriquesEtage emetteur = trouver(etages, "Emetteur");
+        assertEquals(1, emetteur.getAppels());
+        assertEquals(1000, emetteur.getElementsEntres());
+        assertEquals(30000, emetteur.getElementsSortis());
+        assertTrue(emetteur.getNanos() > 0);
+        assertEquals(1, trouver(etages, "Recepteur").getAppels());
+        assertEquals(30000, trouver(etages, "Recepteur").getElementsEntres());
+        assertNotNull(trouver(etages, "DecodageReception"));
+        assertEquals(1, trouver(etages, "DestinationFinale").getAppels());
+    }
+
+    /**
+     * teste qu'en transmission par blocs la mesure préalable de la puissance
+     * du message n'est pas comptée dans les étages de la chaîne
+     * @throws Exception
+     */
+    @Test
+    void testBlocs() throws Exception {
+        Metriques.reinitialiser();
+        Metriques.activer(true);
+        List<MetriquesEtage> etages;
+        try {
+            SimulationConfig config = new SimulationConfig.Builder()
+                    .messageAleatoire(10000).form("NRZ").nbEch(10).snrpb(5f).seed(1).tailleBloc(1000).build();
+            new Simulateur(config).execute();
+            etages = Metriques.resume();
+        } finally {
+            Metriques.activer(false);
+            Metriques.reinitialiser();
+        }
+
+        MetriquesEtage source = trouver(etages, "SourceAleatoire");
+        assertEquals(10, source.getAppels());
+        assertEquals(10000, source.getElementsSortis());
+        assertEquals(100000, trouver(etages, "Emetteur").getElementsSortis());
+        assertEquals(10000, trouver(etages, "DestinationFinale").getElementsEntres());
+    }
+
+    /**
+     * teste qu'aucun étage n'est mesuré quand les mesures sont désactivées
+     * @throws Exception
+     */
+    @Test
+    void testDesactive() throws Exception {
+        Metriques.reinitialiser();
+        SimulationConfig config = new SimulationConfig.Builder().messageAleatoire(100).form("NRZ").build();
+        new Simulateur(config).execute();
+        assertTrue(Metriques.resume().isEmpty());
+    }
+
+    /**
+     * cherche un étage par son nom
+     * @param etages les étages mesurés
+     * @param nom le nom cherché
+     * @return l'étage, ou null
+     */
+    private static MetriquesEtage trouver(List<MetriquesEtage> etages, String nom) {
+        for (MetriquesEtage etage : etages) {
+            if (etage.getNom().equals(nom)) {
+                return etage;
+            }
+        }
+        return null;
+    }
+}
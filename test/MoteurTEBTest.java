@@ -0,0 +1,76 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import simulateur.MoteurTEB;
+import simulateur.ResultatTEB;
+
+/**
+ * classe de test permettant de tester le moteur de Monte Carlo parallèle
+ */
+public class MoteurTEBTest {
+
+    /**
+     * teste que tous les bits demandés sont simulés, dernier lot incomplet compris
+     * @throws Exception
+     */
+    @Test
+    void testNombreDeBits() throws Exception {
+        MoteurTEB moteur = new MoteurTEB(new String[] {"-form", "NRZ", "-snrpb", "0"}, 25000, 10000, 7);
+        ResultatTEB resultat = moteur.executer(2);
+
+        assertEquals(25000, resultat.getNbBits());
+        assertTrue(resultat.getNbErreurs() > 0);
+    }
+
+    /**
+     * teste que le résultat ne dépend pas du nombre de threads
+     * @throws Exception
+     */
+    @Test
+    void testIndependantDuParallelisme() throws Exception {
+        String[] chaine = {"-form", "RZ", "-snrpb", "2", "-ti", "5", "0.3"};
+        ResultatTEB unThread = new MoteurTEB(chaine, 40000, 5000, 42).executer(1);
+        ResultatTEB quatreThreads = new MoteurTEB(chaine, 40000, 5000, 42).executer(4);
+
+        assertEquals(unThread.getNbErreurs(), quatreThreads.getNbErreurs());
+        assertEquals(unThread.getNbBits(), quatreThreads.getNbBits());
+    }
+
+    /**
+     * teste l'arrêt anticipé sur cible d'erreurs, au même lot quel que soit le parallélisme
+     * @throws Exception
+     */
+    @Test
+    void testArretSurCibleErreurs() throws Exception {
+        String[] chaine = {"-form", "NRZ", "-snrpb", "0"};
+        MoteurTEB moteur1 = new MoteurTEB(chaine, 1000000, 2000, 3);
+        moteur1.setNbErreursCible(500);
+        ResultatTEB unThread = moteur1.executer(1);
+        MoteurTEB moteur3 = new MoteurTEB(chaine, 1000000, 2000, 3);
+        moteur3.setNbErreursCible(500);
+        ResultatTEB troisThreads = moteur3.executer(3);
+
+        assertTrue(unThread.getNbErreurs() >= 500);
+        assertTrue(unThread.getNbBits() < 1000000);
+        assertEquals("cible d'erreurs atteinte", moteur1.getMotifArret());
+        assertEquals(unThread.getNbBits(), troisThreads.getNbBits());
+        assertEquals(unThread.getNbErreurs(), troisThreads.getNbErreurs());
+    }
+
+    /**
+     * teste l'intervalle de confiance de Wilson, y compris sans erreur observée
+     */
+    @Test
+    void testIntervalleWilson() {
+        double[] ic = new ResultatTEB(50, 1000).intervalleWilson(ResultatTEB.Z_95);
+        assertTrue(ic[0] < 0.05 && 0.05 < ic[1]);
+        assertEquals(0.0381, ic[0], 1e-4);
+        assertEquals(0.0653, ic[1], 1e-4);
+
+        double[] icSansErreur = new ResultatTEB(0, 1000).intervalleWilson(ResultatTEB.Z_95);
+        assertEquals(0.0, icSansErreur[0], 1e-12);
+        assertTrue(icSansErreur[1] > 0.0 && icSansErreur[1] < 0.005);
+    }
+}
@@ -1,9 +1,12 @@
 package test;
 
 import org.junit.jupiter.api.Test;
+import java.util.Arrays;
 import static org.junit.jupiter.api.Assertions.*;
 
 import information.Information;
+import information.InformationAnalogique;
+import information.InformationBinaire;
 import transmetteurs.Recepteur;
 
 /**
@@ -20,7 +23,7 @@ public class RecepteurTest {
         Float[] signal = {1.0f, 1.0f, 0.0f, 0.0f, 0.6f, 0.6f};
         Information<Float> analogInfo = new Information<>(signal);
 
-        Recepteur recepteur = new Recepteur(2, 0.5f;"NRZ");
+        Recepteur recepteur = new Recepteur(2, 0.5f, "NRZ");
         recepteur.recevoir(analogInfo);
 
         Information<Boolean> logicInfo = recepteur.getInformationEmise();
@@ -42,4 +45,45 @@ public class RecepteurTest {
 
         assertEquals("nbEch doit être > 0", exception.getMessage());
     }
+
+    /**
+     * teste le traitement explicite d'un symbole incomplet en fin d'information
+     * @throws Exception
+     */
+    @Test
+    void testSymboleIncomplet() throws Exception {
+        float[] signal = {1.0f, 1.0f, -1.0f, -1.0f, 1.0f};
+        Recepteur recepteur = new Recepteur(2, 0f, "NRZ");
+
+        recepteur.recevoir(new InformationAnalogique(signal));
+        assertEquals(2, recepteur.getInformationEmise().nbElements());
+        assertEquals(1, recepteur.getNbEchantillonsIncomplets());
+
+        recepteur.setDecisionSymboleIncomplet(true);
+        recepteur.recevoir(new InformationAnalogique(signal));
+        Information<Boolean> bits = recepteur.getInformationEmise();
+        assertEquals(3, bits.nbElements());
+        assertTrue(bits.iemeElement(2));
+        assertEquals(10, recepteur.getNbEchantillonsDecides());
+    }
+
+    /**
+     * teste que les bits décidés sont réécrits dans la même information d'un
+     * appel à l'autre, sans résidu de la réception précédente
+     * @throws Exception
+     */
+    @Test
+    void testReutilisationInformation() throws Exception {
+        Recepteur recepteur = new Recepteur(1, 0f, "NRZ");
+        float[] uns = new float[130];
+        Arrays.fill(uns, 1.0f);
+        recepteur.recevoir(new InformationAnalogique(uns));
+        Information<Boolean> premiere = recepteur.getInformationEmise();
+
+        recepteur.recevoir(new InformationAnalogique(new float[] {-1.0f, 1.0f, -1.0f}));
+        InformationBinaire seconde = (InformationBinaire) recepteur.getInformationEmise();
+        assertSame(premiere, seconde);
+        assertEquals(new InformationBinaire(new boolean[] {false, true, false}), seconde);
+        assertTrue(recepteur.getDebitDecision() > 0);
+    }
 }
@@ -0,0 +1,105 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import simulateur.ArgumentsException;
+import simulateur.SimulationConfig;
+import simulateur.Simulateur;
+import visualisations.FormatExport;
+
+/**
+ * classe de test permettant de tester la configuration typée du Simulateur
+ */
+public class SimulationConfigTest {
+
+    /**
+     * teste que les options de la ligne de commande sont reportées dans la configuration
+     */
+    @Test
+    void testDepuisArguments() throws Exception {
+        SimulationConfig config = SimulationConfig.depuisArguments(
+                new String[] {"-mess", "500", "-form", "RZ", "-nbEch", "12", "-snrpb", "3", "-ti", "4", "0.5", "-codeur"});
+        assertTrue(config.isMessageAleatoire());
+        assertEquals(500, config.getNbBitsMess());
+        assertEquals("RZ", config.getForm());
+        assertEquals(12, config.getNbEch());
+        assertEquals(3.0f, config.getSNRpB());
+        assertEquals(1, config.getTrajets().size());
+        assertTrue(config.isCodeur());
+        assertFalse(config.isMetriques());
+
+        SimulationConfig mesuree = SimulationConfig.depuisArguments(new String[] {"-metrics", "etages.json", "-form", "NRZ"});
+        assertTrue(mesuree.isMetriques());
+        assertEquals("etages.json", mesuree.getFichierMetriques());
+        assertNull(SimulationConfig.depuisArguments(new String[] {"-metrics", "-form", "NRZ"}).getFichierMetriques());
+
+        assertEquals(FormatExport.AUTO, config.getFormatExport());
+        assertEquals(FormatExport.BINAIRE, SimulationConfig.depuisArguments(new String[] {"-export", "bin"}).getFormatExport());
+        assertThrows(ArgumentsException.class, () -> SimulationConfig.depuisArguments(new String[] {"-export", "xml"}));
+
+        assertFalse(config.isPasseUnique());
+        assertTrue(SimulationConfig.depuisArguments(new String[] {"-s", "-passeunique"}).isPasseUnique());
+
+        assertFalse(config.isAnalytique());
+        assertTrue(SimulationConfig.depuisArguments(new String[] {"-s", "-ti", "2", "0.5", "-analytique"}).isAnalytique());
+    }
+
+    /**
+     * teste les longueurs de message sur 64 bits et la transmission par blocs automatique
+     */
+    @Test
+    void testLongueurMessage() throws Exception {
+        assertEquals(2_000_000L, SimulationConfig.depuisArguments(new String[] {"-mess", "2M"}).getNbBitsMess());
+        assertEquals(1_500L, SimulationConfig.depuisArguments(new String[] {"-mess", "1.5e3"}).getNbBitsMess());
+        SimulationConfig grand = SimulationConfig.depuisArguments(new String[] {"-mess", "10G"});
+        assertEquals(10_000_000_000L, grand.getNbBitsMess());
+        assertEquals(SimulationConfig.TAILLE_BLOC_AUTO, grand.getTailleBloc());
+        assertEquals(0, SimulationConfig.depuisArguments(new String[] {"-mess", "1M"}).getTailleBloc());
+        assertThrows(ArgumentsException.class,
+                () -> SimulationConfig.depuisArguments(new String[] {"-mess", "99999999999G"}));
+    }
+
+    /**
+     * teste qu'une configuration modifiée ne change pas la configuration d'origine
+     */
+    @Test
+    void testModifier() throws Exception {
+        SimulationConfig base = new SimulationConfig.Builder().messageAleatoire(100).form("NRZ").snrpb(0f).build();
+        SimulationConfig autre = base.modifier().snrpb(5f).nbEch(9).build();
+        assertEquals(0.0f, base.getSNRpB());
+        assertEquals(5.0f, autre.getSNRpB());
+        assertEquals(9, autre.getNbEch());
+        assertEquals(100, autre.getNbBitsMess());
+    }
+
+    /**
+     * teste le refus d'une configuration incohérente
+     */
+    @Test
+    void testConfigurationInvalide() {
+        assertThrows(ArgumentsException.class, () -> new SimulationConfig.Builder().messageAleatoire(0).build());
+        assertThrows(ArgumentsException.class, () -> SimulationConfig.depuisArguments(new String[] {"-nbEch", "0"}));
+        assertThrows(ArgumentsException.class, () -> SimulationConfig.depuisArguments(new String[] {"-bruit", "uniforme"}));
+        assertThrows(ArgumentsException.class, () -> SimulationConfig.depuisArguments(new String[] {"-souple"}));
+    }
+
+    /**
+     * teste qu'un Simulateur reparamétré donne le même TEB qu'un Simulateur neuf
+     */
+    @Test
+    void testReparametrer() throws Exception {
+        SimulationConfig base = new SimulationConfig.Builder()
+                .messageAleatoire(5000).form("NRZT").nbEch(15).seed(3).snrpb(-2f).build();
+        Simulateur sim = new Simulateur(base);
+        sim.execute();
+        for (float snr : new float[] {0f, 2f}) {
+            SimulationConfig config = base.modifier().snrpb(snr).build();
+            sim.reparametrer(config);
+            sim.execute();
+            Simulateur neuf = new Simulateur(config);
+            neuf.execute();
+            assertEquals(neuf.calculNbErreurs(), sim.calculNbErreurs());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import information.InformationBinaire;
+import information.InformationNonConformeException;
+import sources.GenerateurBits;
+import sources.SourceParMots;
+
+/**
+ * classe de test permettant de tester les générateurs de bits par mots et la source associée
+ */
+public class SourceParMotsTest {
+
+    /**
+     * teste que la PRBS-7 produit par mots est celle du registre à décalage bit par bit,
+     * et qu'elle est de période 127
+     */
+    @Test
+    void testPRBS7() {
+        GenerateurBits prbs = GenerateurBits.creer("prbs7", null);
+        int a = 0x7F;
+        boolean[] suite = new boolean[64 * 4];
+        for (int w = 0; w < 4; w++) {
+            long mot = prbs.suivant64();
+            for (int k = 0; k < 64; k++) {
+                int b = ((a >>> 6) ^ (a >>> 5)) & 1;
+                a = ((a << 1) | b) & 0x7F;
+                assertEquals(b, (int) ((mot >>> k) & 1L), "bit " + (64 * w + k));
+                suite[64 * w + k] = b != 0;
+            }
+        }
+        for (int i = 0; i + 127 < suite.length; i++) {
+            assertEquals(suite[i], suite[i + 127]);
+        }
+    }
+
+    /**
+     * teste que la PRBS-15 revient à son état initial après 2^15 - 1 bits exactement
+     * (et pas avant, sur les diviseurs de la période)
+     */
+    @Test
+    void testPeriodePRBS15() {
+        int periode = (1 << 15) - 1;
+        // 64 périodes = 32767 mots de 64 bits : la suite de mots est périodique de période 32767
+        GenerateurBits prbs = GenerateurBits.creer("prbs15", 12345);
+        long[] debut = new long[4];
+        for (int i = 0; i < 4; i++) {
+            debut[i] = prbs.suivant64();
+        }
+        for (int i = 4; i < periode; i++) {
+            prbs.suivant64();
+        }
+        for (int i = 0; i < 4; i++) {
+            assertEquals(debut[i], prbs.suivant64());
+        }
+        // 1/0 équilibrés : 2^14 uns par période
+        GenerateurBits autre = GenerateurBits.creer("prbs15", 12345);
+        long uns = 0;
+        for (int i = 0; i < periode; i++) {
+            uns += Long.bitCount(autre.suivant64());
+        }
+        assertEquals(64L * (1 << 14), uns);
+    }
+
+    /**
+     * teste que les blocs successifs d'une source reproduisent le message entier
+     */
+    @Test
+    void testBlocs() throws InformationNonConformeException {
+        for (String type : new String[] {"aleatoire", "prbs23", "prbs31"}) {
+            SourceParMots source = new SourceParMots(type);
+            source.setSeed(99);
+            source.setLength(1000);
+            source.generer();
+            source.emettre();
+            InformationBinaire entier = (InformationBinaire) source.getInformationEmise();
+
+            InformationBinaire concatenation = new InformationBinaire();
+            for (int taille : new int[] {10, 64, 100, 3, 500, 323}) {
+                source.genererBloc(taille);
+                source.emettre();
+                InformationBinaire bloc = (InformationBinaire) source.getInformationEmise();
+                for (int i = 0; i < bloc.nbElements(); i++) {
+                    concatenation.add(bloc.iemeBit(i));
+                }
+            }
+            assertEquals(entier, concatenation, type);
+        }
+    }
+
+    /**
+     * teste le refus d'un générateur inconnu
+     */
+    @Test
+    void testTypeInconnu() {
+        assertThrows(IllegalArgumentException.class, () -> new SourceParMots("prbs9"));
+        assertThrows(IllegalArgumentException.class, () -> GenerateurBits.creer("lfsr", 1));
+    }
+}
@@ -0,0 +1,72 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import simulateur.ExecuteurBalayage;
+import simulateur.ResultatTEB;
+import simulateur.SimulationConfig;
+import simulateur.TEBAnalytique;
+import transmetteurs.Trajet;
+
+/**
+ * classe de test permettant de tester le calcul exact du TEB sur un canal à trajets multiples
+ */
+public class TEBAnalytiqueTest {
+
+    /**
+     * teste la fonction Q de part et d'autre du changement de méthode
+     */
+    @Test
+    void testFonctionQ() {
+        assertEquals(0.5, TEBAnalytique.q(0), 1e-15);
+        assertEquals(0.15865525393145707, TEBAnalytique.q(1), 1e-15);
+        assertEquals(0.0013498980316301, TEBAnalytique.q(3), 1e-15);
+        assertEquals(2.866515718791939e-7, TEBAnalytique.q(5), 1e-20);
+        assertEquals(1 - 0.15865525393145707, TEBAnalytique.q(-1), 1e-15);
+    }
+
+    /**
+     * teste un canal sans bruit avec un écho d'atténuation 1 au bit précédent :
+     * en NRZ, un 0 suivant un 1 donne une moyenne nulle, décidée 1, soit une
+     * erreur pour un bit sur quatre, sauf le premier bit qui n'a pas d'écho
+     * @throws Exception
+     */
+    @Test
+    void testEchoSansBruit() throws Exception {
+        SimulationConfig configuration = new SimulationConfig.Builder().messageAleatoire(1000).form("NRZ")
+                .nbEch(10).trajets(List.of(new Trajet(1, 1.0f))).build();
+        TEBAnalytique calcul = new TEBAnalytique(configuration);
+        assertEquals(2, calcul.getNbBitsMotif());
+        assertFalse(calcul.isEchantillonne());
+        assertEquals(999.0 / 4000, calcul.calculer(1000), 1e-15);
+        assertEquals(0.0, calcul.calculer(1), 0.0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new TEBAnalytique(configuration.modifier().codeur(true).build()));
+    }
+
+    /**
+     * teste que le TEB calculé tombe dans l'intervalle de confiance du TEB
+     * simulé, pour chaque forme d'onde sur un canal bruité à deux échos
+     * @throws Exception
+     */
+    @Test
+    void testAccordAvecLaSimulation() throws Exception {
+        List<Trajet> trajets = List.of(new Trajet(2, 0.5f), new Trajet(5, 0.3f));
+        List<SimulationConfig> points = new ArrayList<>();
+        for (String form : new String[] {"NRZ", "RZ", "NRZT"}) {
+            points.add(new SimulationConfig.Builder().messageAleatoire(200000).form(form).nbEch(10)
+                    .snrpb(3f).trajets(trajets).build());
+        }
+        ResultatTEB[] simules = new ExecuteurBalayage(2, 11).executer(points);
+        for (int i = 0; i < points.size(); i++) {
+            double calcule = new TEBAnalytique(points.get(i)).calculer(200000);
+            double[] ic = simules[i].intervalleWilson(3.29);   // 99,9 %
+            assertTrue(calcule >= ic[0] && calcule <= ic[1],
+                    points.get(i).getForm() + " : " + calcule + " hors de " + simules[i]);
+        }
+    }
+}
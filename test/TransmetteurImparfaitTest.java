@@ -3,6 +3,7 @@ package test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import information.Information;
+import transmetteurs.CaptureBruit;
 import transmetteurs.TransmetteurParfait;
 import java.util.Arrays;
 import org.junit.Test;
@@ -41,9 +42,11 @@ public class TransmetteurImparfaitTest {
         TransmetteurImparfait<Float> ti = new TransmetteurImparfait<>(3, 10.0f, 42); // seed pour reproductibilité
         Information<Float> info = new Information<>(new Float[]{1.0f, -1.0f, 1.0f});
         ti.recevoir(info);
+        ti.setCaptureBruit(new CaptureBruit(2));
         ti.genererBBAG();
         assertEquals(info.nbElements(), ti.informationEmise.nbElements());
-        assertEquals(info.nbElements(), ti.bruit.size());
+        assertEquals(info.nbElements(), ti.getCaptureBruit().getNbEchantillons());
+        assertEquals(2, ti.getCaptureBruit().derniersEchantillons().length);
 
 
     }